@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+
+/** Utility class generating reproducible data sets for benchmarks.
+ * @since 4.0
+ */
+public class BenchmarkData {
+
+    /** Private constructor for a utility class. */
+    private BenchmarkData() {
+        // nothing to do
+    }
+
+    /** Create a generator with fixed seed.
+     * @param seed seed for the generator
+     * @return random generator
+     */
+    public static RandomGenerator generator(final long seed) {
+        return new Well19937a(seed);
+    }
+
+    /** Create a random array.
+     * @param random generator to use
+     * @param n array length
+     * @param min lower bound for elements
+     * @param max upper bound for elements
+     * @return random array
+     */
+    public static double[] randomArray(final RandomGenerator random, final int n,
+                                       final double min, final double max) {
+        final double[] array = new double[n];
+        for (int i = 0; i < n; ++i) {
+            array[i] = min + (max - min) * random.nextDouble();
+        }
+        return array;
+    }
+
+    /** Create a random matrix with entries uniformly distributed in [-1, 1].
+     * @param random generator to use
+     * @param rows number of rows
+     * @param columns number of columns
+     * @return random matrix data
+     */
+    public static double[][] randomData(final RandomGenerator random, final int rows, final int columns) {
+        final double[][] data = new double[rows][];
+        for (int i = 0; i < rows; ++i) {
+            data[i] = randomArray(random, columns, -1.0, 1.0);
+        }
+        return data;
+    }
+
+    /** Create a random symmetric positive definite matrix.
+     * <p>
+     * The matrix is built as A<sup>T</sup>A + n I with A random, which
+     * ensures it is both symmetric and well conditioned.
+     * </p>
+     * @param random generator to use
+     * @param n dimension of the matrix
+     * @return random symmetric positive definite matrix
+     */
+    public static RealMatrix randomSymmetricPositiveDefinite(final RandomGenerator random, final int n) {
+        final RealMatrix a = MatrixUtils.createRealMatrix(randomData(random, n, n));
+        final RealMatrix s = a.transposeMultiply(a);
+        for (int i = 0; i < n; ++i) {
+            s.addToEntry(i, i, n);
+        }
+        return s;
+    }
+
+}
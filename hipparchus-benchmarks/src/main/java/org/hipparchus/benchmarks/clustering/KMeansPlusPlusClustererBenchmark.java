@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.clustering.CentroidCluster;
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.KMeansPlusPlusClusterer;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link KMeansPlusPlusClusterer}.
+ * <p>
+ * Points are drawn from Gaussian blobs around {@link #k} random centers.
+ * The clusterer uses a generator with fixed seed, re-created at each
+ * invocation so all invocations perform exactly the same work.
+ * </p>
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KMeansPlusPlusClustererBenchmark {
+
+    /** Number of points. */
+    @Param({ "1000", "20000" })
+    private int size;
+
+    /** Points dimension. */
+    @Param({ "2", "16" })
+    private int dimension;
+
+    /** Number of clusters. */
+    @Param({ "8" })
+    private int k;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Set up the points. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x7d15c3a8e62f9b04L);
+        final double[][] centers = BenchmarkData.randomData(random, k, dimension);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            final double[] center = centers[i % k];
+            final double[] p      = new double[dimension];
+            for (int j = 0; j < dimension; ++j) {
+                p[j] = 10.0 * center[j] + random.nextGaussian();
+            }
+            points.add(new DoublePoint(p));
+        }
+    }
+
+    /** Benchmark clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> cluster() {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+                        new KMeansPlusPlusClusterer<>(k, 100, new EuclideanDistance(),
+                                                      BenchmarkData.generator(0x2b6f4e8a1c9d3057L));
+        return clusterer.cluster(points);
+    }
+
+}
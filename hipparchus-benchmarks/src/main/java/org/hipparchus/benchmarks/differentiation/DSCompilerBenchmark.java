@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.differentiation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.analysis.differentiation.DSCompiler;
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link DSCompiler} arithmetic.
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DSCompilerBenchmark {
+
+    /** Number of free parameters. */
+    @Param({ "1", "3", "6" })
+    private int parameters;
+
+    /** Derivation order. */
+    @Param({ "1", "2", "4" })
+    private int order;
+
+    /** Compiler. */
+    private DSCompiler compiler;
+
+    /** Left hand side operand. */
+    private double[] lhs;
+
+    /** Right hand side operand. */
+    private double[] rhs;
+
+    /** Result array. */
+    private double[] result;
+
+    /** Set up the operands. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x0e7a3b5c9d18f642L);
+        compiler = DSCompiler.getCompiler(parameters, order);
+        lhs      = BenchmarkData.randomArray(random, compiler.getSize(), 0.1, 1.0);
+        rhs      = BenchmarkData.randomArray(random, compiler.getSize(), 0.1, 1.0);
+        result   = new double[compiler.getSize()];
+    }
+
+    /** Benchmark addition.
+     * @return result
+     */
+    @Benchmark
+    public double[] add() {
+        compiler.add(lhs, 0, rhs, 0, result, 0);
+        return result;
+    }
+
+    /** Benchmark multiplication.
+     * @return result
+     */
+    @Benchmark
+    public double[] multiply() {
+        compiler.multiply(lhs, 0, rhs, 0, result, 0);
+        return result;
+    }
+
+    /** Benchmark division.
+     * @return result
+     */
+    @Benchmark
+    public double[] divide() {
+        compiler.divide(lhs, 0, rhs, 0, result, 0);
+        return result;
+    }
+
+    /** Benchmark exponential.
+     * @return result
+     */
+    @Benchmark
+    public double[] exp() {
+        compiler.exp(lhs, 0, result, 0);
+        return result;
+    }
+
+    /** Benchmark sine.
+     * @return result
+     */
+    @Benchmark
+    public double[] sin() {
+        compiler.sin(lhs, 0, result, 0);
+        return result;
+    }
+
+}
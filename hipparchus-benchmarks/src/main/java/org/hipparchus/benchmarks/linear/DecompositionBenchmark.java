@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.linear.CholeskyDecomposition;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.EigenDecompositionSymmetric;
+import org.hipparchus.linear.LanczosEigenDecomposition;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RandomizedSingularValueDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.SingularValueDecomposition;
+import org.hipparchus.linear.TridiagonalEigenSolver;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for dense matrices decompositions.
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecompositionBenchmark {
+
+    /** Matrix dimension. */
+    @Param({ "6", "50", "300", "1000" })
+    private int n;
+
+    /** Symmetric positive definite matrix to decompose. */
+    private RealMatrix matrix;
+
+    /** Right hand side for solve benchmarks. */
+    private RealVector rhs;
+
+    /** Parallelism settings for blocked decompositions. */
+    private final ParallelSettings settings = new ParallelSettings();
+
+    /** Matrix to decompose, as an operator. */
+    private Array2DRowRealMatrix operator;
+
+    /** Pre-computed LU solver. */
+    private DecompositionSolver luSolver;
+
+    /** Pre-computed Cholesky decomposition. */
+    private CholeskyDecomposition llt;
+
+    /** Pre-computed QR decomposition (with Q already formed). */
+    private QRDecomposition qrd;
+
+    /** Set up the operands. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x3f8e1a9c72d0b54eL);
+        matrix   = BenchmarkData.randomSymmetricPositiveDefinite(random, n);
+        rhs      = MatrixUtils.createRealVector(BenchmarkData.randomArray(random, n, -1.0, 1.0));
+        operator = new Array2DRowRealMatrix(matrix.getData(), false);
+        luSolver = new LUDecomposition(matrix).getSolver();
+        llt      = new CholeskyDecomposition(matrix);
+        qrd      = new QRDecomposition(matrix);
+        qrd.getQT();
+    }
+
+    /** Benchmark LU decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public LUDecomposition lu() {
+        return new LUDecomposition(matrix);
+    }
+
+    /** Benchmark blocked LU decomposition, possibly parallel.
+     * @return decomposition
+     */
+    @Benchmark
+    public LUDecomposition luBlocked() {
+        return new LUDecomposition(matrix, 1.0e-11, BlockRealMatrix.BLOCK_SIZE, settings);
+    }
+
+    /** Benchmark Cholesky decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public CholeskyDecomposition cholesky() {
+        return new CholeskyDecomposition(matrix);
+    }
+
+    /** Benchmark blocked Cholesky decomposition, possibly parallel.
+     * @return decomposition
+     */
+    @Benchmark
+    public CholeskyDecomposition choleskyBlocked() {
+        return new CholeskyDecomposition(matrix,
+                                         CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                         CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD,
+                                         BlockRealMatrix.BLOCK_SIZE, settings);
+    }
+
+    /** Benchmark solving with an already computed LU decomposition.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector luSolve() {
+        return luSolver.solve(rhs);
+    }
+
+    /** Benchmark QR decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public QRDecomposition qr() {
+        return new QRDecomposition(matrix);
+    }
+
+    /** Benchmark rank-one update of an existing QR decomposition.
+     * @return updated decomposition
+     */
+    @Benchmark
+    public QRDecomposition qrUpdate() {
+        return qrd.update(rhs, rhs);
+    }
+
+    /** Benchmark rank-one update of an existing Cholesky decomposition.
+     * @return updated decomposition
+     */
+    @Benchmark
+    public CholeskyDecomposition choleskyUpdate() {
+        return llt.update(rhs);
+    }
+
+    /** Benchmark symmetric eigen decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public EigenDecompositionSymmetric eigenSymmetric() {
+        return new EigenDecompositionSymmetric(matrix);
+    }
+
+    /** Benchmark symmetric eigen decomposition using divide-and-conquer.
+     * @return decomposition
+     */
+    @Benchmark
+    public EigenDecompositionSymmetric eigenSymmetricDivideAndConquer() {
+        return new EigenDecompositionSymmetric(matrix, EigenDecompositionSymmetric.DEFAULT_EPSILON, true,
+                                               TridiagonalEigenSolver.DIVIDE_AND_CONQUER);
+    }
+
+    /** Benchmark partial symmetric eigen decomposition (largest eigenpairs).
+     * @return decomposition
+     */
+    @Benchmark
+    public LanczosEigenDecomposition lanczos() {
+        return new LanczosEigenDecomposition(operator, FastMath.min(5, n), true);
+    }
+
+    /** Benchmark singular value decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public SingularValueDecomposition svd() {
+        return new SingularValueDecomposition(matrix);
+    }
+
+    /** Benchmark randomized truncated singular value decomposition (leading triplets).
+     * @return decomposition
+     */
+    @Benchmark
+    public RandomizedSingularValueDecomposition randomizedSvd() {
+        return new RandomizedSingularValueDecomposition(operator, FastMath.min(5, n));
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.ParallelSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for dense matrices products.
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixMultiplicationBenchmark {
+
+    /** Matrices dimension. */
+    @Param({ "10", "100", "500" })
+    private int n;
+
+    /** Left hand side block matrix. */
+    private BlockRealMatrix blockA;
+
+    /** Right hand side block matrix. */
+    private BlockRealMatrix blockB;
+
+    /** Left hand side row-major matrix. */
+    private Array2DRowRealMatrix arrayA;
+
+    /** Right hand side row-major matrix. */
+    private Array2DRowRealMatrix arrayB;
+
+    /** Preallocated row-major result. */
+    private Array2DRowRealMatrix arrayC;
+
+    /** Parallel settings. */
+    private ParallelSettings parallel;
+
+    /** Set up the operands. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x6a2cf5d1b4e8f07bL);
+        final double[][] a = BenchmarkData.randomData(random, n, n);
+        final double[][] b = BenchmarkData.randomData(random, n, n);
+        blockA = new BlockRealMatrix(a);
+        blockB = new BlockRealMatrix(b);
+        arrayA = new Array2DRowRealMatrix(a);
+        arrayB = new Array2DRowRealMatrix(b);
+        arrayC = new Array2DRowRealMatrix(n, n);
+        parallel = new ParallelSettings();
+    }
+
+    /** Benchmark A &times; B with block matrices.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix blockMultiply() {
+        return blockA.multiply(blockB);
+    }
+
+    /** Benchmark A &times; B with block matrices, in parallel.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix blockMultiplyParallel() {
+        return blockA.multiply(blockB, parallel);
+    }
+
+    /** Benchmark A &times; B<sup>T</sup> with block matrices.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix blockMultiplyTransposed() {
+        return blockA.multiplyTransposed(blockB);
+    }
+
+    /** Benchmark A<sup>T</sup> &times; B with block matrices.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix blockTransposeMultiply() {
+        return blockA.transposeMultiply(blockB);
+    }
+
+    /** Benchmark A &times; B with row-major matrices.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix arrayMultiply() {
+        return arrayA.multiply(arrayB);
+    }
+
+    /** Benchmark A &times; B with row-major matrices, in a preallocated result.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix arrayMultiplyInPlace() {
+        MatrixUtils.multiply(arrayA, arrayB, arrayC, 1.0, 0.0);
+        return arrayC;
+    }
+
+}
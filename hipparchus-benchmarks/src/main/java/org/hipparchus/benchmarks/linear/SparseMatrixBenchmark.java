@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.BlockConjugateGradient;
+import org.hipparchus.linear.CSRRealMatrix;
+import org.hipparchus.linear.ConjugateGradient;
+import org.hipparchus.linear.IncompleteCholeskyPreconditioner;
+import org.hipparchus.linear.OpenMapRealMatrix;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.SparseCholeskyDecomposition;
+import org.hipparchus.linear.SparseLUDecomposition;
+import org.hipparchus.linear.SparseRealMatrixBuilder;
+import org.hipparchus.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for sparse matrices products and decompositions.
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SparseMatrixBenchmark {
+
+    /** Number of grid points in each direction of the 2D Laplacian. */
+    @Param({ "30", "100" })
+    private int n;
+
+    /** Matrix in compressed sparse row format. */
+    private CSRRealMatrix csr;
+
+    /** Same matrix in open map format. */
+    private OpenMapRealMatrix openMap;
+
+    /** Vector to multiply. */
+    private double[] x;
+
+    /** Placeholder for product. */
+    private double[] y;
+
+    /** Right-hand sides for solvers. */
+    private RealMatrix rhs;
+
+    /** Set up the operands. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x6c1e9f3a5b7d2048L);
+        final int dimension = n * n;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(dimension, dimension);
+        openMap = new OpenMapRealMatrix(dimension, dimension);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final int k = i * n + j;
+                add(builder, k, k, 4.0);
+                if (i > 0) {
+                    add(builder, k, k - n, -1.0);
+                }
+                if (i < n - 1) {
+                    add(builder, k, k + n, -1.0);
+                }
+                if (j > 0) {
+                    add(builder, k, k - 1, -1.0);
+                }
+                if (j < n - 1) {
+                    add(builder, k, k + 1, -1.0);
+                }
+            }
+        }
+        csr = builder.buildCSR();
+        x   = BenchmarkData.randomArray(random, dimension, -1.0, 1.0);
+        y   = new double[dimension];
+        rhs = new Array2DRowRealMatrix(dimension, 8);
+        for (int j = 0; j < rhs.getColumnDimension(); ++j) {
+            rhs.setColumn(j, BenchmarkData.randomArray(random, dimension, -1.0, 1.0));
+        }
+    }
+
+    /** Add an entry to both representations.
+     * @param builder builder for CSR matrix
+     * @param i row index
+     * @param j column index
+     * @param value entry value
+     */
+    private void add(final SparseRealMatrixBuilder builder, final int i, final int j, final double value) {
+        builder.addEntry(i, j, value);
+        openMap.setEntry(i, j, value);
+    }
+
+    /** Benchmark matrix-vector product with CSR storage.
+     * @return product
+     */
+    @Benchmark
+    public double[] csrOperate() {
+        return csr.operateInto(x, y);
+    }
+
+    /** Benchmark matrix-vector product with open map storage.
+     * @return product
+     */
+    @Benchmark
+    public double[] openMapOperate() {
+        return openMap.operate(x);
+    }
+
+    /** Benchmark sparse-sparse product with CSR storage.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix csrMultiply() {
+        return csr.multiply(csr);
+    }
+
+    /** Benchmark sparse Cholesky decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public SparseCholeskyDecomposition cholesky() {
+        return new SparseCholeskyDecomposition(csr);
+    }
+
+    /** Benchmark sparse LU decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public SparseLUDecomposition lu() {
+        return new SparseLUDecomposition(csr);
+    }
+
+    /** Benchmark conjugate gradient applied separately to several right-hand sides.
+     * @return last solution
+     */
+    @Benchmark
+    public double[] conjugateGradient() {
+        final ConjugateGradient solver = new ConjugateGradient(10 * csr.getRowDimension(), 1.0e-10, false);
+        double[] solution = null;
+        for (int j = 0; j < rhs.getColumnDimension(); ++j) {
+            solution = solver.solve(csr, new ArrayRealVector(rhs.getColumn(j), false)).toArray();
+        }
+        return solution;
+    }
+
+    /** Benchmark conjugate gradient with modified incomplete Cholesky preconditioner
+     * applied separately to several right-hand sides.
+     * @return last solution
+     */
+    @Benchmark
+    public double[] preconditionedConjugateGradient() {
+        final IncompleteCholeskyPreconditioner preconditioner = new IncompleteCholeskyPreconditioner(csr, 0.0, 1.0);
+        final ConjugateGradient solver = new ConjugateGradient(10 * csr.getRowDimension(), 1.0e-10, false);
+        double[] solution = null;
+        for (int j = 0; j < rhs.getColumnDimension(); ++j) {
+            solution = solver.solve(csr, preconditioner, new ArrayRealVector(rhs.getColumn(j), false)).toArray();
+        }
+        return solution;
+    }
+
+    /** Benchmark conjugate gradient applied simultaneously to several right-hand sides.
+     * @return solutions
+     */
+    @Benchmark
+    public RealMatrix blockConjugateGradient() {
+        return new BlockConjugateGradient(10 * csr.getRowDimension(), 1.0e-10, false).solve(csr, rhs);
+    }
+
+}
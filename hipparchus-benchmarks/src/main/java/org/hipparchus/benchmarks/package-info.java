@@ -0,0 +1,26 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks for the latency-sensitive parts of Hipparchus.
+ * <p>
+ * The module builds a self-contained {@code target/benchmarks.jar}, run it with
+ * {@code java -jar target/benchmarks.jar [regexp] [JMH options]}, for example
+ * {@code java -jar target/benchmarks.jar MatrixMultiplication -prof gc}.
+ * </p>
+ */
+package org.hipparchus.benchmarks;
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.transform;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.transform.DftNormalization;
+import org.hipparchus.transform.FFTPlan;
+import org.hipparchus.transform.FastFourierTransformer;
+import org.hipparchus.transform.RealFFTPlan;
+import org.hipparchus.transform.TransformType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for in-place Fast Fourier Transform.
+ * <p>
+ * The transform uses {@link DftNormalization#UNITARY unitary} normalization,
+ * so applying it repeatedly on the same data neither overflows nor underflows
+ * and no copy of the input is needed between invocations.
+ * </p>
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+
+    /** Number of points. */
+    @Param({ "64", "1000", "3600", "4096", "1048576" })
+    private int n;
+
+    /** Real and imaginary parts of the data. */
+    private double[][] dataRI;
+
+    /** Precomputed forward plan. */
+    private FFTPlan forwardPlan;
+
+    /** Precomputed inverse plan. */
+    private FFTPlan inversePlan;
+
+    /** Precomputed plan for real data. */
+    private RealFFTPlan realPlan;
+
+    /** Real samples. */
+    private double[] samples;
+
+    /** Real and imaginary parts of the half spectrum of real data. */
+    private double[][] spectrumRI;
+
+    /** Set up the data. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x1c4d7e29a05b3f86L);
+        dataRI = new double[][] {
+            BenchmarkData.randomArray(random, n, -1.0, 1.0),
+            BenchmarkData.randomArray(random, n, -1.0, 1.0)
+        };
+        forwardPlan = new FFTPlan(n, DftNormalization.UNITARY, TransformType.FORWARD);
+        inversePlan = new FFTPlan(n, DftNormalization.UNITARY, TransformType.INVERSE);
+        samples     = BenchmarkData.randomArray(random, n, -1.0, 1.0);
+        realPlan    = new RealFFTPlan(n, DftNormalization.UNITARY);
+        spectrumRI  = new double[2][realPlan.getSpectrumLength()];
+    }
+
+    /** Benchmark forward transform.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] forward() {
+        FastFourierTransformer.transformInPlace(dataRI, DftNormalization.UNITARY, TransformType.FORWARD);
+        return dataRI;
+    }
+
+    /** Benchmark inverse transform.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] inverse() {
+        FastFourierTransformer.transformInPlace(dataRI, DftNormalization.UNITARY, TransformType.INVERSE);
+        return dataRI;
+    }
+
+    /** Benchmark forward transform using a precomputed plan.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] plannedForward() {
+        forwardPlan.transform(dataRI[0], dataRI[1]);
+        return dataRI;
+    }
+
+    /** Benchmark inverse transform using a precomputed plan.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] plannedInverse() {
+        inversePlan.transform(dataRI[0], dataRI[1]);
+        return dataRI;
+    }
+
+    /** Benchmark forward transform of real data using a precomputed complex plan.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] realForwardAsComplex() {
+        System.arraycopy(samples, 0, dataRI[0], 0, n);
+        Arrays.fill(dataRI[1], 0.0);
+        forwardPlan.transform(dataRI[0], dataRI[1]);
+        return dataRI;
+    }
+
+    /** Benchmark forward transform of real data using a precomputed real plan.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] plannedRealForward() {
+        realPlan.forward(samples, spectrumRI[0], spectrumRI[1]);
+        return spectrumRI;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.transform;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.transform.DftNormalization;
+import org.hipparchus.transform.ParallelFFTPlan;
+import org.hipparchus.transform.TransformType;
+import org.hipparchus.util.ParallelSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for parallel Fast Fourier Transform.
+ * <p>
+ * With one thread, the plan falls back to the serial algorithm, so the
+ * ratio between scores for one thread and several threads is the speedup.
+ * </p>
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelFFTBenchmark {
+
+    /** Number of points. */
+    @Param({ "1048576", "16777216" })
+    private int n;
+
+    /** Number of threads. */
+    @Param({ "1", "2", "4" })
+    private int threads;
+
+    /** Pool in which tasks are run. */
+    private ForkJoinPool pool;
+
+    /** Precomputed plan. */
+    private ParallelFFTPlan plan;
+
+    /** Real and imaginary parts of the data. */
+    private double[][] dataRI;
+
+    /** Work arrays. */
+    private double[][] workRI;
+
+    /** Set up the data. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x6a83f2d015ce97b4L);
+        dataRI = new double[][] {
+            BenchmarkData.randomArray(random, n, -1.0, 1.0),
+            BenchmarkData.randomArray(random, n, -1.0, 1.0)
+        };
+        pool   = new ForkJoinPool(threads);
+        plan   = new ParallelFFTPlan(n, DftNormalization.UNITARY, TransformType.FORWARD,
+                                     new ParallelSettings(pool, ParallelSettings.DEFAULT_THRESHOLD));
+        workRI = new double[2][plan.getWorkLength()];
+    }
+
+    /** Release the pool. */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** Benchmark forward transform.
+     * @return transformed data
+     */
+    @Benchmark
+    public double[][] forward() {
+        plan.transform(dataRI[0], dataRI[1], workRI[0], workRI[1]);
+        return dataRI;
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link FastMath} elementary functions.
+ * <p>
+ * Each invocation evaluates the function on {@link #SIZE} arguments,
+ * the reported time is the time per evaluation. The same functions from
+ * {@link Math} are also measured as a reference.
+ * </p>
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastMathBenchmark {
+
+    /** Number of arguments evaluated per invocation. */
+    private static final int SIZE = 1024;
+
+    /** Arguments for trigonometric functions. */
+    private double[] angles;
+
+    /** Arguments for exponential. */
+    private double[] exponents;
+
+    /** Arguments for logarithm. */
+    private double[] positives;
+
+    /** Set up the arguments. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x52b9e0c4f71d8a63L);
+        angles    = BenchmarkData.randomArray(random, SIZE, -10.0, 10.0);
+        exponents = BenchmarkData.randomArray(random, SIZE, -700.0, 700.0);
+        positives = BenchmarkData.randomArray(random, SIZE, 1.0e-10, 1.0e10);
+    }
+
+    /** Benchmark {@link FastMath#sin(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathSin() {
+        double sum = 0;
+        for (final double x : angles) {
+            sum += FastMath.sin(x);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#sin(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathSin() {
+        double sum = 0;
+        for (final double x : angles) {
+            sum += Math.sin(x);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#exp(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathExp() {
+        double sum = 0;
+        for (final double x : exponents) {
+            sum += FastMath.exp(x);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#exp(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathExp() {
+        double sum = 0;
+        for (final double x : exponents) {
+            sum += Math.exp(x);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#log(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathLog() {
+        double sum = 0;
+        for (final double x : positives) {
+            sum += FastMath.log(x);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#log(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathLog() {
+        double sum = 0;
+        for (final double x : positives) {
+            sum += Math.log(x);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarkData;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.ReductionKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link ReductionKernel} and element-by-element array operations.
+ * <p>
+ * The {@link ReductionKernel#VECTOR VECTOR} kernel uses the JDK Vector API only
+ * on Java 17 or later, when the forked JVMs get the incubating module, i.e. when
+ * the benchmark is run with {@code -jvmArgsAppend "--add-modules jdk.incubator.vector"}.
+ * </p>
+ * @since 4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReductionKernelBenchmark {
+
+    /** Arrays length. */
+    @Param({ "100", "10000", "1000000" })
+    private int n;
+
+    /** Reduction kernel. */
+    @Param({ "SCALAR", "UNROLLED", "VECTOR" })
+    private ReductionKernel kernel;
+
+    /** First array. */
+    private double[] a;
+
+    /** Second array. */
+    private double[] b;
+
+    /** Set up the data. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = BenchmarkData.generator(0x1c57e9a3d40b26f8L);
+        a = BenchmarkData.randomArray(random, n, -1.0, 1.0);
+        b = BenchmarkData.randomArray(random, n, -1.0, 1.0);
+    }
+
+    /** Benchmark dot product.
+     * @return dot product
+     */
+    @Benchmark
+    public double dotProduct() {
+        return kernel.dotProduct(a, b);
+    }
+
+    /** Benchmark norm.
+     * @return norm
+     */
+    @Benchmark
+    public double norm() {
+        return kernel.norm(a);
+    }
+
+    /** Benchmark distance.
+     * @return distance
+     */
+    @Benchmark
+    public double distance() {
+        return kernel.distance(a, b);
+    }
+
+    /** Benchmark accurate linear combination (independent of kernel).
+     * @return linear combination
+     */
+    @Benchmark
+    public double linearCombination() {
+        return MathArrays.linearCombination(a, b);
+    }
+
+    /** Benchmark element-by-element multiplication (independent of kernel).
+     * @return product array
+     */
+    @Benchmark
+    public double[] ebeMultiply() {
+        return MathArrays.ebeMultiply(a, b);
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+/** Approximate minimum degree fill-reducing ordering.
+ * <p>
+ * This class computes a symmetric permutation P such that the Cholesky
+ * factor of P A P<sup>T</sup> has few non-zeros, considering only the
+ * sparsity pattern of A + A<sup>T</sup>. It uses the quotient graph
+ * representation of the elimination graph, where eliminated nodes become
+ * elements representing the cliques they create, so the workspace is
+ * O(nnz + n), where nnz is the number of non-zeros in the pattern, instead
+ * of growing with the fill-in. This workspace is allocated in addition to
+ * the pattern, which is not modified. At each step the variable with smallest
+ * approximate external degree is eliminated, using the degree bound from
+ * Amestoy, Davis and Duff paper "An Approximate Minimum Degree Ordering
+ * Algorithm" (SIAM Journal on Matrix Analysis and Applications, 17(4), 1996).
+ * Elements included in the new pivot element are absorbed. Supervariables
+ * detection is not implemented, so the ordering is slightly less efficient
+ * than the reference one for matrices with many indistinguishable nodes.
+ * </p>
+ * @since 4.0
+ */
+final class ApproximateMinimumDegree {
+
+    /** Status for variables (non eliminated nodes). */
+    private static final byte VARIABLE = 0;
+
+    /** Status for elements (eliminated nodes). */
+    private static final byte ELEMENT = 1;
+
+    /** Status for absorbed elements. */
+    private static final byte ABSORBED = 2;
+
+    /** Private constructor for a utility class. */
+    private ApproximateMinimumDegree() {
+        // nothing to do
+    }
+
+    /** Compute an ordering.
+     * @param pattern storage of a square matrix, only its pattern is used
+     * @return permutation array, element {@code k} is the index of the node
+     * that should be eliminated at step {@code k}
+     */
+    static int[] order(final CompressedSparseStorage pattern) {
+
+        final int n = pattern.getMajorDimension();
+
+        // variables adjacency, from the pattern of A + A^T without diagonal
+        final int[] sizes    = new int[n];
+        final int[] pointers = pattern.getPointers();
+        final int[] indices  = pattern.getIndices();
+        for (int j = 0; j < n; ++j) {
+            for (int k = pointers[j]; k < pointers[j + 1]; ++k) {
+                final int i = indices[k];
+                if (i != j) {
+                    ++sizes[i];
+                    ++sizes[j];
+                }
+            }
+        }
+        final int[][] varAdj  = new int[n][];
+        final int[]   varSize = new int[n];
+        for (int i = 0; i < n; ++i) {
+            varAdj[i] = new int[sizes[i]];
+        }
+        for (int j = 0; j < n; ++j) {
+            for (int k = pointers[j]; k < pointers[j + 1]; ++k) {
+                final int i = indices[k];
+                if (i != j) {
+                    varAdj[i][varSize[i]++] = j;
+                    varAdj[j][varSize[j]++] = i;
+                }
+            }
+        }
+
+        // remove duplicates (entries present in both A and A^T)
+        final int[] mark  = new int[n];
+        int         stamp = 0;
+        Arrays.fill(mark, -1);
+        for (int i = 0; i < n; ++i) {
+            ++stamp;
+            int size = 0;
+            for (int k = 0; k < varSize[i]; ++k) {
+                final int j = varAdj[i][k];
+                if (mark[j] != stamp) {
+                    mark[j] = stamp;
+                    varAdj[i][size++] = j;
+                }
+            }
+            varSize[i] = size;
+        }
+
+        // elements adjacency
+        final int[][] elemAdj  = new int[n][];
+        final int[]   elemSize = new int[n];
+        final int[][] elemVars = new int[n][];
+        final byte[]  status   = new byte[n];
+        for (int i = 0; i < n; ++i) {
+            elemAdj[i] = new int[4];
+        }
+
+        // degree buckets
+        final int[] degree = new int[n];
+        final int[] head   = new int[n];
+        final int[] next   = new int[n];
+        final int[] prev   = new int[n];
+        Arrays.fill(head, -1);
+        for (int i = 0; i < n; ++i) {
+            degree[i] = varSize[i];
+            insert(i, degree[i], head, next, prev);
+        }
+        int minDegree = 0;
+
+        // weights |Le \ Lp| for elements
+        final int[] w      = new int[n];
+        final int[] wStamp = new int[n];
+        Arrays.fill(wStamp, -1);
+
+        final int[] order = new int[n];
+        for (int k = 0; k < n; ++k) {
+
+            // select pivot with minimum approximate degree
+            while (head[minDegree] < 0) {
+                ++minDegree;
+            }
+            final int p = head[minDegree];
+            remove(p, degree[p], head, next, prev);
+            order[k]  = p;
+            status[p] = ELEMENT;
+
+            // build Lp as the union of variables adjacent to p and variables of elements adjacent to p
+            ++stamp;
+            mark[p] = stamp;
+            int[] lp     = new int[varSize[p] + 4];
+            int   lpSize = 0;
+            for (int q = 0; q < varSize[p]; ++q) {
+                final int v = varAdj[p][q];
+                if (status[v] == VARIABLE && mark[v] != stamp) {
+                    mark[v] = stamp;
+                    if (lpSize == lp.length) {
+                        lp = Arrays.copyOf(lp, 2 * lpSize);
+                    }
+                    lp[lpSize++] = v;
+                }
+            }
+            for (int q = 0; q < elemSize[p]; ++q) {
+                final int e = elemAdj[p][q];
+                if (status[e] == ELEMENT) {
+                    final int[] le = elemVars[e];
+                    for (final int v : le) {
+                        if (status[v] == VARIABLE && mark[v] != stamp) {
+                            mark[v] = stamp;
+                            if (lpSize == lp.length) {
+                                lp = Arrays.copyOf(lp, 2 * lpSize);
+                            }
+                            lp[lpSize++] = v;
+                        }
+                    }
+                    // element e is absorbed by the new element p
+                    status[e]   = ABSORBED;
+                    elemVars[e] = null;
+                }
+            }
+            elemVars[p] = Arrays.copyOf(lp, lpSize);
+            varAdj[p]   = null;
+            elemAdj[p]  = null;
+            varSize[p]  = 0;
+            elemSize[p] = 0;
+
+            // compute |Le \ Lp| for all elements adjacent to variables in Lp
+            for (int q = 0; q < lpSize; ++q) {
+                final int i = lp[q];
+                for (int r = 0; r < elemSize[i]; ++r) {
+                    final int e = elemAdj[i][r];
+                    if (status[e] == ELEMENT) {
+                        if (wStamp[e] != k) {
+                            wStamp[e] = k;
+                            w[e]      = liveSize(elemVars[e], status);
+                        }
+                        --w[e];
+                    }
+                }
+            }
+
+            // update variables in Lp
+            final int remaining = n - k - 1;
+            for (int q = 0; q < lpSize; ++q) {
+                final int i = lp[q];
+
+                // clean element list, absorbing elements included in Lp, and add p
+                int elemDegree = 0;
+                int size       = 0;
+                for (int r = 0; r < elemSize[i]; ++r) {
+                    final int e = elemAdj[i][r];
+                    if (status[e] == ELEMENT) {
+                        if (w[e] == 0) {
+                            // aggressive absorption: Le is a subset of Lp
+                            status[e]   = ABSORBED;
+                            elemVars[e] = null;
+                        } else {
+                            elemAdj[i][size++] = e;
+                            elemDegree += w[e];
+                        }
+                    }
+                }
+                if (size == elemAdj[i].length) {
+                    elemAdj[i] = Arrays.copyOf(elemAdj[i], 2 * size);
+                }
+                elemAdj[i][size++] = p;
+                elemSize[i] = size;
+
+                // clean variables list, removing eliminated variables and variables already in Lp
+                size = 0;
+                for (int r = 0; r < varSize[i]; ++r) {
+                    final int v = varAdj[i][r];
+                    if (status[v] == VARIABLE && mark[v] != stamp) {
+                        varAdj[i][size++] = v;
+                    }
+                }
+                varSize[i] = size;
+
+                // approximate external degree
+                final int d = Math.min(remaining,
+                                       Math.min(degree[i] + lpSize - 1,
+                                                varSize[i] + lpSize - 1 + elemDegree));
+                remove(i, degree[i], head, next, prev);
+                degree[i] = Math.max(0, d);
+                insert(i, degree[i], head, next, prev);
+                minDegree = Math.min(minDegree, degree[i]);
+
+            }
+
+        }
+
+        return order;
+
+    }
+
+    /** Count the number of variables in an element.
+     * @param vars variables of the element
+     * @param status nodes status
+     * @return number of variables still not eliminated
+     */
+    private static int liveSize(final int[] vars, final byte[] status) {
+        int size = 0;
+        for (final int v : vars) {
+            if (status[v] == VARIABLE) {
+                ++size;
+            }
+        }
+        return size;
+    }
+
+    /** Insert a node in a degree bucket.
+     * @param i node
+     * @param d degree
+     * @param head bucket heads
+     * @param next next nodes in buckets
+     * @param prev previous nodes in buckets
+     */
+    private static void insert(final int i, final int d, final int[] head, final int[] next, final int[] prev) {
+        next[i] = head[d];
+        prev[i] = -1;
+        if (head[d] >= 0) {
+            prev[head[d]] = i;
+        }
+        head[d] = i;
+    }
+
+    /** Remove a node from a degree bucket.
+     * @param i node
+     * @param d degree
+     * @param head bucket heads
+     * @param next next nodes in buckets
+     * @param prev previous nodes in buckets
+     */
+    private static void remove(final int i, final int d, final int[] head, final int[] next, final int[] prev) {
+        if (prev[i] >= 0) {
+            next[prev[i]] = next[i];
+        } else {
+            head[d] = next[i];
+        }
+        if (next[i] >= 0) {
+            prev[next[i]] = prev[i];
+        }
+    }
+
+}
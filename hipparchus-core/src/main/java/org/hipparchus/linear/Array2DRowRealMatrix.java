@@ -221,34 +221,76 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         throws MathIllegalArgumentException {
         MatrixUtils.checkMultiplicationCompatible(this, m);
 
-        final int nRows = this.getRowDimension();
-        final int nCols = m.getColumnDimension();
-        final int nSum = this.getColumnDimension();
+        final double[][] outData = new double[getRowDimension()][m.getColumnDimension()];
+        GemmKernel.multiply(1.0, data, m.data, 0.0, outData);
 
-        final double[][] outData = new double[nRows][nCols];
-        // Will hold a column of "m".
-        final double[] mCol = new double[nSum];
-        final double[][] mData = m.data;
+        return new Array2DRowRealMatrix(outData, false);
+    }
 
-        // Multiply.
-        for (int col = 0; col < nCols; col++) {
-            // Copy all elements of column "col" of "m" so that
-            // will be in contiguous memory.
-            for (int mRow = 0; mRow < nSum; mRow++) {
-                mCol[mRow] = mData[mRow][col];
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix addInto(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        if (m instanceof Array2DRowRealMatrix && out instanceof Array2DRowRealMatrix) {
+            MatrixUtils.checkAdditionCompatible(this, m);
+            MatrixUtils.checkAdditionCompatible(this, out);
+            final double[][] mData   = ((Array2DRowRealMatrix) m).data;
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            for (int row = 0; row < data.length; row++) {
+                final double[] dataRow    = data[row];
+                final double[] mRow       = mData[row];
+                final double[] outDataRow = outData[row];
+                for (int col = 0; col < dataRow.length; col++) {
+                    outDataRow[col] = dataRow[col] + mRow[col];
+                }
             }
+            return out;
+        } else {
+            return super.addInto(m, out);
+        }
+    }
 
-            for (int row = 0; row < nRows; row++) {
-                final double[] dataRow = data[row];
-                double sum = 0;
-                for (int i = 0; i < nSum; i++) {
-                    sum += dataRow[i] * mCol[i];
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtractInto(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        if (m instanceof Array2DRowRealMatrix && out instanceof Array2DRowRealMatrix) {
+            MatrixUtils.checkSubtractionCompatible(this, m);
+            MatrixUtils.checkSubtractionCompatible(this, out);
+            final double[][] mData   = ((Array2DRowRealMatrix) m).data;
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            for (int row = 0; row < data.length; row++) {
+                final double[] dataRow    = data[row];
+                final double[] mRow       = mData[row];
+                final double[] outDataRow = outData[row];
+                for (int col = 0; col < dataRow.length; col++) {
+                    outDataRow[col] = dataRow[col] - mRow[col];
                 }
-                outData[row][col] = sum;
             }
+            return out;
+        } else {
+            return super.subtractInto(m, out);
         }
+    }
 
-        return new Array2DRowRealMatrix(outData, false);
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix scalarMultiplyInto(final double d, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        if (out instanceof Array2DRowRealMatrix) {
+            MatrixUtils.checkAdditionCompatible(this, out);
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            for (int row = 0; row < data.length; row++) {
+                final double[] dataRow    = data[row];
+                final double[] outDataRow = outData[row];
+                for (int col = 0; col < dataRow.length; col++) {
+                    outDataRow[col] = d * dataRow[col];
+                }
+            }
+            return out;
+        } else {
+            return super.scalarMultiplyInto(d, out);
+        }
     }
 
     /**
@@ -330,26 +372,10 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         throws MathIllegalArgumentException {
         MatrixUtils.checkSameRowDimension(this, m);
 
-        final int nRows = this.getColumnDimension();
-        final int nCols = m.getColumnDimension();
-        final int nSum  = this.getRowDimension();
-
-        final RealMatrix out = MatrixUtils.createRealMatrix(nRows, nCols);
-        final double[][] mData   = m.data;
-
-        // Multiply.
-        for (int k = 0; k < nSum; k++) {
-            final double[] dataK = data[k];
-            final double[] mK    = mData[k];
-            for (int row = 0; row < nRows; row++) {
-                final double dataIRow = dataK[row];
-                for (int col = 0; col < nCols; col++) {
-                    out.addToEntry(row, col, dataIRow * mK[col]);
-                }
-            }
-        }
+        final double[][] outData = new double[getColumnDimension()][m.getColumnDimension()];
+        GemmKernel.transposeMultiply(1.0, data, m.data, 0.0, outData);
 
-        return out;
+        return MatrixUtils.createRealMatrix(outData);
 
     }
 
@@ -508,6 +534,23 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double[] operateInto(final double[] v, final double[] out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkOperateCompatible(this, v.length, out.length);
+        final double[] x = (out == v) ? v.clone() : v;
+        for (int row = 0; row < data.length; row++) {
+            final double[] dataRow = data[row];
+            double sum = 0;
+            for (int i = 0; i < dataRow.length; i++) {
+                sum += dataRow[i] * x[i];
+            }
+            out[row] = sum;
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -31,6 +31,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ReductionKernel;
 
 /**
  * This class implements the {@link RealVector} interface with a double array.
@@ -342,6 +343,58 @@ public class ArrayRealVector extends RealVector implements Serializable {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector addInto(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).data;
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(vData.length);
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] + vData[i];
+            }
+            return out;
+        } else {
+            return super.addInto(v, out);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector subtractInto(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).data;
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(vData.length);
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] - vData[i];
+            }
+            return out;
+        } else {
+            return super.subtractInto(v, out);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector mapMultiplyInto(final double d, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (out instanceof ArrayRealVector) {
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = d * data[i];
+            }
+            return out;
+        } else {
+            return super.mapMultiplyInto(d, out);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector map(UnivariateFunction function) {
@@ -457,11 +510,7 @@ public class ArrayRealVector extends RealVector implements Serializable {
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
             checkVectorDimensions(vData.length);
-            double dot = 0;
-            for (int i = 0; i < data.length; i++) {
-                dot += data[i] * vData[i];
-            }
-            return dot;
+            return ReductionKernel.getDefault().dotProduct(data, vData);
         }
         return super.dotProduct(v);
     }
@@ -469,11 +518,7 @@ public class ArrayRealVector extends RealVector implements Serializable {
     /** {@inheritDoc} */
     @Override
     public double getNorm() {
-        double sum = 0;
-        for (double a : data) {
-            sum += a * a;
-        }
-        return FastMath.sqrt(sum);
+        return ReductionKernel.getDefault().norm(data);
     }
 
     /** {@inheritDoc} */
@@ -502,12 +547,7 @@ public class ArrayRealVector extends RealVector implements Serializable {
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
             checkVectorDimensions(vData.length);
-            double sum = 0;
-            for (int i = 0; i < data.length; ++i) {
-                final double delta = data[i] - vData[i];
-                sum += delta * delta;
-            }
-            return FastMath.sqrt(sum);
+            return ReductionKernel.getDefault().distance(data, vData);
         } else {
             checkVectorDimensions(v);
             double sum = 0;
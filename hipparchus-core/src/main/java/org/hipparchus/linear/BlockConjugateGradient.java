@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationManager;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelSettings;
+
+/**
+ * Conjugate gradient method for several right-hand sides sharing the same operator.
+ * <p>
+ * This solver runs one conjugate gradient recurrence per column of the
+ * right-hand side matrix B, exactly as {@link ConjugateGradient} would do
+ * on each column separately, but the operator A and the preconditioner M
+ * are applied to all the search directions at once. The vectors are
+ * interleaved when the operator is applied, so a sparse or large dense matrix
+ * is traversed only once per iteration instead of once per right-hand side,
+ * which improves cache reuse when the matrix does not fit in cache. This block product
+ * is used for {@link CSRRealMatrix}, {@link Array2DRowRealMatrix} and
+ * {@link ParallelRealLinearOperator} (which also distributes it among several
+ * threads), other operators are applied vector by vector.
+ * </p>
+ * <p>
+ * The stopping criterion is the default criterion of {@link ConjugateGradient},
+ * applied independently to each column: column j is converged when
+ * || r<sub>j</sub> || &le; &delta; || b<sub>j</sub> ||. Converged columns are
+ * frozen and removed from the block, the iterations stop when all columns
+ * are converged. As in {@link ConjugateGradient}, an iteration is one
+ * application of the operator (here to the whole block) and the
+ * initialization phase counts as one iteration.
+ * </p>
+ * <p>
+ * The recurrences of the columns are independent, so this is <em>not</em>
+ * the block conjugate gradient method of O'Leary, which shares the Krylov
+ * subspaces of all columns; it is however numerically as robust as the
+ * single right-hand side method.
+ * </p>
+ * @see ConjugateGradient
+ * @since 4.0
+ */
+public class BlockConjugateGradient {
+
+    /** The iteration manager. */
+    private final IterationManager manager;
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /** {@code true} if positive-definiteness of matrix and preconditioner should be checked. */
+    private final boolean check;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param check {@code true} if positive definiteness of both matrix and
+     * preconditioner should be checked
+     */
+    public BlockConjugateGradient(final int maxIterations, final double delta,
+                                  final boolean check) {
+        this.manager = new IterationManager(maxIterations);
+        this.delta   = delta;
+        this.check   = check;
+    }
+
+    /**
+     * Returns the iteration manager attached to this solver.
+     * <p>
+     * The manager counts iterations, but no events are fired to its listeners.
+     * </p>
+     * @return the manager
+     */
+    public IterationManager getIterationManager() {
+        return manager;
+    }
+
+    /**
+     * Returns {@code true} if positive-definiteness should be checked for both
+     * matrix and preconditioner.
+     *
+     * @return {@code true} if the tests are to be performed
+     */
+    public boolean shouldCheck() {
+        return check;
+    }
+
+    /**
+     * Returns an estimate of the solution to the linear systems A &middot; X = B.
+     *
+     * @param a the linear operator A of the systems
+     * @param b the right-hand sides, one per column
+     * @return a new matrix containing the solutions, one per column
+     * @throws NullArgumentException if one of the parameters is {@code null}
+     * @throws MathIllegalArgumentException if {@code a} is not square, or if
+     * {@code b} has dimensions inconsistent with {@code a}, or if {@code a}
+     * is not positive definite
+     * @throws MathIllegalStateException at exhaustion of the iteration count
+     */
+    public RealMatrix solve(final RealLinearOperator a, final RealMatrix b)
+        throws MathIllegalArgumentException, NullArgumentException, MathIllegalStateException {
+        return solve(a, null, b);
+    }
+
+    /**
+     * Returns an estimate of the solution to the linear systems A &middot; X = B.
+     *
+     * @param a the linear operator A of the systems
+     * @param m the preconditioner, M (can be {@code null})
+     * @param b the right-hand sides, one per column
+     * @return a new matrix containing the solutions, one per column
+     * @throws NullArgumentException if one of the parameters is {@code null}
+     * @throws MathIllegalArgumentException if {@code a} or {@code m} is not square,
+     * or if {@code m} or {@code b} have dimensions inconsistent with {@code a},
+     * or if {@code a} or {@code m} is not positive definite
+     * @throws MathIllegalStateException at exhaustion of the iteration count
+     */
+    public RealMatrix solve(final RealLinearOperator a, final RealLinearOperator m,
+                            final RealMatrix b)
+        throws MathIllegalArgumentException, NullArgumentException, MathIllegalStateException {
+        MathUtils.checkNotNull(b);
+        return solveInPlace(a, m, b, new Array2DRowRealMatrix(b.getRowDimension(), b.getColumnDimension()));
+    }
+
+    /**
+     * Returns an estimate of the solution to the linear systems A &middot; X = B.
+     * The solutions are computed in-place (initial guesses are modified).
+     *
+     * @param a the linear operator A of the systems
+     * @param m the preconditioner, M (can be {@code null})
+     * @param b the right-hand sides, one per column
+     * @param x0 the initial guesses, one per column, which will be overwritten
+     * by the solutions
+     * @return {@code x0}, containing the solutions
+     * @throws NullArgumentException if one of the parameters is {@code null}
+     * @throws MathIllegalArgumentException if {@code a} or {@code m} is not square,
+     * or if {@code m}, {@code b} or {@code x0} have dimensions inconsistent
+     * with {@code a}, or if {@code a} or {@code m} is not positive definite
+     * @throws MathIllegalStateException at exhaustion of the iteration count
+     */
+    public RealMatrix solveInPlace(final RealLinearOperator a, final RealLinearOperator m,
+                                   final RealMatrix b, final RealMatrix x0)
+        throws MathIllegalArgumentException, NullArgumentException, MathIllegalStateException {
+
+        checkParameters(a, m, b, x0);
+        manager.resetIterationCount();
+
+        final int n = b.getRowDimension();
+        final int k = b.getColumnDimension();
+        final ParallelRealLinearOperator aBlock = blockOperator(a);
+        final ParallelRealLinearOperator mBlock = blockOperator(m);
+
+        // vectors are stored separately, so vector operations work on contiguous
+        // arrays, they are interleaved only when the operators are applied
+        final int[]      active = new int[k];
+        final double[][] x      = new double[k][];
+        final double[][] r      = new double[k][];
+        final double[][] p      = new double[k][];
+        final double[][] q      = new double[k][];
+        final double[][] z      = (m == null) ? r : new double[k][];
+        final double[]   rmax   = new double[k];
+        for (int j = 0; j < k; ++j) {
+            active[j] = j;
+            x[j]      = x0.getColumn(j);
+            r[j]      = b.getColumn(j);
+            p[j]      = new double[n];
+            q[j]      = new double[n];
+            if (m != null) {
+                z[j] = new double[n];
+            }
+        }
+        final double[] rhoPrev = new double[k];
+        final double[] in      = new double[n * k];
+        final double[] out     = new double[n * k];
+
+        // initialization phase counts as one iteration
+        manager.incrementIterationCount();
+        int width = k;
+        apply(a, aBlock, x, q, width, in, out);
+        for (int c = 0; c < width; ++c) {
+            final double[] rc = r[c];
+            final double[] qc = q[c];
+            double bNorm2 = 0;
+            for (int i = 0; i < n; ++i) {
+                bNorm2 += rc[i] * rc[i];
+                rc[i]  -= qc[i];
+            }
+            rmax[c] = delta * FastMath.sqrt(bNorm2);
+        }
+        width = freezeConverged(x0, active, width, rmax, rhoPrev, x, r, p, q, z);
+
+        boolean first = true;
+        while (width > 0) {
+
+            manager.incrementIterationCount();
+
+            // update search directions
+            if (m != null) {
+                apply(m, mBlock, r, z, width, in, out);
+            }
+            for (int c = 0; c < width; ++c) {
+                final double[] rc  = r[c];
+                final double[] zc  = z[c];
+                final double[] pc  = p[c];
+                double         rho = 0;
+                for (int i = 0; i < n; ++i) {
+                    rho += rc[i] * zc[i];
+                }
+                if (check && rho <= 0.) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR);
+                }
+                if (first) {
+                    System.arraycopy(zc, 0, pc, 0, n);
+                } else {
+                    final double beta = rho / rhoPrev[c];
+                    for (int i = 0; i < n; ++i) {
+                        pc[i] = zc[i] + beta * pc[i];
+                    }
+                }
+                rhoPrev[c] = rho;
+            }
+            first = false;
+
+            // update solutions and residuals
+            apply(a, aBlock, p, q, width, in, out);
+            for (int c = 0; c < width; ++c) {
+                final double[] pc = p[c];
+                final double[] qc = q[c];
+                final double[] rc = r[c];
+                final double[] xc = x[c];
+                double pq = 0;
+                for (int i = 0; i < n; ++i) {
+                    pq += pc[i] * qc[i];
+                }
+                if (check && pq <= 0.) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR);
+                }
+                final double alpha = rhoPrev[c] / pq;
+                for (int i = 0; i < n; ++i) {
+                    xc[i] += alpha * pc[i];
+                    rc[i] -= alpha * qc[i];
+                }
+            }
+
+            width = freezeConverged(x0, active, width, rmax, rhoPrev, x, r, p, q, z);
+
+        }
+
+        return x0;
+
+    }
+
+    /** Store converged solutions and move them after the active vectors.
+     * @param x0 placeholder for the solutions
+     * @param active indices of the active columns (reordered in place)
+     * @param width number of active columns
+     * @param rmax residual thresholds of the active columns (reordered in place)
+     * @param rhoPrev last values of &rho; for the active columns (reordered in place)
+     * @param x solutions (reordered in place)
+     * @param r residuals (reordered in place)
+     * @param p search directions (reordered in place)
+     * @param q operator applied to search directions (reordered in place)
+     * @param z preconditioned residuals (reordered in place, may be the same array as {@code r})
+     * @return new number of active columns
+     */
+    private static int freezeConverged(final RealMatrix x0, final int[] active, final int width,
+                                       final double[] rmax, final double[] rhoPrev,
+                                       final double[][] x, final double[][] r, final double[][] p,
+                                       final double[][] q, final double[][] z) {
+        int newWidth = width;
+        int c        = 0;
+        while (c < newWidth) {
+            double rNorm2 = 0;
+            for (final double ri : r[c]) {
+                rNorm2 += ri * ri;
+            }
+            if (FastMath.sqrt(rNorm2) > rmax[c]) {
+                ++c;
+            } else {
+                // the column is converged, store its solution and swap it with the last active one
+                x0.setColumn(active[c], x[c]);
+                --newWidth;
+                swap(active, c, newWidth);
+                swap(rmax, c, newWidth);
+                swap(rhoPrev, c, newWidth);
+                swap(x, c, newWidth);
+                swap(r, c, newWidth);
+                swap(p, c, newWidth);
+                swap(q, c, newWidth);
+                if (z != r) {
+                    swap(z, c, newWidth);
+                }
+            }
+        }
+        return newWidth;
+    }
+
+    /** Swap two elements in an array.
+     * @param array array to modify
+     * @param i index of first element
+     * @param j index of second element
+     */
+    private static void swap(final int[] array, final int i, final int j) {
+        final int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /** Swap two elements in an array.
+     * @param array array to modify
+     * @param i index of first element
+     * @param j index of second element
+     */
+    private static void swap(final double[] array, final int i, final int j) {
+        final double tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /** Swap two elements in an array.
+     * @param array array to modify
+     * @param i index of first element
+     * @param j index of second element
+     */
+    private static void swap(final double[][] array, final int i, final int j) {
+        final double[] tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /** Check the parameters.
+     * @param a the linear operator A of the systems
+     * @param m the preconditioner, M (can be {@code null})
+     * @param b the right-hand sides
+     * @param x0 the initial guesses
+     * @throws NullArgumentException if one of the parameters is {@code null}
+     * @throws MathIllegalArgumentException if dimensions are inconsistent
+     */
+    private static void checkParameters(final RealLinearOperator a, final RealLinearOperator m,
+                                        final RealMatrix b, final RealMatrix x0)
+        throws MathIllegalArgumentException, NullArgumentException {
+        MathUtils.checkNotNull(a);
+        MathUtils.checkNotNull(b);
+        MathUtils.checkNotNull(x0);
+        if (a.getRowDimension() != a.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                   a.getRowDimension(), a.getColumnDimension());
+        }
+        if (b.getRowDimension() != a.getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   b.getRowDimension(), a.getRowDimension());
+        }
+        if (x0.getRowDimension() != a.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x0.getRowDimension(), a.getColumnDimension());
+        }
+        if (x0.getColumnDimension() != b.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x0.getColumnDimension(), b.getColumnDimension());
+        }
+        if (m != null) {
+            if (m.getColumnDimension() != m.getRowDimension()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                       m.getColumnDimension(), m.getRowDimension());
+            }
+            if (m.getRowDimension() != a.getRowDimension()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       m.getRowDimension(), a.getRowDimension());
+            }
+        }
+    }
+
+    /** Get a block operator allowing to apply an operator to several interleaved vectors at once.
+     * @param op operator (may be null)
+     * @return block operator, or null if {@code op} should be applied to each vector separately
+     */
+    private static ParallelRealLinearOperator blockOperator(final RealLinearOperator op) {
+        if (op instanceof ParallelRealLinearOperator) {
+            return (ParallelRealLinearOperator) op;
+        } else if (op instanceof CSRRealMatrix || op instanceof Array2DRowRealMatrix) {
+            // use the direct storage access of the wrapper, but without parallelism
+            return new ParallelRealLinearOperator((RealMatrix) op,
+                                                  new ParallelSettings(ForkJoinPool.commonPool(), Long.MAX_VALUE));
+        } else {
+            return null;
+        }
+    }
+
+    /** Apply an operator to several vectors.
+     * @param op operator to apply
+     * @param block block operator (null if {@code op} should be applied to each vector separately)
+     * @param v vectors
+     * @param result placeholder for the results
+     * @param width number of vectors
+     * @param in scratch array for interleaved vectors
+     * @param out scratch array for interleaved results
+     */
+    private static void apply(final RealLinearOperator op, final ParallelRealLinearOperator block,
+                              final double[][] v, final double[][] result, final int width,
+                              final double[] in, final double[] out) {
+        final int n = op.getRowDimension();
+        if (block != null) {
+
+            // interleave the vectors, so the operator is traversed only once
+            for (int c = 0; c < width; ++c) {
+                final double[] vc = v[c];
+                for (int i = 0; i < n; ++i) {
+                    in[i * width + c] = vc[i];
+                }
+            }
+
+            block.multiplyInterleaved(in, out, width);
+
+            // separate the results
+            for (int c = 0; c < width; ++c) {
+                final double[] rc = result[c];
+                for (int i = 0; i < n; ++i) {
+                    rc[i] = out[i * width + c];
+                }
+            }
+
+        } else {
+            for (int c = 0; c < width; ++c) {
+                System.arraycopy(op.operate(new ArrayRealVector(v[c], false)).toArray(), 0, result[c], 0, n);
+            }
+        }
+    }
+
+}
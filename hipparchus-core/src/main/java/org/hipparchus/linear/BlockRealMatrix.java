@@ -30,6 +30,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelSettings;
 
 /**
  * Cache-friendly implementation of RealMatrix using a flat arrays to store
@@ -531,64 +532,112 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @throws MathIllegalArgumentException if the matrices are not compatible.
      */
     public BlockRealMatrix multiply(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, possibly in parallel.
+     * <p>
+     * If {@code settings} is not null and the product is large enough, output blocks
+     * are distributed among the threads of the settings pool. The result is bit-identical
+     * to the serial computation, as each output block is always computed by the same
+     * sequence of operations.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param settings parallelism settings (null for serial computation)
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     * @since 4.0
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ParallelSettings settings)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkMultiplicationCompatible(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        computeBlocks(out, (iBlock, jBlock, outBlock) -> multiplyBlock(m, iBlock, jBlock, 1.0, outBlock),
+                      settings, ((long) rows) * columns * m.columns);
+        return out;
+    }
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
-
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
-
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
-
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /**
+     * Add one block of the product &alpha; {@code this} * m to an output block.
+     * @param m Matrix to postmultiply by.
+     * @param iBlock row index (in block sense) of the output block
+     * @param jBlock column index (in block sense) of the output block
+     * @param alpha scaling factor for the product
+     * @param outBlock output block
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final int iBlock, final int jBlock,
+                               final double alpha, final double[] outBlock) {
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = m.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
                     }
+                    outBlock[k] += alpha * sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
+    }
+
+    /**
+     * Compute c &larr; &alpha; {@code this} m + &beta; c in place.
+     * <p>
+     * Dimensions are not checked and c must be distinct from both {@code this} and m.
+     * </p>
+     * @param m Matrix to postmultiply by.
+     * @param c output matrix, updated in place
+     * @param alpha scaling factor for the product
+     * @param beta scaling factor for c
+     * @see MatrixUtils#multiply(RealMatrix, RealMatrix, RealMatrix, double, double)
+     */
+    void multiply(final BlockRealMatrix m, final BlockRealMatrix c, final double alpha, final double beta) {
+        for (int blockIndex = 0; blockIndex < c.blocks.length; ++blockIndex) {
+            final double[] cBlock = c.blocks[blockIndex];
+            if (beta == 0.0) {
+                // don't propagate NaN or infinities from the initial content of c
+                Arrays.fill(cBlock, 0.0);
+            } else if (beta != 1.0) {
+                for (int k = 0; k < cBlock.length; ++k) {
+                    cBlock[k] *= beta;
+                }
+            }
+            multiplyBlock(m, blockIndex / c.blockColumns, blockIndex % c.blockColumns, alpha, cBlock);
+        }
     }
 
     /**
@@ -600,60 +649,81 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix multiplyTransposed(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiplyTransposed(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m^T}, possibly in parallel.
+     * <p>
+     * If {@code settings} is not null and the product is large enough, output blocks
+     * are distributed among the threads of the settings pool. The result is bit-identical
+     * to the serial computation, as each output block is always computed by the same
+     * sequence of operations.
+     * </p>
+     * @param m matrix to first transpose and second postmultiply by
+     * @param settings parallelism settings (null for serial computation)
+     * @return {@code this * m^T}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 4.0
+     */
+    public BlockRealMatrix multiplyTransposed(final BlockRealMatrix m, final ParallelSettings settings)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameColumnDimension(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.rows);
+        computeBlocks(out, (iBlock, jBlock, outBlock) -> multiplyTransposedBlock(m, iBlock, jBlock, outBlock),
+                      settings, ((long) rows) * columns * m.rows);
+        return out;
+    }
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+    /**
+     * Compute one block of the product {@code this} * m^T.
+     * @param m matrix to first transpose and second postmultiply by
+     * @param iBlock row index (in block sense) of the output block
+     * @param jBlock column index (in block sense) of the output block
+     * @param outBlock output block
+     */
+    private void multiplyTransposedBlock(final BlockRealMatrix m, final int iBlock, final int jBlock,
+                                         final double[] outBlock) {
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final int jWidth = m.blockHeight(jBlock);
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l]     * mBlock[n]     +
-                                       tBlock[l + 1] * mBlock[n + 1] +
-                                       tBlock[l + 2] * mBlock[n + 2] +
-                                       tBlock[l + 3] * mBlock[n + 3];
-                                l += 4;
-                                n += 4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n++];
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l]     * mBlock[n]     +
+                               tBlock[l + 1] * mBlock[n + 1] +
+                               tBlock[l + 2] * mBlock[n + 2] +
+                               tBlock[l + 3] * mBlock[n + 3];
+                        l += 4;
+                        n += 4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n++];
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -719,69 +789,115 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix transposeMultiply(final BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return transposeMultiply(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this^T} by {@code m}, possibly in parallel.
+     * <p>
+     * If {@code settings} is not null and the product is large enough, output blocks
+     * are distributed among the threads of the settings pool. The result is bit-identical
+     * to the serial computation, as each output block is always computed by the same
+     * sequence of operations.
+     * </p>
+     * @param m matrix to postmultiply by
+     * @param settings parallelism settings (null for serial computation)
+     * @return {@code this^T * m}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 4.0
+     */
+    public BlockRealMatrix transposeMultiply(final BlockRealMatrix m, final ParallelSettings settings)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameRowDimension(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(columns, m.columns);
+        computeBlocks(out, (iBlock, jBlock, outBlock) -> transposeMultiplyBlock(m, iBlock, jBlock, outBlock),
+                      settings, ((long) rows) * columns * m.columns);
+        return out;
+    }
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-
-            final int iHeight  = out.blockHeight(iBlock);
-            final int iHeight2 = iHeight  + iHeight;
-            final int iHeight3 = iHeight2 + iHeight;
-            final int iHeight4 = iHeight3 + iHeight;
-            final int pStart   = iBlock * BLOCK_SIZE;
-            final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
-
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth  = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
-
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
-
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
-                    final int      kHeight = blockHeight(kBlock);
-                    final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
-                    final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = p - pStart;
-                        final int lEnd   = lStart + iHeight * kHeight;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - iHeight3) {
-                                sum += tBlock[l]            * mBlock[n] +
-                                       tBlock[l + iHeight]  * mBlock[n + jWidth] +
-                                       tBlock[l + iHeight2] * mBlock[n + jWidth2] +
-                                       tBlock[l + iHeight3] * mBlock[n + jWidth3];
-                                l += iHeight4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l] * mBlock[n];
-                                l += iHeight;
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /**
+     * Compute one block of the product {@code this^T} * m.
+     * @param m matrix to postmultiply by
+     * @param iBlock row index (in block sense) of the output block
+     * @param jBlock column index (in block sense) of the output block
+     * @param outBlock output block
+     */
+    private void transposeMultiplyBlock(final BlockRealMatrix m, final int iBlock, final int jBlock,
+                                        final double[] outBlock) {
+
+        final int iHeight  = blockWidth(iBlock);
+        final int iHeight2 = iHeight  + iHeight;
+        final int iHeight3 = iHeight2 + iHeight;
+        final int iHeight4 = iHeight3 + iHeight;
+        final int pStart   = iBlock * BLOCK_SIZE;
+        final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
+
+        final int jWidth  = m.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
+            final int      kHeight = blockHeight(kBlock);
+            final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
+            final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = p - pStart;
+                final int lEnd   = lStart + iHeight * kHeight;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - iHeight3) {
+                        sum += tBlock[l]            * mBlock[n] +
+                               tBlock[l + iHeight]  * mBlock[n + jWidth] +
+                               tBlock[l + iHeight2] * mBlock[n + jWidth2] +
+                               tBlock[l + iHeight3] * mBlock[n + jWidth3];
+                        l += iHeight4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l] * mBlock[n];
+                        l += iHeight;
+                        n += jWidth;
                     }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
+    }
+
+    /**
+     * Compute all blocks of an output matrix, possibly in parallel.
+     * @param out output matrix
+     * @param kernel kernel computing one output block
+     * @param settings parallelism settings (null for serial computation)
+     * @param work estimated number of multiply-add operations
+     */
+    private static void computeBlocks(final BlockRealMatrix out, final BlockKernel kernel,
+                                      final ParallelSettings settings, final long work) {
+        if (settings != null && settings.isParallel(work)) {
+            settings.forRange(0, out.blocks.length, 1, (start, end) -> {
+                for (int blockIndex = start; blockIndex < end; ++blockIndex) {
+                    kernel.compute(blockIndex / out.blockColumns, blockIndex % out.blockColumns,
+                                   out.blocks[blockIndex]);
+                }
+            });
+        } else {
+            // perform multiplication block-wise, to ensure good cache behavior
+            for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
+                kernel.compute(blockIndex / out.blockColumns, blockIndex % out.blockColumns,
+                               out.blocks[blockIndex]);
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -1861,4 +1977,15 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return (blockColumn == blockColumns - 1) ? columns - blockColumn * BLOCK_SIZE : BLOCK_SIZE;
     }
 
+    /** Interface for kernels computing one block of a matrix product. */
+    @FunctionalInterface
+    private interface BlockKernel {
+        /** Compute one output block.
+         * @param iBlock row index (in block sense) of the output block
+         * @param jBlock column index (in block sense) of the output block
+         * @param outBlock output block, initially filled with zeros
+         */
+        void compute(int iBlock, int jBlock, double[] outBlock);
+    }
+
 }
@@ -0,0 +1,463 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Calculates the Cholesky decomposition of a matrix stored outside of the Java heap.
+ * <p>
+ * This class computes the same decomposition A = LL<sup>T</sup> as {@link
+ * CholeskyDecomposition}, but it works directly on the blocks of a {@link
+ * BufferBlockRealMatrix} using a right-looking tiled algorithm. Only a few
+ * {@link BlockRealMatrix#BLOCK_SIZE} x {@link BlockRealMatrix#BLOCK_SIZE} tiles
+ * and one vector are allocated on the heap, whatever the matrix size, and the
+ * factor L is itself a {@link BufferBlockRealMatrix}. When the input matrix is
+ * not needed anymore, it can be overwritten by the factor to avoid allocating
+ * a second buffer storage.
+ * </p>
+ * <p>
+ * The solver returned by {@link #getSolver()} also works tile by tile, so solving
+ * for one vector reads the factor twice, once for the forward substitution and
+ * once for the back substitution.
+ * </p>
+ * @see CholeskyDecomposition
+ * @since 4.0
+ */
+public class BufferBlockCholeskyDecomposition {
+
+    /** Block size. */
+    private static final int BLOCK_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Lower triangular factor. */
+    private final BufferBlockRealMatrix l;
+
+    /** Matrix order. */
+    private final int order;
+
+    /** Number of blocks per row and per column. */
+    private final int nbBlocks;
+
+    /** Diagonal elements of L. */
+    private final double[] diagonal;
+
+    /** Cached value of LT. */
+    private RealMatrix cachedLT;
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #BufferBlockCholeskyDecomposition(BufferBlockRealMatrix, double, double, boolean)}
+     * with the thresholds set to the default values in {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD} and the
+     * input matrix preserved.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix is not square,
+     * not symmetric or not strictly positive definite
+     */
+    public BufferBlockCholeskyDecomposition(final BufferBlockRealMatrix matrix) {
+        this(matrix,
+             CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD,
+             false);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * <p>
+     * If {@code overwrite} is true, the input matrix is replaced by L and {@link
+     * #getL()} returns the input matrix itself. If the decomposition fails, the
+     * content of the input matrix is undefined.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param overwrite if true, the input matrix is overwritten by L
+     * @throws MathIllegalArgumentException if the matrix is not square,
+     * not symmetric or not strictly positive definite
+     */
+    public BufferBlockCholeskyDecomposition(final BufferBlockRealMatrix matrix,
+                                            final double relativeSymmetryThreshold,
+                                            final double absolutePositivityThreshold,
+                                            final boolean overwrite) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+
+        order    = matrix.getRowDimension();
+        nbBlocks = (order + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        diagonal = new double[order];
+        l        = overwrite ? matrix : matrix.copy();
+
+        final double[] a = new double[BLOCK_SIZE * BLOCK_SIZE];
+        final double[] b = new double[BLOCK_SIZE * BLOCK_SIZE];
+        final double[] c = new double[BLOCK_SIZE * BLOCK_SIZE];
+
+        checkSymmetry(relativeSymmetryThreshold, a, b);
+
+        for (int k = 0; k < nbBlocks; ++k) {
+            final int wK = blockSize(k);
+
+            // factor the diagonal block
+            l.getBlock(index(k, k), a);
+            factorDiagonalBlock(k, a, absolutePositivityThreshold);
+            l.setBlock(index(k, k), a);
+
+            // solve the panel below the diagonal block
+            for (int i = k + 1; i < nbBlocks; ++i) {
+                l.getBlock(index(i, k), b);
+                solvePanelBlock(a, wK, b, blockSize(i));
+                l.setBlock(index(i, k), b);
+            }
+
+            // update the trailing lower triangular part
+            for (int i = k + 1; i < nbBlocks; ++i) {
+                final int hI = blockSize(i);
+                l.getBlock(index(i, k), b);
+                for (int j = k + 1; j <= i; ++j) {
+                    final int wJ = blockSize(j);
+                    final double[] lJK;
+                    if (j == i) {
+                        lJK = b;
+                    } else {
+                        l.getBlock(index(j, k), c);
+                        lJK = c;
+                    }
+                    l.getBlock(index(i, j), a);
+                    for (int r = 0; r < hI; ++r) {
+                        final int rOffset = r * wK;
+                        // only the lower part of diagonal blocks is needed
+                        final int sMax = (j == i) ? r + 1 : wJ;
+                        for (int s = 0; s < sMax; ++s) {
+                            final int sOffset = s * wK;
+                            double sum = 0;
+                            for (int p = 0; p < wK; ++p) {
+                                sum += b[rOffset + p] * lJK[sOffset + p];
+                            }
+                            a[r * wJ + s] -= sum;
+                        }
+                    }
+                    l.setBlock(index(i, j), a);
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * Check symmetry and clear the strictly upper triangular blocks.
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param a work array for lower blocks
+     * @param b work array for upper blocks
+     */
+    private void checkSymmetry(final double relativeSymmetryThreshold,
+                               final double[] a, final double[] b) {
+        for (int i = 0; i < nbBlocks; ++i) {
+            final int hI = blockSize(i);
+            for (int j = 0; j <= i; ++j) {
+                final int wJ = blockSize(j);
+                l.getBlock(index(i, j), a);
+                if (j < i) {
+                    l.getBlock(index(j, i), b);
+                }
+                final double[] upper = (j < i) ? b : a;
+                for (int r = 0; r < hI; ++r) {
+                    for (int s = 0; s < ((j < i) ? wJ : r); ++s) {
+                        final double lIJ = a[r * wJ + s];
+                        final double lJI = upper[s * hI + r];
+                        final double maxDelta =
+                            relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
+                        if (FastMath.abs(lIJ - lJI) > maxDelta) {
+                            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                                   j * BLOCK_SIZE + s, i * BLOCK_SIZE + r,
+                                                                   relativeSymmetryThreshold);
+                        }
+                    }
+                }
+                if (j < i) {
+                    Arrays.fill(b, 0.0);
+                    l.setBlock(index(j, i), b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Factor one diagonal block in place.
+     * @param k index of the diagonal block
+     * @param a diagonal block, already updated by the previous panels
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     */
+    private void factorDiagonalBlock(final int k, final double[] a,
+                                     final double absolutePositivityThreshold) {
+        final int w = blockSize(k);
+        for (int j = 0; j < w; ++j) {
+            final int jOffset = j * w;
+
+            double s = a[jOffset + j];
+            for (int p = 0; p < j; ++p) {
+                s -= a[jOffset + p] * a[jOffset + p];
+            }
+            if (s <= absolutePositivityThreshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final double lJJ = FastMath.sqrt(s);
+            a[jOffset + j] = lJJ;
+            diagonal[k * BLOCK_SIZE + j] = lJJ;
+
+            for (int i = j + 1; i < w; ++i) {
+                final int iOffset = i * w;
+                double t = a[iOffset + j];
+                for (int p = 0; p < j; ++p) {
+                    t -= a[iOffset + p] * a[jOffset + p];
+                }
+                a[iOffset + j] = t / lJJ;
+                a[jOffset + i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Solve X L<sub>kk</sub><sup>T</sup> = B in place for one block of the panel.
+     * @param lKK factored diagonal block
+     * @param wK size of the diagonal block
+     * @param b panel block, replaced by X on output
+     * @param hI number of rows of the panel block
+     */
+    private static void solvePanelBlock(final double[] lKK, final int wK, final double[] b, final int hI) {
+        for (int r = 0; r < hI; ++r) {
+            final int rOffset = r * wK;
+            for (int j = 0; j < wK; ++j) {
+                final int jOffset = j * wK;
+                double t = b[rOffset + j];
+                for (int p = 0; p < j; ++p) {
+                    t -= b[rOffset + p] * lKK[jOffset + p];
+                }
+                b[rOffset + j] = t / lKK[jOffset + j];
+            }
+        }
+    }
+
+    /**
+     * Get the size of a block row or column.
+     * @param i index of the block row or column
+     * @return size of the block row or column
+     */
+    private int blockSize(final int i) {
+        return (i == nbBlocks - 1) ? order - i * BLOCK_SIZE : BLOCK_SIZE;
+    }
+
+    /**
+     * Get the index of a block.
+     * @param i block row index
+     * @param j block column index
+     * @return index of the block in the matrix storage
+     */
+    private int index(final int i, final int j) {
+        return i * nbBlocks + j;
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a lower-triangular matrix</p>
+     * @return the L matrix
+     */
+    public BufferBlockRealMatrix getL() {
+        return l;
+    }
+
+    /**
+     * Returns the transpose of the matrix L of the decomposition.
+     * <p>L<sup>T</sup> is an upper-triangular matrix</p>
+     * @return the transpose of the matrix L of the decomposition
+     */
+    public RealMatrix getLT() {
+        if (cachedLT == null) {
+            cachedLT = l.transpose();
+        }
+        return cachedLT;
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (final double lII : diagonal) {
+            determinant *= lII * lII;
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            if (b.getDimension() != order) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), order);
+            }
+            final double[] x = b.toArray();
+            solveInPlace(x, new double[BLOCK_SIZE * BLOCK_SIZE]);
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            if (b.getRowDimension() != order) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), order);
+            }
+            final int            nColB  = b.getColumnDimension();
+            final RealMatrix     result = l.createMatrix(order, nColB);
+            final double[]       tile   = new double[BLOCK_SIZE * BLOCK_SIZE];
+            for (int k = 0; k < nColB; ++k) {
+                final double[] x = b.getColumn(k);
+                solveInPlace(x, tile);
+                result.setColumn(k, x);
+            }
+            return result;
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return inverse matrix
+         */
+        @Override
+        public RealMatrix getInverse() {
+            final RealMatrix result = l.createMatrix(order, order);
+            final double[]   tile   = new double[BLOCK_SIZE * BLOCK_SIZE];
+            final double[]   x      = new double[order];
+            for (int k = 0; k < order; ++k) {
+                Arrays.fill(x, 0.0);
+                x[k] = 1.0;
+                solveInPlace(x, tile);
+                result.setColumn(k, x);
+            }
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return order;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return order;
+        }
+
+        /**
+         * Solve A x = b in place, one tile at a time.
+         * @param x right hand side on input, solution on output
+         * @param tile work array for one tile
+         */
+        private void solveInPlace(final double[] x, final double[] tile) {
+
+            // solve L y = b
+            for (int i = 0; i < nbBlocks; ++i) {
+                final int hI = blockSize(i);
+                final int i0 = i * BLOCK_SIZE;
+                for (int j = 0; j < i; ++j) {
+                    l.getBlock(index(i, j), tile);
+                    final int j0 = j * BLOCK_SIZE;
+                    for (int r = 0; r < hI; ++r) {
+                        final int rOffset = r * BLOCK_SIZE;
+                        double sum = 0;
+                        for (int s = 0; s < BLOCK_SIZE; ++s) {
+                            sum += tile[rOffset + s] * x[j0 + s];
+                        }
+                        x[i0 + r] -= sum;
+                    }
+                }
+                l.getBlock(index(i, i), tile);
+                for (int r = 0; r < hI; ++r) {
+                    final int rOffset = r * hI;
+                    double t = x[i0 + r];
+                    for (int s = 0; s < r; ++s) {
+                        t -= tile[rOffset + s] * x[i0 + s];
+                    }
+                    x[i0 + r] = t / tile[rOffset + r];
+                }
+            }
+
+            // solve L^T x = y
+            for (int i = nbBlocks - 1; i >= 0; --i) {
+                final int hI = blockSize(i);
+                final int i0 = i * BLOCK_SIZE;
+                for (int j = nbBlocks - 1; j > i; --j) {
+                    final int hJ = blockSize(j);
+                    final int j0 = j * BLOCK_SIZE;
+                    l.getBlock(index(j, i), tile);
+                    for (int r = 0; r < hJ; ++r) {
+                        final int    rOffset = r * BLOCK_SIZE;
+                        final double xR      = x[j0 + r];
+                        for (int s = 0; s < BLOCK_SIZE; ++s) {
+                            x[i0 + s] -= tile[rOffset + s] * xR;
+                        }
+                    }
+                }
+                l.getBlock(index(i, i), tile);
+                for (int r = hI - 1; r >= 0; --r) {
+                    double t = x[i0 + r];
+                    for (int s = r + 1; s < hI; ++s) {
+                        t -= tile[s * hI + r] * x[i0 + s];
+                    }
+                    x[i0 + r] = t / tile[r * hI + r];
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,799 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
+
+/**
+ * Implementation of RealMatrix storing entries outside of the Java heap.
+ * <p>
+ * Entries are stored in {@link DoubleBuffer} instances, either direct buffers allocated
+ * outside of the Java heap or buffers mapped to a file region using {@link
+ * #map(FileChannel, long, int, int)}. As the storage is not made of Java arrays, it does
+ * not contribute to garbage collection pauses, and mapped matrices may be larger than
+ * the available physical memory, the operating system paging blocks in and out as needed.
+ * </p>
+ * <p>
+ * The layout is the same as the one used by {@link BlockRealMatrix}: the matrix is split
+ * in {@link BlockRealMatrix#BLOCK_SIZE} x {@link BlockRealMatrix#BLOCK_SIZE} blocks (smaller
+ * at right and bottom sides), each block being flattened in row major order and blocks
+ * being themselves stored one after the other in row major order. A r&times;c matrix
+ * therefore uses exactly 8rc bytes, in native byte order. Since a single buffer cannot
+ * exceed 2<sup>31</sup>-1 bytes, the blocks are spread over several buffers, each buffer
+ * holding an integral number of blocks.
+ * </p>
+ * <p>
+ * Products, transposition, matrix-vector products and optimized order walks are performed
+ * one block at a time, copying blocks to and from small on-heap arrays, so the heap
+ * footprint of these operations does not depend on the matrix size. Matrices created
+ * by these operations are stored in direct buffers. Other operations use the generic
+ * implementations from {@link AbstractRealMatrix}.
+ * </p>
+ * <p>
+ * Symmetric positive definite systems can be solved without leaving the buffer storage
+ * using {@link BufferBlockCholeskyDecomposition}, which also works one block at a time.
+ * The other decompositions like {@link LUDecomposition} or {@link QRDecomposition} copy
+ * the whole matrix to on-heap arrays, so they are limited to matrices that fit in the heap.
+ * </p>
+ * <p>
+ * Direct buffers memory is released only when the buffers are garbage collected. Changes
+ * to mapped matrices are written to the file by the operating system at its own pace,
+ * {@link #force()} can be used to write them synchronously.
+ * </p>
+ * @since 4.0
+ */
+public class BufferBlockRealMatrix extends AbstractRealMatrix {
+
+    /** Block size. */
+    private static final int BLOCK_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Number of bytes per entry. */
+    private static final int BYTES = 8;
+
+    /** Maximum number of entries in one buffer. */
+    private static final int MAX_CHUNK_LENGTH = Integer.MAX_VALUE / BYTES;
+
+    /** Number of rows of the matrix. */
+    private final int rows;
+
+    /** Number of columns of the matrix. */
+    private final int columns;
+
+    /** Number of block rows of the matrix. */
+    private final int blockRows;
+
+    /** Number of block columns of the matrix. */
+    private final int blockColumns;
+
+    /** Maximum number of entries in one buffer. */
+    private final int chunkLength;
+
+    /** Index of the buffer holding each block. */
+    private final int[] blockChunk;
+
+    /** Offset of each block within its buffer. */
+    private final int[] blockOffset;
+
+    /** Number of entries in each buffer. */
+    private final int[] chunkSizes;
+
+    /** Underlying byte buffers. */
+    private final ByteBuffer[] buffers;
+
+    /** Views of the byte buffers as double buffers. */
+    private final DoubleBuffer[] chunks;
+
+    /**
+     * Create a new matrix stored in direct buffers, with all entries set to zero.
+     *
+     * @param rows  the number of rows in the new matrix
+     * @param columns  the number of columns in the new matrix
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public BufferBlockRealMatrix(final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        this(rows, columns, MAX_CHUNK_LENGTH);
+    }
+
+    /**
+     * Create a new matrix stored in direct buffers, with all entries set to zero.
+     * <p>
+     * This constructor is intended for tests of the multi-buffers layout.
+     * </p>
+     *
+     * @param rows  the number of rows in the new matrix
+     * @param columns  the number of columns in the new matrix
+     * @param chunkLength maximum number of entries in one buffer
+     * (must be at least {@link BlockRealMatrix#BLOCK_SIZE}<sup>2</sup>)
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    BufferBlockRealMatrix(final int rows, final int columns, final int chunkLength)
+        throws MathIllegalArgumentException {
+        this(rows, columns, chunkLength, false);
+        for (int i = 0; i < chunks.length; ++i) {
+            setBuffer(i, ByteBuffer.allocateDirect(chunkSizes[i] * BYTES));
+        }
+    }
+
+    /**
+     * Create a new matrix layout, without allocating the buffers.
+     *
+     * @param rows  the number of rows in the new matrix
+     * @param columns  the number of columns in the new matrix
+     * @param chunkLength maximum number of entries in one buffer
+     * @param unused unused parameter, only used to select this constructor
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    private BufferBlockRealMatrix(final int rows, final int columns, final int chunkLength,
+                                  final boolean unused)
+        throws MathIllegalArgumentException {
+        super(rows, columns);
+        this.rows        = rows;
+        this.columns     = columns;
+        this.chunkLength = chunkLength;
+
+        // number of blocks
+        blockRows    = (rows    + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blockColumns = (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int nbBlocks = blockRows * blockColumns;
+
+        // distribute blocks among buffers
+        blockChunk  = new int[nbBlocks];
+        blockOffset = new int[nbBlocks];
+        int nbChunks = 0;
+        int used     = chunkLength;
+        for (int index = 0; index < nbBlocks; ++index) {
+            final int length = blockLength(index);
+            if (used + length > chunkLength) {
+                // start a new buffer
+                ++nbChunks;
+                used = 0;
+            }
+            blockChunk[index]  = nbChunks - 1;
+            blockOffset[index] = used;
+            used += length;
+        }
+
+        chunkSizes = new int[nbChunks];
+        for (int index = 0; index < nbBlocks; ++index) {
+            chunkSizes[blockChunk[index]] += blockLength(index);
+        }
+        buffers = new ByteBuffer[nbChunks];
+        chunks  = new DoubleBuffer[nbChunks];
+
+    }
+
+    /**
+     * Create a matrix mapped to a file region.
+     * <p>
+     * The region starts at {@code position} and is 8 &times; rows &times; columns bytes long,
+     * the file being extended if needed. If the region already contains data (for example
+     * written by a previous mapping of a matrix with the same dimensions), the matrix
+     * entries are read from it, otherwise the entries in the extended part are zero. The
+     * mapping remains valid after the channel has been closed.
+     * </p>
+     *
+     * @param channel file channel, which must be opened for both reading and writing
+     * @param position position of the matrix within the file
+     * @param rows  the number of rows in the new matrix
+     * @param columns  the number of columns in the new matrix
+     * @return mapped matrix
+     * @throws IOException if the file region cannot be mapped
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public static BufferBlockRealMatrix map(final FileChannel channel, final long position,
+                                            final int rows, final int columns)
+        throws IOException, MathIllegalArgumentException {
+        return map(channel, position, rows, columns, MAX_CHUNK_LENGTH);
+    }
+
+    /**
+     * Create a matrix mapped to a file region.
+     * <p>
+     * This method is intended for tests of the multi-buffers layout.
+     * </p>
+     *
+     * @param channel file channel, which must be opened for both reading and writing
+     * @param position position of the matrix within the file
+     * @param rows  the number of rows in the new matrix
+     * @param columns  the number of columns in the new matrix
+     * @param chunkLength maximum number of entries in one buffer
+     * (must be at least {@link BlockRealMatrix#BLOCK_SIZE}<sup>2</sup>)
+     * @return mapped matrix
+     * @throws IOException if the file region cannot be mapped
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    static BufferBlockRealMatrix map(final FileChannel channel, final long position,
+                                     final int rows, final int columns, final int chunkLength)
+        throws IOException, MathIllegalArgumentException {
+        final BufferBlockRealMatrix matrix = new BufferBlockRealMatrix(rows, columns, chunkLength, false);
+        long start = position;
+        for (int i = 0; i < matrix.chunks.length; ++i) {
+            final int size = matrix.chunkSizes[i] * BYTES;
+            matrix.setBuffer(i, channel.map(FileChannel.MapMode.READ_WRITE, start, size));
+            start += size;
+        }
+        return matrix;
+    }
+
+    /**
+     * Set one of the underlying buffers.
+     * @param i index of the buffer
+     * @param buffer byte buffer
+     */
+    private void setBuffer(final int i, final ByteBuffer buffer) {
+        buffers[i] = buffer;
+        chunks[i]  = buffer.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    /**
+     * Force changes to mapped matrices to be written to the storage device.
+     * <p>
+     * This method does nothing for matrices stored in direct buffers.
+     * </p>
+     */
+    public void force() {
+        for (final ByteBuffer buffer : buffers) {
+            if (buffer instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) buffer).force();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferBlockRealMatrix createMatrix(final int rowDimension,
+                                              final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new BufferBlockRealMatrix(rowDimension, columnDimension, chunkLength);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferBlockRealMatrix copy() {
+        final BufferBlockRealMatrix copied = new BufferBlockRealMatrix(rows, columns, chunkLength);
+        for (int i = 0; i < chunks.length; ++i) {
+            copied.chunks[i].duplicate().put(chunks[i].duplicate());
+        }
+        return copied;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int index = entryBlock(row, column);
+        return chunks[blockChunk[index]].get(blockOffset[index] + entryOffset(row, column));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int index = entryBlock(row, column);
+        chunks[blockChunk[index]].put(blockOffset[index] + entryOffset(row, column), value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column,
+                           final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int index = entryBlock(row, column);
+        final DoubleBuffer chunk = chunks[blockChunk[index]];
+        final int k = blockOffset[index] + entryOffset(row, column);
+        chunk.put(k, chunk.get(k) + increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column,
+                              final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int index = entryBlock(row, column);
+        final DoubleBuffer chunk = chunks[blockChunk[index]];
+        final int k = blockOffset[index] + entryOffset(row, column);
+        chunk.put(k, chunk.get(k) * factor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferBlockRealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, possibly in parallel.
+     * <p>
+     * The product is computed one output block at a time. If {@code m} is also a
+     * {@link BufferBlockRealMatrix}, its blocks are copied directly, otherwise they are
+     * extracted using {@link RealMatrix#walkInOptimizedOrder(RealMatrixPreservingVisitor,
+     * int, int, int, int)}, which is efficient for {@link BlockRealMatrix}. If {@code settings}
+     * is not null and the product is large enough, output blocks are distributed among
+     * the threads of the settings pool. The result is bit-identical to the serial
+     * computation, and to {@link BlockRealMatrix#multiply(BlockRealMatrix)} on the same data.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param settings parallelism settings (null for serial computation)
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     */
+    public BufferBlockRealMatrix multiply(final RealMatrix m, final ParallelSettings settings)
+        throws MathIllegalArgumentException {
+
+        // safety check
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final BufferBlockRealMatrix out = new BufferBlockRealMatrix(rows, m.getColumnDimension(), chunkLength);
+        final int nbBlocks = out.blockRows * out.blockColumns;
+        if (settings != null && settings.isParallel(((long) rows) * columns * m.getColumnDimension())) {
+            settings.forRange(0, nbBlocks, 1, (start, end) -> {
+                final double[][] buffer = new double[3][BLOCK_SIZE * BLOCK_SIZE];
+                for (int index = start; index < end; ++index) {
+                    multiplyBlock(m, out, index, buffer);
+                }
+            });
+        } else {
+            final double[][] buffer = new double[3][BLOCK_SIZE * BLOCK_SIZE];
+            for (int index = 0; index < nbBlocks; ++index) {
+                multiplyBlock(m, out, index, buffer);
+            }
+        }
+
+        return out;
+
+    }
+
+    /**
+     * Compute one block of the product {@code this} * m.
+     * @param m Matrix to postmultiply by.
+     * @param out output matrix
+     * @param outIndex index of the output block
+     * @param buffer on-heap work blocks (left operand, right operand and product)
+     */
+    private void multiplyBlock(final RealMatrix m, final BufferBlockRealMatrix out, final int outIndex,
+                               final double[][] buffer) {
+
+        final double[] tBlock   = buffer[0];
+        final double[] mBlock   = buffer[1];
+        final double[] outBlock = buffer[2];
+
+        final int iBlock = outIndex / out.blockColumns;
+        final int jBlock = outIndex % out.blockColumns;
+        final int iHeight = blockHeight(iBlock);
+        final int jWidth  = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+        Arrays.fill(outBlock, 0, iHeight * jWidth, 0.0);
+
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            getBlock(iBlock * blockColumns + kBlock, tBlock);
+            extractBlock(m, kBlock, jBlock, mBlock);
+            int k = 0;
+            for (int p = 0; p < iHeight; ++p) {
+                final int lStart = p * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
+                }
+            }
+        }
+
+        out.setBlock(outIndex, outBlock);
+
+    }
+
+    /**
+     * Extract one block from a matrix, using the blocks layout.
+     * @param m matrix from which block should be extracted
+     * @param iBlock row index (in block sense) of the block
+     * @param jBlock column index (in block sense) of the block
+     * @param block array where to store the block entries in row major order
+     */
+    private static void extractBlock(final RealMatrix m, final int iBlock, final int jBlock,
+                                     final double[] block) {
+        if (m instanceof BufferBlockRealMatrix) {
+            final BufferBlockRealMatrix bm = (BufferBlockRealMatrix) m;
+            bm.getBlock(iBlock * bm.blockColumns + jBlock, block);
+        } else {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, m.getRowDimension());
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, m.getColumnDimension());
+            final int width  = qEnd - qStart;
+            m.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public void visit(final int row, final int column, final double value) {
+                    block[(row - pStart) * width + column - qStart] = value;
+                }
+            }, pStart, pEnd - 1, qStart, qEnd - 1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferBlockRealMatrix transpose() {
+        final BufferBlockRealMatrix out = new BufferBlockRealMatrix(columns, rows, chunkLength);
+        final double[] tBlock   = new double[BLOCK_SIZE * BLOCK_SIZE];
+        final double[] outBlock = new double[BLOCK_SIZE * BLOCK_SIZE];
+
+        // perform transpose block-wise, to ensure good cache behavior
+        int blockIndex = 0;
+        for (int iBlock = 0; iBlock < blockColumns; ++iBlock) {
+            final int iHeight = blockWidth(iBlock);
+            for (int jBlock = 0; jBlock < blockRows; ++jBlock) {
+                // transpose current block
+                final int jWidth = blockHeight(jBlock);
+                getBlock(jBlock * blockColumns + iBlock, tBlock);
+                int k = 0;
+                for (int p = 0; p < iHeight; ++p) {
+                    int l = p;
+                    for (int q = 0; q < jWidth; ++q) {
+                        outBlock[k++] = tBlock[l];
+                        l += iHeight;
+                    }
+                }
+                out.setBlock(blockIndex, outBlock);
+                // go to next block
+                ++blockIndex;
+            }
+        }
+
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
+        }
+        final double[] out   = new double[rows];
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+
+        // perform multiplication block-wise, to ensure good cache behavior
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                getBlock(iBlock * blockColumns + jBlock, block);
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    double sum = 0;
+                    int q = qStart;
+                    while (q < qEnd - 3) {
+                        sum += block[k]     * v[q]     +
+                               block[k + 1] * v[q + 1] +
+                               block[k + 2] * v[q + 2] +
+                               block[k + 3] * v[q + 3];
+                        k += 4;
+                        q += 4;
+                    }
+                    while (q < qEnd) {
+                        sum += block[k++] * v[q++];
+                    }
+                    out[p] += sum;
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != rows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, rows);
+        }
+        final double[] out   = new double[columns];
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+
+        // perform multiplication block-wise, to ensure good cache behavior
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final int jWidth  = blockWidth(jBlock);
+            final int jWidth2 = jWidth  + jWidth;
+            final int jWidth3 = jWidth2 + jWidth;
+            final int jWidth4 = jWidth3 + jWidth;
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+            for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+                getBlock(iBlock * blockColumns + jBlock, block);
+                final int pStart = iBlock * BLOCK_SIZE;
+                final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+                for (int q = qStart; q < qEnd; ++q) {
+                    int k = q - qStart;
+                    double sum = 0;
+                    int p = pStart;
+                    while (p < pEnd - 3) {
+                        sum += block[k]           * v[p]     +
+                               block[k + jWidth]  * v[p + 1] +
+                               block[k + jWidth2] * v[p + 2] +
+                               block[k + jWidth3] * v[p + 3];
+                        k += jWidth4;
+                        p += 4;
+                    }
+                    while (p < pEnd) {
+                        sum += block[k] * v[p++];
+                        k += jWidth;
+                    }
+                    out[q] += sum;
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        int blockIndex = 0;
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                getBlock(blockIndex, block);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    for (int q = qStart; q < qEnd; ++q) {
+                        block[k] = visitor.visit(p, q, block[k]);
+                        ++k;
+                    }
+                }
+                setBlock(blockIndex, block);
+                ++blockIndex;
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        int blockIndex = 0;
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                getBlock(blockIndex, block);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    for (int q = qStart; q < qEnd; ++q) {
+                        visitor.visit(p, q, block[k]);
+                        ++k;
+                    }
+                }
+                ++blockIndex;
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor,
+                                       final int startRow, final int endRow,
+                                       final int startColumn,
+                                       final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(this, startRow, endRow, startColumn, endColumn);
+        visitor.start(rows, columns, startRow, endRow, startColumn, endColumn);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        for (int iBlock = startRow / BLOCK_SIZE; iBlock < 1 + endRow / BLOCK_SIZE; ++iBlock) {
+            final int p0     = iBlock * BLOCK_SIZE;
+            final int pStart = FastMath.max(startRow, p0);
+            final int pEnd   = FastMath.min((iBlock + 1) * BLOCK_SIZE, 1 + endRow);
+            for (int jBlock = startColumn / BLOCK_SIZE; jBlock < 1 + endColumn / BLOCK_SIZE; ++jBlock) {
+                final int jWidth = blockWidth(jBlock);
+                final int q0     = jBlock * BLOCK_SIZE;
+                final int qStart = FastMath.max(startColumn, q0);
+                final int qEnd   = FastMath.min((jBlock + 1) * BLOCK_SIZE, 1 + endColumn);
+                final int blockIndex = iBlock * blockColumns + jBlock;
+                getBlock(blockIndex, block);
+                for (int p = pStart; p < pEnd; ++p) {
+                    int k = (p - p0) * jWidth + qStart - q0;
+                    for (int q = qStart; q < qEnd; ++q) {
+                        block[k] = visitor.visit(p, q, block[k]);
+                        ++k;
+                    }
+                }
+                setBlock(blockIndex, block);
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor,
+                                       final int startRow, final int endRow,
+                                       final int startColumn,
+                                       final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(this, startRow, endRow, startColumn, endColumn);
+        visitor.start(rows, columns, startRow, endRow, startColumn, endColumn);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        for (int iBlock = startRow / BLOCK_SIZE; iBlock < 1 + endRow / BLOCK_SIZE; ++iBlock) {
+            final int p0     = iBlock * BLOCK_SIZE;
+            final int pStart = FastMath.max(startRow, p0);
+            final int pEnd   = FastMath.min((iBlock + 1) * BLOCK_SIZE, 1 + endRow);
+            for (int jBlock = startColumn / BLOCK_SIZE; jBlock < 1 + endColumn / BLOCK_SIZE; ++jBlock) {
+                final int jWidth = blockWidth(jBlock);
+                final int q0     = jBlock * BLOCK_SIZE;
+                final int qStart = FastMath.max(startColumn, q0);
+                final int qEnd   = FastMath.min((jBlock + 1) * BLOCK_SIZE, 1 + endColumn);
+                getBlock(iBlock * blockColumns + jBlock, block);
+                for (int p = pStart; p < pEnd; ++p) {
+                    int k = (p - p0) * jWidth + qStart - q0;
+                    for (int q = qStart; q < qEnd; ++q) {
+                        visitor.visit(p, q, block[k]);
+                        ++k;
+                    }
+                }
+            }
+        }
+        return visitor.end();
+    }
+
+    /**
+     * Copy one block from the buffers to an on-heap array.
+     * <p>
+     * This method can be called concurrently from several threads.
+     * </p>
+     * @param blockIndex index of the block
+     * @param block array where to store the block entries in row major order
+     * (must have at least as many elements as the block)
+     */
+    void getBlock(final int blockIndex, final double[] block) {
+        final DoubleBuffer chunk = chunks[blockChunk[blockIndex]].duplicate();
+        chunk.position(blockOffset[blockIndex]);
+        chunk.get(block, 0, blockLength(blockIndex));
+    }
+
+    /**
+     * Copy one block from an on-heap array to the buffers.
+     * <p>
+     * This method can be called concurrently from several threads, as long as
+     * they store different blocks.
+     * </p>
+     * @param blockIndex index of the block
+     * @param block array containing the block entries in row major order
+     * (must have at least as many elements as the block)
+     */
+    void setBlock(final int blockIndex, final double[] block) {
+        final DoubleBuffer chunk = chunks[blockChunk[blockIndex]].duplicate();
+        chunk.position(blockOffset[blockIndex]);
+        chunk.put(block, 0, blockLength(blockIndex));
+    }
+
+    /**
+     * Get the index of the block containing an entry.
+     * @param row row index of the entry
+     * @param column column index of the entry
+     * @return index of the block containing the entry
+     */
+    private int entryBlock(final int row, final int column) {
+        return (row / BLOCK_SIZE) * blockColumns + column / BLOCK_SIZE;
+    }
+
+    /**
+     * Get the offset of an entry within its block.
+     * @param row row index of the entry
+     * @param column column index of the entry
+     * @return offset of the entry within its block
+     */
+    private int entryOffset(final int row, final int column) {
+        final int jBlock = column / BLOCK_SIZE;
+        return (row % BLOCK_SIZE) * blockWidth(jBlock) + column - jBlock * BLOCK_SIZE;
+    }
+
+    /**
+     * Get the number of entries of a block.
+     * @param blockIndex index of the block
+     * @return number of entries of the block
+     */
+    private int blockLength(final int blockIndex) {
+        return blockHeight(blockIndex / blockColumns) * blockWidth(blockIndex % blockColumns);
+    }
+
+    /**
+     * Get the height of a block.
+     * @param blockRow row index (in block sense) of the block
+     * @return height (number of rows) of the block
+     */
+    private int blockHeight(final int blockRow) {
+        return (blockRow == blockRows - 1) ? rows - blockRow * BLOCK_SIZE : BLOCK_SIZE;
+    }
+
+    /**
+     * Get the width of a block.
+     * @param blockColumn column index (in block sense) of the block
+     * @return width (number of columns) of the block
+     */
+    private int blockWidth(final int blockColumn) {
+        return (blockColumn == blockColumns - 1) ? columns - blockColumn * BLOCK_SIZE : BLOCK_SIZE;
+    }
+
+}
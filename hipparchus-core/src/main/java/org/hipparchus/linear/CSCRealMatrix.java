@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Sparse matrix implementation based on compressed sparse column (CSC) storage.
+ * <p>
+ * Stored entries of each column are kept contiguous and sorted by row index,
+ * which makes column-wise iteration, transposed products and sparse-sparse
+ * products cache friendly; this is also the natural layout for sparse direct
+ * factorizations. There is no limit on the number of entries of the matrix,
+ * only on the number of stored entries. Instances are best built using
+ * {@link SparseRealMatrixBuilder}. Setting an entry that is not already stored
+ * requires shifting all stored entries after it, so building a matrix entry by
+ * entry with {@link #setEntry(int, int, double)} is slow.
+ * </p>
+ * <p>
+ * Setting an already stored entry to zero keeps it stored (as an explicit zero),
+ * so the sparsity structure of a matrix never shrinks.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @see CSRRealMatrix
+ * @since 4.0
+ */
+public class CSCRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261016L;
+
+    /** Compressed storage, columns being the major slices. */
+    private final CompressedSparseStorage storage;
+
+    /**
+     * Build an empty sparse matrix with the supplied row and column dimensions.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public CSCRealMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(columnDimension, rowDimension);
+    }
+
+    /**
+     * Build a sparse matrix from compressed sparse column arrays.
+     * <p>
+     * The stored entries of column {@code j} are at indices {@code columnPointers[j]}
+     * (included) to {@code columnPointers[j + 1]} (excluded) of {@code rowIndices}
+     * and {@code values}, with row indices strictly increasing within each column.
+     * The arrays are copied.
+     * </p>
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param columnPointers start of each column (size {@code columnDimension + 1})
+     * @param rowIndices row indices of stored entries
+     * @param values values of stored entries
+     * @throws MathIllegalArgumentException if dimensions are not positive or
+     * arrays are not consistent
+     */
+    public CSCRealMatrix(final int rowDimension, final int columnDimension,
+                         final int[] columnPointers, final int[] rowIndices, final double[] values)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = CompressedSparseStorage.checkedCopy(columnDimension, rowDimension,
+                                                           columnPointers, rowIndices, values);
+    }
+
+    /**
+     * Build a matrix by copying another one.
+     *
+     * @param matrix matrix to copy.
+     */
+    public CSCRealMatrix(final CSCRealMatrix matrix) {
+        this.storage = new CompressedSparseStorage(matrix.storage);
+    }
+
+    /**
+     * Build a matrix around a storage.
+     *
+     * @param storage storage to use (not copied), columns being the major slices
+     */
+    CSCRealMatrix(final CompressedSparseStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Get the underlying storage.
+     *
+     * @return reference to the underlying storage
+     */
+    CompressedSparseStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Get the number of stored entries.
+     * <p>
+     * This includes explicitly stored zeros.
+     * </p>
+     *
+     * @return number of stored entries
+     */
+    public int getNumberOfStoredEntries() {
+        return storage.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSCRealMatrix copy() {
+        return new CSCRealMatrix(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSCRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CSCRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMinorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMajorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        MatrixUtils.checkColumnIndex(this, column);
+        return storage.get(column, row);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        MatrixUtils.checkColumnIndex(this, column);
+        storage.set(column, row, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        MatrixUtils.checkColumnIndex(this, column);
+        storage.add(column, row, increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        MatrixUtils.checkColumnIndex(this, column);
+        storage.multiply(column, row, factor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CSCRealMatrix) {
+            return add((CSCRealMatrix) m);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /**
+     * Compute the sum of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this} + {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CSCRealMatrix add(final CSCRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CSCRealMatrix(storage.combine(1.0, m.storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CSCRealMatrix) {
+            return subtract((CSCRealMatrix) m);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this} - {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CSCRealMatrix subtract(final CSCRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        return new CSCRealMatrix(storage.combine(-1.0, m.storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSCRealMatrix scalarMultiply(final double d) {
+        return new CSCRealMatrix(storage.scale(d));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CSCRealMatrix) {
+            return multiply((CSCRealMatrix) m);
+        }
+
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final int      outCols  = m.getColumnDimension();
+        final int[]    pointers = storage.getPointers();
+        final int[]    indices  = storage.getIndices();
+        final double[] values   = storage.getValues();
+        if (m instanceof Array2DRowRealMatrix) {
+            final double[][] mData   = ((Array2DRowRealMatrix) m).getDataRef();
+            final double[][] outData = new double[getRowDimension()][outCols];
+            for (int p = 0; p < getColumnDimension(); ++p) {
+                final double[] mRow = mData[p];
+                for (int k = pointers[p]; k < pointers[p + 1]; ++k) {
+                    final double   value  = values[k];
+                    final double[] outRow = outData[indices[k]];
+                    for (int j = 0; j < outCols; ++j) {
+                        outRow[j] += value * mRow[j];
+                    }
+                }
+            }
+            return new Array2DRowRealMatrix(outData, false);
+        }
+
+        final RealMatrix out = m.createMatrix(getRowDimension(), outCols);
+        for (int p = 0; p < getColumnDimension(); ++p) {
+            for (int k = pointers[p]; k < pointers[p + 1]; ++k) {
+                final double value = values[k];
+                final int    i     = indices[k];
+                for (int j = 0; j < outCols; ++j) {
+                    out.addToEntry(i, j, value * m.getEntry(p, j));
+                }
+            }
+        }
+        return out;
+
+    }
+
+    /**
+     * Postmultiply this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @return {@code this} * {@code m}.
+     * @throws MathIllegalArgumentException if the number of rows of {@code m}
+     * differ from the number of columns of {@code this} matrix.
+     */
+    public CSCRealMatrix multiply(final CSCRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        // column-wise storage of this * m is row-wise storage of m^T * this^T
+        return new CSCRealMatrix(m.storage.multiply(storage));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transpose of a CSC matrix is a CSR matrix with the same compressed arrays.
+     * </p>
+     */
+    @Override
+    public CSRRealMatrix transpose() {
+        return new CSRRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        return operateInto(v, new double[getRowDimension()]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operateInto(final double[] v, final double[] out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkOperateCompatible(this, v.length, out.length);
+        storage.scatter((out == v) ? v.clone() : v, out);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, getRowDimension());
+        }
+        final double[] out = new double[getColumnDimension()];
+        storage.dot(v, out);
+        return out;
+    }
+
+}
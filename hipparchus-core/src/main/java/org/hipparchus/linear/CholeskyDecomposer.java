@@ -17,6 +17,8 @@
 
 package org.hipparchus.linear;
 
+import org.hipparchus.util.ParallelSettings;
+
 /** Matrix decomposer using Cholseky decomposition.
  * @since 1.3
  */
@@ -28,6 +30,12 @@ public class CholeskyDecomposer implements MatrixDecomposer {
     /** Threshold below which diagonal elements are considered null and matrix not positive definite. */
     private final double absolutePositivityThreshold;
 
+    /** Number of rows in each panel (0 for unblocked decomposition). */
+    private final int blockSize;
+
+    /** Parallelism settings (null for serial computation). */
+    private final ParallelSettings settings;
+
     /**
      * Creates a Cholesky decomposer with specify threshold for several matrices.
      * @param relativeSymmetryThreshold threshold above which off-diagonal
@@ -39,13 +47,41 @@ public class CholeskyDecomposer implements MatrixDecomposer {
                               final double absolutePositivityThreshold) {
         this.relativeSymmetryThreshold   = relativeSymmetryThreshold;
         this.absolutePositivityThreshold = absolutePositivityThreshold;
+        this.blockSize                   = 0;
+        this.settings                    = null;
+    }
+
+    /**
+     * Creates a Cholesky decomposer using a blocked algorithm for several matrices.
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param blockSize number of rows in each panel
+     * @param settings parallelism settings (null for serial computation)
+     * @see CholeskyDecomposition#CholeskyDecomposition(RealMatrix, double, double, int, ParallelSettings)
+     * @since 4.0
+     */
+    public CholeskyDecomposer(final double relativeSymmetryThreshold,
+                              final double absolutePositivityThreshold,
+                              final int blockSize, final ParallelSettings settings) {
+        this.relativeSymmetryThreshold   = relativeSymmetryThreshold;
+        this.absolutePositivityThreshold = absolutePositivityThreshold;
+        this.blockSize                   = blockSize;
+        this.settings                    = settings;
     }
 
     /** {@inheritDoc} */
     @Override
     public DecompositionSolver decompose(final RealMatrix a) {
-        return new CholeskyDecomposition(a, relativeSymmetryThreshold, absolutePositivityThreshold).
-               getSolver();
+        if (blockSize > 0) {
+            return new CholeskyDecomposition(a, relativeSymmetryThreshold, absolutePositivityThreshold,
+                                             blockSize, settings).
+                   getSolver();
+        } else {
+            return new CholeskyDecomposition(a, relativeSymmetryThreshold, absolutePositivityThreshold).
+                   getSolver();
+        }
     }
 
 }
@@ -25,6 +25,7 @@ package org.hipparchus.linear;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
 
 
 /**
@@ -45,6 +46,16 @@ import org.hipparchus.util.FastMath;
  *   getSolver} method and the equivalent method provided by the returned
  *   {@link DecompositionSolver}.</li>
  * </ul>
+ * <p>A blocked right-looking algorithm is also available with the {@link
+ * #CholeskyDecomposition(RealMatrix, double, double, int, ParallelSettings)}
+ * constructor. It computes bit-identical decompositions, but most of the work
+ * is done as matrix-matrix updates of the trailing submatrix, which are
+ * cache-friendly and can be distributed on several threads.</p>
+ * <p>The decomposition of a rank-one modification A &plusmn; x x<sup>T</sup>
+ * can be computed in O(n<sup>2</sup>) from an existing decomposition using the
+ * {@link #update(RealVector) update} and {@link #downdate(RealVector) downdate}
+ * methods. For normal equations A = X<sup>T</sup>X, this corresponds to adding
+ * or removing an observation row x.</p>
  *
  * @see <a href="http://mathworld.wolfram.com/CholeskyDecomposition.html">MathWorld</a>
  * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition">Wikipedia</a>
@@ -60,6 +71,8 @@ public class CholeskyDecomposition {
      * and matrix not positive definite.
      */
     public static final double DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD = 1.0e-10;
+    /** Minimum number of trailing submatrix rows updated by one task. */
+    private static final int MIN_ROWS = 8;
     /** Row-oriented storage for L<sup>T</sup> matrix data. */
     private final double[][] lTData;
     /** Cached value of L. */
@@ -118,24 +131,7 @@ public class CholeskyDecomposition {
         cachedL  = null;
         cachedLT = null;
 
-        // check the matrix before transformation
-        for (int i = 0; i < order; ++i) {
-            final double[] lI = lTData[i];
-
-            // check off-diagonal elements (and reset them to 0)
-            for (int j = i + 1; j < order; ++j) {
-                final double[] lJ = lTData[j];
-                final double lIJ = lI[j];
-                final double lJI = lJ[i];
-                final double maxDelta =
-                    relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
-                if (FastMath.abs(lIJ - lJI) > maxDelta) {
-                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
-                                                           i, j, relativeSymmetryThreshold);
-                }
-                lJ[i] = 0;
-           }
-        }
+        checkSymmetry(relativeSymmetryThreshold);
 
         // transform the matrix
         for (int i = 0; i < order; ++i) {
@@ -160,6 +156,192 @@ public class CholeskyDecomposition {
         }
     }
 
+    /**
+     * Calculates the Cholesky decomposition of the given matrix using a blocked algorithm.
+     * <p>
+     * The matrix is processed by panels of {@code blockSize} rows of L<sup>T</sup>.
+     * Each panel is factorized, then the trailing submatrix is updated. If {@code
+     * settings} is not null and the update is large enough, the rows of the trailing
+     * submatrix are distributed among the threads of the settings pool.
+     * </p>
+     * <p>
+     * The decomposition is bit-identical to the one computed by {@link
+     * #CholeskyDecomposition(RealMatrix, double, double)}, regardless of block size
+     * and number of threads. {@link BlockRealMatrix#BLOCK_SIZE} is a reasonable
+     * choice for the block size.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param blockSize number of rows in each panel
+     * @param settings parallelism settings (null for serial computation)
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     * @throws MathIllegalArgumentException if block size is not strictly positive
+     * @since 4.0
+     */
+    public CholeskyDecomposition(final RealMatrix matrix,
+                                 final double relativeSymmetryThreshold,
+                                 final double absolutePositivityThreshold,
+                                 final int blockSize, final ParallelSettings settings) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        if (blockSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   blockSize, 1);
+        }
+
+        final int order = matrix.getRowDimension();
+        lTData   = matrix.getData();
+        cachedL  = null;
+        cachedLT = null;
+
+        checkSymmetry(relativeSymmetryThreshold);
+
+        // loop over panels
+        for (int panel = 0; panel < order; panel += blockSize) {
+            final int start = panel;
+            final int end   = FastMath.min(start + blockSize, order);
+
+            // factorize panel
+            for (int i = start; i < end; ++i) {
+
+                final double[] ltI = lTData[i];
+
+                // check diagonal element
+                if (ltI[i] <= absolutePositivityThreshold) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+                }
+
+                ltI[i] = FastMath.sqrt(ltI[i]);
+                final double inverse = 1.0 / ltI[i];
+                for (int q = i + 1; q < order; ++q) {
+                    ltI[q] *= inverse;
+                }
+
+                // update the remaining rows of the panel
+                for (int q = i + 1; q < end; ++q) {
+                    final double[] ltQ = lTData[q];
+                    for (int p = q; p < order; ++p) {
+                        ltQ[p] -= ltI[q] * ltI[p];
+                    }
+                }
+
+            }
+
+            // update trailing submatrix
+            if (end < order) {
+                final long work = ((long) (order - end)) * (order - end) * (end - start) / 2;
+                final ParallelSettings.RangeKernel kernel = (qStart, qEnd) -> updateTrailing(start, end, qStart, qEnd);
+                if (settings != null && settings.isParallel(work)) {
+                    settings.forRange(end, order, MIN_ROWS, kernel);
+                } else {
+                    kernel.apply(end, order);
+                }
+            }
+
+        }
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of a rank-one modification of an already decomposed matrix.
+     * @param original decomposition of the matrix A
+     * @param x vector of the rank-one modification
+     * @param sign +1 for A + x x<sup>T</sup>, -1 for A - x x<sup>T</sup>
+     * @throws MathIllegalArgumentException if the vector dimension does not match
+     * the matrix dimension
+     * @throws MathIllegalArgumentException if the modified matrix is not
+     * strictly positive definite
+     * @since 4.0
+     */
+    private CholeskyDecomposition(final CholeskyDecomposition original, final RealVector x, final double sign) {
+        final int order = original.lTData.length;
+        if (x.getDimension() != order) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.getDimension(), order);
+        }
+
+        lTData   = new double[order][];
+        cachedL  = null;
+        cachedLT = null;
+        for (int i = 0; i < order; ++i) {
+            lTData[i] = original.lTData[i].clone();
+        }
+
+        // sweep of rotations (hyperbolic ones for downdates) along the diagonal
+        final double[] w = x.toArray();
+        for (int i = 0; i < order; ++i) {
+
+            final double[] ltI = lTData[i];
+            final double   lII = ltI[i];
+            final double   r2  = lII * lII + sign * w[i] * w[i];
+            if (!(r2 > 0)) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+
+            final double r = FastMath.sqrt(r2);
+            final double c = r / lII;
+            final double s = w[i] / lII;
+            ltI[i] = r;
+            for (int q = i + 1; q < order; ++q) {
+                ltI[q] = (ltI[q] + sign * s * w[q]) / c;
+                w[q]   = c * w[q] - s * ltI[q];
+            }
+        }
+    }
+
+    /** Check matrix symmetry and reset its lower part to 0.
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     */
+    private void checkSymmetry(final double relativeSymmetryThreshold) {
+        final int order = lTData.length;
+        for (int i = 0; i < order; ++i) {
+            final double[] lI = lTData[i];
+
+            // check off-diagonal elements (and reset them to 0)
+            for (int j = i + 1; j < order; ++j) {
+                final double[] lJ = lTData[j];
+                final double lIJ = lI[j];
+                final double lJI = lJ[i];
+                final double maxDelta =
+                    relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
+                if (FastMath.abs(lIJ - lJI) > maxDelta) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                           i, j, relativeSymmetryThreshold);
+                }
+                lJ[i] = 0;
+           }
+        }
+    }
+
+    /** Update rows of the trailing submatrix after a panel has been factorized.
+     * @param start index of the first row of the panel (included)
+     * @param end index of the last row of the panel (excluded)
+     * @param qStart index of the first row to update (included)
+     * @param qEnd index of the last row to update (excluded)
+     */
+    private void updateTrailing(final int start, final int end, final int qStart, final int qEnd) {
+        final int order = lTData.length;
+        for (int q = qStart; q < qEnd; ++q) {
+            final double[] ltQ = lTData[q];
+            for (int i = start; i < end; ++i) {
+                final double[] ltI = lTData[i];
+                final double   ltIQ = ltI[q];
+                for (int p = q; p < order; ++p) {
+                    ltQ[p] -= ltIQ * ltI[p];
+                }
+            }
+        }
+    }
+
     /**
      * Returns the matrix L of the decomposition.
      * <p>L is an lower-triangular matrix</p>
@@ -208,6 +390,40 @@ public class CholeskyDecomposition {
         return new Solver();
     }
 
+    /**
+     * Compute the Cholesky decomposition of a rank-one update A + x x<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * The computation costs O(n<sup>2</sup>) instead of the O(n<sup>3</sup>) of a new
+     * decomposition. The instance itself is not modified.
+     * </p>
+     * @param x vector of the rank-one update
+     * @return decomposition of A + x x<sup>T</sup>
+     * @throws MathIllegalArgumentException if the vector dimension does not match
+     * the matrix dimension
+     * @since 4.0
+     */
+    public CholeskyDecomposition update(final RealVector x) {
+        return new CholeskyDecomposition(this, x, +1);
+    }
+
+    /**
+     * Compute the Cholesky decomposition of a rank-one downdate A - x x<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * The computation costs O(n<sup>2</sup>) instead of the O(n<sup>3</sup>) of a new
+     * decomposition. The instance itself is not modified.
+     * </p>
+     * @param x vector of the rank-one downdate
+     * @return decomposition of A - x x<sup>T</sup>
+     * @throws MathIllegalArgumentException if the vector dimension does not match
+     * the matrix dimension
+     * @throws MathIllegalArgumentException if A - x x<sup>T</sup> is not
+     * strictly positive definite
+     * @since 4.0
+     */
+    public CholeskyDecomposition downdate(final RealVector x) {
+        return new CholeskyDecomposition(this, x, -1);
+    }
+
     /** Specialized solver. */
     private class Solver implements DecompositionSolver {
 
@@ -0,0 +1,638 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/** Compressed storage shared by {@link CSRRealMatrix} and {@link CSCRealMatrix}.
+ * <p>
+ * Entries are grouped by <em>major</em> index (row for CSR, column for CSC).
+ * The stored entries of major slice {@code i} are at positions
+ * {@code pointers[i]} (included) to {@code pointers[i + 1]} (excluded) of the
+ * {@code indices} and {@code values} arrays, with minor indices sorted in
+ * increasing order and without duplicates. Arrays may have spare capacity
+ * at their end to allow cheap insertion of new entries.
+ * </p>
+ * <p>
+ * The same storage interpreted with major and minor roles swapped represents
+ * the transposed matrix, so a CSR storage of A is also the CSC storage of A<sup>T</sup>.
+ * </p>
+ * @since 4.0
+ */
+final class CompressedSparseStorage implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261016L;
+
+    /** Number of major slices. */
+    private final int majorDimension;
+
+    /** Dimension of each major slice. */
+    private final int minorDimension;
+
+    /** Start of each major slice (size majorDimension + 1). */
+    private final int[] pointers;
+
+    /** Minor indices of stored entries. */
+    private int[] indices;
+
+    /** Values of stored entries. */
+    private double[] values;
+
+    /** Build an empty storage.
+     * @param majorDimension number of major slices
+     * @param minorDimension dimension of each major slice
+     */
+    CompressedSparseStorage(final int majorDimension, final int minorDimension) {
+        this(majorDimension, minorDimension, new int[majorDimension + 1], new int[0], new double[0]);
+    }
+
+    /** Build a storage from its arrays, without copying nor checking them.
+     * @param majorDimension number of major slices
+     * @param minorDimension dimension of each major slice
+     * @param pointers start of each major slice (size majorDimension + 1)
+     * @param indices minor indices of stored entries
+     * @param values values of stored entries
+     */
+    CompressedSparseStorage(final int majorDimension, final int minorDimension,
+                            final int[] pointers, final int[] indices, final double[] values) {
+        this.majorDimension = majorDimension;
+        this.minorDimension = minorDimension;
+        this.pointers       = pointers;
+        this.indices        = indices;
+        this.values         = values;
+    }
+
+    /** Build a copy of a storage, trimming spare capacity.
+     * @param storage storage to copy
+     */
+    CompressedSparseStorage(final CompressedSparseStorage storage) {
+        this(storage.majorDimension, storage.minorDimension,
+             storage.pointers.clone(),
+             Arrays.copyOf(storage.indices, storage.size()),
+             Arrays.copyOf(storage.values, storage.size()));
+    }
+
+    /** Build a storage from raw arrays, checking and copying them.
+     * @param majorDimension number of major slices
+     * @param minorDimension dimension of each major slice
+     * @param pointers start of each major slice (size majorDimension + 1)
+     * @param indices minor indices of stored entries
+     * @param values values of stored entries
+     * @return checked storage
+     * @exception MathIllegalArgumentException if arrays are inconsistent
+     */
+    static CompressedSparseStorage checkedCopy(final int majorDimension, final int minorDimension,
+                                               final int[] pointers, final int[] indices,
+                                               final double[] values)
+        throws MathIllegalArgumentException {
+        if (pointers.length != majorDimension + 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   pointers.length, majorDimension + 1);
+        }
+        if (pointers[0] != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   pointers[0], 0, 0);
+        }
+        final int nnz = pointers[majorDimension];
+        if (indices.length < nnz) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   indices.length, nnz);
+        }
+        if (values.length < nnz) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   values.length, nnz);
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            if (pointers[i + 1] < pointers[i]) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_INCREASING_SEQUENCE,
+                                                       pointers[i + 1], pointers[i], i + 1, i);
+            }
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                if (indices[k] < 0 || indices[k] >= minorDimension) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                           indices[k], 0, minorDimension - 1);
+                }
+                if (k > pointers[i] && indices[k] <= indices[k - 1]) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE,
+                                                           indices[k], indices[k - 1], k, k - 1);
+                }
+            }
+        }
+        return new CompressedSparseStorage(majorDimension, minorDimension, pointers.clone(),
+                                           Arrays.copyOf(indices, nnz), Arrays.copyOf(values, nnz));
+    }
+
+    /** Build a storage from triplets.
+     * <p>
+     * Triplets may appear in any order, values of duplicated triplets are summed.
+     * </p>
+     * @param majorDimension number of major slices
+     * @param minorDimension dimension of each major slice
+     * @param majorIndices major indices of the triplets (already checked)
+     * @param minorIndices minor indices of the triplets (already checked)
+     * @param tripletValues values of the triplets
+     * @param n number of triplets
+     * @return storage containing the sum of triplets
+     */
+    static CompressedSparseStorage fromTriplets(final int majorDimension, final int minorDimension,
+                                                final int[] majorIndices, final int[] minorIndices,
+                                                final double[] tripletValues, final int n) {
+
+        // bucket triplets by minor index, then stable bucket by major index,
+        // this leaves each major slice sorted by minor index
+        final int[] minorPointers = new int[minorDimension + 1];
+        for (int k = 0; k < n; ++k) {
+            ++minorPointers[minorIndices[k] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            minorPointers[j + 1] += minorPointers[j];
+        }
+        final int[] byMinor = new int[n];
+        for (int k = 0; k < n; ++k) {
+            byMinor[minorPointers[minorIndices[k]]++] = k;
+        }
+
+        final int[] majorPointers = new int[majorDimension + 1];
+        for (int k = 0; k < n; ++k) {
+            ++majorPointers[majorIndices[k] + 1];
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            majorPointers[i + 1] += majorPointers[i];
+        }
+        final int[]    next         = majorPointers.clone();
+        final int[]    sortedIndex  = new int[n];
+        final double[] sortedValues = new double[n];
+        for (final int k : byMinor) {
+            final int position = next[majorIndices[k]]++;
+            sortedIndex[position]  = minorIndices[k];
+            sortedValues[position] = tripletValues[k];
+        }
+
+        // merge duplicates in place
+        final int[] pointers = new int[majorDimension + 1];
+        int size = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            final int sliceStart = size;
+            for (int k = majorPointers[i]; k < majorPointers[i + 1]; ++k) {
+                if (size > sliceStart && sortedIndex[size - 1] == sortedIndex[k]) {
+                    sortedValues[size - 1] += sortedValues[k];
+                } else {
+                    sortedIndex[size]  = sortedIndex[k];
+                    sortedValues[size] = sortedValues[k];
+                    ++size;
+                }
+            }
+            pointers[i + 1] = size;
+        }
+
+        return new CompressedSparseStorage(majorDimension, minorDimension, pointers,
+                                           Arrays.copyOf(sortedIndex, size),
+                                           Arrays.copyOf(sortedValues, size));
+
+    }
+
+    /** Get a row-wise (CSR) storage for any matrix.
+     * <p>
+     * For {@link CSRRealMatrix} the underlying storage is returned directly
+     * and must not be modified, for {@link CSCRealMatrix} the storage is
+     * transposed and for other matrices the non-zero entries are extracted.
+     * </p>
+     * @param m matrix
+     * @return row-wise storage of m
+     */
+    static CompressedSparseStorage rowWise(final RealMatrix m) {
+        if (m instanceof CSRRealMatrix) {
+            return ((CSRRealMatrix) m).getStorage();
+        } else {
+            return columnWise(m).transpose();
+        }
+    }
+
+    /** Get a column-wise (CSC) storage for any matrix.
+     * <p>
+     * For {@link CSCRealMatrix} the underlying storage is returned directly
+     * and must not be modified, for {@link CSRRealMatrix} the storage is
+     * transposed and for other matrices the non-zero entries are extracted.
+     * </p>
+     * @param m matrix
+     * @return column-wise storage of m
+     */
+    static CompressedSparseStorage columnWise(final RealMatrix m) {
+        if (m instanceof CSCRealMatrix) {
+            return ((CSCRealMatrix) m).getStorage();
+        } else if (m instanceof CSRRealMatrix) {
+            return ((CSRRealMatrix) m).getStorage().transpose();
+        } else {
+            final int rows    = m.getRowDimension();
+            final int columns = m.getColumnDimension();
+            final int[] columnPointers = new int[columns + 1];
+            int[]       rowIndices     = new int[16];
+            double[]    nonZeros       = new double[16];
+            int         size           = 0;
+            for (int j = 0; j < columns; ++j) {
+                for (int i = 0; i < rows; ++i) {
+                    final double value = m.getEntry(i, j);
+                    if (value != 0.0) {
+                        if (size == rowIndices.length) {
+                            rowIndices = Arrays.copyOf(rowIndices, grow(size));
+                            nonZeros   = Arrays.copyOf(nonZeros, rowIndices.length);
+                        }
+                        rowIndices[size] = i;
+                        nonZeros[size]   = value;
+                        ++size;
+                    }
+                }
+                columnPointers[j + 1] = size;
+            }
+            return new CompressedSparseStorage(columns, rows, columnPointers, rowIndices, nonZeros);
+        }
+    }
+
+    /** Get the number of major slices.
+     * @return number of major slices
+     */
+    int getMajorDimension() {
+        return majorDimension;
+    }
+
+    /** Get the dimension of each major slice.
+     * @return dimension of each major slice
+     */
+    int getMinorDimension() {
+        return minorDimension;
+    }
+
+    /** Get the number of stored entries.
+     * @return number of stored entries
+     */
+    int size() {
+        return pointers[majorDimension];
+    }
+
+    /** Get the reference to the slices pointers.
+     * @return reference to the slices pointers
+     */
+    int[] getPointers() {
+        return pointers;
+    }
+
+    /** Get the reference to the minor indices (may have spare capacity).
+     * @return reference to the minor indices
+     */
+    int[] getIndices() {
+        return indices;
+    }
+
+    /** Get the reference to the values (may have spare capacity).
+     * @return reference to the values
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /** Find the position of an entry.
+     * @param major major index
+     * @param minor minor index
+     * @return position of the entry if stored, {@code -(insertion point) - 1} otherwise
+     */
+    private int find(final int major, final int minor) {
+        return Arrays.binarySearch(indices, pointers[major], pointers[major + 1], minor);
+    }
+
+    /** Get an entry.
+     * @param major major index
+     * @param minor minor index
+     * @return entry value (0 if not stored)
+     */
+    double get(final int major, final int minor) {
+        final int position = find(major, minor);
+        return position < 0 ? 0.0 : values[position];
+    }
+
+    /** Set an entry.
+     * <p>
+     * Setting an existing entry to zero keeps it in the storage, so the structure
+     * is never shrunk. Setting a missing entry to zero does nothing.
+     * </p>
+     * @param major major index
+     * @param minor minor index
+     * @param value new value
+     */
+    void set(final int major, final int minor, final double value) {
+        final int position = find(major, minor);
+        if (position >= 0) {
+            values[position] = value;
+        } else if (value != 0.0) {
+            insert(-position - 1, major, minor, value);
+        }
+    }
+
+    /** Add an increment to an entry.
+     * @param major major index
+     * @param minor minor index
+     * @param increment value to add
+     */
+    void add(final int major, final int minor, final double increment) {
+        final int position = find(major, minor);
+        if (position >= 0) {
+            values[position] += increment;
+        } else if (increment != 0.0) {
+            insert(-position - 1, major, minor, increment);
+        }
+    }
+
+    /** Multiply an entry by a factor.
+     * @param major major index
+     * @param minor minor index
+     * @param factor multiplication factor
+     */
+    void multiply(final int major, final int minor, final double factor) {
+        final int position = find(major, minor);
+        if (position >= 0) {
+            values[position] *= factor;
+        }
+    }
+
+    /** Insert a new entry.
+     * @param position insertion position
+     * @param major major index
+     * @param minor minor index
+     * @param value value to insert
+     */
+    private void insert(final int position, final int major, final int minor, final double value) {
+        final int size = size();
+        if (size == indices.length) {
+            final int capacity = grow(size);
+            indices = Arrays.copyOf(indices, capacity);
+            values  = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(indices, position, indices, position + 1, size - position);
+        System.arraycopy(values,  position, values,  position + 1, size - position);
+        indices[position] = minor;
+        values[position]  = value;
+        for (int i = major + 1; i <= majorDimension; ++i) {
+            ++pointers[i];
+        }
+    }
+
+    /** Compute a grown capacity for entries arrays.
+     * @param size current number of entries
+     * @return new capacity
+     */
+    private static int grow(final int size) {
+        return (int) FastMath.min(Integer.MAX_VALUE - 8, FastMath.max(16L, size + (size >> 1) + 1L));
+    }
+
+    /** Multiply all stored entries by a factor.
+     * @param factor multiplication factor
+     * @return new storage with the same structure
+     */
+    CompressedSparseStorage scale(final double factor) {
+        final CompressedSparseStorage scaled = new CompressedSparseStorage(this);
+        for (int k = 0; k < scaled.values.length; ++k) {
+            scaled.values[k] *= factor;
+        }
+        return scaled;
+    }
+
+    /** Compute the linear combination of this storage and another one.
+     * @param factor factor to apply to the other storage
+     * @param other other storage, with the same dimensions
+     * @return this + factor &times; other
+     */
+    CompressedSparseStorage combine(final double factor, final CompressedSparseStorage other) {
+        final int[]    sumPointers = new int[majorDimension + 1];
+        final int[]    sumIndices  = new int[size() + other.size()];
+        final double[] sumValues   = new double[sumIndices.length];
+        int size = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            int k1 = pointers[i];
+            int k2 = other.pointers[i];
+            while (k1 < pointers[i + 1] || k2 < other.pointers[i + 1]) {
+                final int j1 = k1 < pointers[i + 1]       ? indices[k1]       : Integer.MAX_VALUE;
+                final int j2 = k2 < other.pointers[i + 1] ? other.indices[k2] : Integer.MAX_VALUE;
+                if (j1 < j2) {
+                    sumIndices[size] = j1;
+                    sumValues[size]  = values[k1++];
+                } else if (j2 < j1) {
+                    sumIndices[size] = j2;
+                    sumValues[size]  = factor * other.values[k2++];
+                } else {
+                    sumIndices[size] = j1;
+                    sumValues[size]  = values[k1++] + factor * other.values[k2++];
+                }
+                ++size;
+            }
+            sumPointers[i + 1] = size;
+        }
+        return new CompressedSparseStorage(majorDimension, minorDimension, sumPointers,
+                                           Arrays.copyOf(sumIndices, size), Arrays.copyOf(sumValues, size));
+    }
+
+    /** Build the storage with major and minor roles swapped.
+     * @return transposed storage
+     */
+    CompressedSparseStorage transpose() {
+        final int   size = size();
+        final int[] tPointers = new int[minorDimension + 1];
+        for (int k = 0; k < size; ++k) {
+            ++tPointers[indices[k] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            tPointers[j + 1] += tPointers[j];
+        }
+        final int[]    next     = Arrays.copyOf(tPointers, minorDimension);
+        final int[]    tIndices = new int[size];
+        final double[] tValues  = new double[size];
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final int position = next[indices[k]]++;
+                tIndices[position] = i;
+                tValues[position]  = values[k];
+            }
+        }
+        return new CompressedSparseStorage(minorDimension, majorDimension, tPointers, tIndices, tValues);
+    }
+
+    /** Compute the product of this storage and another one, both seen as major-wise (CSR) storages.
+     * <p>
+     * This uses Gustavson's algorithm, with a dense accumulator for one major slice
+     * of the result at a time.
+     * </p>
+     * @param right right operand, its major dimension must be this minor dimension
+     * @return this &times; right, as a major-wise storage
+     */
+    CompressedSparseStorage multiply(final CompressedSparseStorage right) {
+
+        final int      outMinor    = right.minorDimension;
+        final double[] accumulator = new double[outMinor];
+        final int[]    marker      = new int[outMinor];
+        Arrays.fill(marker, -1);
+
+        final int[] outPointers = new int[majorDimension + 1];
+        int[]       outIndices  = new int[grow(size() + right.size())];
+        double[]    outValues   = new double[outIndices.length];
+        int size = 0;
+
+        for (int i = 0; i < majorDimension; ++i) {
+            final int sliceStart = size;
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final double a = values[k];
+                final int    p = indices[k];
+                for (int l = right.pointers[p]; l < right.pointers[p + 1]; ++l) {
+                    final int j = right.indices[l];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        if (size == outIndices.length) {
+                            final int capacity = grow(size);
+                            outIndices = Arrays.copyOf(outIndices, capacity);
+                            outValues  = Arrays.copyOf(outValues, capacity);
+                        }
+                        outIndices[size++] = j;
+                        accumulator[j]     = a * right.values[l];
+                    } else {
+                        accumulator[j] += a * right.values[l];
+                    }
+                }
+            }
+            Arrays.sort(outIndices, sliceStart, size);
+            for (int k = sliceStart; k < size; ++k) {
+                outValues[k] = accumulator[outIndices[k]];
+            }
+            outPointers[i + 1] = size;
+        }
+
+        return new CompressedSparseStorage(majorDimension, outMinor, outPointers,
+                                           Arrays.copyOf(outIndices, size), Arrays.copyOf(outValues, size));
+
+    }
+
+    /** Compute dot products of each major slice with a vector.
+     * @param x vector, with minor dimension
+     * @param y placeholder for the result, with major dimension
+     */
+    void dot(final double[] x, final double[] y) {
+        dot(x, y, 0, majorDimension);
+    }
+
+    /** Compute dot products of a range of major slices with a vector.
+     * @param x vector, with minor dimension
+     * @param y placeholder for the result, with major dimension (only
+     * elements in the range are updated)
+     * @param from index of the first major slice (included)
+     * @param to index of the last major slice (excluded)
+     */
+    void dot(final double[] x, final double[] y, final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            double sum = 0;
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                sum += values[k] * x[indices[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /** Scatter major slices weighted by a vector.
+     * @param x weights, with major dimension
+     * @param y placeholder for the result, with minor dimension
+     */
+    void scatter(final double[] x, final double[] y) {
+        Arrays.fill(y, 0.0);
+        for (int i = 0; i < majorDimension; ++i) {
+            final double xi = x[i];
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                y[indices[k]] += values[k] * xi;
+            }
+        }
+    }
+
+    /** Add the product of this storage, seen as major-wise (CSR), and a dense row-major matrix to a dense matrix.
+     * @param b dense right operand, with minor dimension rows
+     * @param c dense output, with major dimension rows, updated in place
+     */
+    void multiplyDense(final double[][] b, final double[][] c) {
+        for (int i = 0; i < majorDimension; ++i) {
+            final double[] cRow = c[i];
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final double   a    = values[k];
+                final double[] bRow = b[indices[k]];
+                for (int j = 0; j < cRow.length; ++j) {
+                    cRow[j] += a * bRow[j];
+                }
+            }
+        }
+    }
+
+    /** Compute the product of a range of major slices of this storage and a flat dense matrix.
+     * <p>
+     * The dense matrices are stored in flat row-major arrays, so the columns
+     * of the right operand are interleaved. This layout allows to apply the
+     * storage to several vectors at once with a single pass over the stored entries.
+     * </p>
+     * @param b flat dense right operand, with minor dimension rows and {@code width} columns
+     * @param c flat dense output, with major dimension rows and {@code width} columns
+     * (only rows in the range are overwritten)
+     * @param width number of columns of the dense matrices
+     * @param from index of the first major slice (included)
+     * @param to index of the last major slice (excluded)
+     */
+    void multiplyInterleaved(final double[] b, final double[] c, final int width,
+                             final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            final int start = pointers[i];
+            final int end   = pointers[i + 1];
+            int j = 0;
+            // process columns by groups of four, accumulating in registers
+            for (; j + 3 < width; j += 4) {
+                double s0 = 0;
+                double s1 = 0;
+                double s2 = 0;
+                double s3 = 0;
+                for (int k = start; k < end; ++k) {
+                    final double a      = values[k];
+                    final int    bStart = indices[k] * width + j;
+                    s0 += a * b[bStart];
+                    s1 += a * b[bStart + 1];
+                    s2 += a * b[bStart + 2];
+                    s3 += a * b[bStart + 3];
+                }
+                final int cStart = i * width + j;
+                c[cStart]     = s0;
+                c[cStart + 1] = s1;
+                c[cStart + 2] = s2;
+                c[cStart + 3] = s3;
+            }
+            // process remaining columns one at a time
+            for (; j < width; ++j) {
+                double sum = 0;
+                for (int k = start; k < end; ++k) {
+                    sum += values[k] * b[indices[k] * width + j];
+                }
+                c[i * width + j] = sum;
+            }
+        }
+    }
+
+}
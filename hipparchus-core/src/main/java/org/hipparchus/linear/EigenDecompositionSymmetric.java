@@ -65,6 +65,11 @@ import org.hipparchus.util.Precision;
  * J.H. Wilkinson "The Implicit QL Algorithm" in Wilksinson and Reinsch (1971)
  * Handbook for automatic computation, vol. 2, Linear algebra, Springer-Verlag,
  * New-York.
+ * <p>
+ * For large matrices, the tridiagonal eigen problem can also be solved using
+ * a divide-and-conquer algorithm, see {@link TridiagonalEigenSolver}. If only
+ * a few eigenpairs are needed, {@link LanczosEigenDecomposition} is much faster.
+ * </p>
  *
  * @see <a href="http://mathworld.wolfram.com/EigenDecomposition.html">MathWorld</a>
  * @see <a href="http://en.wikipedia.org/wiki/Eigendecomposition_of_a_matrix">Wikipedia</a>
@@ -126,6 +131,25 @@ public class EigenDecompositionSymmetric {
     public EigenDecompositionSymmetric(final RealMatrix matrix,
                                        final double epsilon, final boolean decreasing)
         throws MathRuntimeException {
+        this(matrix, epsilon, decreasing, TridiagonalEigenSolver.IMPLICIT_QL);
+    }
+
+    /**
+     * Calculates the eigen decomposition of the given real matrix.
+     *
+     * @param matrix Matrix to decompose.
+     * @param epsilon Epsilon used for internal tests (e.g. is singular, eigenvalue ratio, etc.)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param solver algorithm to use for the tridiagonal eigen problem
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     * @throws MathRuntimeException if the decomposition of a general matrix
+     * results in a matrix with zero norm
+     * @since 4.0
+     */
+    public EigenDecompositionSymmetric(final RealMatrix matrix,
+                                       final double epsilon, final boolean decreasing,
+                                       final TridiagonalEigenSolver solver)
+        throws MathRuntimeException {
 
         this.epsilon = epsilon;
         MatrixUtils.checkSymmetric(matrix, epsilon);
@@ -136,7 +160,7 @@ public class EigenDecompositionSymmetric {
         findEigenVectors(transformer.getMainDiagonalRef(),
                          transformer.getSecondaryDiagonalRef(),
                          transformer.getQ().getData(),
-                         decreasing);
+                         decreasing, solver);
 
     }
 
@@ -170,13 +194,26 @@ public class EigenDecompositionSymmetric {
      */
     public EigenDecompositionSymmetric(final double[] main, final double[] secondary,
                                        final double epsilon, final boolean decreasing) {
+        this(main, secondary, epsilon, decreasing, TridiagonalEigenSolver.IMPLICIT_QL);
+    }
+
+    /**
+     * Calculates the eigen decomposition of the symmetric tridiagonal
+     * matrix.  The Householder matrix is assumed to be the identity matrix.
+     *
+     * @param main Main diagonal of the symmetric tridiagonal form.
+     * @param secondary Secondary of the tridiagonal form.
+     * @param epsilon Epsilon used for internal tests (e.g. is singular, eigenvalue ratio, etc.)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param solver algorithm to use for the tridiagonal eigen problem
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     * @since 4.0
+     */
+    public EigenDecompositionSymmetric(final double[] main, final double[] secondary,
+                                       final double epsilon, final boolean decreasing,
+                                       final TridiagonalEigenSolver solver) {
         this.epsilon = epsilon;
-        final int size = main.length;
-        final double[][] z = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            z[i][i] = 1.0;
-        }
-        findEigenVectors(main.clone(), secondary.clone(), z, decreasing);
+        findEigenVectors(main.clone(), secondary.clone(), null, decreasing, solver);
     }
 
     /**
@@ -489,17 +526,27 @@ public class EigenDecompositionSymmetric {
     }
 
     /**
-     * Find eigenvalues and eigenvectors (Dubrulle et al., 1971)
+     * Find eigenvalues and eigenvectors.
      * @param main main diagonal of the tridiagonal matrix
      * @param secondary secondary diagonal of the tridiagonal matrix
      * @param householderMatrix Householder matrix of the transformation
+     * to tridiagonal form (null for identity)
      * @param decreasing if true, eigenvalues will be sorted in decreasing order
-     * to tridiagonal form.
+     * @param solver algorithm to use for the tridiagonal eigen problem
      */
     private void findEigenVectors(final double[] main, final double[] secondary,
-                                  final double[][] householderMatrix, final boolean decreasing) {
-        final double[][]z = householderMatrix.clone();
+                                  final double[][] householderMatrix, final boolean decreasing,
+                                  final TridiagonalEigenSolver solver) {
         final int n = main.length;
+        double[][] z;
+        if (householderMatrix == null) {
+            z = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                z[i][i] = 1.0;
+            }
+        } else {
+            z = householderMatrix.clone();
+        }
         eigenvalues = new double[n];
         final double[] e = new double[n];
         for (int i = 0; i < n - 1; i++) {
@@ -531,6 +578,47 @@ public class EigenDecompositionSymmetric {
             }
         }
 
+        if (solver == TridiagonalEigenSolver.DIVIDE_AND_CONQUER) {
+            final double[][] q = TridiagonalDivideAndConquer.decompose(eigenvalues, e);
+            if (householderMatrix == null) {
+                // the eigenvectors are directly the columns of q
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        z[i][j] = q[j][i];
+                    }
+                }
+            } else {
+                // combine the tridiagonal eigenvectors with the Householder transformation
+                final double[][] zq = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    final double[] zI  = z[i];
+                    final double[] zqI = zq[i];
+                    for (int j = 0; j < n; j++) {
+                        final double[] qJ = q[j];
+                        double sum = 0;
+                        for (int k = 0; k < n; k++) {
+                            sum += zI[k] * qJ[k];
+                        }
+                        zqI[j] = sum;
+                    }
+                }
+                z = zq;
+            }
+        } else {
+            findEigenVectorsQL(e, z);
+        }
+
+        sortAndStore(z, decreasing);
+
+    }
+
+    /**
+     * Find eigenvalues and eigenvectors of a tridiagonal matrix using implicit QL.
+     * @param e secondary diagonal of the tridiagonal matrix (main diagonal is in {@link #eigenvalues})
+     * @param z eigenvectors matrix, updated in place
+     */
+    private void findEigenVectorsQL(final double[] e, final double[][] z) {
+        final int n = eigenvalues.length;
         for (int j = 0; j < n; j++) {
             int its = 0;
             int m;
@@ -600,6 +688,16 @@ public class EigenDecompositionSymmetric {
                 }
             } while (m != j);
         }
+    }
+
+    /**
+     * Sort eigenvalues and eigenvectors and store them.
+     * @param z eigenvectors matrix
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     */
+    private void sortAndStore(final double[][] z, final boolean decreasing) {
+
+        final int n = eigenvalues.length;
 
         // Sort the eigen values (and vectors) in desired order
         for (int i = 0; i < n; i++) {
@@ -623,7 +721,7 @@ public class EigenDecompositionSymmetric {
         }
 
         // Determine the largest eigen value in absolute term.
-        maxAbsoluteValue = 0;
+        double maxAbsoluteValue = 0;
         for (int i = 0; i < n; i++) {
             if (FastMath.abs(eigenvalues[i]) > maxAbsoluteValue) {
                 maxAbsoluteValue = FastMath.abs(eigenvalues[i]);
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.util.FastMath;
+
+/** Cache-blocked kernel for dense matrices products on row-major arrays.
+ * <p>
+ * This class computes C &larr; &alpha; op(A) B + &beta; C where op(A) is either
+ * A or A<sup>T</sup> and all matrices are stored in row-major {@code double[][]}
+ * arrays as in {@link Array2DRowRealMatrix}.
+ * </p>
+ * <p>
+ * The loops are ordered i, p, j (i.e. row of A, shared dimension, column of B) so
+ * that the innermost loop is an axpy operation on contiguous rows of B and C, which
+ * the JIT compiler auto-vectorizes. The micro-kernel updates {@link #MR} rows of C
+ * simultaneously, so each element of B loaded from memory is reused {@link #MR} times
+ * from registers. The shared dimension is split in panels of {@link #KC} rows of B
+ * and the columns in panels of {@link #NC} columns, so the current panel of B stays
+ * in cache while all rows of A are processed. When rows of B are longer than one panel,
+ * the panel is packed into a contiguous buffer to avoid cache and TLB misses.
+ * </p>
+ * <p>
+ * For each element of C, the products are accumulated in increasing order of the
+ * shared index, starting from &beta; C. For &alpha; = 1 and &beta; = 0 the result
+ * is therefore bit-identical to a naive triple loop computing dot products.
+ * </p>
+ * @since 4.0
+ */
+final class GemmKernel {
+
+    /** Number of rows of C updated simultaneously by the micro-kernel. */
+    static final int MR = 4;
+
+    /** Number of rows of B in a panel. */
+    static final int KC = 128;
+
+    /** Number of columns of B in a panel. */
+    static final int NC = 256;
+
+    /** Private constructor for a utility class. */
+    private GemmKernel() {
+        // nothing to do
+    }
+
+    /** Compute C &larr; &alpha; A B + &beta; C.
+     * <p>
+     * Dimensions are not checked, they must be consistent: A is m&times;k,
+     * B is k&times;n and C is m&times;n. C must not share rows with A or B.
+     * </p>
+     * @param alpha scaling factor for the product
+     * @param a left operand
+     * @param b right operand
+     * @param beta scaling factor for C
+     * @param c output matrix, updated in place
+     */
+    static void multiply(final double alpha, final double[][] a, final double[][] b,
+                         final double beta, final double[][] c) {
+        multiply(false, alpha, a, b, beta, c);
+    }
+
+    /** Compute C &larr; &alpha; A<sup>T</sup> B + &beta; C.
+     * <p>
+     * Dimensions are not checked, they must be consistent: A is k&times;m,
+     * B is k&times;n and C is m&times;n. C must not share rows with A or B.
+     * </p>
+     * @param alpha scaling factor for the product
+     * @param a left operand (will be transposed)
+     * @param b right operand
+     * @param beta scaling factor for C
+     * @param c output matrix, updated in place
+     */
+    static void transposeMultiply(final double alpha, final double[][] a, final double[][] b,
+                                  final double beta, final double[][] c) {
+        multiply(true, alpha, a, b, beta, c);
+    }
+
+    /** Compute C &larr; &alpha; op(A) B + &beta; C.
+     * @param transposeA if true, op(A) is A<sup>T</sup>, otherwise it is A
+     * @param alpha scaling factor for the product
+     * @param a left operand
+     * @param b right operand
+     * @param beta scaling factor for C
+     * @param c output matrix, updated in place
+     */
+    private static void multiply(final boolean transposeA, final double alpha,
+                                 final double[][] a, final double[][] b,
+                                 final double beta, final double[][] c) {
+
+        final int n = c[0].length;
+        final int k = b.length;
+
+        // scale C, taking care to not propagate NaN or infinities when beta is 0
+        if (beta == 0.0) {
+            for (final double[] cRow : c) {
+                Arrays.fill(cRow, 0.0);
+            }
+        } else if (beta != 1.0) {
+            for (final double[] cRow : c) {
+                for (int j = 0; j < n; ++j) {
+                    cRow[j] *= beta;
+                }
+            }
+        }
+
+        if (alpha == 0.0 || k == 0) {
+            return;
+        }
+
+        // packing is useful only when rows of B are longer than one panel
+        final double[][] packed = n > NC ? new double[FastMath.min(k, KC)][NC] : null;
+
+        for (int p0 = 0; p0 < k; p0 += KC) {
+            final int kb = FastMath.min(KC, k - p0);
+            for (int j0 = 0; j0 < n; j0 += NC) {
+                final int nb = FastMath.min(NC, n - j0);
+                if (packed == null) {
+                    // rows of B are used in place
+                    panel(transposeA, alpha, a, b, p0, j0, p0, kb, j0, nb, c);
+                } else {
+                    for (int pp = 0; pp < kb; ++pp) {
+                        System.arraycopy(b[p0 + pp], j0, packed[pp], 0, nb);
+                    }
+                    panel(transposeA, alpha, a, packed, 0, 0, p0, kb, j0, nb, c);
+                }
+            }
+        }
+
+    }
+
+    /** Update C with the product of all rows of op(A) by one panel of B.
+     * @param transposeA if true, op(A) is A<sup>T</sup>, otherwise it is A
+     * @param alpha scaling factor for the product
+     * @param a left operand
+     * @param bRows rows holding the panel of B
+     * @param bRow index of the first panel row in {@code bRows}
+     * @param bColumn index of the first panel column in {@code bRows}
+     * @param p0 index of the first row of the panel in B
+     * @param kb number of rows in the panel
+     * @param j0 index of the first column of the panel in B
+     * @param nb number of columns in the panel
+     * @param c output matrix, updated in place
+     */
+    private static void panel(final boolean transposeA, final double alpha, final double[][] a,
+                              final double[][] bRows, final int bRow, final int bColumn,
+                              final int p0, final int kb, final int j0, final int nb,
+                              final double[][] c) {
+
+        final int m = c.length;
+
+        // micro-kernel updating MR rows of C at once
+        int i = 0;
+        while (i <= m - MR) {
+            final double[] c0 = c[i];
+            final double[] c1 = c[i + 1];
+            final double[] c2 = c[i + 2];
+            final double[] c3 = c[i + 3];
+            for (int pp = 0; pp < kb; ++pp) {
+                final int p = p0 + pp;
+                final double a0;
+                final double a1;
+                final double a2;
+                final double a3;
+                if (transposeA) {
+                    final double[] aP = a[p];
+                    a0 = alpha * aP[i];
+                    a1 = alpha * aP[i + 1];
+                    a2 = alpha * aP[i + 2];
+                    a3 = alpha * aP[i + 3];
+                } else {
+                    a0 = alpha * a[i][p];
+                    a1 = alpha * a[i + 1][p];
+                    a2 = alpha * a[i + 2][p];
+                    a3 = alpha * a[i + 3][p];
+                }
+                final double[] bP = bRows[bRow + pp];
+                for (int j = 0; j < nb; ++j) {
+                    final double bPJ = bP[bColumn + j];
+                    c0[j0 + j] += a0 * bPJ;
+                    c1[j0 + j] += a1 * bPJ;
+                    c2[j0 + j] += a2 * bPJ;
+                    c3[j0 + j] += a3 * bPJ;
+                }
+            }
+            i += MR;
+        }
+
+        // remaining rows, one at a time
+        while (i < m) {
+            final double[] c0 = c[i];
+            for (int pp = 0; pp < kb; ++pp) {
+                final int p = p0 + pp;
+                final double a0 = alpha * (transposeA ? a[p][i] : a[i][p]);
+                final double[] bP = bRows[bRow + pp];
+                for (int j = 0; j < nb; ++j) {
+                    c0[j0 + j] += a0 * bP[bColumn + j];
+                }
+            }
+            ++i;
+        }
+
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Incomplete Cholesky preconditioner with zero fill-in, IC(0).
+ * <p>
+ * This preconditioner computes a lower triangular matrix L with the same
+ * sparsity pattern as the lower triangular part of a symmetric positive
+ * definite matrix A, such that L &middot; L<sup>T</sup> matches A on this
+ * pattern. Applying the preconditioner to a vector x computes
+ * (L &middot; L<sup>T</sup>)<sup>-1</sup> &middot; x using one forward and one
+ * backward substitution, at a cost similar to one matrix-vector product by A.
+ * Used with {@link ConjugateGradient}, it reduces the number of iterations much
+ * more than {@link JacobiPreconditioner} for matrices arising from discretized
+ * elliptic problems.
+ * </p>
+ * <p>
+ * Only the lower triangular part of A is used, A is assumed to be symmetric.
+ * The incomplete factorization may break down even for positive definite matrices
+ * (it is guaranteed to succeed for M-matrices). In this case, a diagonal shift
+ * &alpha; can be used to factor A + &alpha; diag(A) instead of A, which still
+ * provides a good preconditioner for A.
+ * </p>
+ * <p>
+ * A relaxation factor &omega; can also be set to compute the relaxed modified
+ * incomplete Cholesky factorization MIC(0): the fill-in elements dropped from
+ * the factor, multiplied by &omega;, are subtracted from the diagonal, so that
+ * row sums of A are preserved when &omega; = 1. For discretized elliptic problems,
+ * this reduces the growth of the condition number as the mesh is refined,
+ * so the number of iterations is much smaller than with plain IC(0) for large
+ * problems. Values of &omega; close to but below 1 (for example 0.95) combined
+ * with a small shift are usually more robust than &omega; = 1.
+ * </p>
+ * @see IncompleteLUPreconditioner
+ * @see SparseCholeskyDecomposition
+ * @since 4.0
+ */
+public class IncompleteCholeskyPreconditioner implements RealLinearOperator {
+
+    /** Column pointers of L. */
+    private final int[] pointers;
+
+    /** Row indices of L (the diagonal element is first in each column). */
+    private final int[] indices;
+
+    /** Non-zero values of L. */
+    private final double[] values;
+
+    /** Inverses of the diagonal elements of L (multiplication is faster than division). */
+    private final double[] inverseDiagonal;
+
+    /** Row-wise copy of L (the diagonal element is last in each row), for forward substitution. */
+    private final CompressedSparseStorage rows;
+
+    /** Build the preconditioner.
+     * <p>
+     * The matrix is best provided as a {@link CSCRealMatrix} or a {@link CSRRealMatrix},
+     * other matrices are scanned for non-zero entries.
+     * </p>
+     * @param a symmetric positive definite matrix (only its lower triangular part is used)
+     * @exception MathIllegalArgumentException if the matrix is not square or if the
+     * incomplete factorization breaks down
+     */
+    public IncompleteCholeskyPreconditioner(final RealMatrix a)
+        throws MathIllegalArgumentException {
+        this(a, 0.0, 0.0);
+    }
+
+    /** Build the preconditioner with a diagonal shift and a relaxation factor.
+     * <p>
+     * The matrix is best provided as a {@link CSCRealMatrix} or a {@link CSRRealMatrix},
+     * other matrices are scanned for non-zero entries.
+     * </p>
+     * @param a symmetric positive definite matrix (only its lower triangular part is used)
+     * @param shift relative diagonal shift &alpha; (the factorized matrix is A + &alpha; diag(A))
+     * @param relaxation relaxation factor &omega; for dropped fill-in, between 0
+     * for IC(0) and 1 for MIC(0)
+     * @exception MathIllegalArgumentException if the matrix is not square or if the
+     * incomplete factorization breaks down
+     */
+    public IncompleteCholeskyPreconditioner(final RealMatrix a, final double shift, final double relaxation)
+        throws MathIllegalArgumentException {
+
+        if (!a.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   a.getRowDimension(), a.getColumnDimension());
+        }
+        final int n = a.getRowDimension();
+
+        // extract the lower triangular part of the matrix
+        final CompressedSparseStorage storage   = CompressedSparseStorage.columnWise(a);
+        final int[]                   aPointers = storage.getPointers();
+        final int[]                   aIndices  = storage.getIndices();
+        final double[]                aValues   = storage.getValues();
+        pointers = new int[n + 1];
+        for (int j = 0; j < n; ++j) {
+            int count = 0;
+            for (int k = aPointers[j]; k < aPointers[j + 1]; ++k) {
+                if (aIndices[k] >= j) {
+                    ++count;
+                }
+            }
+            pointers[j + 1] = pointers[j] + count;
+        }
+        indices = new int[pointers[n]];
+        values  = new double[pointers[n]];
+        for (int j = 0; j < n; ++j) {
+            int next = pointers[j];
+            for (int k = aPointers[j]; k < aPointers[j + 1]; ++k) {
+                if (aIndices[k] >= j) {
+                    indices[next]  = aIndices[k];
+                    values[next++] = aValues[k];
+                }
+            }
+            if (pointers[j] == pointers[j + 1] || indices[pointers[j]] != j) {
+                // missing diagonal element
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            values[pointers[j]] *= 1 + shift;
+        }
+
+        // right-looking incomplete factorization, restricted to the pattern of A
+        inverseDiagonal = new double[n];
+        final int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int k = 0; k < n; ++k) {
+
+            final int    diagonal = pointers[k];
+            final int    end      = pointers[k + 1];
+            final double pivot    = values[diagonal];
+            if (pivot <= 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final double lkk = FastMath.sqrt(pivot);
+            values[diagonal]   = lkk;
+            inverseDiagonal[k] = 1.0 / lkk;
+            for (int p = diagonal + 1; p < end; ++p) {
+                values[p] *= inverseDiagonal[k];
+            }
+
+            // update the columns j > k that are connected to column k
+            for (int p = diagonal + 1; p < end; ++p) {
+                final int    j   = indices[p];
+                final double ljk = values[p];
+                for (int q = pointers[j]; q < pointers[j + 1]; ++q) {
+                    position[indices[q]] = q;
+                }
+                for (int r = p; r < end; ++r) {
+                    final int target = position[indices[r]];
+                    if (target >= 0) {
+                        values[target] -= values[r] * ljk;
+                    } else if (relaxation != 0) {
+                        // fill-in element is dropped, compensate on the diagonal
+                        final double dropped = relaxation * values[r] * ljk;
+                        values[pointers[j]]          -= dropped;
+                        values[pointers[indices[r]]] -= dropped;
+                    }
+                }
+                for (int q = pointers[j]; q < pointers[j + 1]; ++q) {
+                    position[indices[q]] = -1;
+                }
+            }
+
+        }
+
+        // forward substitution is faster row-wise, as it avoids scattering updates
+        rows = new CompressedSparseStorage(n, n, pointers, indices, values).transpose();
+
+    }
+
+    /** Get the incomplete Cholesky factor L.
+     * @return incomplete Cholesky factor L
+     */
+    public CSCRealMatrix getL() {
+        final int n = pointers.length - 1;
+        return new CSCRealMatrix(new CompressedSparseStorage(n, n, pointers.clone(), indices.clone(), values.clone()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return pointers.length - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return pointers.length - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x) throws MathIllegalArgumentException {
+        final int n = getRowDimension();
+        if (x.getDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.getDimension(), n);
+        }
+        final double[] y = x.toArray();
+
+        // forward substitution, solving L.z = x
+        final int[]    rPointers = rows.getPointers();
+        final int[]    rIndices  = rows.getIndices();
+        final double[] rValues   = rows.getValues();
+        for (int i = 0; i < n; ++i) {
+            double sum = y[i];
+            for (int p = rPointers[i]; p < rPointers[i + 1] - 1; ++p) {
+                sum -= rValues[p] * y[rIndices[p]];
+            }
+            y[i] = sum * inverseDiagonal[i];
+        }
+
+        // backward substitution, solving L^T.y = z
+        for (int j = n - 1; j >= 0; --j) {
+            double sum = y[j];
+            for (int p = pointers[j] + 1; p < pointers[j + 1]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[j] = sum * inverseDiagonal[j];
+        }
+
+        return new ArrayRealVector(y, false);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x) throws MathIllegalArgumentException {
+        // the preconditioner is symmetric
+        return operate(x);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Incomplete LU preconditioner with zero fill-in, ILU(0).
+ * <p>
+ * This preconditioner computes a unit lower triangular matrix L and an upper
+ * triangular matrix U, both with the sparsity pattern of the corresponding
+ * part of a square matrix A, such that L &middot; U matches A on this pattern.
+ * Applying the preconditioner to a vector x computes (L &middot; U)<sup>-1</sup>
+ * &middot; x using one forward and one backward substitution, at a cost similar
+ * to one matrix-vector product by A. The factors are stored together in a
+ * single compressed sparse row structure with the pattern of A.
+ * </p>
+ * <p>
+ * No pivoting is performed, so all diagonal elements of A must be present in its
+ * sparsity pattern and the incomplete factorization may break down if a zero pivot
+ * is encountered; it is guaranteed to succeed for diagonally dominant matrices and
+ * M-matrices. For symmetric positive definite matrices, ILU(0) is equivalent to
+ * {@link IncompleteCholeskyPreconditioner IC(0)}, which needs half the storage.
+ * </p>
+ * <p>
+ * A relaxation factor &omega; can also be set to compute the relaxed modified
+ * incomplete LU factorization MILU(0): the fill-in elements dropped from
+ * the factors, multiplied by &omega;, are subtracted from the diagonal of U,
+ * so that row sums of A are preserved when &omega; = 1.
+ * </p>
+ * @see IncompleteCholeskyPreconditioner
+ * @see SparseLUDecomposition
+ * @since 4.0
+ */
+public class IncompleteLUPreconditioner implements RealLinearOperator {
+
+    /** Row pointers of the factors. */
+    private final int[] pointers;
+
+    /** Column indices of the factors. */
+    private final int[] indices;
+
+    /** Non-zero values of the factors (strict lower part for L, upper part for U). */
+    private final double[] values;
+
+    /** Positions of the diagonal elements. */
+    private final int[] diagonal;
+
+    /** Inverses of the diagonal elements of U (multiplication is faster than division). */
+    private final double[] inverseDiagonal;
+
+    /** Build the preconditioner.
+     * <p>
+     * The matrix is best provided as a {@link CSRRealMatrix} or a {@link CSCRealMatrix},
+     * other matrices are scanned for non-zero entries.
+     * </p>
+     * @param a square matrix
+     * @exception MathIllegalArgumentException if the matrix is not square or if the
+     * incomplete factorization breaks down
+     */
+    public IncompleteLUPreconditioner(final RealMatrix a)
+        throws MathIllegalArgumentException {
+        this(a, 0.0);
+    }
+
+    /** Build the preconditioner with a relaxation factor.
+     * <p>
+     * The matrix is best provided as a {@link CSRRealMatrix} or a {@link CSCRealMatrix},
+     * other matrices are scanned for non-zero entries.
+     * </p>
+     * @param a square matrix
+     * @param relaxation relaxation factor &omega; for dropped fill-in, between 0
+     * for ILU(0) and 1 for MILU(0)
+     * @exception MathIllegalArgumentException if the matrix is not square or if the
+     * incomplete factorization breaks down
+     */
+    public IncompleteLUPreconditioner(final RealMatrix a, final double relaxation)
+        throws MathIllegalArgumentException {
+
+        if (!a.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   a.getRowDimension(), a.getColumnDimension());
+        }
+        final int n = a.getRowDimension();
+
+        // copy the matrix, as it will be factorized in place
+        final CompressedSparseStorage storage = CompressedSparseStorage.rowWise(a);
+        pointers = Arrays.copyOf(storage.getPointers(), n + 1);
+        indices  = Arrays.copyOf(storage.getIndices(), pointers[n]);
+        values   = Arrays.copyOf(storage.getValues(), pointers[n]);
+
+        // locate diagonal elements
+        diagonal = new int[n];
+        for (int i = 0; i < n; ++i) {
+            diagonal[i] = Arrays.binarySearch(indices, pointers[i], pointers[i + 1], i);
+            if (diagonal[i] < 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+        }
+
+        // IKJ variant of Gaussian elimination, restricted to the pattern of A
+        inverseDiagonal = new double[n];
+        final int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; ++i) {
+
+            final int start = pointers[i];
+            final int end   = pointers[i + 1];
+            for (int p = start; p < end; ++p) {
+                position[indices[p]] = p;
+            }
+
+            for (int p = start; p < diagonal[i]; ++p) {
+                final int    k   = indices[p];
+                final double lik = values[p] * inverseDiagonal[k];
+                values[p] = lik;
+                for (int q = diagonal[k] + 1; q < pointers[k + 1]; ++q) {
+                    final int target = position[indices[q]];
+                    if (target >= 0) {
+                        values[target] -= lik * values[q];
+                    } else {
+                        // fill-in element is dropped, compensate on the diagonal
+                        values[diagonal[i]] -= relaxation * lik * values[q];
+                    }
+                }
+            }
+
+            for (int p = start; p < end; ++p) {
+                position[indices[p]] = -1;
+            }
+
+            if (values[diagonal[i]] == 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+            inverseDiagonal[i] = 1.0 / values[diagonal[i]];
+
+        }
+
+    }
+
+    /** Get the unit lower triangular factor L.
+     * @return unit lower triangular factor L
+     */
+    public CSRRealMatrix getL() {
+        final int n = diagonal.length;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int p = pointers[i]; p < diagonal[i]; ++p) {
+                builder.addEntry(i, indices[p], values[p]);
+            }
+            builder.addEntry(i, i, 1.0);
+        }
+        return builder.buildCSR();
+    }
+
+    /** Get the upper triangular factor U.
+     * @return upper triangular factor U
+     */
+    public CSRRealMatrix getU() {
+        final int n = diagonal.length;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int p = diagonal[i]; p < pointers[i + 1]; ++p) {
+                builder.addEntry(i, indices[p], values[p]);
+            }
+        }
+        return builder.buildCSR();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return diagonal.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return diagonal.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x) throws MathIllegalArgumentException {
+        final int n = getRowDimension();
+        if (x.getDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.getDimension(), n);
+        }
+        final double[] y = x.toArray();
+
+        // forward substitution, solving L.z = x
+        for (int i = 0; i < n; ++i) {
+            double sum = y[i];
+            for (int p = pointers[i]; p < diagonal[i]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[i] = sum;
+        }
+
+        // backward substitution, solving U.y = z
+        for (int i = n - 1; i >= 0; --i) {
+            double sum = y[i];
+            for (int p = diagonal[i] + 1; p < pointers[i + 1]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[i] = sum * inverseDiagonal[i];
+        }
+
+        return new ArrayRealVector(y, false);
+
+    }
+
+}
@@ -17,6 +17,8 @@
 
 package org.hipparchus.linear;
 
+import org.hipparchus.util.ParallelSettings;
+
 /** Matrix decomposer using LU-decomposition.
  * @since 1.3
  */
@@ -25,6 +27,12 @@ public class LUDecomposer implements MatrixDecomposer {
     /** Threshold under which a matrix is considered singular. */
     private final double singularityThreshold;
 
+    /** Number of columns in each panel (0 for unblocked decomposition). */
+    private final int blockSize;
+
+    /** Parallelism settings (null for serial computation). */
+    private final ParallelSettings settings;
+
     /**
      * Creates a LU decomposer with specify threshold for several matrices.
      * @param singularityThreshold threshold (based on partial row norm)
@@ -32,12 +40,34 @@ public class LUDecomposer implements MatrixDecomposer {
      */
     public LUDecomposer(final double singularityThreshold) {
         this.singularityThreshold = singularityThreshold;
+        this.blockSize            = 0;
+        this.settings             = null;
+    }
+
+    /**
+     * Creates a LU decomposer using a blocked algorithm for several matrices.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of columns in each panel
+     * @param settings parallelism settings (null for serial computation)
+     * @see LUDecomposition#LUDecomposition(RealMatrix, double, int, ParallelSettings)
+     * @since 4.0
+     */
+    public LUDecomposer(final double singularityThreshold,
+                        final int blockSize, final ParallelSettings settings) {
+        this.singularityThreshold = singularityThreshold;
+        this.blockSize            = blockSize;
+        this.settings             = settings;
     }
 
     /** {@inheritDoc} */
     @Override
     public DecompositionSolver decompose(final RealMatrix a) {
-        return new LUDecomposition(a, singularityThreshold).getSolver();
+        if (blockSize > 0) {
+            return new LUDecomposition(a, singularityThreshold, blockSize, settings).getSolver();
+        } else {
+            return new LUDecomposition(a, singularityThreshold).getSolver();
+        }
     }
 
 }
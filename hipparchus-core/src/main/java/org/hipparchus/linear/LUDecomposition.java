@@ -25,6 +25,7 @@ package org.hipparchus.linear;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
 
 /**
  * Calculates the LUP-decomposition of a square matrix.
@@ -46,6 +47,12 @@ import org.hipparchus.util.FastMath;
  *   by a {@link #getSolver() getSolver} method and the equivalent methods
  *   provided by the returned {@link DecompositionSolver}.</li>
  * </ul>
+ * <p>In addition to the JAMA column-oriented algorithm, a blocked right-looking
+ * algorithm is available with the {@link #LUDecomposition(RealMatrix, double, int,
+ * ParallelSettings)} constructor. It performs the same operations in the same
+ * order, hence computes bit-identical decompositions, but most of the work is
+ * done as matrix-matrix updates of the trailing submatrix, which are cache-friendly
+ * and can be distributed on several threads.</p>
  *
  * @see <a href="http://mathworld.wolfram.com/LUDecomposition.html">MathWorld</a>
  * @see <a href="http://en.wikipedia.org/wiki/LU_decomposition">Wikipedia</a>
@@ -53,6 +60,10 @@ import org.hipparchus.util.FastMath;
 public class LUDecomposition {
     /** Default bound to determine effective singularity in LU decomposition. */
     private static final double DEFAULT_TOO_SMALL = 1e-11;
+    /** Number of columns of the trailing submatrix updated at once. */
+    private static final int COLUMNS_TILE = 256;
+    /** Minimum number of trailing submatrix rows updated by one task. */
+    private static final int MIN_ROWS = 8;
     /** Entries of LU decomposition. */
     private final double[][] lu;
     /** Pivot permutation associated with LU decomposition. */
@@ -167,6 +178,157 @@ public class LUDecomposition {
         }
     }
 
+    /**
+     * Calculates the LU-decomposition of the given matrix using a blocked algorithm.
+     * <p>
+     * The matrix is processed by panels of {@code blockSize} columns. Each panel
+     * is factorized with partial pivoting, then the corresponding rows of U are
+     * computed and the trailing submatrix is updated. If {@code settings} is not
+     * null and the update is large enough, the rows of the trailing submatrix are
+     * distributed among the threads of the settings pool.
+     * </p>
+     * <p>
+     * The decomposition is bit-identical to the one computed by {@link
+     * #LUDecomposition(RealMatrix, double)}, regardless of block size and number
+     * of threads. {@link BlockRealMatrix#BLOCK_SIZE} is a reasonable choice for
+     * the block size.
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of columns in each panel
+     * @param settings parallelism settings (null for serial computation)
+     * @throws MathIllegalArgumentException if matrix is not square
+     * or block size is not strictly positive
+     * @since 4.0
+     */
+    public LUDecomposition(final RealMatrix matrix, final double singularityThreshold,
+                           final int blockSize, final ParallelSettings settings) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        if (blockSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   blockSize, 1);
+        }
+
+        final int m = matrix.getColumnDimension();
+        lu = matrix.getData();
+        pivot = new int[m];
+        cachedL = null;
+        cachedU = null;
+        cachedP = null;
+
+        // Initialize permutation array and parity
+        for (int row = 0; row < m; row++) {
+            pivot[row] = row;
+        }
+        even     = true;
+        singular = false;
+
+        // Loop over panels
+        for (int panel = 0; panel < m; panel += blockSize) {
+            final int start = panel;
+            final int end   = FastMath.min(start + blockSize, m);
+
+            // factorize panel
+            for (int col = start; col < end; col++) {
+
+                // find pivot (the column has already been updated by all previous columns)
+                int max = col;
+                double largest = Double.NEGATIVE_INFINITY;
+                for (int row = col; row < m; row++) {
+                    final double abs = FastMath.abs(lu[row][col]);
+                    if (abs > largest) {
+                        largest = abs;
+                        max = row;
+                    }
+                }
+
+                // Singularity check
+                if (FastMath.abs(lu[max][col]) < singularityThreshold) {
+                    singular = true;
+                    return;
+                }
+
+                // Pivot if necessary (rows are exchanged as a whole)
+                if (max != col) {
+                    final double[] tmpRow = lu[max];
+                    lu[max] = lu[col];
+                    lu[col] = tmpRow;
+                    final int tmp = pivot[max];
+                    pivot[max] = pivot[col];
+                    pivot[col] = tmp;
+                    even = !even;
+                }
+
+                // Divide the lower elements by the "winning" diagonal elt.
+                // and update the remaining columns of the panel
+                final double[] luCol  = lu[col];
+                final double   luDiag = luCol[col];
+                for (int row = col + 1; row < m; row++) {
+                    final double[] luRow = lu[row];
+                    final double   l     = luRow[col] / luDiag;
+                    luRow[col] = l;
+                    for (int j = col + 1; j < end; j++) {
+                        luRow[j] -= l * luCol[j];
+                    }
+                }
+
+            }
+
+            if (end < m) {
+
+                // compute the panel rows of U, right of the panel
+                for (int row = start + 1; row < end; row++) {
+                    final double[] luRow = lu[row];
+                    for (int i = start; i < row; i++) {
+                        final double   l   = luRow[i];
+                        final double[] luI = lu[i];
+                        for (int j = end; j < m; j++) {
+                            luRow[j] -= l * luI[j];
+                        }
+                    }
+                }
+
+                // update trailing submatrix
+                final long work = ((long) (m - end)) * (m - end) * (end - start);
+                final ParallelSettings.RangeKernel kernel = (rStart, rEnd) -> updateTrailing(start, end, rStart, rEnd);
+                if (settings != null && settings.isParallel(work)) {
+                    settings.forRange(end, m, MIN_ROWS, kernel);
+                } else {
+                    kernel.apply(end, m);
+                }
+
+            }
+
+        }
+    }
+
+    /** Update rows of the trailing submatrix after a panel has been factorized.
+     * @param start index of the first column of the panel (included)
+     * @param end index of the last column of the panel (excluded)
+     * @param rStart index of the first row to update (included)
+     * @param rEnd index of the last row to update (excluded)
+     */
+    private void updateTrailing(final int start, final int end, final int rStart, final int rEnd) {
+        final int m = pivot.length;
+        for (int cStart = end; cStart < m; cStart += COLUMNS_TILE) {
+            final int cEnd = FastMath.min(cStart + COLUMNS_TILE, m);
+            for (int row = rStart; row < rEnd; row++) {
+                final double[] luRow = lu[row];
+                for (int i = start; i < end; i++) {
+                    final double   l   = luRow[i];
+                    final double[] luI = lu[i];
+                    for (int j = cStart; j < cEnd; j++) {
+                        luRow[j] -= l * luI[j];
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Returns the matrix L of the decomposition.
      * <p>L is a lower-triangular matrix</p>
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+
+/**
+ * Calculates a few eigenpairs of a symmetric linear operator using the Lanczos algorithm.
+ * <p>
+ * Only the {@code k} largest or smallest (in algebraic sense) eigenvalues and the
+ * associated eigenvectors are computed. The operator is only accessed through its
+ * {@link RealLinearOperator#operate(RealVector) operate} method, so it does not need
+ * to be stored as a dense matrix, and the cost is dominated by the operator applications
+ * and by the orthogonalization of the Krylov basis, which is O(n m<sup>2</sup>) per
+ * restart for a basis of size m. For large matrices and small {@code k}, this is
+ * orders of magnitude faster than a full {@link EigenDecompositionSymmetric}.
+ * </p>
+ * <p>
+ * The implementation uses full reorthogonalization of the Krylov basis and thick
+ * restarts (Wu and Simon, 2000): when the basis reaches its maximum size, it is
+ * replaced by the best Ritz vectors and the Lanczos process is continued from there.
+ * The Ritz pairs are accepted when their residual norms ||A u - &theta; u|| are below
+ * the tolerance times the largest Ritz value in absolute value.
+ * </p>
+ * <p>
+ * The operator must be symmetric, which cannot be checked.
+ * </p>
+ * @see <a href="https://doi.org/10.1137/S0895479898334605">K. Wu and H. Simon,
+ * Thick-Restart Lanczos Method for Large Symmetric Eigenvalue Problems,
+ * SIAM J. Matrix Anal. Appl. 22 (2000)</a>
+ * @since 4.0
+ */
+public class LanczosEigenDecomposition {
+
+    /** Default relative tolerance on residuals. */
+    public static final double DEFAULT_TOLERANCE = 1.0e-10;
+
+    /** Default maximum number of restarts. */
+    public static final int DEFAULT_MAX_RESTARTS = 1000;
+
+    /** Eigenvalues. */
+    private final double[] eigenvalues;
+
+    /** Eigenvectors. */
+    private final ArrayRealVector[] eigenvectors;
+
+    /** Number of restarts performed. */
+    private int restarts;
+
+    /** Cached value of V. */
+    private RealMatrix cachedV;
+
+    /**
+     * Calculates a few eigenpairs of a symmetric operator.
+     * <p>
+     * This constructor uses a basis size of max(2k, k + 20) (limited to the operator
+     * dimension), the {@link #DEFAULT_TOLERANCE default tolerance}, the {@link
+     * #DEFAULT_MAX_RESTARTS default maximum number of restarts} and a {@link
+     * Well19937a} generator with fixed seed for the initial vector.
+     * </p>
+     * @param operator symmetric operator to decompose
+     * @param k number of eigenpairs to compute
+     * @param largest if true, the largest eigenvalues are computed, otherwise
+     * the smallest ones are computed
+     * @throws MathIllegalArgumentException if the operator is not square or
+     * {@code k} is not between 1 and the operator dimension
+     * @throws MathIllegalStateException if the algorithm fails to converge
+     */
+    public LanczosEigenDecomposition(final RealLinearOperator operator, final int k, final boolean largest) {
+        this(operator, k, largest,
+             FastMath.min(operator.getRowDimension(), FastMath.max(2 * k, k + 20)),
+             DEFAULT_TOLERANCE, DEFAULT_MAX_RESTARTS, new Well19937a(0x3b9c1f5e78d20a64L));
+    }
+
+    /**
+     * Calculates a few eigenpairs of a symmetric operator.
+     * @param operator symmetric operator to decompose
+     * @param k number of eigenpairs to compute
+     * @param largest if true, the largest eigenvalues are computed, otherwise
+     * the smallest ones are computed
+     * @param basisSize maximum size of the Krylov basis, between k + 1 and the
+     * operator dimension (or equal to k if k is the operator dimension)
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param random generator for the initial vector
+     * @throws MathIllegalArgumentException if the operator is not square,
+     * {@code k} is not between 1 and the operator dimension, or {@code basisSize}
+     * is not consistent with {@code k} and the operator dimension
+     * @throws MathIllegalStateException if the algorithm fails to converge
+     */
+    public LanczosEigenDecomposition(final RealLinearOperator operator, final int k, final boolean largest,
+                                     final int basisSize, final double tolerance, final int maxRestarts,
+                                     final RandomGenerator random) {
+
+        MathUtils.checkNotNull(random);
+        final int n = operator.getRowDimension();
+        if (operator.getColumnDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                   n, operator.getColumnDimension());
+        }
+        MathUtils.checkRangeInclusive(k, 1, n);
+        MathUtils.checkRangeInclusive(basisSize, FastMath.min(k + 1, n), n);
+
+        final int m = basisSize;
+        final double[][] v = new double[m][];
+        final double[][] t = new double[m][m];
+        v[0] = randomUnitVector(random, n, v, 0);
+
+        int kept = 0;
+        for (restarts = 0; restarts <= maxRestarts; ++restarts) {
+
+            // extend the Lanczos basis
+            double[] w = null;
+            for (int j = kept; j < m; ++j) {
+                w = apply(operator, v[j]);
+                orthogonalize(w, v, j + 1, t, j);
+                final double beta = norm(w);
+                if (j + 1 < m) {
+                    if (beta <= Precision.EPSILON * scale(t, j + 1)) {
+                        // invariant subspace found, start a new independent subspace
+                        v[j + 1] = randomUnitVector(random, n, v, j + 1);
+                    } else {
+                        t[j + 1][j] = beta;
+                        t[j][j + 1] = beta;
+                        v[j + 1]    = scale(w, 1.0 / beta);
+                    }
+                }
+            }
+            final double betaM = norm(w);
+
+            // Rayleigh-Ritz projection
+            final EigenDecompositionSymmetric ritz =
+                            new EigenDecompositionSymmetric(MatrixUtils.createRealMatrix(t),
+                                                            EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                            largest);
+            final RealMatrix y = ritz.getV();
+            double thetaMax = 0;
+            for (final double theta : ritz.getEigenvalues()) {
+                thetaMax = FastMath.max(thetaMax, FastMath.abs(theta));
+            }
+            boolean converged = true;
+            for (int i = 0; i < k; ++i) {
+                if (betaM * FastMath.abs(y.getEntry(m - 1, i)) > tolerance * thetaMax) {
+                    converged = false;
+                    break;
+                }
+            }
+
+            if (converged || (m == n && betaM <= Precision.EPSILON * thetaMax)) {
+                eigenvalues  = new double[k];
+                eigenvectors = new ArrayRealVector[k];
+                for (int i = 0; i < k; ++i) {
+                    eigenvalues[i]  = ritz.getEigenvalue(i);
+                    eigenvectors[i] = new ArrayRealVector(ritzVector(v, y, i), false);
+                }
+                return;
+            }
+
+            // thick restart, keeping the best Ritz vectors
+            kept = FastMath.min((k + m) / 2, m - 1);
+            final double[][] u = new double[m][];
+            for (int i = 0; i < kept; ++i) {
+                u[i] = ritzVector(v, y, i);
+            }
+            u[kept] = scale(w, 1.0 / betaM);
+            System.arraycopy(u, 0, v, 0, kept + 1);
+            for (final double[] row : t) {
+                Arrays.fill(row, 0.0);
+            }
+            for (int i = 0; i < kept; ++i) {
+                t[i][i]     = ritz.getEigenvalue(i);
+                t[i][kept]  = betaM * y.getEntry(m - 1, i);
+                t[kept][i]  = t[i][kept];
+            }
+
+        }
+
+        throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, maxRestarts);
+
+    }
+
+    /** Get the eigenvalues.
+     * <p>
+     * The eigenvalues are sorted in decreasing order if the largest
+     * eigenvalues were computed, in increasing order otherwise.
+     * </p>
+     * @return a copy of the computed eigenvalues
+     */
+    public double[] getEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /** Get an eigenvalue.
+     * @param i index of the eigenvalue
+     * @return eigenvalue i
+     */
+    public double getEigenvalue(final int i) {
+        return eigenvalues[i];
+    }
+
+    /** Get an eigenvector.
+     * @param i index of the eigenvector
+     * @return copy of the eigenvector associated with eigenvalue i
+     */
+    public RealVector getEigenvector(final int i) {
+        return eigenvectors[i].copy();
+    }
+
+    /** Get the matrix whose columns are the computed eigenvectors.
+     * @return n&times;k matrix of eigenvectors
+     */
+    public RealMatrix getV() {
+        if (cachedV == null) {
+            cachedV = MatrixUtils.createRealMatrix(eigenvectors[0].getDimension(), eigenvectors.length);
+            for (int i = 0; i < eigenvectors.length; ++i) {
+                cachedV.setColumnVector(i, eigenvectors[i]);
+            }
+        }
+        return cachedV;
+    }
+
+    /** Get the number of restarts performed.
+     * @return number of restarts performed
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /** Apply the operator to a vector.
+     * @param operator operator
+     * @param x vector
+     * @return operator applied to x
+     */
+    private static double[] apply(final RealLinearOperator operator, final double[] x) {
+        return operator.operate(new ArrayRealVector(x, false)).toArray();
+    }
+
+    /** Orthogonalize a vector against a basis, using classical Gram-Schmidt applied twice.
+     * @param w vector to orthogonalize (modified in place)
+     * @param v basis
+     * @param size number of basis vectors to use
+     * @param t projected matrix where to store the projection coefficients (may be null)
+     * @param column column of the projected matrix where to store the coefficients
+     */
+    private static void orthogonalize(final double[] w, final double[][] v, final int size,
+                                      final double[][] t, final int column) {
+        if (t != null) {
+            for (int i = 0; i < size; ++i) {
+                t[i][column] = 0;
+            }
+        }
+        final double[] h = new double[size];
+        for (int pass = 0; pass < 2; ++pass) {
+            for (int i = 0; i < size; ++i) {
+                h[i] = dot(v[i], w);
+            }
+            for (int i = 0; i < size; ++i) {
+                final double   hi = h[i];
+                final double[] vi = v[i];
+                for (int l = 0; l < w.length; ++l) {
+                    w[l] -= hi * vi[l];
+                }
+                if (t != null) {
+                    t[i][column] += hi;
+                }
+            }
+        }
+        if (t != null) {
+            // enforce symmetry of the projected matrix
+            for (int i = 0; i < column; ++i) {
+                t[column][i] = t[i][column];
+            }
+        }
+    }
+
+    /** Generate a random unit vector orthogonal to a basis.
+     * @param random random generator
+     * @param n dimension
+     * @param v basis
+     * @param size number of basis vectors to use
+     * @return random unit vector orthogonal to the basis
+     */
+    private static double[] randomUnitVector(final RandomGenerator random, final int n,
+                                             final double[][] v, final int size) {
+        while (true) {
+            final double[] x = new double[n];
+            for (int l = 0; l < n; ++l) {
+                x[l] = 2 * random.nextDouble() - 1;
+            }
+            orthogonalize(x, v, size, null, 0);
+            final double norm = norm(x);
+            if (norm > 0.5 * Precision.EPSILON * FastMath.sqrt(n)) {
+                return scale(x, 1.0 / norm);
+            }
+        }
+    }
+
+    /** Compute a Ritz vector.
+     * @param v Krylov basis
+     * @param y eigenvectors of the projected matrix
+     * @param i index of the Ritz vector
+     * @return Ritz vector
+     */
+    private static double[] ritzVector(final double[][] v, final RealMatrix y, final int i) {
+        final double[] u = new double[v[0].length];
+        for (int j = 0; j < v.length; ++j) {
+            final double   yji = y.getEntry(j, i);
+            final double[] vj  = v[j];
+            for (int l = 0; l < u.length; ++l) {
+                u[l] += yji * vj[l];
+            }
+        }
+        return u;
+    }
+
+    /** Estimate the scale of the projected matrix.
+     * @param t projected matrix
+     * @param size number of rows and columns to consider
+     * @return largest absolute value of the entries
+     */
+    private static double scale(final double[][] t, final int size) {
+        double max = 0;
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                max = FastMath.max(max, FastMath.abs(t[i][j]));
+            }
+        }
+        return max;
+    }
+
+    /** Compute a dot product.
+     * @param a first vector
+     * @param b second vector
+     * @return a.b
+     */
+    private static double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int l = 0; l < a.length; ++l) {
+            sum += a[l] * b[l];
+        }
+        return sum;
+    }
+
+    /** Compute a Euclidean norm.
+     * @param a vector
+     * @return ||a||
+     */
+    private static double norm(final double[] a) {
+        return FastMath.sqrt(dot(a, a));
+    }
+
+    /** Scale a vector in place.
+     * @param a vector
+     * @param factor scaling factor
+     * @return a (scaled in place)
+     */
+    private static double[] scale(final double[] a, final double factor) {
+        for (int l = 0; l < a.length; ++l) {
+            a[l] *= factor;
+        }
+        return a;
+    }
+
+}
@@ -688,6 +688,29 @@ public class MatrixUtils {
         }
     }
 
+    /**
+     * Check if a matrix can operate on a vector and store the result in another vector.
+     *
+     * @param m Matrix.
+     * @param vDimension Dimension of the vector operated on.
+     * @param outDimension Dimension of the vector where result is stored.
+     * @throws MathIllegalArgumentException if {@code vDimension} does not match the
+     * column dimension of {@code m} or {@code outDimension} does not match its row
+     * dimension.
+     * @since 4.0
+     */
+    public static void checkOperateCompatible(final AnyMatrix m, final int vDimension, final int outDimension)
+        throws MathIllegalArgumentException {
+        if (vDimension != m.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   vDimension, m.getColumnDimension());
+        }
+        if (outDimension != m.getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   outDimension, m.getRowDimension());
+        }
+    }
+
     /**
      * Check if matrices have the same number of columns.
      *
@@ -895,6 +918,85 @@ public class MatrixUtils {
         }
     }
 
+    /**
+     * Compute c &larr; &alpha; a b + &beta; c in place.
+     * <p>
+     * This method avoids allocating a new matrix for the product. If all matrices
+     * are {@link Array2DRowRealMatrix} instances, a cache-blocked and register-tiled
+     * kernel working directly on the underlying arrays is used. If all matrices
+     * are {@link BlockRealMatrix} instances, the product is accumulated directly
+     * in the blocks of {@code c}. Other matrices types are supported through their
+     * generic accessors, computing each entry of {@code c} in place. No temporary
+     * product is allocated, the only scratch storage being a bounded packing panel
+     * used by the {@link Array2DRowRealMatrix} kernel when {@code b} is very wide.
+     * </p>
+     * <p>
+     * When {@code beta} is 0, the initial content of {@code c} is ignored, so it
+     * can contain NaN or infinities. The output matrix may be the same instance as
+     * one of the operands, but then a temporary product matrix is allocated.
+     * </p>
+     * @param a left operand
+     * @param b right operand
+     * @param c output matrix, updated in place
+     * @param alpha scaling factor for the product
+     * @param beta scaling factor for c
+     * @throws MathIllegalArgumentException if dimensions are not consistent
+     * @since 4.0
+     */
+    public static void multiply(final RealMatrix a, final RealMatrix b, final RealMatrix c,
+                                final double alpha, final double beta)
+        throws MathIllegalArgumentException {
+
+        // safety checks
+        checkMultiplicationCompatible(a, b);
+        checkSameRowDimension(a, c);
+        checkSameColumnDimension(b, c);
+
+        if (c == a || c == b) {
+            // the operands would be overwritten while still needed
+            final RealMatrix product = a.multiply(b);
+            c.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    final double scaled = alpha * product.getEntry(row, column);
+                    return beta == 0.0 ? scaled : beta * value + scaled;
+                }
+            });
+            return;
+        }
+
+        if (a instanceof Array2DRowRealMatrix &&
+            b instanceof Array2DRowRealMatrix &&
+            c instanceof Array2DRowRealMatrix) {
+            GemmKernel.multiply(alpha,
+                                ((Array2DRowRealMatrix) a).getDataRef(),
+                                ((Array2DRowRealMatrix) b).getDataRef(),
+                                beta,
+                                ((Array2DRowRealMatrix) c).getDataRef());
+        } else if (a instanceof BlockRealMatrix &&
+                   b instanceof BlockRealMatrix &&
+                   c instanceof BlockRealMatrix) {
+            ((BlockRealMatrix) a).multiply((BlockRealMatrix) b, (BlockRealMatrix) c, alpha, beta);
+        } else {
+            // generic case, each entry of c is computed directly from the operands
+            final int n = a.getColumnDimension();
+            c.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    double sum = 0;
+                    for (int k = 0; k < n; ++k) {
+                        sum += a.getEntry(row, k) * b.getEntry(k, column);
+                    }
+                    final double scaled = alpha * sum;
+                    return beta == 0.0 ? scaled : beta * value + scaled;
+                }
+            });
+        }
+
+    }
+
     /**
      * Computes the inverse of the given matrix by splitting it into
      * 4 sub-matrices.
@@ -1093,9 +1195,15 @@ public class MatrixUtils {
         QRDecomposition decomposition = new QRDecomposition(padeDenom);
         RealMatrix result = decomposition.getSolver().solve(padeNumer);
 
-        // Repeated squaring if matrix was scaled
-        for (int i = 0; i < squaringCount; i++) {
-            result = result.multiply(result);
+        // Repeated squaring if matrix was scaled, reusing two buffers
+        if (squaringCount > 0) {
+            RealMatrix square = result.createMatrix(dim, dim);
+            for (int i = 0; i < squaringCount; i++) {
+                multiply(result, result, square, 1.0, 0.0);
+                final RealMatrix tmp = result;
+                result = square;
+                square = tmp;
+            }
         }
 
         return result;
@@ -24,9 +24,8 @@ package org.hipparchus.linear;
 
 import java.io.Serializable;
 
-import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
-import org.hipparchus.util.OpenIntToDoubleHashMap;
+import org.hipparchus.util.OpenLongToDoubleHashMap;
 
 /**
  * Sparse matrix implementation based on an open addressed map.
@@ -42,13 +41,13 @@ import org.hipparchus.util.OpenIntToDoubleHashMap;
 public class OpenMapRealMatrix extends AbstractRealMatrix
     implements SparseRealMatrix, Serializable {
     /** Serializable version identifier. */
-    private static final long serialVersionUID = -5962461716457143437L;
+    private static final long serialVersionUID = 20261017L;
     /** Number of rows of the matrix. */
     private final int rows;
     /** Number of columns of the matrix. */
     private final int columns;
     /** Storage for (sparse) matrix elements. */
-    private final OpenIntToDoubleHashMap entries;
+    private final OpenLongToDoubleHashMap entries;
 
     /**
      * Build a sparse matrix with the supplied row and column dimensions.
@@ -57,21 +56,13 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @param columnDimension Number of columns of the matrix.
      * @throws MathIllegalArgumentException if row or column dimension is not
      * positive.
-     * @throws MathIllegalArgumentException if the total number of entries of the
-     * matrix is larger than {@code Integer.MAX_VALUE}.
      */
     public OpenMapRealMatrix(int rowDimension, int columnDimension)
         throws MathIllegalArgumentException {
         super(rowDimension, columnDimension);
-        long lRow = rowDimension;
-        long lCol = columnDimension;
-        if (lRow * lCol >= Integer.MAX_VALUE) {
-            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE_BOUND_EXCLUDED,
-                                                   lRow * lCol, Integer.MAX_VALUE);
-        }
         this.rows = rowDimension;
         this.columns = columnDimension;
-        this.entries = new OpenIntToDoubleHashMap(0.0);
+        this.entries = new OpenLongToDoubleHashMap(0.0);
     }
 
     /**
@@ -82,7 +73,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
     public OpenMapRealMatrix(OpenMapRealMatrix matrix) {
         this.rows = matrix.rows;
         this.columns = matrix.columns;
-        this.entries = new OpenIntToDoubleHashMap(matrix.entries);
+        this.entries = new OpenLongToDoubleHashMap(matrix.entries);
     }
 
     /** {@inheritDoc} */
@@ -91,12 +82,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         return new OpenMapRealMatrix(this);
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws MathIllegalArgumentException if the total number of entries of the
-     * matrix is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public OpenMapRealMatrix createMatrix(int rowDimension, int columnDimension)
         throws MathIllegalArgumentException {
@@ -123,10 +109,10 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         MatrixUtils.checkAdditionCompatible(this, m);
 
         final OpenMapRealMatrix out = new OpenMapRealMatrix(this);
-        for (OpenIntToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
             iterator.advance();
-            final int row = iterator.key() / columns;
-            final int col = iterator.key() - row * columns;
+            final int row = (int) (iterator.key() / columns);
+            final int col = (int) (iterator.key() - ((long) row) * columns);
             out.setEntry(row, col, getEntry(row, col) + iterator.value());
         }
 
@@ -158,23 +144,17 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         MatrixUtils.checkAdditionCompatible(this, m);
 
         final OpenMapRealMatrix out = new OpenMapRealMatrix(this);
-        for (OpenIntToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
             iterator.advance();
-            final int row = iterator.key() / columns;
-            final int col = iterator.key() - row * columns;
+            final int row = (int) (iterator.key() / columns);
+            final int col = (int) (iterator.key() - ((long) row) * columns);
             out.setEntry(row, col, getEntry(row, col) - iterator.value());
         }
 
         return out;
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws MathIllegalArgumentException if {@code m} is an
-     * {@code OpenMapRealMatrix}, and the total number of entries of the product
-     * is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public RealMatrix multiply(final RealMatrix m)
         throws MathIllegalArgumentException {
@@ -183,12 +163,12 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
         final int outCols = m.getColumnDimension();
         final RealMatrix out = m.createMatrix(rows, outCols);
-        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
             iterator.advance();
             final double value = iterator.value();
-            final int key      = iterator.key();
-            final int i        = key / columns;
-            final int k        = key % columns;
+            final long key     = iterator.key();
+            final int i        = (int) (key / columns);
+            final int k        = (int) (key % columns);
             for (int j = 0; j < outCols; ++j) {
                 out.addToEntry(i, j, value * m.getEntry(k, j));
             }
@@ -198,13 +178,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws MathIllegalArgumentException if {@code m} is an
-     * {@code OpenMapRealMatrix}, and the total number of entries of the product
-     * is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public RealMatrix multiplyTransposed(final RealMatrix m)
         throws MathIllegalArgumentException {
@@ -213,12 +187,12 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
         final int outCols = m.getRowDimension();
         final RealMatrix out = m.createMatrix(rows, outCols);
-        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
             iterator.advance();
             final double value = iterator.value();
-            final int key      = iterator.key();
-            final int i        = key / columns;
-            final int k        = key % columns;
+            final long key     = iterator.key();
+            final int i        = (int) (key / columns);
+            final int k        = (int) (key % columns);
             for (int j = 0; j < outCols; ++j) {
                 out.addToEntry(i, j, value * m.getEntry(j, k));
             }
@@ -228,13 +202,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws MathIllegalArgumentException if {@code m} is an
-     * {@code OpenMapRealMatrix}, and the total number of entries of the product
-     * is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public RealMatrix transposeMultiply(final RealMatrix m)
         throws MathIllegalArgumentException {
@@ -243,12 +211,12 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
         final int outCols = m.getColumnDimension();
         final RealMatrix out = m.createMatrix(columns, outCols);
-        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
             iterator.advance();
             final double value = iterator.value();
-            final int key      = iterator.key();
-            final int k        = key / columns;
-            final int i        = key % columns;
+            final long key     = iterator.key();
+            final int k        = (int) (key / columns);
+            final int i        = (int) (key % columns);
             for (int j = 0; j < outCols; ++j) {
                 out.addToEntry(i, j, value * m.getEntry(k, j));
             }
@@ -265,8 +233,6 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @return {@code this} * {@code m}.
      * @throws MathIllegalArgumentException if the number of rows of {@code m}
      * differ from the number of columns of {@code this} matrix.
-     * @throws MathIllegalArgumentException if the total number of entries of the
-     * product is larger than {@code Integer.MAX_VALUE}.
      */
     public OpenMapRealMatrix multiply(OpenMapRealMatrix m)
         throws MathIllegalArgumentException {
@@ -275,16 +241,16 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
         final int outCols = m.getColumnDimension();
         OpenMapRealMatrix out = new OpenMapRealMatrix(rows, outCols);
-        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
             iterator.advance();
             final double value = iterator.value();
-            final int key      = iterator.key();
-            final int i        = key / columns;
-            final int k        = key % columns;
+            final long key     = iterator.key();
+            final int i        = (int) (key / columns);
+            final int k        = (int) (key % columns);
             for (int j = 0; j < outCols; ++j) {
-                final int rightKey = m.computeKey(k, j);
+                final long rightKey = m.computeKey(k, j);
                 if (m.entries.containsKey(rightKey)) {
-                    final int outKey = out.computeKey(i, j);
+                    final long outKey = out.computeKey(i, j);
                     final double outValue =
                         out.entries.get(outKey) + value * m.entries.get(rightKey);
                     if (outValue == 0.0) {
@@ -332,7 +298,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         throws MathIllegalArgumentException {
         MatrixUtils.checkRowIndex(this, row);
         MatrixUtils.checkColumnIndex(this, column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final double value = entries.get(key) + increment;
         if (value == 0.0) {
             entries.remove(key);
@@ -347,7 +313,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         throws MathIllegalArgumentException {
         MatrixUtils.checkRowIndex(this, row);
         MatrixUtils.checkColumnIndex(this, column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final double value = entries.get(key) * factor;
         if (value == 0.0) {
             entries.remove(key);
@@ -362,8 +328,8 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @param column column index of the matrix element
      * @return key within the map to access the matrix element
      */
-    private int computeKey(int row, int column) {
-        return row * columns + column;
+    private long computeKey(int row, int column) {
+        return ((long) row) * columns + column;
     }
 
 
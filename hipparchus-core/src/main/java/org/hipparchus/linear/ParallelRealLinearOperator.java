@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelSettings;
+
+/**
+ * Linear operator computing matrix-vector products in parallel.
+ * <p>
+ * This wrapper around a {@link RealMatrix} splits the rows of the matrix
+ * in ranges that are processed by different threads of a fork-join pool,
+ * so it can be used as a drop-in replacement of the matrix in iterative
+ * linear solvers like {@link ConjugateGradient} or {@link SymmLQ}, which
+ * spend most of their time in {@link #operate(RealVector)}. Each element of
+ * the result is computed by a single thread in the same order as the serial
+ * algorithm, so results are bit-identical to the serial ones.
+ * </p>
+ * <p>
+ * Direct access to the storage is used for {@link CSRRealMatrix} and
+ * {@link Array2DRowRealMatrix}, other matrices are accessed through
+ * {@link RealMatrix#getEntry(int, int)}. The transposed product
+ * is delegated to the wrapped matrix and is therefore serial.
+ * </p>
+ * <p>
+ * The wrapper also provides a {@link #multiply(RealMatrix) block product},
+ * used by {@link BlockConjugateGradient} to apply the operator to several
+ * vectors in one pass over the matrix.
+ * </p>
+ * @see ParallelSettings
+ * @since 4.0
+ */
+public class ParallelRealLinearOperator implements RealLinearOperator {
+
+    /** Number of tasks per pool thread, to balance load between threads. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Wrapped matrix. */
+    private final RealMatrix matrix;
+
+    /** Parallel settings. */
+    private final ParallelSettings settings;
+
+    /** Kernel for row ranges. */
+    private final RowsKernel kernel;
+
+    /** Estimated work for one matrix-vector product. */
+    private final long work;
+
+    /** Build an operator using {@link ParallelSettings#ParallelSettings() default settings}.
+     * @param matrix wrapped matrix
+     */
+    public ParallelRealLinearOperator(final RealMatrix matrix) {
+        this(matrix, new ParallelSettings());
+    }
+
+    /** Build an operator.
+     * @param matrix wrapped matrix
+     * @param settings parallel settings
+     */
+    public ParallelRealLinearOperator(final RealMatrix matrix, final ParallelSettings settings) {
+        MathUtils.checkNotNull(matrix);
+        MathUtils.checkNotNull(settings);
+        this.matrix   = matrix;
+        this.settings = settings;
+        if (matrix instanceof CSRRealMatrix) {
+            final CompressedSparseStorage storage = ((CSRRealMatrix) matrix).getStorage();
+            this.kernel = new RowsKernel() {
+                /** {@inheritDoc} */
+                @Override
+                public void operate(final double[] x, final double[] y, final int from, final int to) {
+                    storage.dot(x, y, from, to);
+                }
+                /** {@inheritDoc} */
+                @Override
+                public void multiply(final double[] b, final double[] c, final int width,
+                                     final int from, final int to) {
+                    storage.multiplyInterleaved(b, c, width, from, to);
+                }
+            };
+            this.work = storage.size();
+        } else if (matrix instanceof Array2DRowRealMatrix) {
+            final double[][] data = ((Array2DRowRealMatrix) matrix).getDataRef();
+            this.kernel = new RowsKernel() {
+                /** {@inheritDoc} */
+                @Override
+                public void operate(final double[] x, final double[] y, final int from, final int to) {
+                    for (int i = from; i < to; ++i) {
+                        final double[] row = data[i];
+                        double sum = 0;
+                        for (int j = 0; j < row.length; ++j) {
+                            sum += row[j] * x[j];
+                        }
+                        y[i] = sum;
+                    }
+                }
+                /** {@inheritDoc} */
+                @Override
+                public void multiply(final double[] b, final double[] c, final int width,
+                                     final int from, final int to) {
+                    for (int i = from; i < to; ++i) {
+                        final double[] row    = data[i];
+                        final int      cStart = i * width;
+                        Arrays.fill(c, cStart, cStart + width, 0.0);
+                        for (int p = 0; p < row.length; ++p) {
+                            final double a      = row[p];
+                            final int    bStart = p * width;
+                            for (int j = 0; j < width; ++j) {
+                                c[cStart + j] += a * b[bStart + j];
+                            }
+                        }
+                    }
+                }
+            };
+            this.work = ((long) matrix.getRowDimension()) * matrix.getColumnDimension();
+        } else {
+            this.kernel = new RowsKernel() {
+                /** {@inheritDoc} */
+                @Override
+                public void operate(final double[] x, final double[] y, final int from, final int to) {
+                    for (int i = from; i < to; ++i) {
+                        double sum = 0;
+                        for (int j = 0; j < x.length; ++j) {
+                            sum += matrix.getEntry(i, j) * x[j];
+                        }
+                        y[i] = sum;
+                    }
+                }
+                /** {@inheritDoc} */
+                @Override
+                public void multiply(final double[] b, final double[] c, final int width,
+                                     final int from, final int to) {
+                    final int columns = matrix.getColumnDimension();
+                    for (int i = from; i < to; ++i) {
+                        final int cStart = i * width;
+                        Arrays.fill(c, cStart, cStart + width, 0.0);
+                        for (int p = 0; p < columns; ++p) {
+                            final double a      = matrix.getEntry(i, p);
+                            final int    bStart = p * width;
+                            for (int j = 0; j < width; ++j) {
+                                c[cStart + j] += a * b[bStart + j];
+                            }
+                        }
+                    }
+                }
+            };
+            this.work = ((long) matrix.getRowDimension()) * matrix.getColumnDimension();
+        }
+    }
+
+    /** Get the wrapped matrix.
+     * @return wrapped matrix
+     */
+    public RealMatrix getMatrix() {
+        return matrix;
+    }
+
+    /** Get the parallel settings.
+     * @return parallel settings
+     */
+    public ParallelSettings getSettings() {
+        return settings;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return matrix.getRowDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return matrix.getColumnDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x) throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(x.toArray()), false);
+    }
+
+    /** Returns the result of multiplying {@code this} by the vector {@code x}.
+     * @param x the vector to operate on
+     * @return the product of {@code this} instance with {@code x}
+     * @throws MathIllegalArgumentException if the column dimension does not match
+     * the size of {@code x}
+     */
+    public double[] operate(final double[] x) throws MathIllegalArgumentException {
+        if (x.length != getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.length, getColumnDimension());
+        }
+        final double[] y = new double[getRowDimension()];
+        run(work, (from, to) -> kernel.operate(x, y, from, to));
+        return y;
+    }
+
+    /** Returns the result of multiplying {@code this} by the matrix {@code b}.
+     * <p>
+     * The matrix is traversed only once for all columns of {@code b}, which
+     * is faster than applying the operator to each column separately.
+     * </p>
+     * @param b the matrix to operate on
+     * @return the product of {@code this} instance with {@code b}
+     * @throws MathIllegalArgumentException if the column dimension does not match
+     * the row dimension of {@code b}
+     */
+    public RealMatrix multiply(final RealMatrix b) throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(matrix, b);
+        final int      width = b.getColumnDimension();
+        final double[] flatB = new double[b.getRowDimension() * width];
+        for (int p = 0; p < b.getRowDimension(); ++p) {
+            for (int j = 0; j < width; ++j) {
+                flatB[p * width + j] = b.getEntry(p, j);
+            }
+        }
+        final double[] flatC = new double[getRowDimension() * width];
+        multiplyInterleaved(flatB, flatC, width);
+        final double[][] c = new double[getRowDimension()][];
+        for (int i = 0; i < c.length; ++i) {
+            c[i] = Arrays.copyOfRange(flatC, i * width, (i + 1) * width);
+        }
+        return new Array2DRowRealMatrix(c, false);
+    }
+
+    /** Compute the product of {@code this} and a flat dense matrix.
+     * <p>
+     * The dense matrices are stored in flat row-major arrays, so the columns of
+     * {@code b} are interleaved vectors the operator is applied to.
+     * </p>
+     * @param b flat dense right operand, with {@link #getColumnDimension()} rows
+     * and {@code width} columns
+     * @param c flat dense placeholder for the result, with {@link #getRowDimension()}
+     * rows and {@code width} columns (it will be overwritten)
+     * @param width number of columns of the dense matrices
+     */
+    void multiplyInterleaved(final double[] b, final double[] c, final int width) {
+        run(work * width, (from, to) -> kernel.multiply(b, c, width, from, to));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x) throws MathIllegalArgumentException {
+        return matrix.preMultiply(x);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /** Run a computation on all rows, in parallel if worth it.
+     * @param estimatedWork estimated work for the computation
+     * @param range computation on a range of rows
+     */
+    private void run(final long estimatedWork, final ParallelSettings.RangeKernel range) {
+        final int rows = getRowDimension();
+        if (settings.isParallel(estimatedWork)) {
+            final int tasks = TASKS_PER_THREAD * settings.getPool().getParallelism();
+            final int grain = FastMath.max(1, (rows + tasks - 1) / tasks);
+            settings.forRange(0, rows, grain, range);
+        } else {
+            range.apply(0, rows);
+        }
+    }
+
+    /** Interface for kernels computing products for a range of rows. */
+    private interface RowsKernel {
+
+        /** Compute a range of rows of a matrix-vector product.
+         * @param x vector to operate on
+         * @param y placeholder for the result
+         * @param from index of the first row (included)
+         * @param to index of the last row (excluded)
+         */
+        void operate(double[] x, double[] y, int from, int to);
+
+        /** Compute a range of rows of a matrix-matrix product, with flat row-major storage.
+         * @param b flat matrix to operate on
+         * @param c flat placeholder for the result
+         * @param width number of columns of {@code b} and {@code c}
+         * @param from index of the first row (included)
+         * @param to index of the last row (excluded)
+         */
+        void multiply(double[] b, double[] c, int width, int from, int to);
+
+    }
+
+}
@@ -26,7 +26,9 @@ import java.util.Arrays;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
 
 
 /**
@@ -47,6 +49,16 @@ import org.hipparchus.util.FastMath;
  *   by a {@link #getSolver() getSolver} method and the equivalent methods
  *   provided by the returned {@link DecompositionSolver}.</li>
  * </ul>
+ * <p>The decomposition of a rank-one modification A + u v<sup>T</sup> of the
+ * matrix can be computed in O(mn) from an existing decomposition using the
+ * {@link #update(RealVector, RealVector) update} and {@link #downdate(RealVector,
+ * RealVector) downdate} methods. Replacing row i of A by a new row x, as in
+ * sliding window regressions, corresponds to u = e<sub>i</sub> and
+ * v = x - a<sub>i</sub>. As the Givens rotations used in these methods cannot be
+ * represented as Householder reflectors, updated decompositions store only the
+ * first min(m, n) columns of Q explicitly (the thin Q, which is all that is needed
+ * for solving), build the full m&times;m Q on demand, and do not provide
+ * {@link #getH() H}.</p>
  *
  * @see <a href="http://mathworld.wolfram.com/QRDecomposition.html">MathWorld</a>
  * @see <a href="http://en.wikipedia.org/wiki/QR_decomposition">Wikipedia</a>
@@ -72,6 +84,14 @@ public class QRDecomposition {
     private RealMatrix cachedH;
     /** Singularity threshold. */
     private final double threshold;
+    /** Indicator for Householder reflector vectors available in {@link #qrt}.
+     * @since 4.0
+     */
+    private final boolean householder;
+    /** Transpose of the first min(m, n) columns of Q, for updated decompositions.
+     * @since 4.0
+     */
+    private final double[][] thinQT;
 
     /**
      * Calculates the QR-decomposition of the given matrix.
@@ -93,7 +113,9 @@ public class QRDecomposition {
      */
     public QRDecomposition(RealMatrix matrix,
                            double threshold) {
-        this.threshold = threshold;
+        this.threshold   = threshold;
+        this.householder = true;
+        this.thinQT      = null;
 
         final int m = matrix.getRowDimension();
         final int n = matrix.getColumnDimension();
@@ -108,6 +130,195 @@ public class QRDecomposition {
 
     }
 
+    /**
+     * Calculates the QR-decomposition of a rank-one modification of an already decomposed matrix.
+     * <p>
+     * Only the thin Q is used. When m &gt; n, u is first split into its projection
+     * Q<sub>1</sub><sup>T</sup> u on the range of the thin Q and a unit residual direction q,
+     * which temporarily extends the thin Q by one column. The extended Q<sup>T</sup> u is then
+     * reduced to a multiple of e<sub>1</sub> by Givens rotations, which turns R into an upper
+     * Hessenberg matrix, the rank-one term then only affects the first row of R, and a second
+     * sweep of Givens rotations restores the triangular form and leaves the extra column unused.
+     * </p>
+     * @param original decomposition of the matrix A
+     * @param u left vector of the rank-one modification (size m)
+     * @param v right vector of the rank-one modification (size n)
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @since 4.0
+     */
+    QRDecomposition(final QRDecomposition original, final RealVector u, final RealVector v) {
+
+        final int n = original.qrt.length;
+        final int m = original.qrt[0].length;
+        if (u.getDimension() != m) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   u.getDimension(), m);
+        }
+        if (v.getDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), n);
+        }
+        this.threshold   = original.threshold;
+        this.householder = false;
+
+        // working copies of the thin Q^T and R (both with room for one extra row)
+        final int        p    = FastMath.min(m, n);
+        final int        rows = FastMath.min(m, n + 1);
+        final double[][] qta  = new double[rows][];
+        System.arraycopy(original.copyThinQT(), 0, qta, 0, p);
+        final double[][] ra   = new double[rows][n];
+        for (int row = 0; row < p; ++row) {
+            ra[row][row] = original.rDiag[row];
+            for (int col = row + 1; col < n; ++col) {
+                ra[row][col] = original.qrt[col][row];
+            }
+        }
+
+        // w = Q^T u
+        final double[] ua = u.toArray();
+        final double[] w  = new double[rows];
+        for (int row = 0; row < p; ++row) {
+            w[row] = dot(qta[row], ua);
+        }
+
+        if (rows > p) {
+            // residual of u orthogonal to the range of the thin Q
+            // (Gram-Schmidt applied twice to preserve orthogonality)
+            final double[] residual = ua.clone();
+            subtractProjection(qta, p, w, residual);
+            final double[] correction = new double[p];
+            for (int row = 0; row < p; ++row) {
+                correction[row] = dot(qta[row], residual);
+                w[row]         += correction[row];
+            }
+            subtractProjection(qta, p, correction, residual);
+            final double rho = FastMath.sqrt(dot(residual, residual));
+            if (rho > Precision.EPSILON * FastMath.sqrt(dot(ua, ua))) {
+                for (int i = 0; i < m; ++i) {
+                    residual[i] /= rho;
+                }
+                w[p] = rho;
+            } else {
+                // u lies in the range of Q (up to rounding), the extra direction is not needed
+                Arrays.fill(residual, 0.0);
+            }
+            qta[p] = residual;
+        }
+
+        // reduce w to a multiple of e1, R becomes upper Hessenberg
+        for (int k = rows - 1; k > 0; --k) {
+            if (w[k] != 0) {
+                final double h = FastMath.hypot(w[k - 1], w[k]);
+                final double c = w[k - 1] / h;
+                final double s = w[k] / h;
+                w[k - 1] = h;
+                w[k]     = 0;
+                rotate(ra[k - 1], ra[k], c, s, k - 1, n);
+                rotate(qta[k - 1], qta[k], c, s, 0, m);
+            }
+        }
+
+        // add the rank-one term, which now affects only the first row
+        final double[] r0 = ra[0];
+        for (int col = 0; col < n; ++col) {
+            r0[col] += w[0] * v.getEntry(col);
+        }
+
+        // restore the upper triangular form
+        for (int k = 0; k < FastMath.min(rows - 1, n); ++k) {
+            final double b = ra[k + 1][k];
+            if (b != 0) {
+                final double h = FastMath.hypot(ra[k][k], b);
+                final double c = ra[k][k] / h;
+                final double s = b / h;
+                rotate(ra[k], ra[k + 1], c, s, k, n);
+                ra[k + 1][k] = 0;
+                rotate(qta[k], qta[k + 1], c, s, 0, m);
+            }
+        }
+
+        // store the updated decomposition, dropping the extra row of Q^T which is now useless
+        qrt    = new double[n][m];
+        rDiag  = new double[p];
+        thinQT = Arrays.copyOf(qta, p);
+        for (int row = 0; row < p; ++row) {
+            rDiag[row] = ra[row][row];
+            for (int col = row + 1; col < n; ++col) {
+                qrt[col][row] = ra[row][col];
+            }
+        }
+        cachedQ  = null;
+        cachedQT = null;
+        cachedR  = null;
+        cachedH  = null;
+
+    }
+
+    /** Get a copy of the transpose of the thin Q.
+     * @return new array containing the first min(m, n) rows of Q<sup>T</sup>
+     * @since 4.0
+     */
+    private double[][] copyThinQT() {
+        if (householder) {
+            return formQT(qrt, rDiag, rDiag.length);
+        } else {
+            final double[][] copy = new double[thinQT.length][];
+            for (int i = 0; i < copy.length; ++i) {
+                copy[i] = thinQT[i].clone();
+            }
+            return copy;
+        }
+    }
+
+    /** Subtract a combination of the rows of Q<sup>T</sup> from a vector.
+     * @param qta rows of Q<sup>T</sup>
+     * @param p number of rows to use
+     * @param c coefficients of the combination
+     * @param x vector to update (modified in place)
+     * @since 4.0
+     */
+    private static void subtractProjection(final double[][] qta, final int p, final double[] c, final double[] x) {
+        for (int row = 0; row < p; ++row) {
+            final double[] qtaRow = qta[row];
+            for (int i = 0; i < x.length; ++i) {
+                x[i] -= c[row] * qtaRow[i];
+            }
+        }
+    }
+
+    /** Compute the dot product of two arrays.
+     * @param a first array
+     * @param b second array
+     * @return a.b
+     * @since 4.0
+     */
+    private static double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; ++i) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /** Apply a Givens rotation to two rows.
+     * @param a first row (modified in place)
+     * @param b second row (modified in place)
+     * @param c cosine of the rotation angle
+     * @param s sine of the rotation angle
+     * @param from index of the first column to rotate
+     * @param to index of the last column to rotate (excluded)
+     * @since 4.0
+     */
+    private static void rotate(final double[] a, final double[] b, final double c, final double s,
+                               final int from, final int to) {
+        for (int j = from; j < to; ++j) {
+            final double aj = a[j];
+            final double bj = b[j];
+            a[j] = c * aj + s * bj;
+            b[j] = c * bj - s * aj;
+        }
+    }
+
     /** Decompose matrix.
      * @param matrix transposed matrix
      */
@@ -122,6 +333,16 @@ public class QRDecomposition {
      * @param matrix transposed matrix
      */
     protected void performHouseholderReflection(int minor, double[][] matrix) {
+        performHouseholderReflection(minor, matrix, rDiag);
+    }
+
+    /** Perform Householder reflection for a minor A(minor, minor) of A.
+     * @param minor minor index
+     * @param matrix transposed matrix
+     * @param diag placeholder for the diagonal elements of R
+     * @since 4.0
+     */
+    private static void performHouseholderReflection(final int minor, final double[][] matrix, final double[] diag) {
 
         final double[] qrtMinor = matrix[minor];
 
@@ -138,7 +359,7 @@ public class QRDecomposition {
             xNormSqr += c * c;
         }
         final double a = (qrtMinor[minor] > 0) ? -FastMath.sqrt(xNormSqr) : FastMath.sqrt(xNormSqr);
-        rDiag[minor] = a;
+        diag[minor] = a;
 
         if (a != 0.0) {
 
@@ -229,41 +450,73 @@ public class QRDecomposition {
         if (cachedQT == null) {
 
             // QT is supposed to be m x m
-            final int n = qrt.length;
             final int m = qrt[0].length;
-            double[][] qta = new double[m][m];
-
-            /*
-             * Q = Q1 Q2 ... Q_m, so Q is formed by first constructing Q_m and then
-             * applying the Householder transformations Q_(m-1),Q_(m-2),...,Q1 in
-             * succession to the result
-             */
-            for (int minor = m - 1; minor >= FastMath.min(m, n); minor--) {
-                qta[minor][minor] = 1.0d;
+            final double[][] qta;
+            if (householder) {
+                qta = formQT(qrt, rDiag, m);
+            } else {
+                // complete the thin Q with an orthonormal basis of the orthogonal complement
+                // of its range, taken from the Householder reflectors of the thin Q itself
+                final int p = thinQT.length;
+                final double[][] work = copyThinQT();
+                final double[]   diag = new double[p];
+                for (int minor = 0; minor < p; ++minor) {
+                    performHouseholderReflection(minor, work, diag);
+                }
+                qta = formQT(work, diag, m);
+                for (int row = 0; row < p; ++row) {
+                    System.arraycopy(thinQT[row], 0, qta[row], 0, m);
+                }
             }
+            cachedQT = MatrixUtils.createRealMatrix(qta);
+        }
 
-            for (int minor = FastMath.min(m, n)-1; minor >= 0; minor--){
-                final double[] qrtMinor = qrt[minor];
-                qta[minor][minor] = 1.0d;
-                if (qrtMinor[minor] != 0.0) {
-                    for (int col = minor; col < m; col++) {
-                        double alpha = 0;
-                        for (int row = minor; row < m; row++) {
-                            alpha -= qta[col][row] * qrtMinor[row];
-                        }
-                        alpha /= rDiag[minor] * qrtMinor[minor];
+        // return the cached matrix
+        return cachedQT;
+    }
 
-                        for (int row = minor; row < m; row++) {
-                            qta[col][row] += -alpha * qrtMinor[row];
-                        }
+    /** Form the first rows of Q<sup>T</sup> from Householder reflectors.
+     * @param h packed transposed reflectors (as in {@link #qrt})
+     * @param diag diagonal elements of R
+     * @param rows number of rows of Q<sup>T</sup> to form (at least {@code diag.length})
+     * @return first rows of Q<sup>T</sup>
+     * @since 4.0
+     */
+    private static double[][] formQT(final double[][] h, final double[] diag, final int rows) {
+
+        final int m = h[0].length;
+        final int p = diag.length;
+        final double[][] qta = new double[rows][m];
+
+        /*
+         * Q = Q1 Q2 ... Q_m, so Q is formed by first constructing Q_m and then
+         * applying the Householder transformations Q_(m-1),Q_(m-2),...,Q1 in
+         * succession to the result
+         */
+        for (int minor = rows - 1; minor >= p; minor--) {
+            qta[minor][minor] = 1.0d;
+        }
+
+        for (int minor = p - 1; minor >= 0; minor--){
+            final double[] hMinor = h[minor];
+            qta[minor][minor] = 1.0d;
+            if (hMinor[minor] != 0.0) {
+                for (int col = minor; col < rows; col++) {
+                    double alpha = 0;
+                    for (int row = minor; row < m; row++) {
+                        alpha -= qta[col][row] * hMinor[row];
+                    }
+                    alpha /= diag[minor] * hMinor[minor];
+
+                    for (int row = minor; row < m; row++) {
+                        qta[col][row] += -alpha * hMinor[row];
                     }
                 }
             }
-            cachedQT = MatrixUtils.createRealMatrix(qta);
         }
 
-        // return the cached matrix
-        return cachedQT;
+        return qta;
+
     }
 
     /**
@@ -272,8 +525,14 @@ public class QRDecomposition {
      * each successive Householder reflector vector. This matrix is used
      * to compute Q.</p>
      * @return a matrix containing the Householder reflector vectors
+     * @exception MathIllegalStateException if the decomposition has been computed
+     * by {@link #update(RealVector, RealVector) update} or {@link
+     * #downdate(RealVector, RealVector) downdate}
      */
     public RealMatrix getH() {
+        if (!householder) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
         if (cachedH == null) {
 
             final int n = qrt.length;
@@ -307,6 +566,43 @@ public class QRDecomposition {
         return new Solver();
     }
 
+    /**
+     * Compute the QR-decomposition of a rank-one update A + u v<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * The computation costs O(mn) time and memory, instead of the O(mn<sup>2</sup>) of a new
+     * decomposition, as only the thin m&times;min(m, n) part of Q is updated, never the full
+     * m&times;m Q. The first call on a decomposition computed from scratch costs an additional
+     * O(mn min(m, n)) to build the thin Q from the Householder reflectors. The instance itself
+     * is not modified. Calling {@link #getQ()} or {@link #getQT()} on the returned decomposition
+     * costs O(m<sup>2</sup> min(m, n)) time and O(m<sup>2</sup>) memory, which should be
+     * avoided for tall matrices; the solver only needs the thin Q.
+     * </p>
+     * @param u left vector of the rank-one update (size m)
+     * @param v right vector of the rank-one update (size n)
+     * @return decomposition of A + u v<sup>T</sup>, with the same singularity threshold
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @since 4.0
+     */
+    public QRDecomposition update(final RealVector u, final RealVector v) {
+        return new QRDecomposition(this, u, v);
+    }
+
+    /**
+     * Compute the QR-decomposition of a rank-one downdate A - u v<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * This is equivalent to {@code update(u.mapMultiply(-1), v)}.
+     * </p>
+     * @param u left vector of the rank-one downdate (size m)
+     * @param v right vector of the rank-one downdate (size n)
+     * @return decomposition of A - u v<sup>T</sup>, with the same singularity threshold
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @see #update(RealVector, RealVector)
+     * @since 4.0
+     */
+    public QRDecomposition downdate(final RealVector u, final RealVector v) {
+        return update(u.mapMultiply(-1), v);
+    }
+
     /** Specialized solver. */
     private class Solver implements DecompositionSolver {
 
@@ -328,20 +624,30 @@ public class QRDecomposition {
             checkSingular(rDiag, threshold, true);
 
             final double[] x = new double[n];
-            final double[] y = b.toArray();
+            final double[] y;
 
-            // apply Householder transforms to solve Q.y = b
-            for (int minor = 0; minor < FastMath.min(m, n); minor++) {
+            if (householder) {
+                // apply Householder transforms to solve Q.y = b
+                y = b.toArray();
+                for (int minor = 0; minor < FastMath.min(m, n); minor++) {
 
-                final double[] qrtMinor = qrt[minor];
-                double dotProduct = 0;
-                for (int row = minor; row < m; row++) {
-                    dotProduct += y[row] * qrtMinor[row];
-                }
-                dotProduct /= rDiag[minor] * qrtMinor[minor];
+                    final double[] qrtMinor = qrt[minor];
+                    double dotProduct = 0;
+                    for (int row = minor; row < m; row++) {
+                        dotProduct += y[row] * qrtMinor[row];
+                    }
+                    dotProduct /= rDiag[minor] * qrtMinor[minor];
 
-                for (int row = minor; row < m; row++) {
-                    y[row] += dotProduct * qrtMinor[row];
+                    for (int row = minor; row < m; row++) {
+                        y[row] += dotProduct * qrtMinor[row];
+                    }
+                }
+            } else {
+                // use the thin Q to solve Q.y = b, only the first rows of y are needed
+                final double[] ba = b.toArray();
+                y = new double[thinQT.length];
+                for (int row = 0; row < y.length; ++row) {
+                    y[row] = dot(thinQT[row], ba);
                 }
             }
 
@@ -374,19 +680,23 @@ public class QRDecomposition {
             final int blockSize      = BlockRealMatrix.BLOCK_SIZE;
             final int cBlocks        = (columns + blockSize - 1) / blockSize;
             final double[][] xBlocks = BlockRealMatrix.createBlocksLayout(n, columns);
-            final double[][] y       = new double[b.getRowDimension()][blockSize];
             final double[]   alpha   = new double[blockSize];
 
+            // with a thin Q, Q.y = b is solved upfront and no reflectors are applied
+            final RealMatrix rhs        = householder ? b : new Array2DRowRealMatrix(thinQT, false).multiply(b);
+            final double[][] y          = new double[rhs.getRowDimension()][blockSize];
+            final int        reflectors = householder ? FastMath.min(m, n) : 0;
+
             for (int kBlock = 0; kBlock < cBlocks; ++kBlock) {
                 final int kStart = kBlock * blockSize;
                 final int kEnd   = FastMath.min(kStart + blockSize, columns);
                 final int kWidth = kEnd - kStart;
 
                 // get the right hand side vector
-                b.copySubMatrix(0, m - 1, kStart, kEnd - 1, y);
+                rhs.copySubMatrix(0, y.length - 1, kStart, kEnd - 1, y);
 
                 // apply Householder transforms to solve Q.y = b
-                for (int minor = 0; minor < FastMath.min(m, n); minor++) {
+                for (int minor = 0; minor < reflectors; minor++) {
                     final double[] qrtMinor = qrt[minor];
                     final double factor     = 1.0 / (rDiag[minor] * qrtMinor[minor]);
 
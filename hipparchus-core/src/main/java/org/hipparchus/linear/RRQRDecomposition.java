@@ -22,6 +22,8 @@
 
 package org.hipparchus.linear;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
 
 
@@ -83,6 +85,39 @@ public class RRQRDecomposition extends QRDecomposition {
         super(matrix, threshold);
     }
 
+    /**
+     * Calculates the decomposition of a rank-one modification of an already decomposed matrix.
+     * <p>The column permutation of the original decomposition is kept.</p>
+     * @param original decomposition of the matrix A
+     * @param u left vector of the rank-one modification (size m)
+     * @param v right vector of the rank-one modification (size n)
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @since 4.0
+     */
+    private RRQRDecomposition(final RRQRDecomposition original, final RealVector u, final RealVector v) {
+        super(original, u, permute(original.p, v));
+        this.p = original.p.clone();
+    }
+
+    /** Permute a vector according to columns pivoting.
+     * @param p columns pivoting
+     * @param v vector to permute
+     * @return P<sup>T</sup> v
+     * @exception MathIllegalArgumentException if vector dimension does not match pivoting size
+     * @since 4.0
+     */
+    private static RealVector permute(final int[] p, final RealVector v) {
+        if (v.getDimension() != p.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), p.length);
+        }
+        final RealVector permuted = new ArrayRealVector(p.length);
+        for (int i = 0; i < p.length; ++i) {
+            permuted.setEntry(i, v.getEntry(p[i]));
+        }
+        return permuted;
+    }
+
     /** Decompose matrix.
      * @param qrt transposed matrix
      */
@@ -202,6 +237,39 @@ public class RRQRDecomposition extends QRDecomposition {
         return new Solver(super.getSolver(), this.getP());
     }
 
+    /**
+     * Compute the decomposition of a rank-one update A + u v<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * The column permutation P is kept, so (A + u v<sup>T</sup>) P = Q' R'. As the pivoting
+     * is not recomputed, the rank-revealing property may degrade after many updates.
+     * </p>
+     * @param u left vector of the rank-one update (size m)
+     * @param v right vector of the rank-one update (size n)
+     * @return decomposition of A + u v<sup>T</sup>, with the same singularity threshold
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @since 4.0
+     */
+    @Override
+    public RRQRDecomposition update(final RealVector u, final RealVector v) {
+        return new RRQRDecomposition(this, u, v);
+    }
+
+    /**
+     * Compute the decomposition of a rank-one downdate A - u v<sup>T</sup> of the decomposed matrix.
+     * <p>
+     * The column permutation P is kept, so (A - u v<sup>T</sup>) P = Q' R'.
+     * </p>
+     * @param u left vector of the rank-one downdate (size m)
+     * @param v right vector of the rank-one downdate (size n)
+     * @return decomposition of A - u v<sup>T</sup>, with the same singularity threshold
+     * @exception MathIllegalArgumentException if vectors dimensions do not match A dimensions
+     * @since 4.0
+     */
+    @Override
+    public RRQRDecomposition downdate(final RealVector u, final RealVector v) {
+        return update(u.mapMultiply(-1), v);
+    }
+
     /** Specialized solver. */
     private static class Solver implements DecompositionSolver {
 
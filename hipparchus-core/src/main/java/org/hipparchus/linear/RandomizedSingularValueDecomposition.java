@@ -0,0 +1,505 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+
+/**
+ * Calculates a truncated Singular Value Decomposition using a randomized range finder.
+ * <p>
+ * Only the {@code k} largest singular values and the associated singular vectors
+ * are computed, so A &asymp; U<sub>k</sub> &times; &Sigma;<sub>k</sub> &times;
+ * V<sub>k</sub><sup>T</sup> where U<sub>k</sub> is m &times; k, &Sigma;<sub>k</sub>
+ * is k &times; k and V<sub>k</sub> is n &times; k.
+ * </p>
+ * <p>
+ * The algorithm (Halko, Martinsson and Tropp, 2011) first builds an orthonormal basis Q
+ * of the range of A &times; &Omega;, where &Omega; is a Gaussian random n &times; (k + p)
+ * matrix and p is the oversampling. Each power iteration replaces this basis by the range
+ * of A &times; A<sup>T</sup> &times; Q, which sharpens the separation between the
+ * wanted and unwanted singular values. The small (k + p) &times; n matrix
+ * B = Q<sup>T</sup> &times; A is then decomposed using a dense
+ * {@link SingularValueDecomposition}. The cost is O(mn(k + p)) for the operator
+ * applications plus O(m(k + p)<sup>2</sup>) for the orthonormalizations, which for
+ * tall matrices and small k is much cheaper than the O(mn<sup>2</sup>) of a full
+ * decomposition, and the only storage needed besides the operator itself is a few
+ * m &times; (k + p) and n &times; (k + p) blocks.
+ * </p>
+ * <p>
+ * The operator needs to support both {@link RealLinearOperator#operate(RealVector)
+ * operate} and {@link RealLinearOperator#operateTranspose(RealVector) operateTranspose}.
+ * If it is a {@link RealMatrix}, matrix-matrix products are used instead of the
+ * column by column operator applications.
+ * </p>
+ * <p>
+ * The result is an approximation whose accuracy depends on the decay of the singular
+ * values beyond index k; two power iterations and an oversampling of 10 are usually
+ * enough to get the leading singular values to several digits. If k + p is at least
+ * min(m, n), the decomposition is exact up to rounding.
+ * </p>
+ * @see SingularValueDecomposition
+ * @see <a href="https://doi.org/10.1137/090771806">N. Halko, P. G. Martinsson and
+ * J. A. Tropp, Finding Structure with Randomness: Probabilistic Algorithms for
+ * Constructing Approximate Matrix Decompositions, SIAM Review 53 (2011)</a>
+ * @since 4.0
+ */
+public class RandomizedSingularValueDecomposition {
+
+    /** Default oversampling. */
+    public static final int DEFAULT_OVERSAMPLING = 10;
+
+    /** Default number of power iterations. */
+    public static final int DEFAULT_POWER_ITERATIONS = 2;
+
+    /** Relative threshold for small singular values. */
+    private static final double EPS = 0x1.0p-52;
+
+    /** Absolute threshold for small singular values. */
+    private static final double TINY = 0x1.0p-966;
+
+    /** Row dimension of the decomposed operator. */
+    private final int m;
+
+    /** Column dimension of the decomposed operator. */
+    private final int n;
+
+    /** Computed singular values. */
+    private final double[] singularValues;
+
+    /** Transposed U matrix. */
+    private final RealMatrix cachedUt;
+
+    /** V matrix. */
+    private final RealMatrix cachedV;
+
+    /** Cached value of U matrix. */
+    private RealMatrix cachedU;
+
+    /** Cached value of S (diagonal) matrix. */
+    private RealMatrix cachedS;
+
+    /** Cached value of transposed V matrix. */
+    private RealMatrix cachedVt;
+
+    /** Tolerance value for small singular values. */
+    private final double tol;
+
+    /**
+     * Calculates the truncated Singular Value Decomposition of an operator.
+     * <p>
+     * This constructor uses the {@link #DEFAULT_OVERSAMPLING default oversampling},
+     * the {@link #DEFAULT_POWER_ITERATIONS default number of power iterations} and a
+     * {@link Well19937a} generator with fixed seed for the random test matrix.
+     * </p>
+     * @param operator operator to decompose
+     * @param k number of singular triplets to compute
+     * @throws MathIllegalArgumentException if {@code k} is not between 1 and
+     * min(m, n) or if the operator is not transposable
+     */
+    public RandomizedSingularValueDecomposition(final RealLinearOperator operator, final int k) {
+        this(operator, k, DEFAULT_OVERSAMPLING, DEFAULT_POWER_ITERATIONS,
+             new Well19937a(0x5e1c7a03d92f48b6L));
+    }
+
+    /**
+     * Calculates the truncated Singular Value Decomposition of an operator.
+     * @param operator operator to decompose
+     * @param k number of singular triplets to compute
+     * @param oversampling number of additional random directions used to capture
+     * the range of the operator
+     * @param powerIterations number of power iterations
+     * @param random generator for the random test matrix
+     * @throws MathIllegalArgumentException if {@code k} is not between 1 and
+     * min(m, n), if {@code oversampling} or {@code powerIterations} is negative,
+     * or if the operator is not transposable
+     */
+    public RandomizedSingularValueDecomposition(final RealLinearOperator operator, final int k,
+                                                final int oversampling, final int powerIterations,
+                                                final RandomGenerator random) {
+
+        MathUtils.checkNotNull(random);
+        m = operator.getRowDimension();
+        n = operator.getColumnDimension();
+        MathUtils.checkRangeInclusive(k, 1, FastMath.min(m, n));
+        if (oversampling < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, oversampling, 0);
+        }
+        if (powerIterations < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, powerIterations, 0);
+        }
+        if (!(operator instanceof RealMatrix || operator.isTransposable())) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+
+        // random test matrix, stored by columns
+        final int l = FastMath.min(k + oversampling, FastMath.min(m, n));
+        final double[][] omega = new double[l][n];
+        for (final double[] column : omega) {
+            for (int i = 0; i < n; ++i) {
+                column[i] = random.nextGaussian();
+            }
+        }
+
+        // orthonormal basis of the range, refined by power iterations
+        final double[][] q = applyToColumns(operator, omega, false);
+        orthonormalize(q, random);
+        for (int iteration = 0; iteration < powerIterations; ++iteration) {
+            final double[][] z = applyToColumns(operator, q, true);
+            orthonormalize(z, random);
+            System.arraycopy(applyToColumns(operator, z, false), 0, q, 0, l);
+            orthonormalize(q, random);
+        }
+
+        // small l x n matrix B = Q^T A, its rows are the columns of A^T Q
+        final SingularValueDecomposition svd =
+                        new SingularValueDecomposition(new Array2DRowRealMatrix(applyToColumns(operator, q, true),
+                                                                                false));
+
+        // extract the leading singular triplets
+        final double[]   s   = svd.getSingularValues();
+        final RealMatrix ub  = svd.getU();
+        final double[][] ut  = new double[k][m];
+        for (int j = 0; j < k; ++j) {
+            final double[] utj = ut[j];
+            for (int i = 0; i < l; ++i) {
+                final double   uij = ub.getEntry(i, j);
+                final double[] qi  = q[i];
+                for (int r = 0; r < m; ++r) {
+                    utj[r] += uij * qi[r];
+                }
+            }
+        }
+        singularValues = new double[k];
+        System.arraycopy(s, 0, singularValues, 0, k);
+        cachedUt = new Array2DRowRealMatrix(ut, false);
+        cachedV  = svd.getV().getSubMatrix(0, n - 1, 0, k - 1);
+        tol      = FastMath.max(FastMath.max(m, n) * singularValues[0] * EPS, FastMath.sqrt(TINY));
+
+    }
+
+    /**
+     * Returns the m &times; k matrix U of the decomposition.
+     * <p>U columns are the leading left singular vectors, they are orthonormal.</p>
+     * @return the U matrix
+     * @see #getUT()
+     */
+    public RealMatrix getU() {
+        if (cachedU == null) {
+            cachedU = cachedUt.transpose();
+        }
+        return cachedU;
+    }
+
+    /**
+     * Returns the transpose of the matrix U of the decomposition.
+     * @return the U<sup>T</sup> matrix
+     * @see #getU()
+     */
+    public RealMatrix getUT() {
+        return cachedUt;
+    }
+
+    /**
+     * Returns the k &times; k diagonal matrix &Sigma; of the decomposition.
+     * <p>&Sigma; is a diagonal matrix. The singular values are provided in
+     * non-increasing order.</p>
+     * @return the &Sigma; matrix
+     */
+    public RealMatrix getS() {
+        if (cachedS == null) {
+            cachedS = MatrixUtils.createRealDiagonalMatrix(singularValues);
+        }
+        return cachedS;
+    }
+
+    /**
+     * Returns the diagonal elements of the matrix &Sigma; of the decomposition.
+     * <p>The singular values are provided in non-increasing order.</p>
+     * @return a copy of the k leading singular values
+     */
+    public double[] getSingularValues() {
+        return singularValues.clone();
+    }
+
+    /**
+     * Returns the n &times; k matrix V of the decomposition.
+     * <p>V columns are the leading right singular vectors, they are orthonormal.</p>
+     * @return the V matrix
+     * @see #getVT()
+     */
+    public RealMatrix getV() {
+        return cachedV;
+    }
+
+    /**
+     * Returns the transpose of the matrix V of the decomposition.
+     * @return the V<sup>T</sup> matrix
+     * @see #getV()
+     */
+    public RealMatrix getVT() {
+        if (cachedVt == null) {
+            cachedVt = cachedV.transpose();
+        }
+        return cachedVt;
+    }
+
+    /**
+     * Returns the L<sub>2</sub> norm of the operator.
+     * @return norm
+     */
+    public double getNorm() {
+        return singularValues[0];
+    }
+
+    /**
+     * Return the effective numerical rank of the truncated decomposition.
+     * <p>The effective numerical rank is the number of non-negligible
+     * computed singular values, it is at most k. The threshold used to
+     * identify non-negligible terms is max(m,n) &times; ulp(s<sub>1</sub>)
+     * where ulp(s<sub>1</sub>) is the least significant bit of the largest
+     * singular value.</p>
+     * @return effective numerical rank of the truncated decomposition
+     */
+    public int getRank() {
+        int r = 0;
+        for (final double singularValue : singularValues) {
+            if (singularValue > tol) {
+                r++;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * <p>
+     * The solver uses the pseudo-inverse of the truncated decomposition, i.e.
+     * V<sub>k</sub> &times; &Sigma;<sub>k</sub><sup>+</sup> &times;
+     * U<sub>k</sub><sup>T</sup>, which is a regularized solution when k is
+     * smaller than the rank of A. The pseudo-inverse is never formed
+     * explicitly unless {@link DecompositionSolver#getInverse()} is called.
+     * </p>
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver(singularValues, cachedUt, cachedV,
+                          m == n && getRank() == m, tol);
+    }
+
+    /** Apply the operator or its transpose to a set of vectors.
+     * @param operator operator
+     * @param x vectors, stored as rows
+     * @param transpose if true, the transpose of the operator is applied
+     * @return images of the vectors, stored as rows
+     */
+    private static double[][] applyToColumns(final RealLinearOperator operator, final double[][] x,
+                                             final boolean transpose) {
+        if (operator instanceof RealMatrix) {
+            // use dense matrix products: (A X)^T = X^T A^T and (A^T X)^T = X^T A
+            final RealMatrix a  = (RealMatrix) operator;
+            final RealMatrix xt = new Array2DRowRealMatrix(x, false);
+            return (transpose ? xt.multiply(a) : xt.multiplyTransposed(a)).getData();
+        } else {
+            final double[][] y = new double[x.length][];
+            for (int j = 0; j < x.length; ++j) {
+                final RealVector xj = new ArrayRealVector(x[j], false);
+                y[j] = (transpose ? operator.operateTranspose(xj) : operator.operate(xj)).toArray();
+            }
+            return y;
+        }
+    }
+
+    /** Orthonormalize a set of vectors in place, using classical Gram-Schmidt applied twice.
+     * <p>
+     * Vectors that are numerically dependent on the previous ones are replaced by
+     * random vectors, so the basis always has full size.
+     * </p>
+     * @param v vectors to orthonormalize, stored as rows
+     * @param random generator for replacement vectors
+     */
+    private static void orthonormalize(final double[][] v, final RandomGenerator random) {
+        for (int j = 0; j < v.length; ++j) {
+            final double[] vj = v[j];
+            double initial = norm(vj);
+            projectOut(vj, v, j);
+            double norm = norm(vj);
+            while (norm <= FastMath.sqrt(vj.length) * Precision.EPSILON * initial || norm == 0) {
+                // the vector is in the span of the previous ones, replace it
+                for (int r = 0; r < vj.length; ++r) {
+                    vj[r] = random.nextGaussian();
+                }
+                initial = norm(vj);
+                projectOut(vj, v, j);
+                norm = norm(vj);
+            }
+            final double inv = 1.0 / norm;
+            for (int r = 0; r < vj.length; ++r) {
+                vj[r] *= inv;
+            }
+        }
+    }
+
+    /** Remove from a vector its components along the first basis vectors, twice.
+     * @param w vector to project (modified in place)
+     * @param v orthonormal basis vectors, stored as rows
+     * @param size number of basis vectors to use
+     */
+    private static void projectOut(final double[] w, final double[][] v, final int size) {
+        final double[] h = new double[size];
+        for (int pass = 0; pass < 2; ++pass) {
+            for (int i = 0; i < size; ++i) {
+                h[i] = dot(v[i], w);
+            }
+            for (int i = 0; i < size; ++i) {
+                final double   hi = h[i];
+                final double[] vi = v[i];
+                for (int r = 0; r < w.length; ++r) {
+                    w[r] -= hi * vi[r];
+                }
+            }
+        }
+    }
+
+    /** Compute a dot product.
+     * @param a first vector
+     * @param b second vector
+     * @return a.b
+     */
+    private static double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int r = 0; r < a.length; ++r) {
+            sum += a[r] * b[r];
+        }
+        return sum;
+    }
+
+    /** Compute a Euclidean norm.
+     * @param a vector
+     * @return ||a||
+     */
+    private static double norm(final double[] a) {
+        return FastMath.sqrt(dot(a, a));
+    }
+
+    /** Specialized solver using the factors of the truncated decomposition. */
+    private static class Solver implements DecompositionSolver {
+
+        /** Transposed U matrix, with rows scaled by the inverse singular values. */
+        private final RealMatrix scaledUt;
+
+        /** V matrix. */
+        private final RealMatrix v;
+
+        /** Singularity indicator. */
+        private final boolean nonSingular;
+
+        /** Cached pseudo-inverse. */
+        private RealMatrix pseudoInverse;
+
+        /**
+         * Build a solver from decomposed matrix.
+         *
+         * @param singularValues Singular values.
+         * @param uT U<sup>T</sup> matrix of the decomposition.
+         * @param v V matrix of the decomposition.
+         * @param nonSingular Singularity indicator.
+         * @param tol tolerance for singular values
+         */
+        private Solver(final double[] singularValues, final RealMatrix uT,
+                       final RealMatrix v, final boolean nonSingular, final double tol) {
+            final double[][] suT = uT.getData();
+            for (int i = 0; i < singularValues.length; ++i) {
+                final double a = singularValues[i] > tol ? 1 / singularValues[i] : 0;
+                final double[] suTi = suT[i];
+                for (int j = 0; j < suTi.length; ++j) {
+                    suTi[j] *= a;
+                }
+            }
+            this.scaledUt    = new Array2DRowRealMatrix(suT, false);
+            this.v           = v;
+            this.nonSingular = nonSingular;
+        }
+
+        /**
+         * Solve the linear equation A &times; X = B in least square sense.
+         * @param b Right-hand side of the equation A &times; X = B
+         * @return a vector X that minimizes the two norm of A<sub>k</sub> &times; X - B
+         * @throws org.hipparchus.exception.MathIllegalArgumentException
+         * if the matrices dimensions do not match.
+         */
+        @Override
+        public RealVector solve(final RealVector b) {
+            return v.operate(scaledUt.operate(b));
+        }
+
+        /**
+         * Solve the linear equation A &times; X = B in least square sense.
+         * @param b Right-hand side of the equation A &times; X = B
+         * @return a matrix X that minimizes the two norm of A<sub>k</sub> &times; X - B
+         * @throws org.hipparchus.exception.MathIllegalArgumentException
+         * if the matrices dimensions do not match.
+         */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            return v.multiply(scaledUt.multiply(b));
+        }
+
+        /**
+         * Check if the decomposed matrix is non-singular.
+         *
+         * @return {@code true} if the decomposed matrix is square and the
+         * truncated decomposition has full rank.
+         */
+        @Override
+        public boolean isNonSingular() {
+            return nonSingular;
+        }
+
+        /**
+         * Get the pseudo-inverse of the truncated decomposition.
+         *
+         * @return the pseudo-inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            if (pseudoInverse == null) {
+                pseudoInverse = v.multiply(scaledUt);
+            }
+            return pseudoInverse;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return scaledUt.getColumnDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return v.getRowDimension();
+        }
+
+    }
+
+}
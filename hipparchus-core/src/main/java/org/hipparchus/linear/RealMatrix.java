@@ -81,6 +81,60 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix subtract(RealMatrix m)
         throws MathIllegalArgumentException;
 
+    /**
+     * Computes the sum of {@code this} and {@code m} into a preallocated matrix.
+     * <p>
+     * This method does not allocate any memory, it is intended for use in loops
+     * where a scratch matrix can be reused. The output matrix may be {@code this}
+     * or {@code m}.
+     * </p>
+     *
+     * @param m matrix to be added
+     * @param out matrix where to store {@code this + m}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if {@code m} or {@code out} are
+     * not the same size as {@code this}.
+     * @since 4.0
+     */
+    default RealMatrix addInto(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        MatrixUtils.checkAdditionCompatible(this, out);
+        for (int i = 0; i < getRowDimension(); ++i) {
+            for (int j = 0; j < getColumnDimension(); ++j) {
+                out.setEntry(i, j, getEntry(i, j) + m.getEntry(i, j));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Computes {@code this} minus {@code m} into a preallocated matrix.
+     * <p>
+     * This method does not allocate any memory, it is intended for use in loops
+     * where a scratch matrix can be reused. The output matrix may be {@code this}
+     * or {@code m}.
+     * </p>
+     *
+     * @param m matrix to be subtracted
+     * @param out matrix where to store {@code this - m}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if {@code m} or {@code out} are
+     * not the same size as {@code this}.
+     * @since 4.0
+     */
+    default RealMatrix subtractInto(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        MatrixUtils.checkSubtractionCompatible(this, out);
+        for (int i = 0; i < getRowDimension(); ++i) {
+            for (int j = 0; j < getColumnDimension(); ++j) {
+                out.setEntry(i, j, getEntry(i, j) - m.getEntry(i, j));
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the result of adding {@code d} to each entry of {@code this}.
      *
@@ -98,6 +152,32 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
      */
     RealMatrix scalarMultiply(double d);
 
+    /**
+     * Computes the result of multiplying each entry of {@code this} by
+     * {@code d} into a preallocated matrix.
+     * <p>
+     * This method does not allocate any memory, it is intended for use in loops
+     * where a scratch matrix can be reused. The output matrix may be {@code this}.
+     * </p>
+     *
+     * @param d value to multiply all entries by
+     * @param out matrix where to store {@code d * this}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if {@code out} is not the same size
+     * as {@code this}.
+     * @since 4.0
+     */
+    default RealMatrix scalarMultiplyInto(final double d, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, out);
+        for (int i = 0; i < getRowDimension(); ++i) {
+            for (int j = 0; j < getColumnDimension(); ++j) {
+                out.setEntry(i, j, d * getEntry(i, j));
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m}.
      *
@@ -109,6 +189,30 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix multiply(RealMatrix m)
         throws MathIllegalArgumentException;
 
+    /**
+     * Computes the result of postmultiplying {@code this} by {@code m} into a
+     * preallocated matrix.
+     * <p>
+     * This is equivalent to call {@link MatrixUtils#multiply(RealMatrix, RealMatrix,
+     * RealMatrix, double, double) MatrixUtils.multiply(this, m, out, 1.0, 0.0)}.
+     * The output matrix should be distinct from both {@code this} and {@code m},
+     * otherwise a temporary matrix is allocated.
+     * </p>
+     *
+     * @param m matrix to postmultiply by
+     * @param out matrix where to store {@code this * m}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != rowDimension(m)} or if {@code out}
+     * does not have the dimensions of the product
+     * @since 4.0
+     */
+    default RealMatrix multiplyInto(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.multiply(this, m, out, 1.0, 0.0);
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m^T}.
      * <p>
@@ -617,6 +721,72 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
      */
     RealVector operate(RealVector v) throws MathIllegalArgumentException;
 
+    /**
+     * Computes the result of multiplying this by the vector {@code v} into a
+     * preallocated array.
+     * <p>
+     * This method does not allocate any memory, it is intended for use in loops
+     * where a scratch array can be reused. The output array should be distinct
+     * from {@code v}, otherwise a temporary copy of {@code v} is allocated.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out array where to store {@code this * v}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if the length of {@code v} does not
+     * match the column dimension of {@code this} or the length of {@code out}
+     * does not match the row dimension of {@code this}.
+     * @since 4.0
+     */
+    default double[] operateInto(final double[] v, final double[] out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkOperateCompatible(this, v.length, out.length);
+        final double[] x = (out == v) ? v.clone() : v;
+        for (int i = 0; i < getRowDimension(); ++i) {
+            double sum = 0;
+            for (int j = 0; j < getColumnDimension(); ++j) {
+                sum += getEntry(i, j) * x[j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /**
+     * Computes the result of multiplying this by the vector {@code v} into a
+     * preallocated vector.
+     * <p>
+     * This method does not allocate any memory, it is intended for use in loops
+     * where a scratch vector can be reused. The output vector should be distinct
+     * from {@code v}, otherwise a temporary copy of {@code v} is allocated.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out vector where to store {@code this * v}
+     * @return {@code out}
+     * @throws MathIllegalArgumentException if the dimension of {@code v} does not
+     * match the column dimension of {@code this} or the dimension of {@code out}
+     * does not match the row dimension of {@code this}.
+     * @since 4.0
+     */
+    default RealVector operateInto(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            operateInto(((ArrayRealVector) v).getDataRef(), ((ArrayRealVector) out).getDataRef());
+        } else {
+            MatrixUtils.checkOperateCompatible(this, v.getDimension(), out.getDimension());
+            final RealVector x = (out == v) ? v.copy() : v;
+            for (int i = 0; i < getRowDimension(); ++i) {
+                double sum = 0;
+                for (int j = 0; j < getColumnDimension(); ++j) {
+                    sum += getEntry(i, j) * x.getEntry(j);
+                }
+                out.setEntry(i, sum);
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the (row) vector result of premultiplying this by the vector {@code v}.
      *
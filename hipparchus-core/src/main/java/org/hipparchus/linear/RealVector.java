@@ -273,6 +273,48 @@ public abstract class RealVector {
         return result;
     }
 
+    /**
+     * Compute the sum of this vector and {@code v} into a preallocated vector.
+     * Does not change instance data, unless {@code out} is {@code this}.
+     *
+     * @param v Vector to be added.
+     * @param out Vector where to store the result (may be {@code this} or {@code v}).
+     * @return {@code out}.
+     * @throws MathIllegalArgumentException if {@code v} or {@code out} are not
+     * the same size as {@code this} vector.
+     * @since 4.0
+     */
+    public RealVector addInto(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        checkVectorDimensions(v);
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); ++i) {
+            out.setEntry(i, getEntry(i) + v.getEntry(i));
+        }
+        return out;
+    }
+
+    /**
+     * Subtract {@code v} from this vector into a preallocated vector.
+     * Does not change instance data, unless {@code out} is {@code this}.
+     *
+     * @param v Vector to be subtracted.
+     * @param out Vector where to store the result (may be {@code this} or {@code v}).
+     * @return {@code out}.
+     * @throws MathIllegalArgumentException if {@code v} or {@code out} are not
+     * the same size as {@code this} vector.
+     * @since 4.0
+     */
+    public RealVector subtractInto(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        checkVectorDimensions(v);
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); ++i) {
+            out.setEntry(i, getEntry(i) - v.getEntry(i));
+        }
+        return out;
+    }
+
     /**
      * Add a value to each entry.
      * Returns a new vector. Does not change instance data.
@@ -578,6 +620,26 @@ public abstract class RealVector {
         return copy().mapMultiplyToSelf(d);
     }
 
+    /**
+     * Multiply each entry by the argument into a preallocated vector.
+     * Does not change instance data, unless {@code out} is {@code this}.
+     *
+     * @param d Multiplication factor.
+     * @param out Vector where to store the result (may be {@code this}).
+     * @return {@code out}.
+     * @throws MathIllegalArgumentException if {@code out} is not the same
+     * size as {@code this} vector.
+     * @since 4.0
+     */
+    public RealVector mapMultiplyInto(final double d, final RealVector out)
+        throws MathIllegalArgumentException {
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); ++i) {
+            out.setEntry(i, d * getEntry(i));
+        }
+        return out;
+    }
+
     /**
      * Multiply each entry.
      * The instance is changed in-place.
@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Calculates the Cholesky decomposition of a sparse matrix.
+ * <p>The Cholesky decomposition of a real symmetric positive-definite
+ * sparse matrix A consists of a permutation P and a sparse lower triangular
+ * matrix L such that: P A P<sup>T</sup> = LL<sup>T</sup>. The permutation
+ * is computed using an approximate minimum degree ordering, in order to
+ * reduce the number of non-zero elements of L.</p>
+ * <p>
+ * The decomposition is computed in three steps: computation of the fill-reducing
+ * ordering, symbolic factorization (elimination tree and columns counts of L)
+ * and numeric factorization, using an up-looking algorithm which computes one
+ * row of L at a time by solving a sparse triangular system. Memory and time
+ * are therefore proportional to the number of non-zero elements of L rather
+ * than to the square or cube of the dimension.
+ * </p>
+ * <p>
+ * The matrix to decompose is preferably a {@link CSCRealMatrix} or a
+ * {@link CSRRealMatrix}, other matrices types are accepted but all their
+ * entries will be scanned to find the non-zero ones.
+ * </p>
+ * @see CholeskyDecomposition
+ * @see SparseCholeskyDecomposer
+ * @since 4.0
+ */
+public class SparseCholeskyDecomposition {
+
+    /** Fill-reducing permutation (element k is the index in A of row/column k in P A P<sup>T</sup>). */
+    private final int[] permutation;
+
+    /** Column pointers of L. */
+    private final int[] lPointers;
+
+    /** Row indices of L (diagonal first in each column). */
+    private final int[] lIndices;
+
+    /** Values of L. */
+    private final double[] lValues;
+
+    /** Cached value of L. */
+    private CSCRealMatrix cachedL;
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #SparseCholeskyDecomposition(RealMatrix, double, double)} with the
+     * thresholds set to the default values {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}
+     * </p>
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     * @see #SparseCholeskyDecomposition(RealMatrix, double, double)
+     */
+    public SparseCholeskyDecomposition(final RealMatrix matrix) {
+        this(matrix,
+             CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     * @see #SparseCholeskyDecomposition(RealMatrix)
+     */
+    public SparseCholeskyDecomposition(final RealMatrix matrix,
+                                       final double relativeSymmetryThreshold,
+                                       final double absolutePositivityThreshold) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+
+        final int n = matrix.getRowDimension();
+        final CompressedSparseStorage a = CompressedSparseStorage.columnWise(matrix);
+        checkSymmetry(a, relativeSymmetryThreshold);
+
+        // fill-reducing ordering
+        permutation = ApproximateMinimumDegree.order(a);
+        final int[] inverse = new int[n];
+        for (int k = 0; k < n; ++k) {
+            inverse[permutation[k]] = k;
+        }
+
+        // upper triangular part of P A P^T, column-wise
+        final int[]    aPointers = a.getPointers();
+        final int[]    aIndices  = a.getIndices();
+        final double[] aValues   = a.getValues();
+        final int[]    columns   = new int[a.size()];
+        final int[]    rows      = new int[a.size()];
+        final double[] values    = new double[a.size()];
+        int size = 0;
+        for (int j = 0; j < n; ++j) {
+            for (int k = aPointers[j]; k < aPointers[j + 1]; ++k) {
+                final int i = aIndices[k];
+                if (i <= j) {
+                    final int pi = inverse[i];
+                    final int pj = inverse[j];
+                    rows[size]    = FastMath.min(pi, pj);
+                    columns[size] = FastMath.max(pi, pj);
+                    values[size]  = aValues[k];
+                    ++size;
+                }
+            }
+        }
+        final CompressedSparseStorage c =
+                        CompressedSparseStorage.fromTriplets(n, n, columns, rows, values, size);
+        final int[]    cPointers = c.getPointers();
+        final int[]    cIndices  = c.getIndices();
+        final double[] cValues   = c.getValues();
+
+        // symbolic factorization: elimination tree
+        final int[] parent   = new int[n];
+        final int[] ancestor = new int[n];
+        for (int k = 0; k < n; ++k) {
+            parent[k]   = -1;
+            ancestor[k] = -1;
+            for (int p = cPointers[k]; p < cPointers[k + 1]; ++p) {
+                int i = cIndices[p];
+                while (i >= 0 && i < k) {
+                    final int next = ancestor[i];
+                    ancestor[i] = k;
+                    if (next < 0) {
+                        parent[i] = k;
+                    }
+                    i = next;
+                }
+            }
+        }
+
+        // symbolic factorization: columns counts, using rows patterns
+        final int[] flag   = new int[n];
+        final int[] stack  = new int[n];
+        final int[] counts = new int[n];
+        for (int k = 0; k < n; ++k) {
+            final int top = rowPattern(k, cPointers, cIndices, parent, flag, stack);
+            for (int t = top; t < n; ++t) {
+                ++counts[stack[t]];
+            }
+            ++counts[k];
+        }
+        lPointers = new int[n + 1];
+        for (int j = 0; j < n; ++j) {
+            lPointers[j + 1] = lPointers[j] + counts[j];
+        }
+        lIndices = new int[lPointers[n]];
+        lValues  = new double[lPointers[n]];
+
+        // numeric factorization, one row at a time
+        final int[]    fill = new int[n];
+        final double[] x    = new double[n];
+        System.arraycopy(lPointers, 0, fill, 0, n);
+        Arrays.fill(flag, -1);
+        for (int k = 0; k < n; ++k) {
+            final int top = rowPattern(k, cPointers, cIndices, parent, flag, stack);
+            for (int p = cPointers[k]; p < cPointers[k + 1]; ++p) {
+                x[cIndices[p]] = cValues[p];
+            }
+            double d = x[k];
+            x[k] = 0.0;
+            for (int t = top; t < n; ++t) {
+                final int    j   = stack[t];
+                final double lkj = x[j] / lValues[lPointers[j]];
+                x[j] = 0.0;
+                for (int p = lPointers[j] + 1; p < fill[j]; ++p) {
+                    x[lIndices[p]] -= lValues[p] * lkj;
+                }
+                d -= lkj * lkj;
+                lIndices[fill[j]]  = k;
+                lValues[fill[j]++] = lkj;
+            }
+            if (d <= absolutePositivityThreshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            lIndices[fill[k]]  = k;
+            lValues[fill[k]++] = FastMath.sqrt(d);
+        }
+
+        cachedL = null;
+
+    }
+
+    /** Check matrix symmetry.
+     * @param a column-wise storage of the matrix
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @exception MathIllegalArgumentException if matrix is not symmetric
+     */
+    private static void checkSymmetry(final CompressedSparseStorage a, final double relativeSymmetryThreshold)
+        throws MathIllegalArgumentException {
+        final int[]    pointers = a.getPointers();
+        final int[]    indices  = a.getIndices();
+        final double[] values   = a.getValues();
+        for (int j = 0; j < a.getMajorDimension(); ++j) {
+            for (int k = pointers[j]; k < pointers[j + 1]; ++k) {
+                final int i = indices[k];
+                if (i != j) {
+                    final double aIJ = values[k];
+                    final double aJI = a.get(i, j);
+                    final double maxDelta =
+                        relativeSymmetryThreshold * FastMath.max(FastMath.abs(aIJ), FastMath.abs(aJI));
+                    if (FastMath.abs(aIJ - aJI) > maxDelta) {
+                        throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                               FastMath.min(i, j), FastMath.max(i, j),
+                                                               relativeSymmetryThreshold);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Compute the pattern of one row of L.
+     * <p>
+     * The pattern is the set of nodes reached when climbing the elimination
+     * tree from the non-zero entries of the upper part of column k.
+     * </p>
+     * @param k row index
+     * @param cPointers column pointers of upper part of permuted matrix
+     * @param cIndices row indices of upper part of permuted matrix
+     * @param parent elimination tree
+     * @param flag marks for visited nodes
+     * @param stack placeholder for the pattern
+     * @return index of the first element of the pattern in the stack,
+     * the pattern being sorted in topological order up to the end of the stack
+     */
+    private static int rowPattern(final int k, final int[] cPointers, final int[] cIndices,
+                                  final int[] parent, final int[] flag, final int[] stack) {
+        final int n = parent.length;
+        int top = n;
+        flag[k] = k;
+        for (int p = cPointers[k]; p < cPointers[k + 1]; ++p) {
+            int i = cIndices[p];
+            if (i < k) {
+                int length = 0;
+                while (flag[i] != k) {
+                    stack[length++] = i;
+                    flag[i] = k;
+                    i = parent[i];
+                }
+                while (length > 0) {
+                    stack[--top] = stack[--length];
+                }
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Returns the fill-reducing permutation P.
+     * <p>
+     * Element {@code k} of the array is the index in A of row and column
+     * {@code k} of P A P<sup>T</sup>.
+     * </p>
+     * @return the permutation
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a sparse lower-triangular matrix such that P A P<sup>T</sup> = LL<sup>T</sup></p>
+     * @return the L matrix
+     */
+    public CSCRealMatrix getL() {
+        if (cachedL == null) {
+            final int n = permutation.length;
+            cachedL = new CSCRealMatrix(n, n, lPointers, lIndices, lValues);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the number of non-zero elements in L.
+     * @return number of non-zero elements in L
+     */
+    public int getNumberOfNonZeros() {
+        return lPointers[permutation.length];
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (int j = 0; j < permutation.length; ++j) {
+            final double lJJ = lValues[lPointers[j]];
+            determinant *= lJJ * lJJ;
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            final int n = permutation.length;
+            if (b.getDimension() != n) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), n);
+            }
+            final double[] y = new double[n];
+            for (int k = 0; k < n; ++k) {
+                y[k] = b.getEntry(permutation[k]);
+            }
+            solveInPlace(y);
+            final double[] x = new double[n];
+            for (int k = 0; k < n; ++k) {
+                x[permutation[k]] = y[k];
+            }
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            final int n = permutation.length;
+            if (b.getRowDimension() != n) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), n);
+            }
+            final int nColB = b.getColumnDimension();
+            final double[][] x = new double[n][nColB];
+            final double[]   y = new double[n];
+            for (int c = 0; c < nColB; ++c) {
+                for (int k = 0; k < n; ++k) {
+                    y[k] = b.getEntry(permutation[k], c);
+                }
+                solveInPlace(y);
+                for (int k = 0; k < n; ++k) {
+                    x[permutation[k]][c] = y[k];
+                }
+            }
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /** Solve L L<sup>T</sup> y = b in place.
+         * @param y right hand side on input, solution on output
+         */
+        private void solveInPlace(final double[] y) {
+            final int n = permutation.length;
+
+            // Solve LZ = b
+            for (int j = 0; j < n; ++j) {
+                y[j] /= lValues[lPointers[j]];
+                final double yJ = y[j];
+                for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yJ;
+                }
+            }
+
+            // Solve LTY = Z
+            for (int j = n - 1; j >= 0; --j) {
+                double yJ = y[j];
+                for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                    yJ -= lValues[p] * y[lIndices[p]];
+                }
+                y[j] = yJ / lValues[lPointers[j]];
+            }
+
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(permutation.length));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return permutation.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return permutation.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+/** Matrix decomposer using sparse LU-decomposition.
+ * @see SparseLUDecomposition
+ * @since 4.0
+ */
+public class SparseLUDecomposer implements MatrixDecomposer {
+
+    /** Threshold under which a matrix is considered singular. */
+    private final double singularityThreshold;
+
+    /** Fraction of the largest candidate pivot above which diagonal pivot is preferred. */
+    private final double pivotingThreshold;
+
+    /**
+     * Creates a sparse LU decomposer with specify thresholds for several matrices.
+     * @param singularityThreshold threshold under which the largest
+     * candidate pivot magnitude is considered null and matrix singular
+     * @param pivotingThreshold fraction of the largest candidate pivot
+     * magnitude above which diagonal pivot is preferred
+     */
+    public SparseLUDecomposer(final double singularityThreshold, final double pivotingThreshold) {
+        this.singularityThreshold = singularityThreshold;
+        this.pivotingThreshold    = pivotingThreshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DecompositionSolver decompose(final RealMatrix a) {
+        return new SparseLUDecomposition(a, singularityThreshold, pivotingThreshold).getSolver();
+    }
+
+}
@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Calculates the LU-decomposition of a sparse square matrix.
+ * <p>The LU-decomposition of a sparse matrix A consists of a rows
+ * permutation P, a columns permutation Q, a sparse unit lower triangular
+ * matrix L and a sparse upper triangular matrix U such that
+ * P A Q = L U.</p>
+ * <p>
+ * The columns permutation is a fill-reducing approximate minimum degree
+ * ordering of the pattern of A + A<sup>T</sup>. The rows permutation
+ * results from threshold partial pivoting: at each step the diagonal
+ * element is preferred as pivot as long as its magnitude is at least a
+ * fraction (the pivoting threshold) of the largest candidate, which preserves
+ * the benefit of the symmetric ordering for matrices with a diagonally
+ * dominant or nearly symmetric structure. Columns are computed one at a time
+ * using a left-looking algorithm (Gilbert and Peierls), solving a sparse
+ * triangular system whose non-zero pattern is computed by a depth-first search,
+ * so the time spent is proportional to the number of floating point operations.
+ * </p>
+ * <p>
+ * The matrix to decompose is preferably a {@link CSCRealMatrix} or a
+ * {@link CSRRealMatrix}, other matrices types are accepted but all their
+ * entries will be scanned to find the non-zero ones.
+ * </p>
+ * <p>As shown by the presence of the P matrix, this decomposition is
+ * implemented using partial pivoting.</p>
+ * @see LUDecomposition
+ * @see SparseLUDecomposer
+ * @since 4.0
+ */
+public class SparseLUDecomposition {
+
+    /** Default bound to determine effective singularity in LU decomposition. */
+    public static final double DEFAULT_SINGULARITY_THRESHOLD = 1.0e-11;
+
+    /** Default fraction of the largest candidate pivot above which diagonal pivot is preferred. */
+    public static final double DEFAULT_PIVOTING_THRESHOLD = 0.1;
+
+    /** Rows permutation (element k is the index in A of row k in P A Q). */
+    private final int[] rowPermutation;
+
+    /** Columns permutation (element k is the index in A of column k in P A Q). */
+    private final int[] columnPermutation;
+
+    /** Column pointers of L. */
+    private final int[] lPointers;
+
+    /** Row indices of L (strictly lower part only, unit diagonal is implicit). */
+    private int[] lIndices;
+
+    /** Values of L (strictly lower part only, unit diagonal is implicit). */
+    private double[] lValues;
+
+    /** Column pointers of U. */
+    private final int[] uPointers;
+
+    /** Row indices of U (strictly upper part only). */
+    private int[] uIndices;
+
+    /** Values of U (strictly upper part only). */
+    private double[] uValues;
+
+    /** Diagonal of U. */
+    private final double[] uDiagonal;
+
+    /** Singularity indicator. */
+    private boolean singular;
+
+    /** Cached value of L. */
+    private CSCRealMatrix cachedL;
+
+    /** Cached value of U. */
+    private CSCRealMatrix cachedU;
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #SparseLUDecomposition(RealMatrix, double, double)} with the
+     * thresholds set to the default values {@link
+     * #DEFAULT_SINGULARITY_THRESHOLD} and {@link #DEFAULT_PIVOTING_THRESHOLD}
+     * </p>
+     *
+     * @param matrix Matrix to decompose.
+     * @throws MathIllegalArgumentException if matrix is not square.
+     */
+    public SparseLUDecomposition(final RealMatrix matrix) {
+        this(matrix, DEFAULT_SINGULARITY_THRESHOLD, DEFAULT_PIVOTING_THRESHOLD);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold under which the largest
+     * candidate pivot magnitude is considered null and matrix singular
+     * @param pivotingThreshold fraction of the largest candidate pivot
+     * magnitude above which diagonal pivot is preferred (between 0 and 1,
+     * 1 meaning always use largest pivot as in dense partial pivoting)
+     * @throws MathIllegalArgumentException if matrix is not square
+     * @throws MathIllegalArgumentException if pivoting threshold is not in [0; 1]
+     */
+    public SparseLUDecomposition(final RealMatrix matrix,
+                                 final double singularityThreshold,
+                                 final double pivotingThreshold) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        if (pivotingThreshold < 0 || pivotingThreshold > 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   pivotingThreshold, 0, 1);
+        }
+
+        final int n = matrix.getRowDimension();
+        final CompressedSparseStorage a = CompressedSparseStorage.columnWise(matrix);
+        final int[]    aPointers = a.getPointers();
+        final int[]    aIndices  = a.getIndices();
+        final double[] aValues   = a.getValues();
+
+        columnPermutation = ApproximateMinimumDegree.order(a);
+        rowPermutation    = new int[n];
+        lPointers         = new int[n + 1];
+        uPointers         = new int[n + 1];
+        uDiagonal         = new double[n];
+        lIndices          = new int[FastMath.max(16, a.size())];
+        lValues           = new double[lIndices.length];
+        uIndices          = new int[FastMath.max(16, a.size())];
+        uValues           = new double[uIndices.length];
+        singular          = false;
+
+        // pinv[i] is the step at which original row i was pivoted, or -1
+        final int[] pinv = new int[n];
+        Arrays.fill(pinv, -1);
+
+        final double[] x      = new double[n];
+        final int[]    reach  = new int[n];
+        final int[]    mark   = new int[n];
+        final int[]    stack  = new int[n];
+        final int[]    cursor = new int[n];
+        Arrays.fill(mark, -1);
+
+        int lSize = 0;
+        int uSize = 0;
+        for (int k = 0; k < n; ++k) {
+
+            final int col = columnPermutation[k];
+
+            // pattern of the solution of L x = A(:, col), in topological order
+            int top = n;
+            for (int p = aPointers[col]; p < aPointers[col + 1]; ++p) {
+                if (mark[aIndices[p]] != k) {
+                    top = depthFirstSearch(aIndices[p], k, top, pinv, mark, stack, cursor, reach);
+                }
+            }
+
+            // numerical solution
+            for (int p = aPointers[col]; p < aPointers[col + 1]; ++p) {
+                x[aIndices[p]] = aValues[p];
+            }
+            for (int t = top; t < n; ++t) {
+                final int j = pinv[reach[t]];
+                if (j >= 0) {
+                    final double xj = x[reach[t]];
+                    for (int p = lPointers[j]; p < lPointers[j + 1]; ++p) {
+                        x[lIndices[p]] -= lValues[p] * xj;
+                    }
+                }
+            }
+
+            // select pivot
+            int    pivotRow = -1;
+            double largest  = -1.0;
+            for (int t = top; t < n; ++t) {
+                final int i = reach[t];
+                if (pinv[i] < 0 && FastMath.abs(x[i]) > largest) {
+                    largest  = FastMath.abs(x[i]);
+                    pivotRow = i;
+                }
+            }
+            if (largest < singularityThreshold) {
+                singular = true;
+                return;
+            }
+            if (pinv[col] < 0 && mark[col] == k &&
+                FastMath.abs(x[col]) >= pivotingThreshold * largest) {
+                // prefer diagonal pivot, to preserve fill-reducing ordering
+                pivotRow = col;
+            }
+            final double pivot = x[pivotRow];
+            rowPermutation[k]  = pivotRow;
+            pinv[pivotRow]     = k;
+            uDiagonal[k]       = pivot;
+
+            // store U and L columns
+            final int length = n - top;
+            if (uSize + length > uIndices.length) {
+                uIndices = Arrays.copyOf(uIndices, FastMath.max(2 * uIndices.length, uSize + length));
+                uValues  = Arrays.copyOf(uValues, uIndices.length);
+            }
+            if (lSize + length > lIndices.length) {
+                lIndices = Arrays.copyOf(lIndices, FastMath.max(2 * lIndices.length, lSize + length));
+                lValues  = Arrays.copyOf(lValues, lIndices.length);
+            }
+            for (int t = top; t < n; ++t) {
+                final int i = reach[t];
+                if (i != pivotRow) {
+                    if (pinv[i] >= 0) {
+                        uIndices[uSize]  = pinv[i];
+                        uValues[uSize++] = x[i];
+                    } else {
+                        lIndices[lSize]  = i;
+                        lValues[lSize++] = x[i] / pivot;
+                    }
+                }
+                x[i] = 0.0;
+            }
+            lPointers[k + 1] = lSize;
+            uPointers[k + 1] = uSize;
+
+        }
+
+        // final row indices of L, using pivoted order
+        for (int p = 0; p < lSize; ++p) {
+            lIndices[p] = pinv[lIndices[p]];
+        }
+
+    }
+
+    /** Depth-first search in the graph of L.
+     * @param start start node (row index in A)
+     * @param k current step
+     * @param top current top of reach stack
+     * @param pinv steps at which rows were pivoted
+     * @param mark marks for visited nodes
+     * @param stack placeholder for nodes stack
+     * @param cursor placeholder for position in adjacency lists
+     * @param reach reach stack, updated with the nodes visited in topological order
+     * @return new top of the reach stack
+     */
+    private int depthFirstSearch(final int start, final int k, final int top,
+                                 final int[] pinv, final int[] mark,
+                                 final int[] stack, final int[] cursor, final int[] reach) {
+        int newTop = top;
+        int head   = 0;
+        stack[0] = start;
+        while (head >= 0) {
+            final int i = stack[head];
+            final int j = pinv[i];
+            if (mark[i] != k) {
+                mark[i]      = k;
+                cursor[head] = j < 0 ? 0 : lPointers[j];
+            }
+            final int end = j < 0 ? 0 : lPointers[j + 1];
+            boolean done = true;
+            for (int p = cursor[head]; p < end; ++p) {
+                final int r = lIndices[p];
+                if (mark[r] != k) {
+                    // descend to child r, resuming at next entry later
+                    cursor[head]  = p + 1;
+                    stack[++head] = r;
+                    done = false;
+                    break;
+                }
+            }
+            if (done) {
+                --head;
+                reach[--newTop] = i;
+            }
+        }
+        return newTop;
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a sparse unit lower-triangular matrix</p>
+     * @return the L matrix (or null if decomposed matrix is singular)
+     */
+    public CSCRealMatrix getL() {
+        if ((cachedL == null) && !singular) {
+            final int n = uDiagonal.length;
+            final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+            for (int j = 0; j < n; ++j) {
+                builder.addEntry(j, j, 1.0);
+                for (int p = lPointers[j]; p < lPointers[j + 1]; ++p) {
+                    builder.addEntry(lIndices[p], j, lValues[p]);
+                }
+            }
+            cachedL = builder.buildCSC();
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the matrix U of the decomposition.
+     * <p>U is a sparse upper-triangular matrix</p>
+     * @return the U matrix (or null if decomposed matrix is singular)
+     */
+    public CSCRealMatrix getU() {
+        if ((cachedU == null) && !singular) {
+            final int n = uDiagonal.length;
+            final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+            for (int j = 0; j < n; ++j) {
+                for (int p = uPointers[j]; p < uPointers[j + 1]; ++p) {
+                    builder.addEntry(uIndices[p], j, uValues[p]);
+                }
+                builder.addEntry(j, j, uDiagonal[j]);
+            }
+            cachedU = builder.buildCSC();
+        }
+        return cachedU;
+    }
+
+    /**
+     * Returns the rows permutation P.
+     * <p>
+     * Element {@code k} of the array is the index in A of row {@code k} of P A Q.
+     * </p>
+     * @return the rows permutation (or null if decomposed matrix is singular)
+     */
+    public int[] getRowPermutation() {
+        return singular ? null : rowPermutation.clone();
+    }
+
+    /**
+     * Returns the columns permutation Q.
+     * <p>
+     * Element {@code k} of the array is the index in A of column {@code k} of P A Q.
+     * </p>
+     * @return the columns permutation
+     */
+    public int[] getColumnPermutation() {
+        return columnPermutation.clone();
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        if (singular) {
+            return 0;
+        } else {
+            double determinant = isEven(rowPermutation) == isEven(columnPermutation) ? 1 : -1;
+            for (final double u : uDiagonal) {
+                determinant *= u;
+            }
+            return determinant;
+        }
+    }
+
+    /** Check if a permutation is even.
+     * @param permutation permutation to check
+     * @return true if permutation is even
+     */
+    private static boolean isEven(final int[] permutation) {
+        final boolean[] visited = new boolean[permutation.length];
+        boolean even = true;
+        for (int i = 0; i < permutation.length; ++i) {
+            if (!visited[i]) {
+                // a cycle of length l contributes l - 1 transpositions
+                int j = permutation[i];
+                visited[i] = true;
+                while (j != i) {
+                    visited[j] = true;
+                    j = permutation[j];
+                    even = !even;
+                }
+            }
+        }
+        return even;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in exact linear
+     * sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            return !singular;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            final int n = uDiagonal.length;
+            if (b.getDimension() != n) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), n);
+            }
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+            final double[] y = new double[n];
+            for (int k = 0; k < n; ++k) {
+                y[k] = b.getEntry(rowPermutation[k]);
+            }
+            solveInPlace(y);
+            final double[] x = new double[n];
+            for (int k = 0; k < n; ++k) {
+                x[columnPermutation[k]] = y[k];
+            }
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            final int n = uDiagonal.length;
+            if (b.getRowDimension() != n) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), n);
+            }
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+            final int nColB = b.getColumnDimension();
+            final double[][] x = new double[n][nColB];
+            final double[]   y = new double[n];
+            for (int c = 0; c < nColB; ++c) {
+                for (int k = 0; k < n; ++k) {
+                    y[k] = b.getEntry(rowPermutation[k], c);
+                }
+                solveInPlace(y);
+                for (int k = 0; k < n; ++k) {
+                    x[columnPermutation[k]][c] = y[k];
+                }
+            }
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /** Solve L U y = b in place.
+         * @param y right hand side on input, solution on output
+         */
+        private void solveInPlace(final double[] y) {
+            final int n = uDiagonal.length;
+
+            // Solve LZ = b
+            for (int j = 0; j < n; ++j) {
+                final double yJ = y[j];
+                for (int p = lPointers[j]; p < lPointers[j + 1]; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yJ;
+                }
+            }
+
+            // Solve UY = Z
+            for (int j = n - 1; j >= 0; --j) {
+                y[j] /= uDiagonal[j];
+                final double yJ = y[j];
+                for (int p = uPointers[j]; p < uPointers[j + 1]; ++p) {
+                    y[uIndices[p]] -= uValues[p] * yJ;
+                }
+            }
+
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(uDiagonal.length));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return uDiagonal.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return uDiagonal.length;
+        }
+
+    }
+
+}
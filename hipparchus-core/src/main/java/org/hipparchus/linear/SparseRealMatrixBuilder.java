@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Builder for compressed sparse matrices from (row, column, value) triplets.
+ * <p>
+ * Triplets can be added in any order. Values of triplets sharing the same
+ * row and column are summed, which is convenient for finite elements
+ * assembly. Triplets with zero values are kept as explicitly stored zeros.
+ * The builder can be reused after a matrix has been built, it then builds
+ * matrices containing all the triplets added so far.
+ * </p>
+ * <p>
+ * Building the matrix is done in time linear in the number of triplets and
+ * dimensions, without any hash map.
+ * </p>
+ * @see CSRRealMatrix
+ * @see CSCRealMatrix
+ * @since 4.0
+ */
+public class SparseRealMatrixBuilder {
+
+    /** Number of rows of the matrix. */
+    private final int rows;
+
+    /** Number of columns of the matrix. */
+    private final int columns;
+
+    /** Row indices of the triplets. */
+    private int[] rowIndices;
+
+    /** Column indices of the triplets. */
+    private int[] columnIndices;
+
+    /** Values of the triplets. */
+    private double[] values;
+
+    /** Number of triplets. */
+    private int size;
+
+    /**
+     * Simple constructor.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public SparseRealMatrixBuilder(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        if (rowDimension < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_ROW);
+        }
+        if (columnDimension < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_COLUMN);
+        }
+        this.rows          = rowDimension;
+        this.columns       = columnDimension;
+        this.rowIndices    = new int[16];
+        this.columnIndices = new int[16];
+        this.values        = new double[16];
+        this.size          = 0;
+    }
+
+    /**
+     * Get the number of rows of the matrices built.
+     *
+     * @return number of rows
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Get the number of columns of the matrices built.
+     *
+     * @return number of columns
+     */
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /**
+     * Get the number of triplets added so far.
+     *
+     * @return number of triplets added so far (including duplicates)
+     */
+    public int getNumberOfTriplets() {
+        return size;
+    }
+
+    /**
+     * Add a triplet.
+     *
+     * @param row row index of the entry
+     * @param column column index of the entry
+     * @param value value to add to the entry
+     * @return this builder, for chaining calls
+     * @throws MathIllegalArgumentException if row or column index is out of range
+     */
+    public SparseRealMatrixBuilder addEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        if (row < 0 || row >= rows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX,
+                                                   row, 0, rows - 1);
+        }
+        if (column < 0 || column >= columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.COLUMN_INDEX,
+                                                   column, 0, columns - 1);
+        }
+        if (size == values.length) {
+            final int capacity = (int) FastMath.min(Integer.MAX_VALUE - 8, 2L * size);
+            rowIndices    = Arrays.copyOf(rowIndices, capacity);
+            columnIndices = Arrays.copyOf(columnIndices, capacity);
+            values        = Arrays.copyOf(values, capacity);
+        }
+        rowIndices[size]    = row;
+        columnIndices[size] = column;
+        values[size]        = value;
+        ++size;
+        return this;
+    }
+
+    /**
+     * Build a compressed sparse row matrix from the triplets added so far.
+     *
+     * @return new matrix
+     */
+    public CSRRealMatrix buildCSR() {
+        return new CSRRealMatrix(CompressedSparseStorage.fromTriplets(rows, columns,
+                                                                      rowIndices, columnIndices,
+                                                                      values, size));
+    }
+
+    /**
+     * Build a compressed sparse column matrix from the triplets added so far.
+     *
+     * @return new matrix
+     */
+    public CSCRealMatrix buildCSC() {
+        return new CSCRealMatrix(CompressedSparseStorage.fromTriplets(columns, rows,
+                                                                      columnIndices, rowIndices,
+                                                                      values, size));
+    }
+
+}
@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/** Divide-and-conquer eigen solver for symmetric tridiagonal matrices.
+ * <p>
+ * The tridiagonal matrix is split in two halves by a rank-one modification,
+ * the halves are solved recursively and the two eigen systems are merged by
+ * solving a secular equation (Cuppen, 1981). Eigenvectors are computed from
+ * a corrected modification vector, which ensures they are numerically
+ * orthogonal even for close eigenvalues (Gu and Eisenstat, 1995). Small
+ * subproblems are solved using the implicit QL algorithm.
+ * </p>
+ * <p>
+ * Deflation makes the algorithm much faster than implicit QL in practice,
+ * as many eigenvectors of the subproblems are eigenvectors of the merged
+ * problem, and the remaining ones are obtained by matrix products.
+ * </p>
+ * @see <a href="https://doi.org/10.1137/S0895479892241287">M. Gu and S. C. Eisenstat,
+ * A Divide-and-Conquer Algorithm for the Symmetric Tridiagonal Eigenproblem,
+ * SIAM J. Matrix Anal. Appl. 16 (1995)</a>
+ * @since 4.0
+ */
+class TridiagonalDivideAndConquer {
+
+    /** Size under which subproblems are solved using implicit QL. */
+    private static final int LEAF_SIZE = 25;
+
+    /** Maximum number of iterations for solving the secular equation. */
+    private static final int MAX_ITER = 100;
+
+    /** Private constructor for a utility class.
+     */
+    private TridiagonalDivideAndConquer() {
+        // nothing to do
+    }
+
+    /** Compute the eigen decomposition of a symmetric tridiagonal matrix.
+     * @param main main diagonal, replaced by eigenvalues sorted in increasing order
+     * @param secondary secondary diagonal (only the first {@code main.length - 1}
+     * elements are used)
+     * @return eigenvectors, as an array of columns ({@code v[k]} is the eigenvector
+     * associated with eigenvalue {@code main[k]})
+     */
+    static double[][] decompose(final double[] main, final double[] secondary) {
+        final double[] e = secondary.clone();
+        return solve(main, e, 0, main.length);
+    }
+
+    /** Solve one subproblem.
+     * @param d main diagonal, replaced by eigenvalues in the subproblem range
+     * @param e secondary diagonal
+     * @param start index of the first row of the subproblem
+     * @param size size of the subproblem
+     * @return eigenvectors of the subproblem, as an array of columns
+     */
+    private static double[][] solve(final double[] d, final double[] e, final int start, final int size) {
+
+        if (size <= LEAF_SIZE) {
+            return solveLeaf(d, e, start, size);
+        }
+
+        // split the matrix as two tridiagonal blocks and a rank-one modification
+        final int    n1   = size / 2;
+        final int    n2   = size - n1;
+        final double beta = e[start + n1 - 1];
+        d[start + n1 - 1] -= beta;
+        d[start + n1]     -= beta;
+
+        // solve the two blocks
+        final double[][] q1 = solve(d, e, start, n1);
+        final double[][] q2 = solve(d, e, start + n1, n2);
+
+        // build the block diagonal eigenvectors matrix and the modification vector
+        final double[][] columns = new double[size][size];
+        final double[]   z       = new double[size];
+        for (int j = 0; j < n1; ++j) {
+            System.arraycopy(q1[j], 0, columns[j], 0, n1);
+            z[j] = q1[j][n1 - 1];
+        }
+        for (int j = 0; j < n2; ++j) {
+            System.arraycopy(q2[j], 0, columns[n1 + j], n1, n2);
+            z[n1 + j] = q2[j][0];
+        }
+
+        final double[] lambda = Arrays.copyOfRange(d, start, start + size);
+        final double[][] v = merge(lambda, z, beta, columns);
+        System.arraycopy(lambda, 0, d, start, size);
+        return v;
+
+    }
+
+    /** Solve a small subproblem using implicit QL.
+     * @param d main diagonal, replaced by eigenvalues in the subproblem range
+     * @param e secondary diagonal
+     * @param start index of the first row of the subproblem
+     * @param size size of the subproblem
+     * @return eigenvectors of the subproblem, as an array of columns
+     */
+    private static double[][] solveLeaf(final double[] d, final double[] e, final int start, final int size) {
+        final double[][] columns = new double[size][];
+        if (size == 1) {
+            columns[0] = new double[] { 1.0 };
+            return columns;
+        }
+        final EigenDecompositionSymmetric ed =
+                        new EigenDecompositionSymmetric(Arrays.copyOfRange(d, start, start + size),
+                                                        Arrays.copyOfRange(e, start, start + size - 1),
+                                                        EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                        false);
+        for (int j = 0; j < size; ++j) {
+            d[start + j] = ed.getEigenvalue(j);
+            columns[j]   = ed.getEigenvector(j).toArray();
+        }
+        return columns;
+    }
+
+    /** Merge two eigen systems, i.e. compute the eigen decomposition of D + &beta; z z<sup>T</sup>.
+     * @param lambda diagonal D on input, eigenvalues sorted in increasing order on output
+     * @param z modification vector (modified by the method)
+     * @param beta modification scale
+     * @param columns eigenvectors associated with D, as an array of columns
+     * (modified by the method)
+     * @return eigenvectors associated with the output eigenvalues, as an array of columns
+     */
+    private static double[][] merge(final double[] lambda, final double[] z, final double beta,
+                                    final double[][] columns) {
+
+        final int size = lambda.length;
+
+        // normalize the problem so the modification vector is a unit vector
+        // and the modification scale is positive
+        double zNorm2 = 0;
+        for (final double zi : z) {
+            zNorm2 += zi * zi;
+        }
+        double rho = beta * zNorm2;
+        final boolean flip = rho < 0;
+        if (flip) {
+            rho = -rho;
+            for (int i = 0; i < size; ++i) {
+                lambda[i] = -lambda[i];
+            }
+        }
+        final double zNorm = FastMath.sqrt(zNorm2);
+        double maxAbs = rho;
+        for (int i = 0; i < size; ++i) {
+            if (zNorm > 0) {
+                z[i] /= zNorm;
+            }
+            maxAbs = FastMath.max(maxAbs, FastMath.abs(lambda[i]));
+        }
+        final double tol = 8 * Precision.EPSILON * maxAbs;
+
+        // deflation, scanning diagonal elements in increasing order
+        final int[] order = sortedIndices(lambda);
+        final int[] kept  = new int[size];
+        int k = 0;
+        for (final int j : order) {
+            if (rho * FastMath.abs(z[j]) <= tol) {
+                // negligible modification component, the eigenpair is unchanged
+                continue;
+            }
+            if (k > 0) {
+                // check if a rotation can deflate the previous element
+                final int    p   = kept[k - 1];
+                final double tau = FastMath.hypot(z[p], z[j]);
+                final double c   = z[j] / tau;
+                final double s   = -z[p] / tau;
+                if (FastMath.abs((lambda[j] - lambda[p]) * c * s) <= tol) {
+                    z[j] = tau;
+                    z[p] = 0;
+                    final double lp = lambda[p] * c * c + lambda[j] * s * s;
+                    final double lj = lambda[p] * s * s + lambda[j] * c * c;
+                    lambda[p] = lp;
+                    lambda[j] = lj;
+                    final double[] colP = columns[p];
+                    final double[] colJ = columns[j];
+                    for (int r = 0; r < size; ++r) {
+                        final double vp = colP[r];
+                        final double vj = colJ[r];
+                        colP[r] = c * vp + s * vj;
+                        colJ[r] = c * vj - s * vp;
+                    }
+                    --k;
+                }
+            }
+            kept[k++] = j;
+        }
+
+        final double[][] merged = new double[size][];
+        final double[]   values = lambda.clone();
+        for (int i = 0; i < size; ++i) {
+            merged[i] = columns[i];
+        }
+
+        if (k > 0) {
+
+            // secular equation for non-deflated elements
+            final double[] dK  = new double[k];
+            final double[] zK  = new double[k];
+            double zK2 = 0;
+            for (int i = 0; i < k; ++i) {
+                dK[i] = lambda[kept[i]];
+                zK[i] = z[kept[i]];
+                zK2  += zK[i] * zK[i];
+            }
+            final int[]    origin = new int[k];
+            final double[] tau    = new double[k];
+            for (int i = 0; i < k; ++i) {
+                solveSecular(dK, zK, zK2, rho, i, origin, tau);
+            }
+
+            // recompute the modification vector from the eigenvalues,
+            // so that eigenvectors are numerically orthogonal
+            final double[] zHat = new double[k];
+            for (int j = 0; j < k; ++j) {
+                double w = (dK[origin[j]] - dK[j]) + tau[j];
+                for (int i = 0; i < k; ++i) {
+                    if (i != j) {
+                        w *= ((dK[origin[i]] - dK[j]) + tau[i]) / (dK[i] - dK[j]);
+                    }
+                }
+                zHat[j] = FastMath.copySign(FastMath.sqrt(FastMath.abs(w) / rho), zK[j]);
+            }
+
+            // compute eigenvectors
+            final double[] u = new double[k];
+            for (int i = 0; i < k; ++i) {
+                double norm2 = 0;
+                for (int j = 0; j < k; ++j) {
+                    u[j]   = zHat[j] / ((dK[j] - dK[origin[i]]) - tau[i]);
+                    norm2 += u[j] * u[j];
+                }
+                final double inv = 1.0 / FastMath.sqrt(norm2);
+                final double[] v = new double[size];
+                for (int j = 0; j < k; ++j) {
+                    final double   uj  = u[j] * inv;
+                    final double[] col = columns[kept[j]];
+                    for (int r = 0; r < size; ++r) {
+                        v[r] += uj * col[r];
+                    }
+                }
+                values[kept[i]] = dK[origin[i]] + tau[i];
+                merged[kept[i]] = v;
+            }
+
+        }
+
+        // restore sign and sort eigenvalues in increasing order
+        if (flip) {
+            for (int i = 0; i < size; ++i) {
+                values[i] = -values[i];
+            }
+        }
+        final int[] sorted = sortedIndices(values);
+        final double[][] v = new double[size][];
+        for (int i = 0; i < size; ++i) {
+            lambda[i] = values[sorted[i]];
+            v[i]      = merged[sorted[i]];
+        }
+        return v;
+
+    }
+
+    /** Solve the secular equation 1/&rho; + &sum; z<sub>j</sub><sup>2</sup> / (d<sub>j</sub> - &lambda;) = 0.
+     * <p>
+     * The root is represented as d<sub>origin</sub> + &tau; where d<sub>origin</sub> is the
+     * closest pole, which allows to compute differences d<sub>j</sub> - &lambda; accurately.
+     * </p>
+     * @param d poles, sorted in strictly increasing order
+     * @param z modification vector
+     * @param z2 squared norm of the modification vector
+     * @param rho modification scale (must be positive)
+     * @param i index of the root (the root is between d[i] and d[i + 1])
+     * @param origin placeholder where to put the index of the origin pole
+     * @param tau placeholder where to put the offset of the root with respect to origin pole
+     */
+    private static void solveSecular(final double[] d, final double[] z, final double z2, final double rho,
+                                     final int i, final int[] origin, final double[] tau) {
+
+        final int  k        = d.length;
+        final boolean last  = i == k - 1;
+
+        // select the origin as the pole closest to the root
+        final int o;
+        double lo;
+        double hi;
+        if (last) {
+            o  = i;
+            lo = 0;
+            hi = rho * z2;
+        } else {
+            final double mid = 0.5 * (d[i] + d[i + 1]);
+            double f = 1 / rho;
+            for (int j = 0; j < k; ++j) {
+                f += z[j] * z[j] / (d[j] - mid);
+            }
+            if (f >= 0) {
+                o  = i;
+                lo = 0;
+                hi = mid - d[i];
+            } else {
+                o  = i + 1;
+                lo = mid - d[i + 1];
+                hi = 0;
+            }
+        }
+        final double[] delta = new double[k];
+        for (int j = 0; j < k; ++j) {
+            delta[j] = d[j] - d[o];
+        }
+
+        double t = 0.5 * (lo + hi);
+        for (int iter = 0; iter < MAX_ITER; ++iter) {
+
+            // evaluate the secular function, split between poles left and right of the root
+            double psi  = 0;
+            double dPsi = 0;
+            for (int j = 0; j <= i; ++j) {
+                final double r = z[j] / (delta[j] - t);
+                psi  += z[j] * r;
+                dPsi += r * r;
+            }
+            double phi  = 0;
+            double dPhi = 0;
+            for (int j = i + 1; j < k; ++j) {
+                final double r = z[j] / (delta[j] - t);
+                phi  += z[j] * r;
+                dPhi += r * r;
+            }
+            final double f = 1 / rho + psi + phi;
+            if (FastMath.abs(f) <= 8 * Precision.EPSILON * k * (1 / rho + FastMath.abs(psi) + FastMath.abs(phi))) {
+                break;
+            }
+
+            // the secular function is increasing, update the bracket
+            if (f < 0) {
+                lo = t;
+            } else {
+                hi = t;
+            }
+
+            // approximate the function by two poles rational function and find its root
+            final double di = delta[i] - t;
+            final double b1 = dPsi * di * di;
+            final double a1 = psi - b1 / di;
+            double step;
+            if (last) {
+                final double c = 1 / rho + a1;
+                step = di + b1 / c;
+            } else {
+                final double di1  = delta[i + 1] - t;
+                final double b2   = dPhi * di1 * di1;
+                final double a2   = phi - b2 / di1;
+                final double c    = 1 / rho + a1 + a2;
+                final double b    = c * (di + di1) + b1 + b2;
+                final double disc = b * b - 4 * c * f * di * di1;
+                step = disc >= 0 ? 2 * f * di * di1 / (b + FastMath.copySign(FastMath.sqrt(disc), b)) : Double.NaN;
+            }
+
+            double next = t + step;
+            if (!(next > lo && next < hi)) {
+                // safeguard, use bisection
+                next = 0.5 * (lo + hi);
+            }
+            if (next == t) {
+                break;
+            }
+            t = next;
+
+        }
+
+        origin[i] = o;
+        tau[i]    = t;
+
+    }
+
+    /** Get the indices that sort an array in increasing order.
+     * @param values array to sort
+     * @return indices such that values[indices[i]] is sorted in increasing order
+     */
+    private static int[] sortedIndices(final double[] values) {
+        final Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < boxed.length; ++i) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (i, j) -> Double.compare(values[i], values[j]));
+        final int[] indices = new int[boxed.length];
+        for (int i = 0; i < boxed.length; ++i) {
+            indices[i] = boxed[i];
+        }
+        return indices;
+    }
+
+}
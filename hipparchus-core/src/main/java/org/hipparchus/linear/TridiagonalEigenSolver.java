@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+/** Enumerate for the algorithms used to compute eigen decompositions
+ * of symmetric tridiagonal matrices in {@link EigenDecompositionSymmetric}.
+ * @since 4.0
+ */
+public enum TridiagonalEigenSolver {
+
+    /** Implicit QL algorithm (Dubrulle et al., 1971).
+     * <p>
+     * This algorithm is efficient for small matrices.
+     * </p>
+     */
+    IMPLICIT_QL,
+
+    /** Divide-and-conquer algorithm (Cuppen, 1981, Gu and Eisenstat, 1995).
+     * <p>
+     * This algorithm is much faster than {@link #IMPLICIT_QL} for large
+     * matrices when eigenvectors are needed.
+     * </p>
+     */
+    DIVIDE_AND_CONQUER
+
+}
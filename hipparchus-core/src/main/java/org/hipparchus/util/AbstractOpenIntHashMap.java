@@ -28,27 +28,12 @@ public abstract class AbstractOpenIntHashMap {
     /** Default starting size.
      * <p>This must be a power of two for bit mask to work properly. </p>
      */
-    protected static final int DEFAULT_EXPECTED_SIZE = 16;
+    protected static final int DEFAULT_EXPECTED_SIZE = OpenAddressing.DEFAULT_EXPECTED_SIZE;
 
     /** Multiplier for size growth when map fills up.
      * <p>This must be a power of two for bit mask to work properly. </p>
      */
-    protected static final int RESIZE_MULTIPLIER = 2;
-
-    /** Status indicator for free table entries. */
-    private static final byte FREE    = 0;
-
-    /** Status indicator for full table entries. */
-    private static final byte FULL    = 1;
-
-    /** Status indicator for removed table entries. */
-    private static final byte REMOVED = 2;
-
-    /** Load factor for the map. */
-    private static final float LOAD_FACTOR = 0.5f;
-
-    /** Number of bits to perturb the index when probing for collision resolution. */
-    private static final int PERTURB_SHIFT = 5;
+    protected static final int RESIZE_MULTIPLIER = OpenAddressing.RESIZE_MULTIPLIER;
 
     /** Keys table. */
     private int[] keys;
@@ -76,7 +61,7 @@ public abstract class AbstractOpenIntHashMap {
      * @param expectedSize expected number of elements in the map
      */
     protected AbstractOpenIntHashMap(final int expectedSize) {
-        final int capacity = computeCapacity(expectedSize);
+        final int capacity = OpenAddressing.computeCapacity(expectedSize);
         keys   = new int[capacity];
         states = new byte[capacity];
         mask   = capacity - 1;
@@ -113,23 +98,6 @@ public abstract class AbstractOpenIntHashMap {
         return size;
     }
 
-    /**
-     * Compute the capacity needed for a given size.
-     * @param expectedSize expected size of the map
-     * @return capacity to use for the specified size
-     */
-    private static int computeCapacity(final int expectedSize) {
-        if (expectedSize == 0) {
-            return 1;
-        }
-        final int capacity   = (int) FastMath.ceil(expectedSize / LOAD_FACTOR);
-        final int powerOfTwo = Integer.highestOneBit(capacity);
-        if (powerOfTwo == capacity) {
-            return capacity;
-        }
-        return nextPowerOfTwo(capacity);
-    }
-
     /** Reset count.
      * @since 3.1
      */
@@ -137,15 +105,6 @@ public abstract class AbstractOpenIntHashMap {
         count = 0;
     }
 
-    /**
-     * Find the smallest power of two greater than the input value
-     * @param i input value
-     * @return smallest power of two greater than the input value
-     */
-    private static int nextPowerOfTwo(final int i) {
-        return Integer.highestOneBit(i) << 1;
-    }
-
     /**
      * Check if a value is associated with a key.
      * @param key key to check
@@ -153,19 +112,19 @@ public abstract class AbstractOpenIntHashMap {
      */
     public boolean containsKey(final int key) {
 
-        final int hash  = hashOf(key);
+        final int hash  = OpenAddressing.hashOf(key);
         int index = hash & mask;
         if (containsKey(key, index)) {
             return true;
         }
 
-        if (states[index] == FREE) {
+        if (states[index] == OpenAddressing.FREE) {
             return false;
         }
 
         int j = index;
-        for (int perturb = perturb(hash); states[index] != FREE; perturb >>= PERTURB_SHIFT) {
-            j = probe(perturb, j);
+        for (int perturb = OpenAddressing.perturb(hash); states[index] != OpenAddressing.FREE; perturb >>= OpenAddressing.PERTURB_SHIFT) {
+            j = OpenAddressing.probe(perturb, j);
             index = j & mask;
             if (containsKey(key, index)) {
                 return true;
@@ -176,15 +135,6 @@ public abstract class AbstractOpenIntHashMap {
 
     }
 
-    /**
-     * Perturb the hash for starting probing.
-     * @param hash initial hash
-     * @return perturbed hash
-     */
-    private static int perturb(final int hash) {
-        return hash & 0x7fffffff;
-    }
-
     /**
      * Find the index at which a key should be inserted
      * @param keys keys table
@@ -195,72 +145,53 @@ public abstract class AbstractOpenIntHashMap {
      */
     private static int findInsertionIndex(final int[] keys, final byte[] states,
                                           final int key, final int mask) {
-        final int hash = hashOf(key);
+        final int hash = OpenAddressing.hashOf(key);
         int index = hash & mask;
-        if (states[index] == FREE) {
+        if (states[index] == OpenAddressing.FREE) {
             return index;
-        } else if (states[index] == FULL && keys[index] == key) {
-            return changeIndexSign(index);
+        } else if (states[index] == OpenAddressing.FULL && keys[index] == key) {
+            return OpenAddressing.changeIndexSign(index);
         }
 
-        int perturb = perturb(hash);
+        int perturb = OpenAddressing.perturb(hash);
         int j = index;
-        if (states[index] == FULL) {
+        if (states[index] == OpenAddressing.FULL) {
             while (true) {
-                j = probe(perturb, j);
+                j = OpenAddressing.probe(perturb, j);
                 index = j & mask;
-                perturb >>= PERTURB_SHIFT;
+                perturb >>= OpenAddressing.PERTURB_SHIFT;
 
-                if (states[index] != FULL || keys[index] == key) {
+                if (states[index] != OpenAddressing.FULL || keys[index] == key) {
                     break;
                 }
             }
         }
 
-        if (states[index] == FREE) {
+        if (states[index] == OpenAddressing.FREE) {
             return index;
-        } else if (states[index] == FULL) {
+        } else if (states[index] == OpenAddressing.FULL) {
             // due to the loop exit condition,
             // if (states[index] == FULL) then keys[index] == key
-            return changeIndexSign(index);
+            return OpenAddressing.changeIndexSign(index);
         }
 
         final int firstRemoved = index;
         while (true) {
-            j = probe(perturb, j);
+            j = OpenAddressing.probe(perturb, j);
             index = j & mask;
 
-            if (states[index] == FREE) {
+            if (states[index] == OpenAddressing.FREE) {
                 return firstRemoved;
-            } else if (states[index] == FULL && keys[index] == key) {
-                return changeIndexSign(index);
+            } else if (states[index] == OpenAddressing.FULL && keys[index] == key) {
+                return OpenAddressing.changeIndexSign(index);
             }
 
-            perturb >>= PERTURB_SHIFT;
+            perturb >>= OpenAddressing.PERTURB_SHIFT;
 
         }
 
     }
 
-    /**
-     * Compute next probe for collision resolution
-     * @param perturb perturbed hash
-     * @param j previous probe
-     * @return next probe
-     */
-    private static int probe(final int perturb, final int j) {
-        return (j << 2) + j + perturb + 1;
-    }
-
-    /**
-     * Change the index sign
-     * @param index initial index
-     * @return changed index
-     */
-    private static int changeIndexSign(final int index) {
-        return -index - 1;
-    }
-
     /**
      * Get the number of elements stored in the map.
      * @return number of elements stored in the map
@@ -277,7 +208,7 @@ public abstract class AbstractOpenIntHashMap {
      * @return true if an element is associated with key at index
      */
     public boolean containsKey(final int key, final int index) {
-        return (key != 0 || states[index] == FULL) && keys[index] == key;
+        return (key != 0 || states[index] == OpenAddressing.FULL) && keys[index] == key;
     }
 
     /** Locate the index of value associated with the given key
@@ -287,19 +218,19 @@ public abstract class AbstractOpenIntHashMap {
      */
     protected int locate(final int key) {
 
-        final int hash  = hashOf(key);
+        final int hash  = OpenAddressing.hashOf(key);
         int index = hash & mask;
         if (containsKey(key, index)) {
             return index;
         }
 
-        if (states[index] == FREE) {
+        if (states[index] == OpenAddressing.FREE) {
             return -1;
         }
 
         int j = index;
-        for (int perturb = perturb(hash); states[index] != FREE; perturb >>= PERTURB_SHIFT) {
-            j = probe(perturb, j);
+        for (int perturb = OpenAddressing.perturb(hash); states[index] != OpenAddressing.FREE; perturb >>= OpenAddressing.PERTURB_SHIFT) {
+            j = OpenAddressing.probe(perturb, j);
             index = j & mask;
             if (containsKey(key, index)) {
                 return index;
@@ -315,7 +246,7 @@ public abstract class AbstractOpenIntHashMap {
      */
     protected void doRemove(int index) {
         keys[index]   = 0;
-        states[index] = REMOVED;
+        states[index] = OpenAddressing.REMOVED;
         --size;
         ++count;
     }
@@ -330,15 +261,15 @@ public abstract class AbstractOpenIntHashMap {
         boolean existing   = false;
         boolean newMapping = true;
         if (oldIndex < 0) {
-            oldIndex   = changeIndexSign(oldIndex);
+            oldIndex   = OpenAddressing.changeIndexSign(oldIndex);
             existing   = true;
             newMapping = false;
         }
         keys[oldIndex] = key;
-        states[oldIndex] = FULL;
+        states[oldIndex] = OpenAddressing.FULL;
         if (newMapping) {
             ++size;
-            if (shouldGrowTable()) {
+            if (OpenAddressing.shouldGrowTable(size, mask)) {
                 newIndex = growTable(oldIndex);
             }
             ++count;
@@ -370,7 +301,7 @@ public abstract class AbstractOpenIntHashMap {
         final byte[] newStates = new byte[newLength];
         final int newMask = newLength - 1;
         for (int srcIndex = 0; srcIndex < oldLength; ++srcIndex) {
-            if (oldStates[srcIndex] == FULL) {
+            if (oldStates[srcIndex] == OpenAddressing.FULL) {
                 final int key   = oldKeys[srcIndex];
                 final int dstIndex = findInsertionIndex(newKeys, newStates, key, newMask);
                 newKeys[dstIndex]  = key;
@@ -378,7 +309,7 @@ public abstract class AbstractOpenIntHashMap {
                 if (srcIndex == oldIndex) {
                     newIndex = dstIndex;
                 }
-                newStates[dstIndex] = FULL;
+                newStates[dstIndex] = OpenAddressing.FULL;
             }
         }
 
@@ -390,24 +321,6 @@ public abstract class AbstractOpenIntHashMap {
 
     }
 
-    /**
-     * Check if tables should grow due to increased size.
-     * @return true if  tables should grow
-     */
-    private boolean shouldGrowTable() {
-        return size > (mask + 1) * LOAD_FACTOR;
-    }
-
-    /**
-     * Compute the hash value of a key
-     * @param key key to hash
-     * @return hash value of the key
-     */
-    private static int hashOf(final int key) {
-        final int h = key ^ ((key >>> 20) ^ (key >>> 12));
-        return h ^ (h >>> 7) ^ (h >>> 4);
-    }
-
     /** Check if keys are equals.
      * @param other other map
      * @return true if keys are equals
@@ -431,6 +344,25 @@ public abstract class AbstractOpenIntHashMap {
         return  53 * Arrays.hashCode(keys) + 31 * Arrays.hashCode(states);
     }
 
+    /** Apply an action to all entries, without allocating any iterator.
+     * @param action action to apply, its arguments are the key and the index
+     * of the entry in the tables
+     * @exception ConcurrentModificationException if the map is modified by the action
+     * @since 4.0
+     */
+    protected void forEachEntry(final IntIntConsumer action)
+        throws ConcurrentModificationException {
+        final int referenceCount = count;
+        for (int index = 0; index < states.length; ++index) {
+            if (states[index] == OpenAddressing.FULL) {
+                action.accept(keys[index], index);
+                if (referenceCount != count) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
     /** Iterator class for the map. */
     protected class BaseIterator {
 
@@ -504,7 +436,7 @@ public abstract class AbstractOpenIntHashMap {
 
             // prepare next step
             try {
-                while (states[++next] != FULL) { // NOPMD
+                while (states[++next] != OpenAddressing.FULL) { // NOPMD
                     // nothing to do
                 }
             } catch (ArrayIndexOutOfBoundsException e) {
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Open addressed set of int.
+ * <p>This class provides a dedicated set of integers with a much smaller
+ * memory overhead than standard <code>java.util.Set</code>, as elements
+ * are not boxed.</p>
+ * <p>This class is not synchronized. The specialized iterators returned by
+ * {@link #iterator()} are fail-fast: they throw a
+ * <code>ConcurrentModificationException</code> when they detect the set has been
+ * modified during iteration.</p>
+ * @since 4.0
+ */
+public class IntHashSet extends AbstractOpenIntHashMap implements Serializable {
+
+    /** Serializable version identifier */
+    private static final long serialVersionUID = 20261017L;
+
+    /**
+     * Build an empty set with default size.
+     */
+    public IntHashSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Build an empty set with specified size.
+     * @param expectedSize expected number of elements in the set
+     */
+    public IntHashSet(final int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * Copy constructor.
+     * @param source set to copy
+     */
+    public IntHashSet(final IntHashSet source) {
+        super(source);
+    }
+
+    /**
+     * Add an element to the set.
+     * @param element element to add
+     * @return true if the element was not already in the set
+     */
+    public boolean add(final int element) {
+        return !put(element).isExisting();
+    }
+
+    /**
+     * Check if an element is in the set.
+     * @param element element to check
+     * @return true if the element is in the set
+     */
+    public boolean contains(final int element) {
+        return containsKey(element);
+    }
+
+    /**
+     * Remove an element from the set.
+     * @param element element to remove
+     * @return true if the element was in the set
+     */
+    public boolean remove(final int element) {
+        final int index = locate(element);
+        if (index < 0) {
+            return false;
+        } else {
+            doRemove(index);
+            return true;
+        }
+    }
+
+    /**
+     * Get an iterator over set elements.
+     * <p>The specialized iterators returned are fail-fast: they throw a
+     * <code>ConcurrentModificationException</code> when they detect the set
+     * has been modified during iteration.</p>
+     * @return iterator over the set elements
+     */
+    public Iterator iterator() {
+        return new Iterator();
+    }
+
+    /**
+     * Apply an action to all set elements.
+     * <p>Contrary to {@link #iterator()}, this method does not allocate
+     * anything per element. The action must not modify the set.</p>
+     * @param action action to apply to each element
+     * @exception ConcurrentModificationException if the set is modified by the action
+     */
+    public void forEach(final IntConsumer action)
+        throws ConcurrentModificationException {
+        forEachEntry((key, index) -> action.accept(key));
+    }
+
+    /**
+     * Get the set elements.
+     * @return new array containing the set elements, in unspecified order
+     */
+    public int[] toArray() {
+        final int[] array = new int[getSize()];
+        final Iterator iterator = iterator();
+        for (int i = 0; i < array.length; ++i) {
+            iterator.advance();
+            array[i] = iterator.key();
+        }
+        return array;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final IntHashSet that = (IntHashSet) o;
+        return equalKeys(that) && equalStates(that);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return keysStatesHashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int growTable(final int oldIndex) {
+        return doGrowTable(oldIndex, (src, dest) -> {
+            // there are no values to copy
+        });
+    }
+
+    /** Iterator class for the set. */
+    public class Iterator extends BaseIterator {
+        // the element is available from the base class key() method
+    }
+
+    /**
+     * Read a serialized object.
+     * @param stream input stream
+     * @throws IOException if object cannot be read
+     * @throws ClassNotFoundException if the class corresponding
+     * to the serialized object cannot be found
+     */
+    private void readObject(final ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        resetCount();
+    }
+
+    /**
+     * Replace the instance with a data transfer object for serialization.
+     * @return data transfer object that will be serialized
+     */
+    private Object writeReplace() {
+        return new DataTransferObject(toArray());
+    }
+
+    /** Internal class used only for serialization. */
+    private static class DataTransferObject implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Elements. */
+        private final int[] elements;
+
+        /** Simple constructor.
+         * @param elements set elements
+         */
+        DataTransferObject(final int[] elements) {
+            this.elements = elements;
+        }
+
+        /** Replace the deserialized data transfer object with a {@link IntHashSet}.
+         * @return replacement {@link IntHashSet}
+         */
+        private Object readResolve() {
+            final IntHashSet set = new IntHashSet(elements.length);
+            for (final int element : elements) {
+                set.add(element);
+            }
+            return set;
+        }
+
+    }
+
+}
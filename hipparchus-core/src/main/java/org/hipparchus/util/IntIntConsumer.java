@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+/** Operation accepting an int key and an int value and returning no result.
+ * <p>
+ * This is a primitive specialization of {@link java.util.function.BiConsumer},
+ * used by {@link OpenIntToIntHashMap#forEach(IntIntConsumer)}.
+ * </p>
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+
+    /** Perform the operation.
+     * @param key entry key
+     * @param value entry value
+     */
+    void accept(int key, int value);
+
+}
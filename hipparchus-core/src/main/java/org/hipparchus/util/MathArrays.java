@@ -116,9 +116,9 @@ public class MathArrays {
         throws MathIllegalArgumentException {
         checkEqualLength(a, b);
 
-        final double[] result = a.clone();
+        final double[] result = new double[a.length];
         for (int i = 0; i < a.length; i++) {
-            result[i] += b[i];
+            result[i] = a[i] + b[i];
         }
         return result;
     }
@@ -135,9 +135,9 @@ public class MathArrays {
         throws MathIllegalArgumentException {
         checkEqualLength(a, b);
 
-        final double[] result = a.clone();
+        final double[] result = new double[a.length];
         for (int i = 0; i < a.length; i++) {
-            result[i] -= b[i];
+            result[i] = a[i] - b[i];
         }
         return result;
     }
@@ -154,9 +154,9 @@ public class MathArrays {
         throws MathIllegalArgumentException {
         checkEqualLength(a, b);
 
-        final double[] result = a.clone();
+        final double[] result = new double[a.length];
         for (int i = 0; i < a.length; i++) {
-            result[i] *= b[i];
+            result[i] = a[i] * b[i];
         }
         return result;
     }
@@ -173,9 +173,9 @@ public class MathArrays {
         throws MathIllegalArgumentException {
         checkEqualLength(a, b);
 
-        final double[] result = a.clone();
+        final double[] result = new double[a.length];
         for (int i = 0; i < a.length; i++) {
-            result[i] /= b[i];
+            result[i] = a[i] / b[i];
         }
         return result;
     }
@@ -218,6 +218,10 @@ public class MathArrays {
 
     /**
      * Calculates the L<sub>2</sub> (Euclidean) distance between two points.
+     * <p>
+     * The computation is delegated to the {@link ReductionKernel#getDefault()
+     * default reduction kernel}.
+     * </p>
      *
      * @param p1 the first point
      * @param p2 the second point
@@ -226,13 +230,7 @@ public class MathArrays {
      */
     public static double distance(double[] p1, double[] p2)
         throws MathIllegalArgumentException {
-        checkEqualLength(p1, p2);
-        double sum = 0;
-        for (int i = 0; i < p1.length; i++) {
-            final double dp = p1[i] - p2[i];
-            sum += dp * dp;
-        }
-        return FastMath.sqrt(sum);
+        return ReductionKernel.getDefault().distance(p1, p2);
     }
 
     /**
@@ -1047,35 +1045,21 @@ public class MathArrays {
             return a[0] * b[0];
         }
 
-        final double[] prodHigh = new double[len];
+        // the products and the accurate sum are computed in a single pass,
+        // to avoid storing the high parts of the products in a temporary array
+        final double prodHigh0 = a[0] * b[0];
+        final double prodHigh1 = a[1] * b[1];
         double prodLowSum = 0;
+        prodLowSum += productLow(a[0], b[0], prodHigh0);
+        prodLowSum += productLow(a[1], b[1], prodHigh1);
 
-        for (int i = 0; i < len; i++) {
-            final double ai    = a[i];
-            final double aHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(ai) & ((-1L) << 27));
-            final double aLow  = ai - aHigh;
-
-            final double bi    = b[i];
-            final double bHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(bi) & ((-1L) << 27));
-            final double bLow  = bi - bHigh;
-            prodHigh[i] = ai * bi;
-            final double prodLow = aLow * bLow - (((prodHigh[i] -
-                                                    aHigh * bHigh) -
-                                                   aLow * bHigh) -
-                                                  aHigh * bLow);
-            prodLowSum += prodLow;
-        }
-
-
-        final double prodHighCur = prodHigh[0];
-        double prodHighNext = prodHigh[1];
-        double sHighPrev = prodHighCur + prodHighNext;
-        double sPrime = sHighPrev - prodHighNext;
-        double sLowSum = (prodHighNext - (sHighPrev - sPrime)) + (prodHighCur - sPrime);
-
-        final int lenMinusOne = len - 1;
-        for (int i = 1; i < lenMinusOne; i++) {
-            prodHighNext = prodHigh[i + 1];
+        double sHighPrev = prodHigh0 + prodHigh1;
+        double sPrime = sHighPrev - prodHigh1;
+        double sLowSum = (prodHigh1 - (sHighPrev - sPrime)) + (prodHigh0 - sPrime);
+
+        for (int i = 2; i < len; i++) {
+            final double prodHighNext = a[i] * b[i];
+            prodLowSum += productLow(a[i], b[i], prodHighNext);
             final double sHighCur = sHighPrev + prodHighNext;
             sPrime = sHighCur - prodHighNext;
             sLowSum += (prodHighNext - (sHighCur - sPrime)) + (sHighPrev - sPrime);
@@ -1097,6 +1081,22 @@ public class MathArrays {
         return result;
     }
 
+    /**
+     * Compute the rounding error of a product.
+     * @param ai first factor
+     * @param bi second factor
+     * @param prodHigh rounded product ai &times; bi
+     * @return exact ai &times; bi - prodHigh
+     * @since 4.0
+     */
+    private static double productLow(final double ai, final double bi, final double prodHigh) {
+        final double aHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(ai) & ((-1L) << 27));
+        final double aLow  = ai - aHigh;
+        final double bHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(bi) & ((-1L) << 27));
+        final double bLow  = bi - bHigh;
+        return aLow * bLow - (((prodHigh - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow);
+    }
+
     /**
      * Compute a linear combination accurately.
      * <p>
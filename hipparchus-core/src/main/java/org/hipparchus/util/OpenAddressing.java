@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+/** Constants and helpers shared by the open addressed maps.
+ * <p>
+ * The maps with int keys ({@link AbstractOpenIntHashMap}) and long keys
+ * ({@link AbstractOpenLongHashMap}) use the same tables layout, probing
+ * sequence and growth policy, only the keys types differ.
+ * </p>
+ * @since 4.0
+ */
+final class OpenAddressing {
+
+    /** Default starting size.
+     * <p>This must be a power of two for bit mask to work properly. </p>
+     */
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /** Multiplier for size growth when map fills up.
+     * <p>This must be a power of two for bit mask to work properly. </p>
+     */
+    static final int RESIZE_MULTIPLIER = 2;
+
+    /** Status indicator for free table entries. */
+    static final byte FREE    = 0;
+
+    /** Status indicator for full table entries. */
+    static final byte FULL    = 1;
+
+    /** Status indicator for removed table entries. */
+    static final byte REMOVED = 2;
+
+    /** Number of bits to perturb the index when probing for collision resolution. */
+    static final int PERTURB_SHIFT = 5;
+
+    /** Load factor for the maps. */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Private constructor for a utility class.
+     */
+    private OpenAddressing() {
+        // nothing to do
+    }
+
+    /**
+     * Compute the capacity needed for a given size.
+     * @param expectedSize expected size of the map
+     * @return capacity to use for the specified size
+     */
+    static int computeCapacity(final int expectedSize) {
+        if (expectedSize == 0) {
+            return 1;
+        }
+        final int capacity   = (int) FastMath.ceil(expectedSize / LOAD_FACTOR);
+        final int powerOfTwo = Integer.highestOneBit(capacity);
+        if (powerOfTwo == capacity) {
+            return capacity;
+        }
+        return nextPowerOfTwo(capacity);
+    }
+
+    /**
+     * Find the smallest power of two greater than the input value
+     * @param i input value
+     * @return smallest power of two greater than the input value
+     */
+    private static int nextPowerOfTwo(final int i) {
+        return Integer.highestOneBit(i) << 1;
+    }
+
+    /**
+     * Check if tables should grow due to increased size.
+     * @param size current size of the map
+     * @param mask bit mask for hash values
+     * @return true if  tables should grow
+     */
+    static boolean shouldGrowTable(final int size, final int mask) {
+        return size > (mask + 1) * LOAD_FACTOR;
+    }
+
+    /**
+     * Perturb the hash for starting probing.
+     * @param hash initial hash
+     * @return perturbed hash
+     */
+    static int perturb(final int hash) {
+        return hash & 0x7fffffff;
+    }
+
+    /**
+     * Compute next probe for collision resolution
+     * @param perturb perturbed hash
+     * @param j previous probe
+     * @return next probe
+     */
+    static int probe(final int perturb, final int j) {
+        return (j << 2) + j + perturb + 1;
+    }
+
+    /**
+     * Change the index sign
+     * @param index initial index
+     * @return changed index
+     */
+    static int changeIndexSign(final int index) {
+        return -index - 1;
+    }
+
+    /**
+     * Compute the hash value of an int key
+     * @param key key to hash
+     * @return hash value of the key
+     */
+    static int hashOf(final int key) {
+        final int h = key ^ ((key >>> 20) ^ (key >>> 12));
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+
+    /**
+     * Compute the hash value of a long key
+     * <p>The high bits of the key are folded into its low bits.</p>
+     * @param key key to hash
+     * @return hash value of the key
+     */
+    static int hashOf(final long key) {
+        return hashOf((int) (key ^ (key >>> 32)));
+    }
+
+}
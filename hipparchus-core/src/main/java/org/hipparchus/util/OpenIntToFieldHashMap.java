@@ -129,6 +129,19 @@ public class OpenIntToFieldHashMap<T extends FieldElement<T>> extends AbstractOp
         return new Iterator();
     }
 
+    /**
+     * Apply an action to all map elements.
+     * <p>Contrary to {@link #iterator()}, this method does not allocate
+     * anything per element. The action must not modify the map.</p>
+     * @param action action to apply to each key/value pair
+     * @exception ConcurrentModificationException if the map is modified by the action
+     * @since 4.0
+     */
+    public void forEach(final IntObjConsumer<? super T> action)
+        throws ConcurrentModificationException {
+        forEachEntry((key, index) -> action.accept(key, values[index]));
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean equals(final Object o) {
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Settings for algorithms that can distribute their work on several threads.
+ * <p>
+ * The settings gather the {@link ForkJoinPool pool} in which tasks are run
+ * and a threshold on the amount of work below which algorithms should
+ * rather use their serial implementation, as the overhead of splitting
+ * and joining tasks would exceed the gain from parallelism. The amount
+ * of work is estimated by each algorithm, generally as the number of
+ * floating point multiply-add operations it will perform.
+ * </p>
+ * <p>
+ * Algorithms using these settings are expected to produce results that
+ * are bit-identical to their serial counterparts, parallelism only
+ * changes the wall clock time.
+ * </p>
+ * <p>
+ * Instances of this class are immutable.
+ * </p>
+ * @since 4.0
+ */
+public class ParallelSettings {
+
+    /** Default threshold on work below which computation is serial. */
+    public static final long DEFAULT_THRESHOLD = 1L << 20;
+
+    /** Pool in which tasks are run. */
+    private final ForkJoinPool pool;
+
+    /** Threshold on work below which computation is serial. */
+    private final long threshold;
+
+    /** Simple constructor using {@link ForkJoinPool#commonPool() common pool}
+     * and {@link #DEFAULT_THRESHOLD default threshold}.
+     */
+    public ParallelSettings() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /** Simple constructor.
+     * @param pool pool in which tasks are run
+     * @param threshold threshold on work below which computation is serial
+     */
+    public ParallelSettings(final ForkJoinPool pool, final long threshold) {
+        MathUtils.checkNotNull(pool);
+        this.pool      = pool;
+        this.threshold = threshold;
+    }
+
+    /** Get the pool in which tasks are run.
+     * @return pool in which tasks are run
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /** Get the threshold on work below which computation is serial.
+     * @return threshold on work below which computation is serial
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /** Check if a computation should be run in parallel.
+     * @param work estimated amount of work of the computation
+     * @return true if {@code work} reaches the threshold and the pool
+     * has more than one thread
+     */
+    public boolean isParallel(final long work) {
+        return work >= threshold && pool.getParallelism() > 1;
+    }
+
+    /** Apply a kernel to a range of indices, using the tasks of the pool.
+     * <p>
+     * The range is split recursively in halves until sub-ranges contain at most
+     * {@code grain} indices, and each sub-range is processed by exactly one call
+     * to the kernel. The method returns when the whole range has been processed.
+     * As this method always uses the pool, callers should check {@link
+     * #isParallel(long)} first and call the kernel on the whole range themselves
+     * for serial computation.
+     * </p>
+     * @param start index of the first element of the range (included)
+     * @param end index of the last element of the range (excluded)
+     * @param grain maximum number of indices processed by one kernel call
+     * (values smaller than 1 are treated as 1)
+     * @param kernel kernel processing sub-ranges
+     */
+    public void forRange(final int start, final int end, final int grain, final RangeKernel kernel) {
+        pool.invoke(new RangeTask(kernel, start, end, FastMath.max(1, grain)));
+    }
+
+    /** Interface for kernels processing a range of indices. */
+    @FunctionalInterface
+    public interface RangeKernel {
+
+        /** Process a range of indices.
+         * @param start index of the first element of the range (included)
+         * @param end index of the last element of the range (excluded)
+         */
+        void apply(int start, int end);
+
+    }
+
+    /** Task processing a range of indices, splitting it recursively. */
+    private static class RangeTask extends RecursiveAction {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Kernel processing sub-ranges. */
+        private final transient RangeKernel kernel;
+
+        /** Index of the first element of the range (included). */
+        private final int start;
+
+        /** Index of the last element of the range (excluded). */
+        private final int end;
+
+        /** Maximum number of indices processed by one kernel call. */
+        private final int grain;
+
+        /** Simple constructor.
+         * @param kernel kernel processing sub-ranges
+         * @param start index of the first element of the range (included)
+         * @param end index of the last element of the range (excluded)
+         * @param grain maximum number of indices processed by one kernel call
+         */
+        RangeTask(final RangeKernel kernel, final int start, final int end, final int grain) {
+            this.kernel = kernel;
+            this.start  = start;
+            this.end    = end;
+            this.grain  = grain;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                kernel.apply(start, end);
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new RangeTask(kernel, start, middle, grain),
+                          new RangeTask(kernel, middle, end, grain));
+            }
+        }
+
+    }
+
+}
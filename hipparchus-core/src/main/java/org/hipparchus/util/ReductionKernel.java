@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Kernels for reductions over arrays of doubles (dot products, norms and distances).
+ * <p>
+ * A naive reduction loop {@code sum += a[i] * b[i]} has a loop-carried dependency on
+ * {@code sum}: each addition must wait for the previous one to complete, so the loop
+ * runs at the latency of floating-point addition rather than at the throughput of
+ * the processor, and the JIT compiler cannot vectorize it without changing the result.
+ * The {@link #UNROLLED} kernels break this dependency by accumulating into several
+ * independent partial sums, which are combined at the end. The {@link #VECTOR} kernels
+ * go one step further and use the SIMD instructions of the processor through the JDK
+ * Vector API, when it is available.
+ * </p>
+ * <p>
+ * Only these reductions are vectorized explicitly. Element-by-element operations like
+ * {@link MathArrays#ebeMultiply(double[], double[])} have no loop-carried dependency, so
+ * the JIT compiler already vectorizes them. {@link MathArrays#linearCombination(double[],
+ * double[])} is not vectorized either, as its error-free transformations must be applied
+ * in a fixed order to preserve its accuracy guarantees and bit-identical results.
+ * </p>
+ * <p>
+ * Changing the order of additions changes the rounding errors, so the kernels do not
+ * return bit-identical results. All are deterministic: for a given kernel, the result
+ * depends only on the input arrays (and for {@link #VECTOR}, on the processor vector
+ * width). The default kernel is {@link #SCALAR}, which gives
+ * the same results as previous versions. It can be changed at runtime using
+ * {@link #setDefault(ReductionKernel)}, which affects {@link MathArrays#distance(double[],
+ * double[])} and the dot products, norms and distances of {@link
+ * org.hipparchus.linear.ArrayRealVector ArrayRealVector}.
+ * </p>
+ * @since 4.0
+ */
+public enum ReductionKernel {
+
+    /** Kernels accumulating in a single sum, in increasing index order. */
+    SCALAR {
+
+        /** {@inheritDoc} */
+        @Override
+        public double dotProduct(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            double sum = 0;
+            for (int i = 0; i < a.length; i++) {
+                sum += a[i] * b[i];
+            }
+            return sum;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double norm(final double[] a) {
+            double sum = 0;
+            for (final double ai : a) {
+                sum += ai * ai;
+            }
+            return FastMath.sqrt(sum);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double distance(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            double sum = 0;
+            for (int i = 0; i < a.length; i++) {
+                final double d = a[i] - b[i];
+                sum += d * d;
+            }
+            return FastMath.sqrt(sum);
+        }
+
+    },
+
+    /** Kernels accumulating in four independent partial sums.
+     * <p>
+     * Element i is accumulated in partial sum i mod 4 (the remaining elements
+     * when length is not a multiple of 4 going to the first sum), and the partial
+     * sums s<sub>0</sub>&hellip;s<sub>3</sub> are combined as
+     * (s<sub>0</sub> + s<sub>1</sub>) + (s<sub>2</sub> + s<sub>3</sub>).
+     * </p>
+     */
+    UNROLLED {
+
+        /** {@inheritDoc} */
+        @Override
+        public double dotProduct(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            int i = 0;
+            while (i < a.length - 3) {
+                s0 += a[i]     * b[i];
+                s1 += a[i + 1] * b[i + 1];
+                s2 += a[i + 2] * b[i + 2];
+                s3 += a[i + 3] * b[i + 3];
+                i  += 4;
+            }
+            while (i < a.length) {
+                s0 += a[i] * b[i];
+                ++i;
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double norm(final double[] a) {
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            int i = 0;
+            while (i < a.length - 3) {
+                s0 += a[i]     * a[i];
+                s1 += a[i + 1] * a[i + 1];
+                s2 += a[i + 2] * a[i + 2];
+                s3 += a[i + 3] * a[i + 3];
+                i  += 4;
+            }
+            while (i < a.length) {
+                s0 += a[i] * a[i];
+                ++i;
+            }
+            return FastMath.sqrt((s0 + s1) + (s2 + s3));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double distance(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            int i = 0;
+            while (i < a.length - 3) {
+                final double d0 = a[i]     - b[i];
+                final double d1 = a[i + 1] - b[i + 1];
+                final double d2 = a[i + 2] - b[i + 2];
+                final double d3 = a[i + 3] - b[i + 3];
+                s0 += d0 * d0;
+                s1 += d1 * d1;
+                s2 += d2 * d2;
+                s3 += d3 * d3;
+                i  += 4;
+            }
+            while (i < a.length) {
+                final double d = a[i] - b[i];
+                s0 += d * d;
+                ++i;
+            }
+            return FastMath.sqrt((s0 + s1) + (s2 + s3));
+        }
+
+    },
+
+    /** Kernels using the SIMD instructions of the processor through the JDK Vector API.
+     * <p>
+     * The Vector API is only used when the library is loaded from its multi-release jar
+     * on Java 17 or later, with the incubating {@code jdk.incubator.vector} module
+     * added to the JVM (using {@code --add-modules jdk.incubator.vector}). Each lane of
+     * the preferred vector species then accumulates its own partial sum, and the lanes
+     * are combined in increasing order at the end. When the Vector API is not used, these
+     * kernels give the same results as {@link #UNROLLED}. {@link #isVectorApiAvailable()}
+     * tells which case applies.
+     * </p>
+     */
+    VECTOR {
+
+        /** {@inheritDoc} */
+        @Override
+        public double dotProduct(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            return VectorReductions.dotProduct(a, b);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double norm(final double[] a) {
+            return VectorReductions.norm(a);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double distance(final double[] a, final double[] b)
+            throws MathIllegalArgumentException {
+            MathArrays.checkEqualLength(a, b);
+            return VectorReductions.distance(a, b);
+        }
+
+    };
+
+    /** Kernel used by default. */
+    private static volatile ReductionKernel defaultKernel = SCALAR;
+
+    /** Get the kernel used by default.
+     * @return kernel used by default
+     */
+    public static ReductionKernel getDefault() {
+        return defaultKernel;
+    }
+
+    /** Set the kernel used by default.
+     * <p>
+     * The kernel is shared by all threads, it is intended to be set once
+     * at application start-up.
+     * </p>
+     * @param kernel kernel to use by default
+     */
+    public static void setDefault(final ReductionKernel kernel) {
+        MathUtils.checkNotNull(kernel);
+        defaultKernel = kernel;
+    }
+
+    /** Check if the {@link #VECTOR} kernels use the JDK Vector API.
+     * @return true if the {@link #VECTOR} kernels use the JDK Vector API,
+     * false if they fall back to the {@link #UNROLLED} kernels
+     */
+    public static boolean isVectorApiAvailable() {
+        return VectorReductions.isAvailable();
+    }
+
+    /** Compute the dot product of two arrays.
+     * @param a first array
+     * @param b second array
+     * @return &Sigma;<sub>i</sub> a<sub>i</sub> b<sub>i</sub>
+     * @throws MathIllegalArgumentException if the array lengths differ
+     */
+    public abstract double dotProduct(double[] a, double[] b)
+        throws MathIllegalArgumentException;
+
+    /** Compute the L<sub>2</sub> (Euclidean) norm of an array.
+     * @param a array
+     * @return &radic;(&Sigma;<sub>i</sub> a<sub>i</sub><sup>2</sup>)
+     */
+    public abstract double norm(double[] a);
+
+    /** Compute the L<sub>2</sub> (Euclidean) distance between two arrays.
+     * @param a first array
+     * @param b second array
+     * @return &radic;(&Sigma;<sub>i</sub> (a<sub>i</sub> - b<sub>i</sub>)<sup>2</sup>)
+     * @throws MathIllegalArgumentException if the array lengths differ
+     */
+    public abstract double distance(double[] a, double[] b)
+        throws MathIllegalArgumentException;
+
+}
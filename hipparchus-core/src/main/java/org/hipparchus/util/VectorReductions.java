@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+/**
+ * Reductions for the {@link ReductionKernel#VECTOR} kernel.
+ * <p>
+ * This is the base version of the class, used on Java 8 to 16 and whenever the
+ * library is not loaded from its multi-release jar. It delegates to the
+ * {@link ReductionKernel#UNROLLED} kernel. The multi-release jar also contains a
+ * Java 17 version of this class, in {@code META-INF/versions/17}, which uses the
+ * JDK Vector API when the {@code jdk.incubator.vector} module is available. It is
+ * compiled by the {@code multi-release} Maven profile, which requires a JDK 17 or
+ * newer and is used for releases.
+ * </p>
+ * <p>
+ * Array lengths are checked by the caller.
+ * </p>
+ * @since 4.0
+ */
+final class VectorReductions {
+
+    /** Private constructor for a utility class.
+     */
+    private VectorReductions() {
+        // nothing to do
+    }
+
+    /** Check if the JDK Vector API is used.
+     * @return true if the JDK Vector API is used
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /** Compute the dot product of two arrays.
+     * @param a first array
+     * @param b second array (same length as {@code a})
+     * @return &Sigma;<sub>i</sub> a<sub>i</sub> b<sub>i</sub>
+     */
+    static double dotProduct(final double[] a, final double[] b) {
+        return ReductionKernel.UNROLLED.dotProduct(a, b);
+    }
+
+    /** Compute the L<sub>2</sub> (Euclidean) norm of an array.
+     * @param a array
+     * @return &radic;(&Sigma;<sub>i</sub> a<sub>i</sub><sup>2</sup>)
+     */
+    static double norm(final double[] a) {
+        return ReductionKernel.UNROLLED.norm(a);
+    }
+
+    /** Compute the L<sub>2</sub> (Euclidean) distance between two arrays.
+     * @param a first array
+     * @param b second array (same length as {@code a})
+     * @return &radic;(&Sigma;<sub>i</sub> (a<sub>i</sub> - b<sub>i</sub>)<sup>2</sup>)
+     */
+    static double distance(final double[] a, final double[] b) {
+        return ReductionKernel.UNROLLED.distance(a, b);
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Reductions for the {@link ReductionKernel#VECTOR} kernel.
+ * <p>
+ * This is the Java 17 version of the class, stored in {@code META-INF/versions/17}
+ * of the multi-release jar. As the JDK Vector API is still incubating, the
+ * {@code jdk.incubator.vector} module is not resolved by default, it must be added
+ * explicitly when starting the JVM with {@code --add-modules jdk.incubator.vector}.
+ * When it is not, this class delegates to the {@link ReductionKernel#UNROLLED} kernel.
+ * </p>
+ * <p>
+ * Each lane of the preferred vector species accumulates its own partial sum, and the
+ * lanes are combined sequentially at the end, so results are deterministic for a given
+ * processor, but depend on its vector width.
+ * </p>
+ * <p>
+ * Array lengths are checked by the caller.
+ * </p>
+ * @since 4.0
+ */
+final class VectorReductions {
+
+    /** Indicator for Vector API availability. */
+    private static final boolean AVAILABLE =
+                    ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Private constructor for a utility class.
+     */
+    private VectorReductions() {
+        // nothing to do
+    }
+
+    /** Check if the JDK Vector API is used.
+     * @return true if the JDK Vector API is used
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /** Compute the dot product of two arrays.
+     * @param a first array
+     * @param b second array (same length as {@code a})
+     * @return &Sigma;<sub>i</sub> a<sub>i</sub> b<sub>i</sub>
+     */
+    static double dotProduct(final double[] a, final double[] b) {
+        return AVAILABLE ? Simd.dotProduct(a, b) : ReductionKernel.UNROLLED.dotProduct(a, b);
+    }
+
+    /** Compute the L<sub>2</sub> (Euclidean) norm of an array.
+     * @param a array
+     * @return &radic;(&Sigma;<sub>i</sub> a<sub>i</sub><sup>2</sup>)
+     */
+    static double norm(final double[] a) {
+        return AVAILABLE ? FastMath.sqrt(Simd.dotProduct(a, a)) : ReductionKernel.UNROLLED.norm(a);
+    }
+
+    /** Compute the L<sub>2</sub> (Euclidean) distance between two arrays.
+     * @param a first array
+     * @param b second array (same length as {@code a})
+     * @return &radic;(&Sigma;<sub>i</sub> (a<sub>i</sub> - b<sub>i</sub>)<sup>2</sup>)
+     */
+    static double distance(final double[] a, final double[] b) {
+        return AVAILABLE ? FastMath.sqrt(Simd.sumOfSquaredDifferences(a, b)) : ReductionKernel.UNROLLED.distance(a, b);
+    }
+
+    /** Holder for the Vector API code, loaded only when the module is available. */
+    private static final class Simd {
+
+        /** Preferred vector species for the running processor. */
+        private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+        /** Private constructor for a utility class.
+         */
+        private Simd() {
+            // nothing to do
+        }
+
+        /** Compute the dot product of two arrays.
+         * @param a first array
+         * @param b second array (same length as {@code a})
+         * @return &Sigma;<sub>i</sub> a<sub>i</sub> b<sub>i</sub>
+         */
+        static double dotProduct(final double[] a, final double[] b) {
+            final int bound = SPECIES.loopBound(a.length);
+            DoubleVector sums = DoubleVector.zero(SPECIES);
+            int i = 0;
+            while (i < bound) {
+                final DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+                final DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+                sums = sums.add(va.mul(vb));
+                i   += SPECIES.length();
+            }
+            double sum = combine(sums);
+            while (i < a.length) {
+                sum += a[i] * b[i];
+                ++i;
+            }
+            return sum;
+        }
+
+        /** Compute the sum of squared differences of two arrays.
+         * @param a first array
+         * @param b second array (same length as {@code a})
+         * @return &Sigma;<sub>i</sub> (a<sub>i</sub> - b<sub>i</sub>)<sup>2</sup>
+         */
+        static double sumOfSquaredDifferences(final double[] a, final double[] b) {
+            final int bound = SPECIES.loopBound(a.length);
+            DoubleVector sums = DoubleVector.zero(SPECIES);
+            int i = 0;
+            while (i < bound) {
+                final DoubleVector d = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i));
+                sums = sums.add(d.mul(d));
+                i   += SPECIES.length();
+            }
+            double sum = combine(sums);
+            while (i < a.length) {
+                final double d = a[i] - b[i];
+                sum += d * d;
+                ++i;
+            }
+            return sum;
+        }
+
+        /** Combine the lanes of partial sums in a fixed order.
+         * <p>
+         * {@code reduceLanes} does not specify the order of additions, it is
+         * therefore not used, so results do not depend on the JVM version.
+         * </p>
+         * @param sums partial sums
+         * @return sum of all lanes
+         */
+        private static double combine(final DoubleVector sums) {
+            double sum = 0;
+            for (int lane = 0; lane < SPECIES.length(); ++lane) {
+                sum += sums.lane(lane);
+            }
+            return sum;
+        }
+
+    }
+
+}
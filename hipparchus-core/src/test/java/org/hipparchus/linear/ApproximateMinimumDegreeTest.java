@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApproximateMinimumDegreeTest {
+
+    @Test
+    void testArrow() {
+        // arrow matrix with dense first row and column: eliminating node 0 first fills everything
+        final int n = 50;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, n);
+            if (i > 0) {
+                builder.addEntry(0, i, 1.0).addEntry(i, 0, 1.0);
+            }
+        }
+        final int[] order = ApproximateMinimumDegree.order(builder.buildCSC().getStorage());
+        checkPermutation(order);
+        // the hub is eliminated last (or second to last, as the last two nodes are equivalent)
+        assertTrue(order[n - 1] == 0 || order[n - 2] == 0);
+        assertEquals(2 * n - 1, new SparseCholeskyDecomposition(builder.buildCSR()).getNumberOfNonZeros());
+    }
+
+    @Test
+    void testDiagonal() {
+        final int n = 10;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 1.0);
+        }
+        checkPermutation(ApproximateMinimumDegree.order(builder.buildCSC().getStorage()));
+    }
+
+    @Test
+    void testNonSymmetricPattern() {
+        final int n = 30;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 1.0);
+            builder.addEntry(i, (7 * i + 3) % n, 1.0);
+        }
+        checkPermutation(ApproximateMinimumDegree.order(builder.buildCSC().getStorage()));
+    }
+
+    @Test
+    void testGridFill() {
+        // on a 2D grid, minimum degree is much better than natural ordering (which has
+        // a fill proportional to n^3 for a n x n grid)
+        final int n = 40;
+        final CSCRealMatrix laplacian = CSRRealMatrixTest.laplacian(n).buildCSC();
+        final int[] order = ApproximateMinimumDegree.order(laplacian.getStorage());
+        checkPermutation(order);
+        final int nnz = new SparseCholeskyDecomposition(laplacian).getNumberOfNonZeros();
+        assertTrue(nnz < n * n * n / 2, "" + nnz);
+    }
+
+    private void checkPermutation(final int[] order) {
+        final boolean[] seen = new boolean[order.length];
+        for (final int i : order) {
+            assertFalse(seen[i]);
+            seen[i] = true;
+        }
+        for (final boolean s : seen) {
+            assertTrue(s);
+        }
+    }
+
+}
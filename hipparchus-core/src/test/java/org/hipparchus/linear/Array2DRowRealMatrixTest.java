@@ -38,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -446,6 +447,77 @@ final class Array2DRowRealMatrixTest {
         }
     }
 
+    /** test operateInto */
+    @Test
+    void testOperateInto() {
+        RealMatrix m = new Array2DRowRealMatrix(testData);
+        final double[] out = new double[3];
+        assertSame(out, m.operateInto(testVector, out));
+        UnitTestUtils.customAssertEquals("operateInto", m.operate(testVector), out, 0.0);
+        final double[] v = testVector.clone();
+        m.operateInto(v, v);
+        UnitTestUtils.customAssertEquals("aliased operateInto", m.operate(testVector), v, 0.0);
+        final RealVector outVector = new ArrayRealVector(3);
+        assertSame(outVector, m.operateInto(new ArrayRealVector(testVector), outVector));
+        UnitTestUtils.customAssertEquals("operateInto", m.operate(testVector), outVector.toArray(), 0.0);
+        try {
+            m.operateInto(testVector, new double[2]);
+            fail("Expecting illegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, ex.getSpecifier());
+        }
+        try {
+            new Array2DRowRealMatrix(bigSingular).operateInto(testVector, new double[4]);
+            fail("Expecting illegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, ex.getSpecifier());
+        }
+    }
+
+    /** test into variants of add, subtract, scalarMultiply and multiply */
+    @Test
+    void testInto() {
+        final RealMatrix m    = new Array2DRowRealMatrix(testData);
+        final RealMatrix mInv = new Array2DRowRealMatrix(testDataInv);
+        final RealMatrix out  = new Array2DRowRealMatrix(3, 3);
+        assertSame(out, m.addInto(mInv, out));
+        assertEquals(m.add(mInv), out);
+        assertSame(out, m.subtractInto(mInv, out));
+        assertEquals(m.subtract(mInv), out);
+        assertSame(out, m.scalarMultiplyInto(2.5, out));
+        assertEquals(m.scalarMultiply(2.5), out);
+        assertSame(out, m.multiplyInto(mInv, out));
+        assertEquals(m.multiply(mInv), out);
+
+        // output aliased with one operand
+        final RealMatrix self = m.copy();
+        self.addInto(mInv, self);
+        assertEquals(m.add(mInv), self);
+        self.subtractInto(mInv, self);
+        UnitTestUtils.customAssertEquals("aliased subtractInto", m, self, entryTolerance);
+        self.scalarMultiplyInto(-1.0, self);
+        assertEquals(m.scalarMultiply(-1.0), self);
+
+        // non-array operands use the generic path
+        final RealMatrix block = new BlockRealMatrix(testDataInv);
+        assertEquals(m.add(mInv), m.addInto(block, new BlockRealMatrix(3, 3)));
+        assertEquals(m.subtract(mInv), m.subtractInto(block, new Array2DRowRealMatrix(3, 3)));
+        assertEquals(m.scalarMultiply(3.0), m.scalarMultiplyInto(3.0, new BlockRealMatrix(3, 3)));
+
+        try {
+            m.addInto(mInv, new Array2DRowRealMatrix(2, 3));
+            fail("Expecting illegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2, ex.getSpecifier());
+        }
+        try {
+            m.scalarMultiplyInto(2.0, new Array2DRowRealMatrix(3, 2));
+            fail("Expecting illegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2, ex.getSpecifier());
+        }
+    }
+
     /** test issue MATH-209 */
     @Test
     void testMath209() {
@@ -163,6 +163,47 @@ public class ArrayRealVectorTest extends RealVectorAbstractTest {
         assertEquals(0d, v.getEntry(0), 0, "");
     }
 
+    @Test
+    void testInto() {
+        final ArrayRealVector u   = new ArrayRealVector(new double[] { 1.0, -2.0, 3.5 });
+        final ArrayRealVector v   = new ArrayRealVector(new double[] { 0.25, 4.0, -1.0 });
+        final ArrayRealVector out = new ArrayRealVector(3);
+        assertSame(out, u.addInto(v, out));
+        assertEquals(u.add(v), out);
+        assertSame(out, u.subtractInto(v, out));
+        assertEquals(u.subtract(v), out);
+        assertSame(out, u.mapMultiplyInto(-3.0, out));
+        assertEquals(u.mapMultiply(-3.0), out);
+
+        // output aliased with an operand
+        final ArrayRealVector w = u.copy();
+        w.addInto(v, w);
+        assertEquals(u.add(v), w);
+        v.subtractInto(w, w);
+        assertEquals(v.subtract(u.add(v)), w);
+        w.mapMultiplyInto(0.5, w);
+        assertEquals(v.subtract(u.add(v)).mapMultiply(0.5), w);
+
+        // generic path
+        final RealVector sparse = new OpenMapRealVector(v);
+        assertEquals(u.add(v), u.addInto(sparse, new OpenMapRealVector(3)));
+        assertEquals(u.subtract(v), u.subtractInto(sparse, new ArrayRealVector(3)));
+        assertEquals(u.mapMultiply(2.0), u.mapMultiplyInto(2.0, new OpenMapRealVector(3)));
+
+        try {
+            u.addInto(v, new ArrayRealVector(2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            // expected
+        }
+        try {
+            u.mapMultiplyInto(2.0, new OpenMapRealVector(4));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            // expected
+        }
+    }
+
     @Test
     void testPredicates() {
 
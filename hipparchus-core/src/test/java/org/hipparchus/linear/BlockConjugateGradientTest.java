@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class BlockConjugateGradientTest {
+
+    @Test
+    void testSameAsSingleRightHandSide() {
+        final RandomGenerator random = new Well19937a(0x58d2e0c47b1a9f63l);
+        final CSRRealMatrix   a      = CSRRealMatrixTest.laplacian(15).buildCSR();
+        final RealMatrix      b      = randomBlock(random, a.getRowDimension(), 5);
+        final RealMatrix      x      = new BlockConjugateGradient(1000, 1.0e-12, true).solve(a, b);
+        for (int j = 0; j < b.getColumnDimension(); ++j) {
+            final RealVector xj = new ConjugateGradient(1000, 1.0e-12, true).solve(a, b.getColumnVector(j));
+            assertEquals(0.0, xj.subtract(x.getColumnVector(j)).getLInfNorm(), 1.0e-13);
+            assertEquals(0.0, a.operate(x.getColumnVector(j)).subtract(b.getColumnVector(j)).getNorm(),
+                         1.0e-11 * b.getColumnVector(j).getNorm());
+        }
+    }
+
+    @Test
+    void testParallelOperator() {
+        final RandomGenerator random = new Well19937a(0xa13f6b2d8e0c4759l);
+        final CSRRealMatrix   a      = CSRRealMatrixTest.laplacian(12).buildCSR();
+        final RealMatrix      b      = randomBlock(random, a.getRowDimension(), 4);
+        final RealMatrix      x1     = new BlockConjugateGradient(1000, 1.0e-12, true).solve(a, b);
+        final RealMatrix      x2     = new BlockConjugateGradient(1000, 1.0e-12, true).
+                                       solve(new ParallelRealLinearOperator(a), b);
+        assertEquals(0.0, x1.subtract(x2).getNorm1(), 1.0e-15);
+    }
+
+    @Test
+    void testGenericOperator() {
+        final RandomGenerator    random = new Well19937a(0x7e4c2a90b6d1f358l);
+        final CSRRealMatrix      a      = CSRRealMatrixTest.laplacian(8).buildCSR();
+        final RealLinearOperator op     = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return a.getRowDimension();
+            }
+            @Override
+            public int getColumnDimension() {
+                return a.getColumnDimension();
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                return a.operate(x);
+            }
+        };
+        final RealMatrix b = randomBlock(random, a.getRowDimension(), 3);
+        final RealMatrix x = new BlockConjugateGradient(1000, 1.0e-12, true).solve(op, b);
+        assertEquals(0.0, a.multiply(x).subtract(b).getNorm1(), 1.0e-10);
+    }
+
+    @Test
+    void testPreconditioner() {
+        final RandomGenerator random = new Well19937a(0x3fb80d5c1e72a946l);
+        final int             n      = 100;
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(n, n);
+        final Array2DRowRealMatrix m = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            // badly scaled diagonal, with Jacobi preconditioner
+            final double d = 1.0 + i * i;
+            a.setEntry(i, i, d);
+            m.setEntry(i, i, 1.0 / d);
+            if (i > 0) {
+                a.setEntry(i, i - 1, 0.5);
+                a.setEntry(i - 1, i, 0.5);
+            }
+        }
+        final RealMatrix b = randomBlock(random, n, 4);
+        final BlockConjugateGradient preconditioned = new BlockConjugateGradient(1000, 1.0e-12, true);
+        final RealMatrix xp = preconditioned.solve(a, m, b);
+        final BlockConjugateGradient plain = new BlockConjugateGradient(1000, 1.0e-12, true);
+        final RealMatrix x = plain.solve(a, b);
+        assertEquals(0.0, a.multiply(xp).subtract(b).getNorm1(), 1.0e-9);
+        assertEquals(0.0, xp.subtract(x).getNorm1(), 1.0e-9);
+        assertTrue(preconditioned.getIterationManager().getIterations() <
+                   plain.getIterationManager().getIterations());
+    }
+
+    @Test
+    void testInitialGuess() {
+        final RandomGenerator random = new Well19937a(0xc6e19a3b5d7f0248l);
+        final CSRRealMatrix   a      = CSRRealMatrixTest.laplacian(10).buildCSR();
+        final RealMatrix      b      = randomBlock(random, a.getRowDimension(), 3);
+        final BlockConjugateGradient solver = new BlockConjugateGradient(1000, 1.0e-12, true);
+        final RealMatrix x0 = solver.solve(a, b);
+        final RealMatrix x1 = x0.copy();
+        assertSame(x1, solver.solveInPlace(a, null, b, x1));
+        // only the initialization phase is needed, as the guesses are already converged
+        assertEquals(1, solver.getIterationManager().getIterations());
+        assertEquals(0.0, x1.subtract(x0).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testZeroColumn() {
+        final RandomGenerator random = new Well19937a(0x1d9f3b7e5a0c2864l);
+        final CSRRealMatrix   a      = CSRRealMatrixTest.laplacian(6).buildCSR();
+        final RealMatrix      b      = randomBlock(random, a.getRowDimension(), 3);
+        b.setColumn(1, new double[a.getRowDimension()]);
+        final RealMatrix x = new BlockConjugateGradient(1000, 1.0e-12, true).solve(a, b);
+        assertEquals(0.0, x.getColumnVector(1).getNorm(), 0.0);
+        assertEquals(0.0, a.multiply(x).subtract(b).getNorm1(), 1.0e-10);
+    }
+
+    @Test
+    void testMaxIterations() {
+        final CSRRealMatrix a = CSRRealMatrixTest.laplacian(20).buildCSR();
+        try {
+            new BlockConjugateGradient(5, 1.0e-12, true).solve(a, new Array2DRowRealMatrix(400, 2).scalarAdd(1.0));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+        }
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final DiagonalMatrix a = new DiagonalMatrix(new double[] { 1.0, -2.0, 3.0 });
+        try {
+            new BlockConjugateGradient(100, 1.0e-12, true).solve(a, MatrixUtils.createRealIdentityMatrix(3));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testDimensions() {
+        final BlockConjugateGradient solver = new BlockConjugateGradient(100, 1.0e-12, true);
+        final DiagonalMatrix a = new DiagonalMatrix(new double[] { 1.0, 1.0, 1.0 });
+        checkMismatch(LocalizedCoreFormats.NON_SQUARE_OPERATOR, () -> solver.solve(new Array2DRowRealMatrix(3, 2),
+                                                                                   new Array2DRowRealMatrix(3, 1)));
+        checkMismatch(LocalizedCoreFormats.DIMENSIONS_MISMATCH, () -> solver.solve(a, new Array2DRowRealMatrix(2, 1)));
+        checkMismatch(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                      () -> solver.solveInPlace(a, null, new Array2DRowRealMatrix(3, 1), new Array2DRowRealMatrix(3, 2)));
+        checkMismatch(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                      () -> solver.solve(a, new Array2DRowRealMatrix(3, 2), new Array2DRowRealMatrix(3, 1)));
+        checkMismatch(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                      () -> solver.solve(a, new Array2DRowRealMatrix(2, 2), new Array2DRowRealMatrix(3, 1)));
+    }
+
+    private void checkMismatch(final LocalizedCoreFormats expected, final Runnable r) {
+        try {
+            r.run();
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(expected, miae.getSpecifier());
+        }
+    }
+
+    private RealMatrix randomBlock(final RandomGenerator random, final int n, final int k) {
+        final RealMatrix b = new Array2DRowRealMatrix(n, k);
+        for (int j = 0; j < k; ++j) {
+            b.setColumn(j, CSRRealMatrixTest.randomArray(random, n));
+        }
+        return b;
+    }
+
+}
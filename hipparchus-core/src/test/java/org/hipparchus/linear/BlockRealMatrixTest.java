@@ -28,11 +28,14 @@ import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -435,6 +438,36 @@ final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    void testParallelProductsBitIdentical() {
+        final Random random = new Random(0x5b3c1f2e4d6a7089l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // zero threshold forces parallel computation even for small matrices
+            final ParallelSettings settings = new ParallelSettings(pool, 0L);
+            for (final int[] dims : new int[][] { { 1, 1, 1 }, { 7, 60, 3 }, { 53, 104, 157 }, { 130, 52, 99 } }) {
+                final BlockRealMatrix a  = createRandomMatrix(random, dims[0], dims[1]);
+                final BlockRealMatrix b  = createRandomMatrix(random, dims[1], dims[2]);
+                final BlockRealMatrix bt = b.transpose();
+                final BlockRealMatrix at = a.transpose();
+                assertArrayEquals(a.multiply(b).getData(), a.multiply(b, settings).getData());
+                assertArrayEquals(a.multiplyTransposed(bt).getData(), a.multiplyTransposed(bt, settings).getData());
+                assertArrayEquals(at.transposeMultiply(b).getData(), at.transposeMultiply(b, settings).getData());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelProductsBelowThreshold() {
+        final Random random = new Random(0x26d9e4b1a8c3f570l);
+        final ParallelSettings settings = new ParallelSettings(ForkJoinPool.commonPool(), Long.MAX_VALUE);
+        final BlockRealMatrix a = createRandomMatrix(random, 60, 70);
+        final BlockRealMatrix b = createRandomMatrix(random, 70, 80);
+        assertArrayEquals(a.multiply(b).getData(), a.multiply(b, settings).getData());
+    }
+
     /** test trace */
     @Test
     void testTrace() {
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link BufferBlockCholeskyDecomposition}.
+ */
+class BufferBlockCholeskyDecompositionTest {
+
+    /** Small buffers, forcing blocks to be spread over several buffers. */
+    private static final int SMALL_CHUNK = 3 * BlockRealMatrix.BLOCK_SIZE * BlockRealMatrix.BLOCK_SIZE;
+
+    @Test
+    void testSameAsCholeskyDecomposition() {
+        final Random random = new Random(0x5c1e8b3f07a2d469l);
+        for (final int n : new int[] { 1, 51, 52, 53, 130 }) {
+            final RealMatrix a = createSpdMatrix(random, n);
+            final CholeskyDecomposition reference = new CholeskyDecomposition(a);
+            final BufferBlockCholeskyDecomposition cd =
+                            new BufferBlockCholeskyDecomposition(copyOf(a, SMALL_CHUNK));
+            assertEquals(0.0, cd.getL().subtract(reference.getL()).getNorm1(), 1.0e-12 * n);
+            assertEquals(0.0, cd.getLT().subtract(reference.getLT()).getNorm1(), 1.0e-12 * n);
+            assertEquals(1.0, cd.getDeterminant() / reference.getDeterminant(), 1.0e-10);
+            assertEquals(0.0, cd.getL().multiply(cd.getLT()).subtract(a).getNorm1(), 1.0e-11 * n);
+        }
+    }
+
+    @Test
+    void testInputPreserved() {
+        final RealMatrix a = createSpdMatrix(new Random(0x2d9f4a6c81e3b057l), 110);
+        final BufferBlockRealMatrix m = copyOf(a, SMALL_CHUNK);
+        new BufferBlockCholeskyDecomposition(m);
+        assertEquals(0.0, m.subtract(a).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testOverwrite() {
+        final RealMatrix a = createSpdMatrix(new Random(0x71b0c5e92f8d3a46l), 110);
+        final BufferBlockRealMatrix m = copyOf(a, SMALL_CHUNK);
+        final BufferBlockCholeskyDecomposition cd =
+                        new BufferBlockCholeskyDecomposition(m,
+                                                             CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                                             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD,
+                                                             true);
+        assertSame(m, cd.getL());
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            for (int j = i + 1; j < m.getColumnDimension(); ++j) {
+                assertEquals(0.0, m.getEntry(i, j), 0.0);
+            }
+        }
+        assertEquals(0.0, m.multiply(cd.getLT()).subtract(a).getNorm1(), 1.0e-9);
+    }
+
+    @Test
+    void testSolve() {
+        final RealMatrix a = createSpdMatrix(new Random(0xe46a1f3b9c05d782l), 130);
+        final DecompositionSolver solver = new BufferBlockCholeskyDecomposition(copyOf(a, SMALL_CHUNK)).getSolver();
+        assertTrue(solver.isNonSingular());
+        assertEquals(130, solver.getRowDimension());
+        assertEquals(130, solver.getColumnDimension());
+
+        final RealVector b = new ArrayRealVector(130, 1.0);
+        assertEquals(0.0, a.operate(solver.solve(b)).subtract(b).getNorm(), 1.0e-10);
+
+        final RealMatrix bm = createSpdMatrix(new Random(0x0b8d2e7f5a6c1394l), 130).getSubMatrix(0, 129, 0, 6);
+        final RealMatrix xm = solver.solve(bm);
+        assertTrue(xm instanceof BufferBlockRealMatrix);
+        assertEquals(0.0, a.multiply(xm).subtract(bm).getNorm1(), 1.0e-8);
+
+        final RealMatrix identity = MatrixUtils.createRealIdentityMatrix(130);
+        assertEquals(0.0, a.multiply(solver.getInverse()).subtract(identity).getNorm1(), 1.0e-10);
+
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> solver.solve(new ArrayRealVector(129)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> solver.solve(new BlockRealMatrix(129, 2)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+    }
+
+    @Test
+    void testNonSquare() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new BufferBlockCholeskyDecomposition(new BufferBlockRealMatrix(60, 55)));
+        assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+    }
+
+    @Test
+    void testNonSymmetric() {
+        final RealMatrix a = createSpdMatrix(new Random(0x68f3c0a15e2b94d7l), 110);
+        a.addToEntry(3, 70, 1.0e-3);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new BufferBlockCholeskyDecomposition(copyOf(a, SMALL_CHUNK)));
+        assertEquals(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX, miae.getSpecifier());
+        assertEquals(3,  ((Integer) miae.getParts()[0]).intValue());
+        assertEquals(70, ((Integer) miae.getParts()[1]).intValue());
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final RealMatrix a = createSpdMatrix(new Random(0x4a07e9d3b51f6c28l), 110);
+        for (int i = 0; i < 110; ++i) {
+            a.setEntry(i, 100, 0.0);
+            a.setEntry(100, i, 0.0);
+        }
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new BufferBlockCholeskyDecomposition(copyOf(a, SMALL_CHUNK)));
+        assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+    }
+
+    private BufferBlockRealMatrix copyOf(final RealMatrix m, final int chunkLength) {
+        final BufferBlockRealMatrix copy =
+                        new BufferBlockRealMatrix(m.getRowDimension(), m.getColumnDimension(), chunkLength);
+        copy.setSubMatrix(m.getData(), 0, 0);
+        return copy;
+    }
+
+    private RealMatrix createSpdMatrix(final Random r, final int n) {
+        final RealMatrix x = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                x.setEntry(i, j, 2 * r.nextDouble() - 1);
+            }
+        }
+        // X X^T + n I is well conditioned and exactly symmetric
+        final RealMatrix a = x.multiplyTransposed(x);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < i; ++j) {
+                a.setEntry(j, i, a.getEntry(i, j));
+            }
+            a.addToEntry(i, i, n);
+        }
+        return a;
+    }
+
+}
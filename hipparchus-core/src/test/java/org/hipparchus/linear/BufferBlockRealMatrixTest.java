@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link BufferBlockRealMatrix}.
+ */
+class BufferBlockRealMatrixTest {
+
+    /** Small buffers, forcing blocks to be spread over several buffers. */
+    private static final int SMALL_CHUNK = 3 * BlockRealMatrix.BLOCK_SIZE * BlockRealMatrix.BLOCK_SIZE;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testEntries() {
+        final Random random = new Random(0x3e5a7c1d9b2f4086l);
+        final BlockRealMatrix reference = createRandomMatrix(random, 113, 67);
+        final BufferBlockRealMatrix m = copyOf(reference, SMALL_CHUNK);
+        assertEquals(113, m.getRowDimension());
+        assertEquals(67, m.getColumnDimension());
+        assertArrayEquals(reference.getData(), m.getData());
+        m.addToEntry(105, 60, 2.5);
+        m.multiplyEntry(3, 55, -3.0);
+        assertEquals(reference.getEntry(105, 60) + 2.5, m.getEntry(105, 60), 0.0);
+        assertEquals(reference.getEntry(3, 55) * -3.0, m.getEntry(3, 55), 0.0);
+        final MathIllegalArgumentException mia =
+                        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(113, 0));
+        assertEquals(LocalizedCoreFormats.ROW_INDEX, mia.getSpecifier());
+        assertThrows(MathIllegalArgumentException.class, () -> new BufferBlockRealMatrix(0, 3));
+    }
+
+    @Test
+    void testCopy() {
+        final Random random = new Random(0x71b04d9e2c6a35f8l);
+        final BufferBlockRealMatrix m = copyOf(createRandomMatrix(random, 60, 110), SMALL_CHUNK);
+        final BufferBlockRealMatrix copy = m.copy();
+        assertArrayEquals(m.getData(), copy.getData());
+        copy.setEntry(59, 109, 1.0e6);
+        assertEquals(1.0e6, copy.getEntry(59, 109), 0.0);
+        assertNotEquals(1.0e6, m.getEntry(59, 109), 0.0);
+        assertEquals(7, m.createMatrix(7, 3).getRowDimension());
+    }
+
+    @Test
+    void testProductsBitIdentical() {
+        final Random random = new Random(0x5c8f3a17e9d20b64l);
+        for (final int[] dims : new int[][] { { 1, 1, 1 }, { 7, 60, 3 }, { 53, 104, 157 }, { 130, 52, 99 } }) {
+            final BlockRealMatrix a = createRandomMatrix(random, dims[0], dims[1]);
+            final BlockRealMatrix b = createRandomMatrix(random, dims[1], dims[2]);
+            final double[][] reference = a.multiply(b).getData();
+            final BufferBlockRealMatrix ba = copyOf(a, SMALL_CHUNK);
+            assertArrayEquals(reference, ba.multiply(copyOf(b, SMALL_CHUNK)).getData());
+            assertArrayEquals(reference, ba.multiply(b).getData());
+            assertArrayEquals(reference, ba.multiply(new Array2DRowRealMatrix(b.getData())).getData());
+        }
+    }
+
+    @Test
+    void testParallelProductBitIdentical() {
+        final Random random = new Random(0x2a9d6e40c13f87b5l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // zero threshold forces parallel computation even for small matrices
+            final ParallelSettings settings = new ParallelSettings(pool, 0L);
+            final BufferBlockRealMatrix a = copyOf(createRandomMatrix(random, 130, 104), SMALL_CHUNK);
+            final BufferBlockRealMatrix b = copyOf(createRandomMatrix(random, 104, 157), SMALL_CHUNK);
+            assertArrayEquals(a.multiply(b).getData(), a.multiply(b, settings).getData());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testTransposeAndVectorProducts() {
+        final Random random = new Random(0x6d14b8f2a05e93c7l);
+        final BlockRealMatrix reference = createRandomMatrix(random, 157, 61);
+        final BufferBlockRealMatrix m = copyOf(reference, SMALL_CHUNK);
+        assertArrayEquals(reference.transpose().getData(), m.transpose().getData());
+        final double[] u = new double[61];
+        final double[] v = new double[157];
+        for (int i = 0; i < u.length; ++i) {
+            u[i] = random.nextDouble();
+        }
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = random.nextDouble();
+        }
+        assertArrayEquals(reference.operate(u), m.operate(u), 0.0);
+        assertArrayEquals(reference.preMultiply(v), m.preMultiply(v), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> m.operate(v));
+        assertThrows(MathIllegalArgumentException.class, () -> m.preMultiply(u));
+    }
+
+    @Test
+    void testWalks() {
+        final Random random = new Random(0x0f9b2e6c4d81a357l);
+        final BlockRealMatrix reference = createRandomMatrix(random, 110, 70);
+        final BufferBlockRealMatrix m = copyOf(reference, SMALL_CHUNK);
+        final RealMatrixChangingVisitor doubler = new DefaultRealMatrixChangingVisitor() {
+            @Override
+            public double visit(final int row, final int column, final double value) {
+                return 2 * value;
+            }
+        };
+        reference.walkInOptimizedOrder(doubler, 40, 108, 3, 60);
+        m.walkInOptimizedOrder(doubler, 40, 108, 3, 60);
+        assertArrayEquals(reference.getData(), m.getData());
+        reference.walkInOptimizedOrder(doubler);
+        m.walkInOptimizedOrder(doubler);
+        assertArrayEquals(reference.getData(), m.getData());
+
+        final double[] sums = new double[2];
+        m.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            @Override
+            public void visit(final int row, final int column, final double value) {
+                sums[0] += value;
+            }
+        });
+        m.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            @Override
+            public void visit(final int row, final int column, final double value) {
+                sums[1] += value;
+            }
+        }, 0, 109, 0, 69);
+        double expected = 0;
+        for (final double[] row : reference.getData()) {
+            for (final double x : row) {
+                expected += x;
+            }
+        }
+        assertEquals(expected, sums[0], 1.0e-12 * FastMath.abs(expected));
+        assertEquals(sums[0], sums[1], 0.0);
+    }
+
+    @Test
+    void testMapped() throws IOException {
+        final Random random = new Random(0x48e1c7a35b9f2d06l);
+        final BlockRealMatrix reference = createRandomMatrix(random, 120, 75);
+        final File file = new File(tempDir, "matrix.bin");
+        final long offset = 64;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final BufferBlockRealMatrix m = BufferBlockRealMatrix.map(channel, offset, 120, 75, SMALL_CHUNK);
+            m.setSubMatrix(reference.getData(), 0, 0);
+            m.force();
+            assertEquals(offset + 8L * 120 * 75, channel.size());
+        }
+
+        // reload the matrix from the file, with a different buffers layout
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final BufferBlockRealMatrix m = BufferBlockRealMatrix.map(channel, offset, 120, 75);
+            assertArrayEquals(reference.getData(), m.getData());
+        }
+    }
+
+    @Test
+    void testDecomposition() {
+        final Random random = new Random(0x93a6f0d2c85e174bl);
+        final BlockRealMatrix reference = createRandomMatrix(random, 80, 80);
+        final BufferBlockRealMatrix m = copyOf(reference, SMALL_CHUNK);
+        final RealVector b = new ArrayRealVector(80, 1.0);
+        final RealVector x = new LUDecomposition(m).getSolver().solve(b);
+        assertEquals(0.0, m.operate(x).subtract(b).getNorm(), 1.0e-10);
+    }
+
+    private BufferBlockRealMatrix copyOf(final RealMatrix m, final int chunkLength) {
+        final BufferBlockRealMatrix copy =
+                        new BufferBlockRealMatrix(m.getRowDimension(), m.getColumnDimension(), chunkLength);
+        copy.setSubMatrix(m.getData(), 0, 0);
+        return copy;
+    }
+
+    private BlockRealMatrix createRandomMatrix(final Random r, final int rows, final int columns) {
+        final BlockRealMatrix m = new BlockRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 200 * r.nextDouble() - 100);
+            }
+        }
+        return m;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CSCRealMatrixTest {
+
+    @Test
+    void testSetEntry() {
+        final CSCRealMatrix m = new CSCRealMatrix(3, 4);
+        m.setEntry(2, 3, 1.5);
+        m.setEntry(0, 3, -1.0);
+        m.setEntry(1, 0, 4.0);
+        m.addToEntry(1, 0, 1.0);
+        m.setEntry(2, 2, 0.0);
+        assertEquals(3, m.getNumberOfStoredEntries());
+        assertArrayEquals(new double[] { 0.0, 5.0, 0.0 }, m.getColumn(0), 0.0);
+        assertArrayEquals(new double[] { 0.0, 0.0, 0.0 }, m.getColumn(2), 0.0);
+        assertArrayEquals(new double[] { -1.0, 0.0, 1.5 }, m.getColumn(3), 0.0);
+        try {
+            m.setEntry(0, 4, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.COLUMN_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testRawArrays() {
+        final CSCRealMatrix m = new CSCRealMatrix(3, 2,
+                                                  new int[] { 0, 2, 3 },
+                                                  new int[] { 0, 2, 1 },
+                                                  new double[] { 1.0, 2.0, 3.0 });
+        assertArrayEquals(new double[] { 1.0, 0.0, 2.0 }, m.getColumn(0), 0.0);
+        assertArrayEquals(new double[] { 0.0, 3.0, 0.0 }, m.getColumn(1), 0.0);
+        try {
+            new CSCRealMatrix(3, 2, new int[] { 0, 2, 3 }, new int[] { 0, 0, 1 }, new double[] { 1.0, 2.0, 3.0 });
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well19937a(0x3a5c7e9f1b2d4f60l);
+        final CSCRealMatrix   sparse = CSRRealMatrixTest.randomMatrix(random, 40, 25, 120).buildCSC();
+        final RealMatrix      dense  = new Array2DRowRealMatrix(sparse.getData());
+        final double[]        x      = CSRRealMatrixTest.randomArray(random, 25);
+        final double[]        y      = CSRRealMatrixTest.randomArray(random, 40);
+        assertArrayEquals(dense.operate(x), sparse.operate(x), 1.0e-14);
+        assertArrayEquals(dense.preMultiply(y), sparse.preMultiply(y), 1.0e-14);
+        final double[] out = new double[40];
+        sparse.operateInto(x, out);
+        assertArrayEquals(dense.operate(x), out, 1.0e-14);
+        try {
+            sparse.operate(y);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testSameAsCSR() {
+        final RandomGenerator         random  = new Well19937a(0x6e8f0a2c4d1b3957l);
+        final SparseRealMatrixBuilder builder = CSRRealMatrixTest.randomMatrix(random, 17, 11, 50);
+        assertEquals(builder.buildCSR(), builder.buildCSC());
+        assertEquals(builder.buildCSR().getNumberOfStoredEntries(),
+                     builder.buildCSC().getNumberOfStoredEntries());
+    }
+
+    @Test
+    void testMultiply() {
+        final RandomGenerator random = new Well19937a(0x0b1d3f5a7c9e2468l);
+        final CSCRealMatrix   a      = CSRRealMatrixTest.randomMatrix(random, 30, 20, 90).buildCSC();
+        final CSCRealMatrix   b      = CSRRealMatrixTest.randomMatrix(random, 20, 35, 80).buildCSC();
+        final RealMatrix      ref    = new Array2DRowRealMatrix(a.getData()).
+                                       multiply(new Array2DRowRealMatrix(b.getData()));
+        final CSCRealMatrix   ab     = a.multiply(b);
+        assertEquals(0.0, ab.subtract(ref).getNorm1(), 1.0e-13);
+        final RealMatrix abDense = a.multiply(new Array2DRowRealMatrix(b.getData()));
+        assertTrue(abDense instanceof Array2DRowRealMatrix);
+        assertEquals(0.0, abDense.subtract(ref).getNorm1(), 1.0e-13);
+        final RealMatrix abBlock = a.multiply(new BlockRealMatrix(b.getData()));
+        assertEquals(0.0, abBlock.subtract(ref).getNorm1(), 1.0e-13);
+    }
+
+    @Test
+    void testAddSubtractTranspose() {
+        final RandomGenerator random = new Well19937a(0x5f4e3d2c1b0a9988l);
+        final CSCRealMatrix   a      = CSRRealMatrixTest.randomMatrix(random, 12, 15, 40).buildCSC();
+        final CSCRealMatrix   b      = CSRRealMatrixTest.randomMatrix(random, 12, 15, 40).buildCSC();
+        final RealMatrix      da     = new Array2DRowRealMatrix(a.getData());
+        final RealMatrix      db     = new Array2DRowRealMatrix(b.getData());
+        assertEquals(0.0, a.add(b).subtract(da.add(db)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, a.subtract(b).subtract(da.subtract(db)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, a.scalarMultiply(3.0).subtract(da.scalarMultiply(3.0)).getNorm1(), 1.0e-14);
+        final CSRRealMatrix at = a.transpose();
+        assertEquals(0.0, at.subtract(da.transpose()).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testConjugateGradient() {
+        final CSCRealMatrix laplacian = CSRRealMatrixTest.laplacian(15).buildCSC();
+        final RealVector    x         = new ArrayRealVector(laplacian.getColumnDimension(), 1.0);
+        final RealVector    b         = laplacian.operate(x);
+        final RealVector    solution  = new ConjugateGradient(1000, 1.0e-12, true).solve(laplacian, b);
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-9);
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CSRRealMatrixTest {
+
+    @Test
+    void testDimensions() {
+        final CSRRealMatrix m = new CSRRealMatrix(3, 5);
+        assertEquals(3, m.getRowDimension());
+        assertEquals(5, m.getColumnDimension());
+        assertEquals(0, m.getNumberOfStoredEntries());
+        assertEquals(0.0, m.getNorm1(), 0.0);
+    }
+
+    @Test
+    void testHugeDimensions() {
+        // this would overflow the int keys of OpenMapRealMatrix
+        final CSRRealMatrix m = new CSRRealMatrix(100000, 100000);
+        m.setEntry(99999, 99999, 2.0);
+        m.setEntry(0, 99999, 3.0);
+        final double[] x = new double[100000];
+        x[99999] = 1.0;
+        final double[] y = m.operate(x);
+        assertEquals(3.0, y[0], 0.0);
+        assertEquals(2.0, y[99999], 0.0);
+        assertEquals(2, m.getNumberOfStoredEntries());
+    }
+
+    @Test
+    void testSetEntry() {
+        final CSRRealMatrix m = new CSRRealMatrix(4, 4);
+        m.setEntry(2, 3, 1.5);
+        m.setEntry(2, 0, -1.0);
+        m.setEntry(0, 1, 4.0);
+        m.addToEntry(3, 3, 2.0);
+        m.addToEntry(3, 3, 2.0);
+        m.multiplyEntry(0, 1, 0.5);
+        m.multiplyEntry(1, 1, 0.5);
+        m.setEntry(1, 2, 0.0);
+        assertEquals(4, m.getNumberOfStoredEntries());
+        assertArrayEquals(new double[] {  0.0, 2.0, 0.0, 0.0 }, m.getRow(0), 0.0);
+        assertArrayEquals(new double[] {  0.0, 0.0, 0.0, 0.0 }, m.getRow(1), 0.0);
+        assertArrayEquals(new double[] { -1.0, 0.0, 0.0, 1.5 }, m.getRow(2), 0.0);
+        assertArrayEquals(new double[] {  0.0, 0.0, 0.0, 4.0 }, m.getRow(3), 0.0);
+
+        // explicit zeros are kept
+        m.setEntry(2, 0, 0.0);
+        assertEquals(4, m.getNumberOfStoredEntries());
+        assertEquals(0.0, m.getEntry(2, 0), 0.0);
+
+        try {
+            m.setEntry(4, 0, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.ROW_INDEX, miae.getSpecifier());
+        }
+        try {
+            m.getEntry(0, -1);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.COLUMN_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testRawArrays() {
+        final CSRRealMatrix m = new CSRRealMatrix(2, 3,
+                                                  new int[] { 0, 2, 3 },
+                                                  new int[] { 0, 2, 1 },
+                                                  new double[] { 1.0, 2.0, 3.0 });
+        assertArrayEquals(new double[] { 1.0, 0.0, 2.0 }, m.getRow(0), 0.0);
+        assertArrayEquals(new double[] { 0.0, 3.0, 0.0 }, m.getRow(1), 0.0);
+        checkRawArraysError(new int[] { 0, 2 }, new int[] { 0, 2, 1 },
+                            LocalizedCoreFormats.DIMENSIONS_MISMATCH);
+        checkRawArraysError(new int[] { 0, 3, 2 }, new int[] { 0, 2, 1 },
+                            LocalizedCoreFormats.NOT_INCREASING_SEQUENCE);
+        checkRawArraysError(new int[] { 0, 2, 3 }, new int[] { 2, 0, 1 },
+                            LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE);
+        checkRawArraysError(new int[] { 0, 2, 3 }, new int[] { 0, 3, 1 },
+                            LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE);
+    }
+
+    private void checkRawArraysError(final int[] pointers, final int[] indices,
+                                     final LocalizedCoreFormats expected) {
+        try {
+            new CSRRealMatrix(2, 3, pointers, indices, new double[] { 1.0, 2.0, 3.0 });
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(expected, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well19937a(0x7b3c1f5e2a8d4906l);
+        final CSRRealMatrix   sparse = randomMatrix(random, 40, 25, 120).buildCSR();
+        final RealMatrix      dense  = new Array2DRowRealMatrix(sparse.getData());
+        final double[]        x      = randomArray(random, 25);
+        final double[]        y      = randomArray(random, 40);
+        assertArrayEquals(dense.operate(x), sparse.operate(x), 1.0e-14);
+        assertArrayEquals(dense.operate(new ArrayRealVector(x)).toArray(),
+                          sparse.operate(new ArrayRealVector(x)).toArray(), 1.0e-14);
+        assertArrayEquals(dense.preMultiply(y), sparse.preMultiply(y), 1.0e-14);
+        final double[] out = new double[40];
+        sparse.operateInto(x, out);
+        assertArrayEquals(dense.operate(x), out, 1.0e-14);
+        try {
+            sparse.operate(y);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            sparse.preMultiply(x);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testMultiplySparse() {
+        final RandomGenerator random = new Well19937a(0x2f91d6c04e7ab153l);
+        final CSRRealMatrix   a      = randomMatrix(random, 30, 20, 90).buildCSR();
+        final CSRRealMatrix   b      = randomMatrix(random, 20, 35, 80).buildCSR();
+        final CSRRealMatrix   ab     = a.multiply(b);
+        final RealMatrix      ref    = new Array2DRowRealMatrix(a.getData()).
+                                       multiply(new Array2DRowRealMatrix(b.getData()));
+        assertEquals(0.0, ab.subtract(ref).getNorm1(), 1.0e-13);
+        try {
+            a.multiply(a);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testMultiplyDense() {
+        final RandomGenerator random = new Well19937a(0x5d0e83a96f2c17b4l);
+        final CSRRealMatrix   a      = randomMatrix(random, 30, 20, 90).buildCSR();
+        final RealMatrix      b      = new Array2DRowRealMatrix(20, 7);
+        for (int i = 0; i < b.getRowDimension(); ++i) {
+            b.setRow(i, randomArray(random, b.getColumnDimension()));
+        }
+        final RealMatrix ref = new Array2DRowRealMatrix(a.getData()).multiply(b);
+        final RealMatrix ab1 = a.multiply(b);
+        assertTrue(ab1 instanceof Array2DRowRealMatrix);
+        assertEquals(0.0, ab1.subtract(ref).getNorm1(), 1.0e-13);
+        final RealMatrix ab2 = a.multiply(new BlockRealMatrix(b.getData()));
+        assertTrue(ab2 instanceof BlockRealMatrix);
+        assertEquals(0.0, ab2.subtract(ref).getNorm1(), 1.0e-13);
+    }
+
+    @Test
+    void testAddSubtractScale() {
+        final RandomGenerator random = new Well19937a(0x98a4c2e1b7d3f605l);
+        final CSRRealMatrix   a      = randomMatrix(random, 12, 15, 40).buildCSR();
+        final CSRRealMatrix   b      = randomMatrix(random, 12, 15, 40).buildCSR();
+        final RealMatrix      da     = new Array2DRowRealMatrix(a.getData());
+        final RealMatrix      db     = new Array2DRowRealMatrix(b.getData());
+        assertEquals(0.0, a.add(b).subtract(da.add(db)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, a.subtract(b).subtract(da.subtract(db)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, a.scalarMultiply(-2.5).subtract(da.scalarMultiply(-2.5)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, a.add(db).subtract(da.add(db)).getNorm1(), 1.0e-14);
+        assertTrue(a.add(b) instanceof CSRRealMatrix);
+        assertTrue(a.scalarMultiply(2.0) instanceof CSRRealMatrix);
+    }
+
+    @Test
+    void testTranspose() {
+        final RandomGenerator random = new Well19937a(0x41e6b09d3c7f2a58l);
+        final CSRRealMatrix   a      = randomMatrix(random, 9, 14, 30).buildCSR();
+        final CSCRealMatrix   at     = a.transpose();
+        assertEquals(0.0, at.subtract(new Array2DRowRealMatrix(a.getData()).transpose()).getNorm1(), 0.0);
+        assertEquals(0.0, at.transpose().subtract(a).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testCopy() {
+        final CSRRealMatrix a = randomMatrix(new Well19937a(0x1c2d3e4f5a6b7c8dl), 5, 5, 10).buildCSR();
+        final CSRRealMatrix b = a.copy();
+        assertEquals(a, b);
+        b.setEntry(0, 0, 1000.0);
+        assertTrue(a.getEntry(0, 0) != 1000.0);
+    }
+
+    @Test
+    void testConjugateGradient() {
+        final CSRRealMatrix laplacian = laplacian(20).buildCSR();
+        final RealVector    x         = new ArrayRealVector(laplacian.getColumnDimension(), 1.0);
+        final RealVector    b         = laplacian.operate(x);
+        final RealVector    solution  = new ConjugateGradient(1000, 1.0e-12, true).solve(laplacian, b);
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-9);
+    }
+
+    @Test
+    void testSymmLQ() {
+        final CSRRealMatrix laplacian = laplacian(20).buildCSR();
+        final RealVector    x         = new ArrayRealVector(laplacian.getColumnDimension(), 1.0);
+        final RealVector    b         = laplacian.operate(x);
+        final RealVector    solution  = new SymmLQ(1000, 1.0e-12, true).solve(laplacian, b);
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-9);
+    }
+
+    /** Build the 5 points finite differences Laplacian on a square grid.
+     * @param n number of points in each direction
+     * @return builder for the n<sup>2</sup>&times;n<sup>2</sup> Laplacian
+     */
+    static SparseRealMatrixBuilder laplacian(final int n) {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n * n, n * n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final int k = i * n + j;
+                builder.addEntry(k, k, 4.0);
+                if (i > 0) {
+                    builder.addEntry(k, k - n, -1.0);
+                }
+                if (i < n - 1) {
+                    builder.addEntry(k, k + n, -1.0);
+                }
+                if (j > 0) {
+                    builder.addEntry(k, k - 1, -1.0);
+                }
+                if (j < n - 1) {
+                    builder.addEntry(k, k + 1, -1.0);
+                }
+            }
+        }
+        return builder;
+    }
+
+    /** Build a random sparse matrix.
+     * @param random random generator
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param n number of triplets
+     * @return builder for the random matrix
+     */
+    static SparseRealMatrixBuilder randomMatrix(final RandomGenerator random,
+                                                final int rows, final int columns, final int n) {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(rows, columns);
+        for (int k = 0; k < n; ++k) {
+            builder.addEntry(random.nextInt(rows), random.nextInt(columns), 2 * random.nextDouble() - 1);
+        }
+        return builder;
+    }
+
+    /** Build a random array.
+     * @param random random generator
+     * @param n array size
+     * @return random array
+     */
+    static double[] randomArray(final RandomGenerator random, final int n) {
+        final double[] a = new double[n];
+        for (int i = 0; i < n; ++i) {
+            a[i] = 2 * random.nextDouble() - 1;
+        }
+        return a;
+    }
+
+}
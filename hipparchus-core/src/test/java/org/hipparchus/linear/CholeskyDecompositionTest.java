@@ -22,10 +22,15 @@
 
 package org.hipparchus.linear;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.ParallelSettings;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -172,4 +177,115 @@ class CholeskyDecompositionTest {
         assertTrue(l  == llt.getL());
         assertTrue(lt == llt.getLT());
     }
+
+    @Test
+    void testBlockedBitIdentical() {
+        final Random random = new Random(0x2c7f90e4a3b15d68l);
+        final RealMatrix a = new Array2DRowRealMatrix(161, 161);
+        for (int i = 0; i < a.getRowDimension(); ++i) {
+            for (int j = 0; j < a.getColumnDimension(); ++j) {
+                a.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        final RealMatrix matrix = a.transposeMultiply(a).add(MatrixUtils.createRealIdentityMatrix(161));
+        final CholeskyDecomposition reference = new CholeskyDecomposition(matrix);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // zero threshold forces parallel computation even for small matrices
+            final ParallelSettings parallel = new ParallelSettings(pool, 0L);
+            for (final int blockSize : new int[] { 1, 7, BlockRealMatrix.BLOCK_SIZE, 200 }) {
+                for (final ParallelSettings settings : new ParallelSettings[] { null, parallel }) {
+                    final CholeskyDecomposition llt =
+                                    new CholeskyDecomposition(matrix,
+                                                              CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                                              CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD,
+                                                              blockSize, settings);
+                    assertArrayEquals(reference.getLT().getData(), llt.getLT().getData());
+                    assertEquals(reference.getDeterminant(), llt.getDeterminant(), 0.0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedErrors() {
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(testData);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new CholeskyDecomposition(matrix, 1.0e-15, 1.0e-10, 0, null));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        final RealMatrix notPositive = matrix.copy();
+        notPositive.setEntry(4, 4, 0.0);
+        for (final int blockSize : new int[] { 1, 2, 3 }) {
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> new CholeskyDecomposition(notPositive, 1.0e-15, 1.0e-10, blockSize, null));
+        }
+        final RealMatrix notSymmetric = matrix.copy();
+        notSymmetric.setEntry(0, 4, 12.0);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new CholeskyDecomposition(notSymmetric, 1.0e-15, 1.0e-10, 2, null));
+    }
+
+    @Test
+    void testBlockedDecomposer() {
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(testData);
+        final RealVector b = new ArrayRealVector(new double[] { 1, 2, 3, 4, 5 });
+        assertArrayEquals(new CholeskyDecomposer(1.0e-15, 1.0e-10).decompose(matrix).solve(b).toArray(),
+                          new CholeskyDecomposer(1.0e-15, 1.0e-10, 2, new ParallelSettings()).
+                          decompose(matrix).solve(b).toArray(),
+                          0.0);
+    }
+
+    @Test
+    void testRankOneUpdate() {
+        final Random random = new Random(0x1e6b47d0c92af385l);
+        final int n = 40;
+        final RealMatrix x = new Array2DRowRealMatrix(100, n);
+        for (int i = 0; i < x.getRowDimension(); ++i) {
+            for (int j = 0; j < n; ++j) {
+                x.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+
+        // sliding window on the normal equations: add one observation, remove the oldest one
+        RealMatrix a = x.getSubMatrix(0, 59, 0, n - 1).transposeMultiply(x.getSubMatrix(0, 59, 0, n - 1));
+        CholeskyDecomposition llt = new CholeskyDecomposition(a);
+        for (int k = 60; k < 100; ++k) {
+            final RealVector added   = x.getRowVector(k);
+            final RealVector removed = x.getRowVector(k - 60);
+            a   = a.add(added.outerProduct(added)).subtract(removed.outerProduct(removed));
+            llt = llt.update(added).downdate(removed);
+        }
+        final CholeskyDecomposition reference = new CholeskyDecomposition(a);
+        assertEquals(0, llt.getL().multiply(llt.getLT()).subtract(a).getNorm1(), 1.0e-12 * a.getNorm1());
+        assertEquals(0, llt.getLT().subtract(reference.getLT()).getNorm1(), 1.0e-11);
+        assertEquals(1.0, llt.getDeterminant() / reference.getDeterminant(), 1.0e-10);
+        final RealVector b = x.getRowVector(0);
+        assertEquals(0, llt.getSolver().solve(b).subtract(reference.getSolver().solve(b)).getNorm(),
+                     1.0e-10 * reference.getSolver().solve(b).getNorm());
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < i; ++j) {
+                assertEquals(0.0, llt.getLT().getEntry(i, j), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testUpdateErrors() {
+        final CholeskyDecomposition llt = new CholeskyDecomposition(MatrixUtils.createRealIdentityMatrix(3));
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> llt.update(new ArrayRealVector(4)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> llt.downdate(new ArrayRealVector(new double[] { 0, 1, 0 })));
+        assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        // the original decomposition is not modified
+        assertEquals(1.0, llt.downdate(new ArrayRealVector(new double[] { 0, 0.5, 0 })).update(
+                          new ArrayRealVector(new double[] { 0, 0.5, 0 })).getDeterminant(), 1.0e-15);
+        assertEquals(1.0, llt.getDeterminant(), 0.0);
+    }
+
 }
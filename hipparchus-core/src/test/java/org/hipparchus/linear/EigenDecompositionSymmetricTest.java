@@ -673,6 +673,105 @@ public class EigenDecompositionSymmetricTest {
         return found;
     }
 
+    @Test
+    void testDivideAndConquerRandomTridiagonal() {
+        final Random r = new Random(0x6f1c42d8b9a3e075l);
+        for (final int n : new int[] { 1, 2, 25, 26, 60, 257 }) {
+            final double[] main      = new double[n];
+            final double[] secondary = new double[FastMath.max(0, n - 1)];
+            for (int i = 0; i < n; ++i) {
+                main[i] = 2 * r.nextDouble() - 1;
+            }
+            for (int i = 0; i < secondary.length; ++i) {
+                secondary[i] = 2 * r.nextDouble() - 1;
+            }
+            checkDivideAndConquer(main, secondary, 2.0e-14 * n);
+        }
+    }
+
+    @Test
+    void testDivideAndConquerDeflation() {
+        // Wilkinson matrix W+ 201, with pairs of very close eigenvalues
+        final int n = 201;
+        final double[] main      = new double[n];
+        final double[] secondary = new double[n - 1];
+        for (int i = 0; i < n; ++i) {
+            main[i] = FastMath.abs(i - n / 2);
+        }
+        Arrays.fill(secondary, 1.0);
+        checkDivideAndConquer(main, secondary, 1.0e-11);
+
+        // tiny and zero couplings, with repeated diagonal elements
+        final double[] main2      = new double[120];
+        final double[] secondary2 = new double[119];
+        for (int i = 0; i < main2.length; ++i) {
+            main2[i] = i % 3;
+        }
+        for (int i = 0; i < secondary2.length; ++i) {
+            secondary2[i] = (i % 7 == 0) ? 0.0 : 1.0e-10 * (i % 5);
+        }
+        checkDivideAndConquer(main2, secondary2, 1.0e-12);
+
+        // negative couplings
+        final double[] secondary3 = new double[n - 1];
+        for (int i = 0; i < secondary3.length; ++i) {
+            secondary3[i] = (i % 2 == 0) ? -1.0 : 0.5;
+        }
+        checkDivideAndConquer(main, secondary3, 1.0e-11);
+    }
+
+    @Test
+    void testDivideAndConquerFullMatrix() {
+        final Random r = new Random(0x1ea9d4c57b302f86l);
+        final double[] eigenValues = new double[90];
+        for (int i = 0; i < eigenValues.length; ++i) {
+            eigenValues[i] = (i % 10 == 0) ? 3.0 : 10 * r.nextDouble() - 5;
+        }
+        final RealMatrix m = createTestMatrix(r, eigenValues);
+        final EigenDecompositionSymmetric ql =
+                        new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON, true);
+        final EigenDecompositionSymmetric dc =
+                        new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON, true,
+                                                        TridiagonalEigenSolver.DIVIDE_AND_CONQUER);
+        for (int i = 0; i < eigenValues.length; ++i) {
+            assertEquals(ql.getEigenvalue(i), dc.getEigenvalue(i), 1.0e-12);
+        }
+        final RealMatrix v = dc.getV();
+        assertEquals(0.0,
+                     m.multiply(v).subtract(v.multiply(dc.getD())).getNorm1(),
+                     1.0e-11);
+        assertEquals(0.0,
+                     v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(90)).getNorm1(),
+                     1.0e-12);
+    }
+
+    private void checkDivideAndConquer(final double[] main, final double[] secondary, final double tolerance) {
+        final int n = main.length;
+        final EigenDecompositionSymmetric ql =
+                        new EigenDecompositionSymmetric(main, secondary,
+                                                        EigenDecompositionSymmetric.DEFAULT_EPSILON, false);
+        final EigenDecompositionSymmetric dc =
+                        new EigenDecompositionSymmetric(main, secondary,
+                                                        EigenDecompositionSymmetric.DEFAULT_EPSILON, false,
+                                                        TridiagonalEigenSolver.DIVIDE_AND_CONQUER);
+        final RealMatrix t = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            t.setEntry(i, i, main[i]);
+            if (i + 1 < n) {
+                t.setEntry(i, i + 1, secondary[i]);
+                t.setEntry(i + 1, i, secondary[i]);
+            }
+        }
+        for (int i = 0; i < n; ++i) {
+            assertEquals(ql.getEigenvalue(i), dc.getEigenvalue(i), tolerance);
+        }
+        final RealMatrix v = dc.getV();
+        assertEquals(0.0, t.multiply(v).subtract(v.multiply(dc.getD())).getNorm1(), tolerance);
+        assertEquals(0.0,
+                     v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                     tolerance);
+    }
+
     @BeforeEach
     void setUp() {
         refValues = new double[] {
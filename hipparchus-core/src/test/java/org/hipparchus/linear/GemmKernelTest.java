@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for {@link GemmKernel}.
+ */
+class GemmKernelTest {
+
+    @Test
+    void testBitIdenticalToNaiveLoop() {
+        final RandomGenerator random = new Well19937a(0x4a91c3e7d20b56f8l);
+        // dimensions chosen to exercise micro-kernel remainders and both panel sizes
+        for (final int[] dims : new int[][] {
+            { 1, 1, 1 }, { 3, 5, 2 }, { 4, 4, 4 }, { 7, 13, 9 },
+            { 17, GemmKernel.KC + 3, 11 }, { 9, 5, GemmKernel.NC + 7 }, { 6, 2 * GemmKernel.KC + 1, GemmKernel.NC + 1 }
+        }) {
+            final double[][] a = random(random, dims[0], dims[1]);
+            final double[][] b = random(random, dims[1], dims[2]);
+            final double[][] c = new double[dims[0]][dims[2]];
+            GemmKernel.multiply(1.0, a, b, 0.0, c);
+            final double[][] ref = naive(a, b);
+            for (int i = 0; i < ref.length; ++i) {
+                assertArrayEquals(ref[i], c[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testTransposed() {
+        final RandomGenerator random = new Well19937a(0x1f63d8a2b97e40c5l);
+        for (final int[] dims : new int[][] { { 1, 1, 1 }, { 7, 13, 9 }, { 6, GemmKernel.KC + 2, GemmKernel.NC + 3 } }) {
+            final double[][] a = random(random, dims[1], dims[0]);
+            final double[][] b = random(random, dims[1], dims[2]);
+            final double[][] c = new double[dims[0]][dims[2]];
+            GemmKernel.transposeMultiply(1.0, a, b, 0.0, c);
+            final double[][] ref = naive(new Array2DRowRealMatrix(a).transpose().getData(), b);
+            for (int i = 0; i < ref.length; ++i) {
+                assertArrayEquals(ref[i], c[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testAlphaBeta() {
+        final RandomGenerator random = new Well19937a(0x8c2e5f07a3d91b64l);
+        final double[][] a  = random(random, 11, 7);
+        final double[][] b  = random(random, 7, 5);
+        final double[][] c0 = random(random, 11, 5);
+        final double[][] c  = new double[11][];
+        for (int i = 0; i < c.length; ++i) {
+            c[i] = c0[i].clone();
+        }
+        GemmKernel.multiply(-2.5, a, b, 0.75, c);
+        final double[][] ab = naive(a, b);
+        for (int i = 0; i < c.length; ++i) {
+            for (int j = 0; j < c[i].length; ++j) {
+                assertEquals(0.75 * c0[i][j] - 2.5 * ab[i][j], c[i][j], 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    void testBetaZeroIgnoresNaN() {
+        final double[][] c = { { Double.NaN, Double.POSITIVE_INFINITY } };
+        GemmKernel.multiply(1.0, new double[][] { { 2.0 } }, new double[][] { { 3.0, 4.0 } }, 0.0, c);
+        assertArrayEquals(new double[] { 6.0, 8.0 }, c[0], 0.0);
+    }
+
+    @Test
+    void testAlphaZero() {
+        final double[][] c = { { 1.0, 2.0 } };
+        GemmKernel.multiply(0.0, new double[][] { { Double.NaN } }, new double[][] { { 3.0, 4.0 } }, 2.0, c);
+        assertArrayEquals(new double[] { 2.0, 4.0 }, c[0], 0.0);
+    }
+
+    private double[][] random(final RandomGenerator random, final int rows, final int columns) {
+        final double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                data[i][j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        return data;
+    }
+
+    private double[][] naive(final double[][] a, final double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < b[0].length; ++j) {
+                double sum = 0;
+                for (int p = 0; p < b.length; ++p) {
+                    sum += a[i][p] * b[p][j];
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class IncompleteCholeskyPreconditionerTest {
+
+    @Test
+    void testExactWithoutFill() {
+        // tridiagonal matrices have no fill-in, so IC(0) is the complete Cholesky decomposition
+        final int n = 50;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 3.0 + 0.01 * i);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1.0);
+                builder.addEntry(i - 1, i, -1.0);
+            }
+        }
+        final CSRRealMatrix a = builder.buildCSR();
+        final IncompleteCholeskyPreconditioner ic = new IncompleteCholeskyPreconditioner(a);
+        final RealMatrix l = ic.getL();
+        assertEquals(0.0, l.multiply(l.transpose()).subtract(a).getNorm1(), 1.0e-13);
+        final RandomGenerator random = new Well19937a(0x72c4e1a9b35d0f86l);
+        final RealVector x = new ArrayRealVector(CSRRealMatrixTest.randomArray(random, n));
+        assertEquals(0.0, ic.operate(a.operate(x)).subtract(x).getLInfNorm(), 1.0e-14);
+        assertEquals(0.0, ic.operateTranspose(a.operate(x)).subtract(x).getLInfNorm(), 1.0e-14);
+        assertTrue(ic.isTransposable());
+    }
+
+    @Test
+    void testPatternMatch() {
+        // L.L^T matches A on the pattern of A
+        final CSRRealMatrix a = CSRRealMatrixTest.laplacian(12).buildCSR();
+        final CSCRealMatrix l = new IncompleteCholeskyPreconditioner(a).getL();
+        assertEquals(l.getNumberOfStoredEntries(), (a.getNumberOfStoredEntries() + a.getRowDimension()) / 2);
+        final RealMatrix product = l.multiply(l.transpose());
+        for (int i = 0; i < a.getRowDimension(); ++i) {
+            for (int j = 0; j < a.getColumnDimension(); ++j) {
+                if (a.getEntry(i, j) != 0) {
+                    assertEquals(a.getEntry(i, j), product.getEntry(i, j), 1.0e-14);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFewerIterations() {
+        final RandomGenerator random = new Well19937a(0x81d6f3b20a4e5c97l);
+        final CSRRealMatrix   a      = CSRRealMatrixTest.laplacian(40).buildCSR();
+        final RealVector      b      = new ArrayRealVector(CSRRealMatrixTest.randomArray(random, a.getRowDimension()));
+
+        final ConjugateGradient plain = new ConjugateGradient(10000, 1.0e-10, true);
+        final RealVector x = plain.solve(a, b);
+
+        final ConjugateGradient ic = new ConjugateGradient(10000, 1.0e-10, true);
+        final RealVector xIC = ic.solve(a, new IncompleteCholeskyPreconditioner(a), b);
+
+        final ConjugateGradient mic = new ConjugateGradient(10000, 1.0e-10, true);
+        final RealVector xMIC = mic.solve(a, new IncompleteCholeskyPreconditioner(a, 0.0, 1.0), b);
+
+        assertEquals(0.0, xIC.subtract(x).getLInfNorm(), 1.0e-8);
+        assertEquals(0.0, xMIC.subtract(x).getLInfNorm(), 1.0e-8);
+        assertTrue(2 * ic.getIterationManager().getIterations() < plain.getIterationManager().getIterations());
+        assertTrue(mic.getIterationManager().getIterations() < ic.getIterationManager().getIterations());
+    }
+
+    @Test
+    void testModifiedPreservesRowSums() {
+        final CSRRealMatrix a     = CSRRealMatrixTest.laplacian(10).buildCSR();
+        final RealMatrix    l     = new IncompleteCholeskyPreconditioner(a, 0.0, 1.0).getL();
+        final RealVector    ones  = new ArrayRealVector(a.getRowDimension(), 1.0);
+        assertEquals(0.0, l.operate(l.transpose().operate(ones)).subtract(a.operate(ones)).getLInfNorm(), 1.0e-13);
+    }
+
+    @Test
+    void testDenseInput() {
+        final CSRRealMatrix a = CSRRealMatrixTest.laplacian(5).buildCSR();
+        final RealMatrix    l1 = new IncompleteCholeskyPreconditioner(a).getL();
+        final RealMatrix    l2 = new IncompleteCholeskyPreconditioner(new Array2DRowRealMatrix(a.getData())).getL();
+        assertEquals(0.0, l1.subtract(l2).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testShift() {
+        // positive definite matrix for which IC(0) breaks down
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            {  3.0, -2.0,  0.0,  2.0 },
+            { -2.0,  3.0, -2.0,  0.0 },
+            {  0.0, -2.0,  3.0, -2.0 },
+            {  2.0,  0.0, -2.0,  3.0 }
+        });
+        assertTrue(new EigenDecompositionSymmetric(a).getEigenvalues()[3] > 0);
+        try {
+            new IncompleteCholeskyPreconditioner(a);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+        final IncompleteCholeskyPreconditioner ic = new IncompleteCholeskyPreconditioner(a, 0.5, 0.0);
+        final RealVector x = new ArrayRealVector(new double[] { 1.0, 2.0, 3.0, 4.0 });
+        final RealVector b = a.operate(x);
+        final RealVector solution = new ConjugateGradient(100, 1.0e-12, true).solve(a, ic, b);
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-10);
+    }
+
+    @Test
+    void testMissingDiagonal() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(2, 2);
+        builder.addEntry(0, 0, 1.0).addEntry(1, 0, 0.5).addEntry(0, 1, 0.5);
+        try {
+            new IncompleteCholeskyPreconditioner(builder.buildCSC());
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testDimensions() {
+        try {
+            new IncompleteCholeskyPreconditioner(new CSRRealMatrix(3, 2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+        try {
+            new IncompleteCholeskyPreconditioner(CSRRealMatrixTest.laplacian(2).buildCSR()).
+            operate(new ArrayRealVector(3));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class IncompleteLUPreconditionerTest {
+
+    @Test
+    void testExactWithoutFill() {
+        // non-symmetric tridiagonal matrices have no fill-in, so ILU(0) is the complete LU decomposition
+        final int n = 50;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 3.0 + 0.01 * i);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1.5);
+                builder.addEntry(i - 1, i, -0.5);
+            }
+        }
+        final CSCRealMatrix              a   = builder.buildCSC();
+        final IncompleteLUPreconditioner ilu = new IncompleteLUPreconditioner(a);
+        assertEquals(0.0, ilu.getL().multiply(ilu.getU()).subtract(a).getNorm1(), 1.0e-13);
+        final RandomGenerator random = new Well19937a(0x0e9b5d37a1c48f26l);
+        final RealVector x = new ArrayRealVector(CSRRealMatrixTest.randomArray(random, n));
+        assertEquals(0.0, ilu.operate(a.operate(x)).subtract(x).getLInfNorm(), 1.0e-14);
+    }
+
+    @Test
+    void testPatternMatch() {
+        // L.U matches A on the pattern of A, for a non-symmetric convection-diffusion operator
+        final int n = 10;
+        final SparseRealMatrixBuilder builder = CSRRealMatrixTest.laplacian(n);
+        for (int k = 0; k < n * n; ++k) {
+            if (k % n > 0) {
+                builder.addEntry(k, k - 1, -0.7);
+            }
+        }
+        final CSRRealMatrix              a   = builder.buildCSR();
+        final IncompleteLUPreconditioner ilu = new IncompleteLUPreconditioner(a);
+        final RealMatrix product = ilu.getL().multiply(ilu.getU());
+        for (int i = 0; i < a.getRowDimension(); ++i) {
+            for (int j = 0; j < a.getColumnDimension(); ++j) {
+                if (a.getEntry(i, j) != 0) {
+                    assertEquals(a.getEntry(i, j), product.getEntry(i, j), 1.0e-14);
+                }
+            }
+        }
+        assertEquals(a.getNumberOfStoredEntries() + a.getRowDimension(),
+                     ilu.getL().getNumberOfStoredEntries() + ilu.getU().getNumberOfStoredEntries());
+    }
+
+    @Test
+    void testSameAsIncompleteCholesky() {
+        final CSRRealMatrix                    a   = CSRRealMatrixTest.laplacian(15).buildCSR();
+        final IncompleteLUPreconditioner       ilu = new IncompleteLUPreconditioner(a);
+        final IncompleteCholeskyPreconditioner ic  = new IncompleteCholeskyPreconditioner(a);
+        final RandomGenerator random = new Well19937a(0x5f3a8d0c27e94b61l);
+        for (int i = 0; i < 5; ++i) {
+            final RealVector x = new ArrayRealVector(CSRRealMatrixTest.randomArray(random, a.getRowDimension()));
+            assertEquals(0.0, ilu.operate(x).subtract(ic.operate(x)).getLInfNorm(), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testModifiedPreservesRowSums() {
+        final int n = 10;
+        final SparseRealMatrixBuilder builder = CSRRealMatrixTest.laplacian(n);
+        for (int k = 0; k < n * n; ++k) {
+            if (k % n > 0) {
+                builder.addEntry(k, k - 1, -0.7);
+            }
+        }
+        final CSRRealMatrix              a    = builder.buildCSR();
+        final IncompleteLUPreconditioner ilu  = new IncompleteLUPreconditioner(a, 1.0);
+        final RealVector                 ones = new ArrayRealVector(a.getRowDimension(), 1.0);
+        assertEquals(0.0, ilu.getL().operate(ilu.getU().operate(ones)).subtract(a.operate(ones)).getLInfNorm(), 1.0e-13);
+        assertEquals(0.0, ilu.operate(a.operate(ones)).subtract(ones).getLInfNorm(), 1.0e-12);
+    }
+
+    @Test
+    void testDenseInput() {
+        final CSRRealMatrix a  = CSRRealMatrixTest.laplacian(5).buildCSR();
+        final RealMatrix    u1 = new IncompleteLUPreconditioner(a).getU();
+        final RealMatrix    u2 = new IncompleteLUPreconditioner(new Array2DRowRealMatrix(a.getData())).getU();
+        assertEquals(0.0, u1.subtract(u2).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testSingular() {
+        final SparseRealMatrixBuilder missing = new SparseRealMatrixBuilder(2, 2);
+        missing.addEntry(0, 0, 1.0).addEntry(0, 1, 2.0).addEntry(1, 0, 3.0);
+        checkSingular(missing.buildCSR());
+        final SparseRealMatrixBuilder zeroPivot = new SparseRealMatrixBuilder(2, 2);
+        zeroPivot.addEntry(0, 0, 1.0).addEntry(0, 1, 2.0).addEntry(1, 0, 3.0).addEntry(1, 1, 6.0);
+        checkSingular(zeroPivot.buildCSR());
+    }
+
+    @Test
+    void testDimensions() {
+        try {
+            new IncompleteLUPreconditioner(new CSRRealMatrix(3, 2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+        try {
+            new IncompleteLUPreconditioner(CSRRealMatrixTest.laplacian(2).buildCSR()).operate(new ArrayRealVector(3));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    private void checkSingular(final RealMatrix a) {
+        try {
+            new IncompleteLUPreconditioner(a);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.SINGULAR_MATRIX, miae.getSpecifier());
+        }
+    }
+
+}
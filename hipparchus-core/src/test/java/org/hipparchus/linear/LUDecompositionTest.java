@@ -22,14 +22,20 @@
 
 package org.hipparchus.linear;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.fraction.Fraction;
+import org.hipparchus.util.ParallelSettings;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -336,4 +342,63 @@ class LUDecompositionTest {
         }
     }
 
+    @Test
+    void testBlockedBitIdentical() {
+        final Random random = new Random(0x5e2d8a07c1f43b96l);
+        final RealMatrix matrix = new Array2DRowRealMatrix(173, 173);
+        for (int i = 0; i < matrix.getRowDimension(); ++i) {
+            for (int j = 0; j < matrix.getColumnDimension(); ++j) {
+                matrix.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        final LUDecomposition reference = new LUDecomposition(matrix, 1.0e-11);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // zero threshold forces parallel computation even for small matrices
+            final ParallelSettings parallel = new ParallelSettings(pool, 0L);
+            for (final int blockSize : new int[] { 1, 7, BlockRealMatrix.BLOCK_SIZE, 200 }) {
+                for (final ParallelSettings settings : new ParallelSettings[] { null, parallel }) {
+                    final LUDecomposition lu = new LUDecomposition(matrix, 1.0e-11, blockSize, settings);
+                    assertArrayEquals(reference.getPivot(), lu.getPivot());
+                    assertArrayEquals(reference.getL().getData(), lu.getL().getData());
+                    assertArrayEquals(reference.getU().getData(), lu.getU().getData());
+                    assertEquals(reference.getDeterminant(), lu.getDeterminant(), 0.0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedSingular() {
+        for (final int blockSize : new int[] { 1, 2, 3 }) {
+            final LUDecomposition lu =
+                            new LUDecomposition(MatrixUtils.createRealMatrix(bigSingular), 1.0e-11, blockSize, null);
+            assertFalse(lu.getSolver().isNonSingular());
+            assertNull(lu.getL());
+            assertEquals(0.0, lu.getDeterminant(), 0.0);
+        }
+    }
+
+    @Test
+    void testBlockedErrors() {
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(testData);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new LUDecomposition(matrix, 1.0e-11, 0, null));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LUDecomposition(MatrixUtils.createRealMatrix(2, 3), 1.0e-11, 4, null));
+    }
+
+    @Test
+    void testBlockedDecomposer() {
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(testData);
+        final RealVector b = new ArrayRealVector(new double[] { 1, 2, 3 });
+        assertArrayEquals(new LUDecomposer(1.0e-11).decompose(matrix).solve(b).toArray(),
+                          new LUDecomposer(1.0e-11, 2, new ParallelSettings()).decompose(matrix).solve(b).toArray(),
+                          0.0);
+    }
+
 }
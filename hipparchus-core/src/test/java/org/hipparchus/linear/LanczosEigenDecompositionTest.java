@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link LanczosEigenDecomposition}.
+ */
+class LanczosEigenDecompositionTest {
+
+    @Test
+    void testLargest() {
+        final Random random = new Random(0x4d2e8b07a16f93c5l);
+        final double[] eigenValues = spectrum(random, 300);
+        final Array2DRowRealMatrix m = createTestMatrix(random, eigenValues);
+        final LanczosEigenDecomposition lanczos = new LanczosEigenDecomposition(m, 10, true);
+        final EigenDecompositionSymmetric reference = new EigenDecompositionSymmetric(m);
+        checkEigenpairs(m, lanczos, reference, 10, true, 1.0e-9);
+    }
+
+    @Test
+    void testSmallest() {
+        final Random random = new Random(0x0b8f27c3e5d1a469l);
+        final double[] eigenValues = spectrum(random, 200);
+        final Array2DRowRealMatrix m = createTestMatrix(random, eigenValues);
+        final LanczosEigenDecomposition lanczos = new LanczosEigenDecomposition(m, 4, false);
+        final EigenDecompositionSymmetric reference =
+                        new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON, false);
+        checkEigenpairs(m, lanczos, reference, 4, false, 1.0e-9);
+    }
+
+    @Test
+    void testMatrixFreeOperator() {
+        // one-dimensional discrete Laplacian, with known but clustered eigenvalues
+        final int n = 1000;
+        final RealLinearOperator laplacian = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return n;
+            }
+            @Override
+            public int getColumnDimension() {
+                return n;
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                final RealVector y = new ArrayRealVector(n);
+                for (int i = 0; i < n; ++i) {
+                    double yi = 2 * x.getEntry(i);
+                    if (i > 0) {
+                        yi -= x.getEntry(i - 1);
+                    }
+                    if (i < n - 1) {
+                        yi -= x.getEntry(i + 1);
+                    }
+                    y.setEntry(i, yi);
+                }
+                return y;
+            }
+        };
+        final LanczosEigenDecomposition lanczos =
+                        new LanczosEigenDecomposition(laplacian, 5, true, 40,
+                                                      LanczosEigenDecomposition.DEFAULT_TOLERANCE,
+                                                      LanczosEigenDecomposition.DEFAULT_MAX_RESTARTS,
+                                                      new Well19937a(0x5c3e17a9l));
+        for (int i = 0; i < 5; ++i) {
+            final double s = FastMath.sin((n - i) * FastMath.PI / (2 * (n + 1)));
+            assertEquals(4 * s * s, lanczos.getEigenvalue(i), 1.0e-10);
+            final RealVector u = lanczos.getEigenvector(i);
+            assertEquals(0.0,
+                         laplacian.operate(u).subtract(u.mapMultiply(lanczos.getEigenvalue(i))).getNorm(),
+                         1.0e-9);
+        }
+    }
+
+    @Test
+    void testFullBasis() {
+        final Random random = new Random(0x7a35c9e01fd4b268l);
+        final double[] eigenValues = { 4.0, 4.0, 1.0, -2.0, 0.5 };
+        final Array2DRowRealMatrix m = createTestMatrix(random, eigenValues);
+        final LanczosEigenDecomposition lanczos =
+                        new LanczosEigenDecomposition(m, 5, true, 5, 1.0e-12, 10, new Well19937a(0x12l));
+        final double[] sorted = { 4.0, 4.0, 1.0, 0.5, -2.0 };
+        for (int i = 0; i < sorted.length; ++i) {
+            assertEquals(sorted[i], lanczos.getEigenvalue(i), 1.0e-12);
+        }
+        assertEquals(0, lanczos.getRestarts());
+        final RealMatrix v = lanczos.getV();
+        assertSame(v, lanczos.getV());
+        assertEquals(0.0,
+                     v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(5)).getNorm1(),
+                     1.0e-12);
+    }
+
+    @Test
+    void testErrors() {
+        final Array2DRowRealMatrix m = createTestMatrix(new Random(0x33l), new double[10]);
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new LanczosEigenDecomposition(m, 11, true));
+        assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LanczosEigenDecomposition(m, 3, true, 3, 1.0e-10, 10, new Well19937a(0x12l)));
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new LanczosEigenDecomposition(new Array2DRowRealMatrix(3, 4), 1, true));
+        assertEquals(LocalizedCoreFormats.NON_SQUARE_OPERATOR, miae.getSpecifier());
+
+        final Random random = new Random(0x2f6b1d8e94c07a35l);
+        final Array2DRowRealMatrix hard = createTestMatrix(random, spectrum(random, 100));
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> new LanczosEigenDecomposition(hard, 10, false, 11, 1.0e-15, 1,
+                                                                         new Well19937a(0x12l)));
+        assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+    }
+
+    private Array2DRowRealMatrix createTestMatrix(final Random random, final double[] eigenValues) {
+        // enforce exact symmetry
+        final RealMatrix m = EigenDecompositionSymmetricTest.createTestMatrix(random, eigenValues);
+        return new Array2DRowRealMatrix(m.add(m.transpose()).scalarMultiply(0.5).getData(), false);
+    }
+
+    private double[] spectrum(final Random random, final int n) {
+        final double[] eigenValues = new double[n];
+        for (int i = 0; i < n; ++i) {
+            eigenValues[i] = 20 * random.nextDouble() - 10;
+        }
+        return eigenValues;
+    }
+
+    private void checkEigenpairs(final RealMatrix m, final LanczosEigenDecomposition lanczos,
+                                 final EigenDecompositionSymmetric reference, final int k,
+                                 final boolean largest, final double tolerance) {
+        assertEquals(k, lanczos.getEigenvalues().length);
+        for (int i = 0; i < k; ++i) {
+            assertEquals(reference.getEigenvalue(i), lanczos.getEigenvalue(i), tolerance);
+            final RealVector u = lanczos.getEigenvector(i);
+            assertEquals(1.0, u.getNorm(), 1.0e-12);
+            assertEquals(0.0, m.operate(u).subtract(u.mapMultiply(lanczos.getEigenvalue(i))).getNorm(),
+                         1.0e-8);
+            if (i > 0) {
+                assertEquals(largest, lanczos.getEigenvalue(i - 1) >= lanczos.getEigenvalue(i));
+            }
+        }
+    }
+
+}
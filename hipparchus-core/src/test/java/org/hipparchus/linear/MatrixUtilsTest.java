@@ -40,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -535,6 +536,102 @@ public final class MatrixUtilsTest {
                                          MatrixUtils.createRealIdentityMatrix(testData.length), result, 1e-12);
     }
 
+    @Test
+    void testMultiplyInPlace() {
+        final double[][] aData = { { 1, 2, 3 }, { 4, 5, 6 } };
+        final double[][] bData = { { 1, -1 }, { 0, 2 }, { 3, 1 } };
+        final double[][] cData = { { 1, 1 }, { 2, -3 } };
+        final double[][] expected = { { 0.5 * 10 + 2 * 1, 0.5 * 6 + 2 * 1 },
+                                      { 0.5 * 22 + 2 * 2, 0.5 * 12 - 2 * 3 } };
+        final RealMatrix[][] operands = {
+            { new Array2DRowRealMatrix(aData), new Array2DRowRealMatrix(bData), new Array2DRowRealMatrix(cData) },
+            { new BlockRealMatrix(aData),      new BlockRealMatrix(bData),      new BlockRealMatrix(cData) },
+            { new BlockRealMatrix(aData),      new Array2DRowRealMatrix(bData), new Array2DRowRealMatrix(cData) },
+        };
+        for (final RealMatrix[] op : operands) {
+            MatrixUtils.multiply(op[0], op[1], op[2], 0.5, 2.0);
+            UnitTestUtils.customAssertEquals("in-place product",
+                                             new Array2DRowRealMatrix(expected), op[2], 1.0e-15);
+        }
+    }
+
+    @Test
+    void testMultiplyInPlaceSameAsMultiply() {
+        final Random random = new Random(0x3be8d24a17f6c059l);
+        for (final int n : new int[] { 5, 60, 110 }) {
+            final RealMatrix a = MatrixUtils.createRealMatrix(n, n + 3);
+            final RealMatrix b = MatrixUtils.createRealMatrix(n + 3, n - 1);
+            a.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(int row, int column, double value) {
+                    return random.nextDouble();
+                }
+            });
+            b.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(int row, int column, double value) {
+                    return random.nextDouble();
+                }
+            });
+            final RealMatrix c = MatrixUtils.createRealMatrix(n, n - 1);
+            c.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(int row, int column, double value) {
+                    return Double.NaN;
+                }
+            });
+            MatrixUtils.multiply(a, b, c, 1.0, 0.0);
+            assertEquals(0.0, c.subtract(a.multiply(b)).getNorm1(), 0.0);
+        }
+    }
+
+    @Test
+    void testMultiplyInPlaceScaledMixedTypes() {
+        final Random random = new Random(0x6f2a9c4e15d83b07l);
+        final RealMatrix a = new Array2DRowRealMatrix(70, 120);
+        final RealMatrix b = new Array2DRowRealMatrix(120, 110);
+        final RealMatrix c = new Array2DRowRealMatrix(70, 110);
+        for (final RealMatrix m : new RealMatrix[] { a, b, c }) {
+            m.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(int row, int column, double value) {
+                    return 2 * random.nextDouble() - 1;
+                }
+            });
+        }
+        final RealMatrix expected = a.multiply(b).scalarMultiply(0.5).add(c.scalarMultiply(-2.0));
+        final RealMatrix[][] operands = {
+            { new BlockRealMatrix(a.getData()),  new BlockRealMatrix(b.getData()),  new BlockRealMatrix(c.getData()) },
+            { new BlockRealMatrix(a.getData()),  b,                                 new BlockRealMatrix(c.getData()) },
+            { a,                                 new BlockRealMatrix(b.getData()),  c.copy() },
+            { a,                                 b,                                 new BlockRealMatrix(c.getData()) }
+        };
+        for (final RealMatrix[] op : operands) {
+            MatrixUtils.multiply(op[0], op[1], op[2], 0.5, -2.0);
+            assertEquals(0.0, op[2].subtract(expected).getNorm1(), 1.0e-12);
+        }
+    }
+
+    @Test
+    void testMultiplyInPlaceAliased() {
+        final RealMatrix a = new Array2DRowRealMatrix(new double[][] { { 1, 2 }, { 3, 4 } });
+        MatrixUtils.multiply(a, a, a, 1.0, 1.0);
+        UnitTestUtils.customAssertEquals("aliased product",
+                                         new Array2DRowRealMatrix(new double[][] { { 8, 12 }, { 18, 26 } }),
+                                         a, 1.0e-15);
+    }
+
+    @Test
+    void testMultiplyInPlaceWrongDimensions() {
+        try {
+            MatrixUtils.multiply(new Array2DRowRealMatrix(2, 3), new Array2DRowRealMatrix(3, 4),
+                                 new Array2DRowRealMatrix(2, 3), 1.0, 0.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
     @Test
     void testMatrixExponentialNonSquare() {
         double[][] exponentArr = {
@@ -31,9 +31,32 @@ final class OpenMapRealMatrixTest {
 
     @Test
     void testMath679() {
-        assertThrows(MathIllegalArgumentException.class, () -> {
-            new OpenMapRealMatrix(3, Integer.MAX_VALUE);
-        });
+        // matrices with more than Integer.MAX_VALUE entries are supported since 4.0
+        final OpenMapRealMatrix m = new OpenMapRealMatrix(3, Integer.MAX_VALUE);
+        m.setEntry(2, Integer.MAX_VALUE - 1, 1.5);
+        m.addToEntry(1, Integer.MAX_VALUE - 1, 2.5);
+        assertEquals(1.5, m.getEntry(2, Integer.MAX_VALUE - 1), 0.0);
+        assertEquals(2.5, m.getEntry(1, Integer.MAX_VALUE - 1), 0.0);
+        assertEquals(0.0, m.getEntry(0, Integer.MAX_VALUE - 1), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(3, 0));
+    }
+
+    @Test
+    void testLargeProduct() {
+        // 100000 x 100000 is beyond the former limit of 46340 x 46340
+        final int n = 100000;
+        final OpenMapRealMatrix a = new OpenMapRealMatrix(n, n);
+        final OpenMapRealMatrix b = new OpenMapRealMatrix(n, n);
+        for (int i = 0; i < n; i += 997) {
+            a.setEntry(i, n - 1 - i, 2.0);
+            b.setEntry(n - 1 - i, i, 3.0);
+        }
+        final OpenMapRealMatrix c = a.multiply(b);
+        assertEquals(6.0, c.getEntry(0, 0), 0.0);
+        assertEquals(6.0, c.getEntry(997 * 100, 997 * 100), 0.0);
+        assertEquals(0.0, c.getEntry(997 * 100, 0), 0.0);
+        assertEquals(0.0, a.subtract(a).getEntry(997, n - 998), 0.0);
+        assertEquals(4.0, a.add(a).getEntry(997, n - 998), 0.0);
     }
 
     @Test
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.ParallelSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ParallelRealLinearOperatorTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testCSRIdenticalToSerial() {
+        final RandomGenerator random = new Well19937a(0x6d1f0b3a8c2e4759l);
+        final CSRRealMatrix   m      = CSRRealMatrixTest.randomMatrix(random, 317, 211, 4000).buildCSR();
+        checkOperate(m, random);
+        checkMultiply(m, random);
+    }
+
+    @Test
+    void testDenseIdenticalToSerial() {
+        final RandomGenerator random = new Well19937a(0x2b8e4f61d09a3c75l);
+        final RealMatrix      m      = new Array2DRowRealMatrix(CSRRealMatrixTest.randomMatrix(random, 97, 113, 5000).
+                                                                buildCSR().getData());
+        checkOperate(m, random);
+        checkMultiply(m, random);
+    }
+
+    @Test
+    void testGenericIdenticalToSerial() {
+        final RandomGenerator random = new Well19937a(0x93c5a07e1f4d28b6l);
+        final RealMatrix      m      = new BlockRealMatrix(CSRRealMatrixTest.randomMatrix(random, 83, 71, 3000).
+                                                           buildCSR().getData());
+        checkOperate(m, random);
+        checkMultiply(m, random);
+    }
+
+    @Test
+    void testSerialBelowThreshold() {
+        final CSRRealMatrix              m  = CSRRealMatrixTest.laplacian(10).buildCSR();
+        final ParallelSettings           s  = new ParallelSettings(pool, Long.MAX_VALUE);
+        final ParallelRealLinearOperator op = new ParallelRealLinearOperator(m, s);
+        assertSame(m, op.getMatrix());
+        assertSame(s, op.getSettings());
+        final RealVector x = new ArrayRealVector(100, 1.0);
+        assertArrayEquals(m.operate(x).toArray(), op.operate(x).toArray(), 0.0);
+        assertEquals(0L, pool.getStealCount());
+    }
+
+    @Test
+    void testTranspose() {
+        final RandomGenerator            random = new Well19937a(0x4a7c9e2b0d5f1836l);
+        final CSRRealMatrix              m      = CSRRealMatrixTest.randomMatrix(random, 30, 20, 100).buildCSR();
+        final ParallelRealLinearOperator op     = new ParallelRealLinearOperator(m);
+        assertTrue(op.isTransposable());
+        assertEquals(30, op.getRowDimension());
+        assertEquals(20, op.getColumnDimension());
+        final RealVector x = new ArrayRealVector(CSRRealMatrixTest.randomArray(random, 30));
+        assertArrayEquals(m.transpose().operate(x).toArray(), op.operateTranspose(x).toArray(), 1.0e-15);
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        final ParallelRealLinearOperator op = new ParallelRealLinearOperator(CSRRealMatrixTest.laplacian(3).buildCSR());
+        try {
+            op.operate(new double[8]);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            op.multiply(new Array2DRowRealMatrix(10, 2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testWithSolver() {
+        final CSRRealMatrix              m  = CSRRealMatrixTest.laplacian(30).buildCSR();
+        final ParallelRealLinearOperator op = new ParallelRealLinearOperator(m, new ParallelSettings(pool, 0));
+        final RealVector x = new ArrayRealVector(m.getColumnDimension(), 1.0);
+        final RealVector b = m.operate(x);
+        final RealVector serial   = new ConjugateGradient(1000, 1.0e-12, true).solve(m, b);
+        final RealVector parallel = new ConjugateGradient(1000, 1.0e-12, true).solve(op, b);
+        assertArrayEquals(serial.toArray(), parallel.toArray(), 0.0);
+        assertEquals(0.0, parallel.subtract(x).getLInfNorm(), 1.0e-9);
+    }
+
+    private void checkOperate(final RealMatrix m, final RandomGenerator random) {
+        final ParallelRealLinearOperator op = new ParallelRealLinearOperator(m, new ParallelSettings(pool, 0));
+        for (int i = 0; i < 5; ++i) {
+            final double[] x = CSRRealMatrixTest.randomArray(random, m.getColumnDimension());
+            assertArrayEquals(serial(m, x), op.operate(x), 0.0);
+            assertArrayEquals(serial(m, x), op.operate(new ArrayRealVector(x)).toArray(), 0.0);
+        }
+    }
+
+    private void checkMultiply(final RealMatrix m, final RandomGenerator random) {
+        final ParallelRealLinearOperator op = new ParallelRealLinearOperator(m, new ParallelSettings(pool, 0));
+        final RealMatrix b = new Array2DRowRealMatrix(m.getColumnDimension(), 7);
+        for (int j = 0; j < b.getColumnDimension(); ++j) {
+            b.setColumn(j, CSRRealMatrixTest.randomArray(random, m.getColumnDimension()));
+        }
+        final RealMatrix c = op.multiply(b);
+        assertEquals(0.0, c.subtract(m.multiply(b)).getNorm1(), 1.0e-13);
+        for (int j = 0; j < b.getColumnDimension(); ++j) {
+            assertArrayEquals(c.getColumn(j), new ParallelRealLinearOperator(m).multiply(b).getColumn(j), 0.0);
+        }
+    }
+
+    private double[] serial(final RealMatrix m, final double[] x) {
+        // row by row, in the same order as the parallel kernels
+        final double[] y = new double[m.getRowDimension()];
+        for (int i = 0; i < y.length; ++i) {
+            double sum = 0;
+            if (m instanceof CSRRealMatrix) {
+                final CompressedSparseStorage s = ((CSRRealMatrix) m).getStorage();
+                for (int k = s.getPointers()[i]; k < s.getPointers()[i + 1]; ++k) {
+                    sum += s.getValues()[k] * x[s.getIndices()[k]];
+                }
+            } else {
+                for (int j = 0; j < x.length; ++j) {
+                    sum += m.getEntry(i, j) * x[j];
+                }
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+}
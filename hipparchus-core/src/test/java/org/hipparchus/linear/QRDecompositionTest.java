@@ -22,12 +22,15 @@
 
 package org.hipparchus.linear;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -302,4 +305,141 @@ class QRDecompositionTest {
         });
     }
 
+    @Test
+    void testRankOneUpdate() {
+        final Random r = new Random(0x58c3e1f07a92bd46l);
+        for (final int[] dims : new int[][] { { 7, 7 }, { 12, 5 }, { 5, 12 }, { 40, 40 } }) {
+            RealMatrix a = createTestMatrix(r, dims[0], dims[1]);
+            QRDecomposition qr = new QRDecomposition(a);
+            for (int k = 0; k < 10; ++k) {
+                final RealVector u = createTestVector(r, dims[0]);
+                final RealVector v = createTestVector(r, dims[1]);
+                if (k % 2 == 0) {
+                    a  = a.add(u.outerProduct(v));
+                    qr = qr.update(u, v);
+                } else {
+                    a  = a.subtract(u.outerProduct(v));
+                    qr = qr.downdate(u, v);
+                }
+                checkUpdated(a, qr);
+            }
+        }
+    }
+
+    @Test
+    void testSlidingWindow() {
+        // replacing the oldest observation in a least squares fit
+        final Random r = new Random(0x03fd7b29c8e5146al);
+        RealMatrix a = createTestMatrix(r, 30, 4);
+        RealVector b = createTestVector(r, 30);
+        QRDecomposition qr = new QRDecomposition(a);
+        for (int k = 0; k < 60; ++k) {
+            final int i = k % 30;
+            final RealVector row = createTestVector(r, 4);
+            qr = qr.update(unit(30, i), row.subtract(a.getRowVector(i)));
+            a.setRowVector(i, row);
+            b.setEntry(i, 2 * r.nextDouble() - 1);
+        }
+        final RealVector expected = new QRDecomposition(a).getSolver().solve(b);
+        assertEquals(0, qr.getSolver().solve(b).subtract(expected).getNorm(), 1.0e-12);
+        final RealMatrix bm = MatrixUtils.createRealMatrix(30, 1);
+        bm.setColumnVector(0, b);
+        assertEquals(0, qr.getSolver().solve(bm).getColumnVector(0).subtract(expected).getNorm(), 1.0e-12);
+    }
+
+    @Test
+    void testSlidingWindowTall() {
+        // many observations, few features, as in regressions over long windows
+        final Random r = new Random(0x2c71e59b04d8af36l);
+        RealMatrix a = createTestMatrix(r, 2000, 3);
+        RealVector b = createTestVector(r, 2000);
+        QRDecomposition qr = new QRDecomposition(a);
+        for (int k = 0; k < 500; ++k) {
+            final int i = (17 * k) % 2000;
+            final RealVector row = createTestVector(r, 3);
+            qr = qr.update(unit(2000, i), row.subtract(a.getRowVector(i)));
+            a.setRowVector(i, row);
+            b.setEntry(i, 2 * r.nextDouble() - 1);
+        }
+        final RealVector expected = new QRDecomposition(a).getSolver().solve(b);
+        assertEquals(0, qr.getSolver().solve(b).subtract(expected).getNorm(), 1.0e-12);
+        // R is unique only up to the signs of its rows, R^T R = A^T A is not
+        final RealMatrix ata = a.transposeMultiply(a);
+        assertEquals(0, qr.getR().transposeMultiply(qr.getR()).subtract(ata).getNorm1(),
+                     1.0e-12 * ata.getNorm1());
+    }
+
+    @Test
+    void testUpdateInRange() {
+        // u is a combination of A columns, the update does not need an extra direction
+        final Random r = new Random(0x7ea10c4d95f3b628l);
+        RealMatrix a = createTestMatrix(r, 9, 4);
+        QRDecomposition qr = new QRDecomposition(a);
+        for (int k = 0; k < 5; ++k) {
+            final RealVector u = a.operate(createTestVector(r, 4));
+            final RealVector v = createTestVector(r, 4);
+            a  = a.add(u.outerProduct(v));
+            qr = qr.update(u, v);
+            checkUpdated(a, qr);
+        }
+    }
+
+    @Test
+    void testUpdateSingular() {
+        // the update makes the matrix singular, the solver must notice it
+        final RealMatrix a = MatrixUtils.createRealIdentityMatrix(3);
+        final QRDecomposition qr = new QRDecomposition(a, 1.0e-12);
+        final QRDecomposition updated = qr.downdate(unit(3, 1), unit(3, 1));
+        assertTrue(qr.getSolver().isNonSingular());
+        assertFalse(updated.getSolver().isNonSingular());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> updated.getSolver().solve(unit(3, 0)));
+    }
+
+    @Test
+    void testUpdateErrors() {
+        final QRDecomposition qr = new QRDecomposition(MatrixUtils.createRealMatrix(testData4x3));
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> qr.update(new ArrayRealVector(3), new ArrayRealVector(3)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> qr.update(new ArrayRealVector(4), new ArrayRealVector(4)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> qr.update(new ArrayRealVector(4), new ArrayRealVector(3)).getH());
+        assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, mise.getSpecifier());
+    }
+
+    private void checkUpdated(final RealMatrix a, final QRDecomposition qr) {
+        final double norm = a.getNorm1();
+        assertEquals(0, qr.getQ().multiply(qr.getR()).subtract(a).getNorm1(), 1.0e-13 * norm);
+        final RealMatrix qtq = qr.getQT().multiply(qr.getQ());
+        assertEquals(0, qtq.subtract(MatrixUtils.createRealIdentityMatrix(a.getRowDimension())).getNorm1(),
+                     1.0e-13 * a.getRowDimension());
+        checkUpperTriangular(qr.getR());
+        final QRDecomposition reference = new QRDecomposition(a);
+        if (a.getRowDimension() >= a.getColumnDimension()) {
+            final RealVector b = createTestVector(new Random(0x6b2e4d1fl), a.getRowDimension());
+            assertEquals(0,
+                         qr.getSolver().solve(b).subtract(reference.getSolver().solve(b)).getNorm(),
+                         1.0e-10 * reference.getSolver().solve(b).getNorm());
+        }
+    }
+
+    private RealVector createTestVector(final Random r, final int size) {
+        final RealVector v = new ArrayRealVector(size);
+        for (int i = 0; i < size; ++i) {
+            v.setEntry(i, 2.0 * r.nextDouble() - 1.0);
+        }
+        return v;
+    }
+
+    private RealVector unit(final int size, final int i) {
+        final RealVector e = new ArrayRealVector(size);
+        e.setEntry(i, 1.0);
+        return e;
+    }
+
 }
@@ -22,6 +22,7 @@
 
 package org.hipparchus.linear;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.junit.jupiter.api.Test;
 
@@ -240,4 +241,40 @@ class RRQRDecompositionTest {
         assertEquals(2, qr.getRank(1.0e-16));
     }
 
+    @Test
+    void testRankOneUpdate() {
+        final Random r = new Random(0x7d1a05e9b4c3f826l);
+        RealMatrix a = createTestMatrix(r, 9, 6);
+        RRQRDecomposition qr = new RRQRDecomposition(a);
+        final RealMatrix p = qr.getP();
+        for (int k = 0; k < 6; ++k) {
+            final RealVector u = a.getColumnVector(k % 6).mapMultiply(0.5);
+            final RealVector v = a.getRowVector(k).mapMultiply(-0.25);
+            if (k % 2 == 0) {
+                a  = a.add(u.outerProduct(v));
+                qr = qr.update(u, v);
+            } else {
+                a  = a.subtract(u.outerProduct(v));
+                qr = qr.downdate(u, v);
+            }
+            assertEquals(0, qr.getP().subtract(p).getNorm1(), 0.0);
+            assertEquals(0, qr.getQ().multiply(qr.getR()).subtract(a.multiply(p)).getNorm1(),
+                         1.0e-13 * a.getNorm1());
+            checkUpperTriangular(qr.getR());
+        }
+        final RealVector b = a.getColumnVector(0).add(a.getColumnVector(3));
+        final RealVector expected = new QRDecomposition(a).getSolver().solve(b);
+        assertEquals(0, qr.getSolver().solve(b).subtract(expected).getNorm(), 1.0e-12);
+        assertEquals(6, qr.getRank(1.0e-10));
+    }
+
+    @Test
+    void testUpdateErrors() {
+        final RRQRDecomposition qr = new RRQRDecomposition(MatrixUtils.createRealMatrix(testData4x3));
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> qr.update(new ArrayRealVector(4), new ArrayRealVector(4)));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+    }
+
 }
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link RandomizedSingularValueDecomposition}.
+ */
+class RandomizedSingularValueDecompositionTest {
+
+    @Test
+    void testExactLowRank() {
+        final Random random = new Random(0x62d4a0f9e13b7c85l);
+        final double[] s = { 50.0, 20.0, 7.0, 3.0, 1.0 };
+        final Array2DRowRealMatrix a = createTestMatrix(random, 300, 80, s);
+        final RandomizedSingularValueDecomposition svd = new RandomizedSingularValueDecomposition(a, 5);
+        final double[] computed = svd.getSingularValues();
+        for (int i = 0; i < s.length; ++i) {
+            assertEquals(s[i], computed[i], 1.0e-12 * s[0]);
+        }
+        assertEquals(s[0], svd.getNorm(), 1.0e-12 * s[0]);
+        assertEquals(5, svd.getRank());
+        checkOrthonormalColumns(svd.getU(), 1.0e-13);
+        checkOrthonormalColumns(svd.getV(), 1.0e-13);
+        final RealMatrix rebuilt = svd.getU().multiply(svd.getS()).multiply(svd.getVT());
+        assertEquals(0, rebuilt.subtract(a).getNorm1(), 1.0e-12 * a.getNorm1());
+        assertEquals(0, svd.getUT().subtract(svd.getU().transpose()).getNorm1(), 0.0);
+    }
+
+    @Test
+    void testDecayingSpectrum() {
+        final Random random = new Random(0x1f7b3e95c8a20d64l);
+        final double[] s = new double[60];
+        for (int i = 0; i < s.length; ++i) {
+            s[i] = FastMath.pow(0.8, i);
+        }
+        final Array2DRowRealMatrix a = createTestMatrix(random, 400, 60, s);
+        final double[] reference = new SingularValueDecomposition(a).getSingularValues();
+
+        // without power iterations, the leading values are only approximated
+        final double[] crude = new RandomizedSingularValueDecomposition(a, 8, 4, 0,
+                                                                        new Well19937a(0x3a9f5c21e07d84b6l)).
+                               getSingularValues();
+        double crudeError = 0;
+        for (int i = 0; i < crude.length; ++i) {
+            crudeError = FastMath.max(crudeError, FastMath.abs(crude[i] - reference[i]) / reference[i]);
+        }
+
+        // power iterations improve them a lot
+        final double[] refined = new RandomizedSingularValueDecomposition(a, 8, 4, 6,
+                                                                          new Well19937a(0x3a9f5c21e07d84b6l)).
+                                 getSingularValues();
+        double refinedError = 0;
+        for (int i = 0; i < refined.length; ++i) {
+            refinedError = FastMath.max(refinedError, FastMath.abs(refined[i] - reference[i]) / reference[i]);
+        }
+
+        assertTrue(refinedError < 1.0e-3);
+        assertTrue(refinedError < 0.1 * crudeError);
+    }
+
+    @Test
+    void testMatrixFreeOperator() {
+        final Random random = new Random(0x9c04e7a3b51f2d68l);
+        final double[] s = { 9.0, 8.0, 4.0, 2.0, 1.0, 0.5, 0.25, 0.125 };
+        final Array2DRowRealMatrix a = createTestMatrix(random, 150, 40, s);
+        final RealLinearOperator operator = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return a.getRowDimension();
+            }
+            @Override
+            public int getColumnDimension() {
+                return a.getColumnDimension();
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                return a.operate(x);
+            }
+            @Override
+            public RealVector operateTranspose(final RealVector x) {
+                return a.preMultiply(x);
+            }
+            @Override
+            public boolean isTransposable() {
+                return true;
+            }
+        };
+        final RandomizedSingularValueDecomposition matrixFree =
+                        new RandomizedSingularValueDecomposition(operator, 3, 5, 2, new Well19937a(0x44e8a1c07f3b9d25l));
+        final RandomizedSingularValueDecomposition dense =
+                        new RandomizedSingularValueDecomposition(a, 3, 5, 2, new Well19937a(0x44e8a1c07f3b9d25l));
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(s[i], matrixFree.getSingularValues()[i], 1.0e-10);
+            assertEquals(dense.getSingularValues()[i], matrixFree.getSingularValues()[i], 1.0e-12);
+        }
+    }
+
+    @Test
+    void testRankDeficient() {
+        final Random random = new Random(0x7e2b95d03c1fa846l);
+        final double[] s = { 3.0, 2.0, 1.0 };
+        final Array2DRowRealMatrix a = createTestMatrix(random, 50, 30, s);
+        final RandomizedSingularValueDecomposition svd = new RandomizedSingularValueDecomposition(a, 6);
+        assertEquals(3, svd.getRank());
+        checkOrthonormalColumns(svd.getU(), 1.0e-13);
+        checkOrthonormalColumns(svd.getV(), 1.0e-13);
+        for (int i = 3; i < 6; ++i) {
+            assertEquals(0.0, svd.getSingularValues()[i], 1.0e-13);
+        }
+    }
+
+    @Test
+    void testSolver() {
+        final Random random = new Random(0x2ad8c4071e9b5f36l);
+        final Array2DRowRealMatrix a = createTestMatrix(random, 60, 12,
+                                              new double[] { 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1 });
+        final RealVector b = new ArrayRealVector(60);
+        for (int i = 0; i < 60; ++i) {
+            b.setEntry(i, random.nextGaussian());
+        }
+
+        // full rank truncation gives the least squares solution
+        final DecompositionSolver full = new RandomizedSingularValueDecomposition(a, 12).getSolver();
+        final DecompositionSolver reference = new SingularValueDecomposition(a).getSolver();
+        assertEquals(0, full.solve(b).subtract(reference.solve(b)).getNorm(), 1.0e-12);
+        assertEquals(0, full.getInverse().subtract(reference.getInverse()).getNorm1(), 1.0e-12);
+        assertFalse(full.isNonSingular());
+        assertEquals(60, full.getRowDimension());
+        assertEquals(12, full.getColumnDimension());
+
+        // lower truncation gives a regularized solution
+        final RandomizedSingularValueDecomposition svd4 = new RandomizedSingularValueDecomposition(a, 4);
+        final RealVector x4 = svd4.getSolver().solve(b);
+        final RealVector expected = svd4.getV().operate(svd4.getUT().operate(b).ebeDivide(new ArrayRealVector(svd4.getSingularValues())));
+        assertEquals(0, x4.subtract(expected).getNorm(), 1.0e-12);
+        final RealMatrix bm = new Array2DRowRealMatrix(60, 1);
+        bm.setColumnVector(0, b);
+        assertEquals(0, svd4.getSolver().solve(bm).getColumnVector(0).subtract(x4).getNorm(), 1.0e-12);
+
+        // square full rank matrix is non-singular
+        final Array2DRowRealMatrix square = createTestMatrix(random, 5, 5, new double[] { 5, 4, 3, 2, 1 });
+        final DecompositionSolver solver = new RandomizedSingularValueDecomposition(square, 5).getSolver();
+        assertTrue(solver.isNonSingular());
+        assertEquals(0, solver.getInverse().multiply(square).subtract(MatrixUtils.createRealIdentityMatrix(5)).getNorm1(),
+                     1.0e-13);
+    }
+
+    @Test
+    void testErrors() {
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(10, 4);
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new RandomizedSingularValueDecomposition(a, 0));
+        assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new RandomizedSingularValueDecomposition(a, 5));
+        assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new RandomizedSingularValueDecomposition(a, 2, -1, 2, new Well19937a(1l)));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new RandomizedSingularValueDecomposition(a, 2, 2, -1, new Well19937a(1l)));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        final RealLinearOperator notTransposable = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return 10;
+            }
+            @Override
+            public int getColumnDimension() {
+                return 4;
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                return a.operate(x);
+            }
+        };
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new RandomizedSingularValueDecomposition(notTransposable, 2));
+        assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, miae.getSpecifier());
+    }
+
+    private void checkOrthonormalColumns(final RealMatrix q, final double tolerance) {
+        final RealMatrix qtq = q.transposeMultiply(q);
+        assertEquals(0, qtq.subtract(MatrixUtils.createRealIdentityMatrix(q.getColumnDimension())).getNorm1(),
+                     tolerance * q.getRowDimension());
+    }
+
+    private Array2DRowRealMatrix createTestMatrix(final Random random, final int rows, final int columns,
+                                                  final double[] singularValues) {
+        final RealMatrix u = randomOrthonormalColumns(random, rows, singularValues.length);
+        final RealMatrix v = randomOrthonormalColumns(random, columns, singularValues.length);
+        return new Array2DRowRealMatrix(u.multiply(MatrixUtils.createRealDiagonalMatrix(singularValues)).
+                                        multiplyTransposed(v).getData(), false);
+    }
+
+    private RealMatrix randomOrthonormalColumns(final Random random, final int rows, final int columns) {
+        final double[][] data = new double[rows][columns];
+        for (final double[] row : data) {
+            for (int j = 0; j < columns; ++j) {
+                row[j] = random.nextGaussian();
+            }
+        }
+        return new QRDecomposition(new Array2DRowRealMatrix(data, false)).getQ().getSubMatrix(0, rows - 1, 0, columns - 1);
+    }
+
+}
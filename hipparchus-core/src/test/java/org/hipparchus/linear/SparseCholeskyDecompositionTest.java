@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SparseCholeskyDecompositionTest {
+
+    @Test
+    void testLaplacian() {
+        final CSRRealMatrix               a        = CSRRealMatrixTest.laplacian(30).buildCSR();
+        final SparseCholeskyDecomposition cholesky = new SparseCholeskyDecomposition(a);
+        checkDecomposition(a, cholesky, 1.0e-13);
+
+        // the fill-reducing ordering is much better than the natural band ordering
+        // which would lead to 30 * 900 non-zeros
+        assertTrue(cholesky.getNumberOfNonZeros() < 20000, "" + cholesky.getNumberOfNonZeros());
+
+        final RealVector x = new ArrayRealVector(a.getColumnDimension());
+        for (int i = 0; i < x.getDimension(); ++i) {
+            x.setEntry(i, FastMath.sin(i));
+        }
+        final RealVector solution = cholesky.getSolver().solve(a.operate(x));
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-12);
+    }
+
+    @Test
+    void testRandomSameAsDense() {
+        final RandomGenerator random = new Well19937a(0x4a7d2e9c1f6b3058l);
+        for (int n = 1; n < 60; n += 7) {
+            final RealMatrix a = randomSparseSymmetricPositiveDefinite(random, n);
+            final SparseCholeskyDecomposition sparse = new SparseCholeskyDecomposition(a);
+            final CholeskyDecomposition       dense  = new CholeskyDecomposition(a);
+            checkDecomposition(a, sparse, 1.0e-12);
+            assertEquals(dense.getDeterminant(), sparse.getDeterminant(),
+                         1.0e-12 * FastMath.abs(dense.getDeterminant()));
+            final RealMatrix b = new Array2DRowRealMatrix(n, 3);
+            for (int i = 0; i < n; ++i) {
+                b.setRow(i, CSRRealMatrixTest.randomArray(random, 3));
+            }
+            final RealMatrix xSparse = sparse.getSolver().solve(b);
+            final RealMatrix xDense  = dense.getSolver().solve(b);
+            assertEquals(0.0, xSparse.subtract(xDense).getNorm1(), 1.0e-10);
+            assertEquals(0.0,
+                         sparse.getSolver().getInverse().multiply(a).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                         1.0e-10);
+        }
+    }
+
+    @Test
+    void testDecomposer() {
+        final RealMatrix a = CSRRealMatrixTest.laplacian(5).buildCSC();
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final DecompositionSolver solver = new SparseCholeskyDecomposer(1.0e-15, 1.0e-10).decompose(a);
+        assertTrue(solver.isNonSingular());
+        assertEquals(25, solver.getRowDimension());
+        assertEquals(25, solver.getColumnDimension());
+        assertEquals(0.0, a.operate(solver.solve(b)).subtract(b).getLInfNorm(), 1.0e-14);
+    }
+
+    @Test
+    void testNotSquare() {
+        try {
+            new SparseCholeskyDecomposition(new CSRRealMatrix(3, 2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testNotSymmetric() {
+        final CSRRealMatrix a = CSRRealMatrixTest.laplacian(4).buildCSR();
+        a.setEntry(3, 7, 0.5);
+        try {
+            new SparseCholeskyDecomposition(a);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final CSRRealMatrix a = CSRRealMatrixTest.laplacian(4).buildCSR();
+        a.setEntry(5, 5, -4.0);
+        try {
+            new SparseCholeskyDecomposition(a);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testWrongDimension() {
+        final DecompositionSolver solver =
+                        new SparseCholeskyDecomposition(CSRRealMatrixTest.laplacian(3).buildCSR()).getSolver();
+        try {
+            solver.solve(new ArrayRealVector(8));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            solver.solve(new Array2DRowRealMatrix(10, 2));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    /** Check P A P^T = L L^T.
+     * @param a decomposed matrix
+     * @param cholesky decomposition
+     * @param tolerance tolerance on entries
+     */
+    private void checkDecomposition(final RealMatrix a, final SparseCholeskyDecomposition cholesky,
+                                    final double tolerance) {
+        final int[]      p   = cholesky.getPermutation();
+        final RealMatrix l   = cholesky.getL();
+        final RealMatrix llt = l.multiply(l.transpose());
+        for (int i = 0; i < p.length; ++i) {
+            for (int j = 0; j < p.length; ++j) {
+                assertEquals(a.getEntry(p[i], p[j]), llt.getEntry(i, j), tolerance);
+                if (j > i) {
+                    assertEquals(0.0, l.getEntry(i, j), 0.0);
+                }
+            }
+        }
+    }
+
+    /** Build a random sparse symmetric positive definite matrix.
+     * @param random random generator
+     * @param n dimension
+     * @return random sparse symmetric positive definite matrix
+     */
+    static RealMatrix randomSparseSymmetricPositiveDefinite(final RandomGenerator random, final int n) {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 1.0);
+        }
+        for (int k = 0; k < 2 * n; ++k) {
+            final int    i = random.nextInt(n);
+            final int    j = random.nextInt(n);
+            final double v = 2 * random.nextDouble() - 1;
+            if (i != j) {
+                // add v (e_i + e_j)(e_i + e_j)^T, which keeps diagonal dominance
+                builder.addEntry(i, i, FastMath.abs(v)).addEntry(j, j, FastMath.abs(v));
+                builder.addEntry(i, j, v).addEntry(j, i, v);
+            }
+        }
+        return builder.buildCSC();
+    }
+
+}
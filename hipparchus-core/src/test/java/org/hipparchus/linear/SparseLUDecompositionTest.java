@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SparseLUDecompositionTest {
+
+    @Test
+    void testConvectionDiffusion() {
+        // non-symmetric 2D convection-diffusion operator
+        final int n = 25;
+        final SparseRealMatrixBuilder builder = CSRRealMatrixTest.laplacian(n);
+        for (int k = 0; k < n * n; ++k) {
+            if (k % n > 0) {
+                builder.addEntry(k, k - 1, -0.7);
+            }
+        }
+        final CSCRealMatrix        a  = builder.buildCSC();
+        final SparseLUDecomposition lu = new SparseLUDecomposition(a);
+        checkDecomposition(a, lu, 1.0e-13);
+        final RealVector x = new ArrayRealVector(n * n);
+        for (int i = 0; i < x.getDimension(); ++i) {
+            x.setEntry(i, FastMath.cos(i));
+        }
+        final RealVector solution = lu.getSolver().solve(a.operate(x));
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-12);
+    }
+
+    @Test
+    void testRandomSameAsDense() {
+        final RandomGenerator random = new Well19937a(0x1e5b7d3f9a2c4068l);
+        for (int n = 1; n < 50; n += 6) {
+            final SparseRealMatrixBuilder builder = CSRRealMatrixTest.randomMatrix(random, n, n, 3 * n);
+            for (int i = 0; i < n; ++i) {
+                // weak diagonal to force off-diagonal pivoting from time to time
+                builder.addEntry(i, i, 0.01 * random.nextDouble());
+            }
+            final RealMatrix            a      = builder.buildCSR();
+            final SparseLUDecomposition sparse = new SparseLUDecomposition(a);
+            final LUDecomposition       dense  = new LUDecomposition(a);
+            if (!dense.getSolver().isNonSingular()) {
+                continue;
+            }
+            assertTrue(sparse.getSolver().isNonSingular());
+            checkDecomposition(a, sparse, 1.0e-11);
+            assertEquals(dense.getDeterminant(), sparse.getDeterminant(),
+                         1.0e-9 * FastMath.abs(dense.getDeterminant()));
+            final RealMatrix b = new Array2DRowRealMatrix(n, 2);
+            for (int i = 0; i < n; ++i) {
+                b.setRow(i, CSRRealMatrixTest.randomArray(random, 2));
+            }
+            final RealMatrix x = sparse.getSolver().solve(b);
+            assertEquals(0.0, a.multiply(x).subtract(b).getNorm1(), 1.0e-8);
+        }
+    }
+
+    @Test
+    void testPivoting() {
+        // zero diagonal requires pivoting
+        final RealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            { 0.0, 2.0, 0.0 },
+            { 1.0, 0.0, 0.0 },
+            { 0.0, 0.0, 3.0 }
+        });
+        final SparseLUDecomposition lu = new SparseLUDecomposition(a);
+        checkDecomposition(a, lu, 0.0);
+        assertEquals(-6.0, lu.getDeterminant(), 1.0e-15);
+        final RealVector x = lu.getSolver().solve(new ArrayRealVector(new double[] { 2.0, 1.0, 3.0 }));
+        assertEquals(1.0, x.getEntry(0), 1.0e-15);
+        assertEquals(1.0, x.getEntry(1), 1.0e-15);
+        assertEquals(1.0, x.getEntry(2), 1.0e-15);
+    }
+
+    @Test
+    void testSingular() {
+        final CSRRealMatrix a = new SparseRealMatrixBuilder(3, 3).
+                                addEntry(0, 0, 1.0).addEntry(0, 1, 2.0).
+                                addEntry(1, 0, 2.0).addEntry(1, 1, 4.0).
+                                addEntry(2, 2, 1.0).
+                                buildCSR();
+        final SparseLUDecomposition lu = new SparseLUDecomposition(a);
+        assertFalse(lu.getSolver().isNonSingular());
+        assertEquals(0.0, lu.getDeterminant(), 0.0);
+        assertNull(lu.getL());
+        assertNull(lu.getU());
+        assertNull(lu.getRowPermutation());
+        try {
+            lu.getSolver().solve(new ArrayRealVector(3));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.SINGULAR_MATRIX, miae.getSpecifier());
+        }
+        try {
+            new SparseLUDecomposer(1.0e-11, 0.1).decompose(a).getInverse();
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.SINGULAR_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testDecomposer() {
+        final RealMatrix a = CSRRealMatrixTest.laplacian(6).buildCSR();
+        final DecompositionSolver solver = new SparseLUDecomposer(1.0e-11, 0.5).decompose(a);
+        assertEquals(0.0,
+                     solver.getInverse().multiply(a).subtract(MatrixUtils.createRealIdentityMatrix(36)).getNorm1(),
+                     1.0e-13);
+    }
+
+    @Test
+    void testWrongParameters() {
+        try {
+            new SparseLUDecomposition(new CSRRealMatrix(2, 3));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+        try {
+            new SparseLUDecomposition(new CSRRealMatrix(2, 2), 1.0e-11, 1.5);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+    }
+
+    /** Check P A Q = L U.
+     * @param a decomposed matrix
+     * @param lu decomposition
+     * @param tolerance tolerance on entries
+     */
+    private void checkDecomposition(final RealMatrix a, final SparseLUDecomposition lu,
+                                    final double tolerance) {
+        final int[]      p  = lu.getRowPermutation();
+        final int[]      q  = lu.getColumnPermutation();
+        final RealMatrix l  = lu.getL();
+        final RealMatrix u  = lu.getU();
+        final RealMatrix product = l.multiply(u);
+        for (int i = 0; i < p.length; ++i) {
+            assertEquals(1.0, l.getEntry(i, i), 0.0);
+            for (int j = 0; j < p.length; ++j) {
+                assertEquals(a.getEntry(p[i], q[j]), product.getEntry(i, j), tolerance);
+                if (j > i) {
+                    assertEquals(0.0, l.getEntry(i, j), 0.0);
+                } else if (j < i) {
+                    assertEquals(0.0, u.getEntry(i, j), 0.0);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SparseRealMatrixBuilderTest {
+
+    @Test
+    void testDuplicatesAreSummed() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(2, 3).
+                                                addEntry(1, 2, 1.0).
+                                                addEntry(0, 1, 2.0).
+                                                addEntry(1, 2, 0.5).
+                                                addEntry(1, 0, 4.0).
+                                                addEntry(0, 1, -2.0);
+        assertEquals(2, builder.getRowDimension());
+        assertEquals(3, builder.getColumnDimension());
+        assertEquals(5, builder.getNumberOfTriplets());
+        final CSRRealMatrix csr = builder.buildCSR();
+        assertEquals(3, csr.getNumberOfStoredEntries());
+        assertArrayEquals(new double[] { 0.0, 0.0, 0.0 }, csr.getRow(0), 0.0);
+        assertArrayEquals(new double[] { 4.0, 0.0, 1.5 }, csr.getRow(1), 0.0);
+        final CSCRealMatrix csc = builder.buildCSC();
+        assertEquals(3, csc.getNumberOfStoredEntries());
+        assertEquals(csr, csc);
+    }
+
+    @Test
+    void testGrowth() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(100, 100);
+        for (int i = 0; i < 100; ++i) {
+            builder.addEntry(99 - i, i, i);
+        }
+        final CSRRealMatrix m = builder.buildCSR();
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i, m.getEntry(99 - i, i), 0.0);
+        }
+        builder.addEntry(0, 0, 1.0);
+        assertEquals(101, builder.buildCSC().getNumberOfStoredEntries());
+    }
+
+    @Test
+    void testWrongDimensions() {
+        try {
+            new SparseRealMatrixBuilder(0, 3);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.AT_LEAST_ONE_ROW, miae.getSpecifier());
+        }
+        try {
+            new SparseRealMatrixBuilder(3, 0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.AT_LEAST_ONE_COLUMN, miae.getSpecifier());
+        }
+        try {
+            new SparseRealMatrixBuilder(3, 3).addEntry(3, 0, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.ROW_INDEX, miae.getSpecifier());
+        }
+        try {
+            new SparseRealMatrixBuilder(3, 3).addEntry(0, -1, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.COLUMN_INDEX, miae.getSpecifier());
+        }
+    }
+
+}
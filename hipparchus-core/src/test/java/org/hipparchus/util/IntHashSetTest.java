@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.hipparchus.UnitTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link IntHashSet}.
+ */
+class IntHashSetTest {
+
+    @Test
+    void testAddContainsRemove() {
+        final Set<Integer> javaSet = generate(new Random(0x6a0e3d95b7c1f428l));
+        final IntHashSet set = new IntHashSet();
+        for (final int element : javaSet) {
+            assertTrue(set.add(element));
+            assertFalse(set.add(element));
+        }
+        assertEquals(javaSet.size(), set.size());
+        for (final int element : javaSet) {
+            assertTrue(set.contains(element));
+        }
+        assertFalse(set.contains(2));
+        for (final int element : javaSet) {
+            assertTrue(set.remove(element));
+            assertFalse(set.remove(element));
+            assertFalse(set.contains(element));
+        }
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void testIteration() {
+        final Set<Integer> javaSet = generate(new Random(0x25c8f1b07d3e9a64l));
+        final IntHashSet set = new IntHashSet(javaSet.size());
+        javaSet.forEach(set::add);
+
+        final Set<Integer> visited = new HashSet<>();
+        set.forEach(element -> assertTrue(visited.add(element)));
+        assertEquals(javaSet, visited);
+
+        final Set<Integer> iterated = new HashSet<>();
+        for (IntHashSet.Iterator iterator = set.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            assertTrue(iterated.add(iterator.key()));
+        }
+        assertEquals(javaSet, iterated);
+
+        final Set<Integer> fromArray = new HashSet<>();
+        for (final int element : set.toArray()) {
+            fromArray.add(element);
+        }
+        assertEquals(javaSet, fromArray);
+
+        assertThrows(ConcurrentModificationException.class, () -> set.forEach(set::remove));
+        assertThrows(NoSuchElementException.class, () -> new IntHashSet().iterator().advance());
+    }
+
+    @Test
+    void testCopyEqualsAndSerialization() {
+        final IntHashSet set = new IntHashSet();
+        generate(new Random(0x58b2d4a7e93c016fl)).forEach(set::add);
+        final IntHashSet copy = new IntHashSet(set);
+        assertEquals(set, copy);
+        assertEquals(set.hashCode(), copy.hashCode());
+        copy.add(2);
+        assertNotEquals(set, copy);
+        assertNotEquals(set, "");
+        final IntHashSet recovered = (IntHashSet) UnitTestUtils.serializeAndRecover(set);
+        assertEquals(set.size(), recovered.size());
+        set.forEach(element -> assertTrue(recovered.contains(element)));
+    }
+
+    private Set<Integer> generate(final Random random) {
+        final Set<Integer> set = new HashSet<>();
+        set.add(0);
+        set.add(Integer.MIN_VALUE);
+        set.add(Integer.MAX_VALUE);
+        for (int i = 0; i < 2000; ++i) {
+            set.add(random.nextInt() | 1);
+        }
+        return set;
+    }
+
+}
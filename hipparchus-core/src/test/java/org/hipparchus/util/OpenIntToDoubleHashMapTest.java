@@ -35,6 +35,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -271,6 +272,20 @@ class OpenIntToDoubleHashMapTest {
         }
     }
 
+    @Test
+    void testForEach() {
+        OpenIntToDoubleHashMap map = createFromJavaMap();
+        final Map<Integer, Double> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(javaMap, visited);
+        try {
+            map.forEach((key, value) -> map.remove(key));
+            fail("an exception should have been thrown");
+        } catch (ConcurrentModificationException cme) {
+            // expected
+        }
+    }
+
     @Test
     void testEquals() {
         OpenIntToDoubleHashMap map1 = new OpenIntToDoubleHashMap();
@@ -42,6 +42,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -86,6 +87,20 @@ class OpenIntToFieldHashMapTest {
         return map;
     }
 
+    @Test
+    void testForEach() {
+        OpenIntToFieldHashMap<Fraction> map = createFromJavaMap(field);
+        final Map<Integer, Fraction> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(javaMap, visited);
+        try {
+            map.forEach((key, value) -> map.remove(key));
+            fail("an exception should have been thrown");
+        } catch (ConcurrentModificationException cme) {
+            // expected
+        }
+    }
+
     private OpenIntToFieldHashMap<Fraction> createFromJavaMap(Field<Fraction> field) {
         OpenIntToFieldHashMap<Fraction> map = new OpenIntToFieldHashMap<>(field);
         for (Map.Entry<Integer, Fraction> mapEntry : javaMap.entrySet()) {
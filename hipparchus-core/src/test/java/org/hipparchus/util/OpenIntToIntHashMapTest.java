@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.hipparchus.UnitTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link OpenIntToIntHashMap}.
+ */
+class OpenIntToIntHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        final Map<Integer, Integer> javaMap = generate(new Random(0x5e09c3a7b1d42f68l));
+        final OpenIntToIntHashMap map = new OpenIntToIntHashMap(0, -1);
+        for (final Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            assertEquals(-1, map.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(javaMap.size(), map.size());
+        for (final Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+        for (final Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.remove(entry.getKey()));
+            assertFalse(map.containsKey(entry.getKey()));
+            assertEquals(-1, map.get(entry.getKey()));
+        }
+        assertEquals(0, map.size());
+        assertEquals(0, new OpenIntToIntHashMap().get(3));
+    }
+
+    @Test
+    void testForEach() {
+        final Map<Integer, Integer> javaMap = generate(new Random(0x63d1b8f2047ae95cl));
+        final OpenIntToIntHashMap map = new OpenIntToIntHashMap(javaMap.size());
+        javaMap.forEach(map::put);
+        final Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(javaMap, visited);
+        final Map<Integer, Integer> iterated = new HashMap<>();
+        for (OpenIntToIntHashMap.Iterator iterator = map.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            iterated.put(iterator.key(), iterator.value());
+        }
+        assertEquals(javaMap, iterated);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
+    @Test
+    void testCopyEqualsAndSerialization() {
+        final OpenIntToIntHashMap map = new OpenIntToIntHashMap(0, 7);
+        generate(new Random(0x7e41c9a25f0db386l)).forEach(map::put);
+        final OpenIntToIntHashMap copy = new OpenIntToIntHashMap(map);
+        assertEquals(map, copy);
+        assertEquals(map.hashCode(), copy.hashCode());
+        copy.put(17, 4);
+        assertNotEquals(map, copy);
+        final OpenIntToIntHashMap recovered = (OpenIntToIntHashMap) UnitTestUtils.serializeAndRecover(map);
+        assertEquals(map.size(), recovered.size());
+        map.forEach((key, value) -> assertEquals(value, recovered.get(key)));
+        assertEquals(7, recovered.get(Integer.MIN_VALUE));
+    }
+
+    private Map<Integer, Integer> generate(final Random random) {
+        final Map<Integer, Integer> map = new HashMap<>();
+        map.put(0, 3);
+        map.put(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        for (int i = 0; i < 2000; ++i) {
+            map.put(random.nextInt() | 1, random.nextInt());
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.hipparchus.UnitTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link OpenIntToLongHashMap}.
+ */
+class OpenIntToLongHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        final Map<Integer, Long> javaMap = generate(new Random(0x2c7f1ad4e8b3690al));
+        final OpenIntToLongHashMap map = new OpenIntToLongHashMap(0, -1l);
+        for (final Map.Entry<Integer, Long> entry : javaMap.entrySet()) {
+            assertEquals(-1l, map.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(javaMap.size(), map.size());
+        for (final Map.Entry<Integer, Long> entry : javaMap.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue().longValue(), map.get(entry.getKey()));
+        }
+        for (final Map.Entry<Integer, Long> entry : javaMap.entrySet()) {
+            assertEquals(entry.getValue().longValue(), map.remove(entry.getKey()));
+            assertFalse(map.containsKey(entry.getKey()));
+            assertEquals(-1l, map.get(entry.getKey()));
+        }
+        assertEquals(0, map.size());
+        assertEquals(0l, new OpenIntToLongHashMap().get(3));
+    }
+
+    @Test
+    void testForEach() {
+        final Map<Integer, Long> javaMap = generate(new Random(0x0ab5e7c3192d4f86l));
+        final OpenIntToLongHashMap map = new OpenIntToLongHashMap(javaMap.size());
+        javaMap.forEach(map::put);
+        final Map<Integer, Long> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(javaMap, visited);
+        final Map<Integer, Long> iterated = new HashMap<>();
+        for (OpenIntToLongHashMap.Iterator iterator = map.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            iterated.put(iterator.key(), iterator.value());
+        }
+        assertEquals(javaMap, iterated);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
+    @Test
+    void testCopyEqualsAndSerialization() {
+        final OpenIntToLongHashMap map = new OpenIntToLongHashMap(0, 7l);
+        generate(new Random(0x1d6b83f4c9e027a5l)).forEach(map::put);
+        final OpenIntToLongHashMap copy = new OpenIntToLongHashMap(map);
+        assertEquals(map, copy);
+        assertEquals(map.hashCode(), copy.hashCode());
+        copy.put(17, 4l);
+        assertNotEquals(map, copy);
+        final OpenIntToLongHashMap recovered = (OpenIntToLongHashMap) UnitTestUtils.serializeAndRecover(map);
+        assertEquals(map.size(), recovered.size());
+        map.forEach((key, value) -> assertEquals(value, recovered.get(key)));
+        assertEquals(7l, recovered.get(Integer.MIN_VALUE));
+    }
+
+    private Map<Integer, Long> generate(final Random random) {
+        final Map<Integer, Long> map = new HashMap<>();
+        map.put(0, 3l);
+        map.put(Integer.MAX_VALUE, Long.MAX_VALUE);
+        for (int i = 0; i < 2000; ++i) {
+            map.put(random.nextInt() | 1, random.nextLong());
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.hipparchus.UnitTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link OpenLongToDoubleHashMap}.
+ */
+class OpenLongToDoubleHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        final Map<Long, Double> javaMap = generate(new Random(0x7d2e49a1c05b3f86l));
+        final OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap();
+        for (final Map.Entry<Long, Double> entry : javaMap.entrySet()) {
+            assertTrue(Double.isNaN(map.put(entry.getKey(), entry.getValue())));
+        }
+        assertEquals(javaMap.size(), map.size());
+        for (final Map.Entry<Long, Double> entry : javaMap.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()), 0.0);
+        }
+        assertTrue(Double.isNaN(map.get(123456789012345l)));
+
+        // keys differing only in their high bits must not collide
+        map.put(1l, 1.0);
+        map.put(1l + (1l << 32), 2.0);
+        assertEquals(1.0, map.get(1l), 0.0);
+        assertEquals(2.0, map.get(1l + (1l << 32)), 0.0);
+
+        for (final Map.Entry<Long, Double> entry : javaMap.entrySet()) {
+            assertEquals(entry.getValue(), map.remove(entry.getKey()), 0.0);
+            assertFalse(map.containsKey(entry.getKey()));
+        }
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testMissingEntries() {
+        final OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap(0.0);
+        assertEquals(0.0, map.get(Long.MAX_VALUE), 0.0);
+        assertEquals(0.0, map.remove(Long.MIN_VALUE), 0.0);
+        assertEquals(0.0, map.put(Long.MIN_VALUE, 3.0), 0.0);
+        assertEquals(3.0, map.put(Long.MIN_VALUE, 4.0), 0.0);
+    }
+
+    @Test
+    void testIteratorAndForEach() {
+        final Map<Long, Double> javaMap = generate(new Random(0x19f3b7d05e2ac468l));
+        final OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap(javaMap.size());
+        javaMap.forEach(map::put);
+
+        final Map<Long, Double> iterated = new HashMap<>();
+        for (OpenLongToDoubleHashMap.Iterator iterator = map.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            assertNull(iterated.put(iterator.key(), iterator.value()));
+        }
+        assertEquals(javaMap, iterated);
+
+        final Map<Long, Double> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(javaMap, visited);
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+        final OpenLongToDoubleHashMap.Iterator iterator = new OpenLongToDoubleHashMap().iterator();
+        assertThrows(NoSuchElementException.class, iterator::advance);
+    }
+
+    @Test
+    void testCopyEqualsAndSerialization() {
+        final OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap();
+        generate(new Random(0x4b8a06e3d91f27c5l)).forEach(map::put);
+        final OpenLongToDoubleHashMap copy = new OpenLongToDoubleHashMap(map);
+        assertEquals(map, copy);
+        assertEquals(map.hashCode(), copy.hashCode());
+        copy.put(17l, 0.25);
+        assertNotEquals(map, copy);
+        assertNotEquals(map, "");
+        final OpenLongToDoubleHashMap recovered = (OpenLongToDoubleHashMap) UnitTestUtils.serializeAndRecover(map);
+        assertEquals(map.size(), recovered.size());
+        map.forEach((key, value) -> assertEquals(value, recovered.get(key), 0.0));
+    }
+
+    private Map<Long, Double> generate(final Random random) {
+        final Map<Long, Double> map = new HashMap<>();
+        map.put(0l, -1.0);
+        map.put(Long.MAX_VALUE, 2.0);
+        map.put(Long.MIN_VALUE, 3.0);
+        for (int i = 0; i < 2000; ++i) {
+            map.put(random.nextLong(), random.nextDouble());
+        }
+        return map;
+    }
+
+}
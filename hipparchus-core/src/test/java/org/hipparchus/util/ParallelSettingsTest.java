@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.hipparchus.exception.NullArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link ParallelSettings}.
+ */
+class ParallelSettingsTest {
+
+    @Test
+    void testDefault() {
+        final ParallelSettings settings = new ParallelSettings();
+        assertSame(ForkJoinPool.commonPool(), settings.getPool());
+        assertEquals(ParallelSettings.DEFAULT_THRESHOLD, settings.getThreshold());
+    }
+
+    @Test
+    void testThreshold() {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final ParallelSettings settings = new ParallelSettings(pool, 1000L);
+            assertFalse(settings.isParallel(999L));
+            assertTrue(settings.isParallel(1000L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSingleThread() {
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertFalse(new ParallelSettings(pool, 0L).isParallel(Long.MAX_VALUE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testForRange() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ParallelSettings settings = new ParallelSettings(pool, 0L);
+            for (final int grain : new int[] { -1, 1, 7, 1000 }) {
+                final AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+                settings.forRange(3, 997, grain, (start, end) -> {
+                    assertTrue(end - start <= FastMath.max(1, grain));
+                    for (int i = start; i < end; ++i) {
+                        visits.incrementAndGet(i);
+                    }
+                });
+                for (int i = 0; i < visits.length(); ++i) {
+                    assertEquals((i < 3 || i >= 997) ? 0 : 1, visits.get(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testForRangeException() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final ParallelSettings settings = new ParallelSettings(pool, 0L);
+            assertThrows(IllegalStateException.class,
+                         () -> settings.forRange(0, 100, 10, (start, end) -> {
+                             if (start <= 50 && 50 < end) {
+                                 throw new IllegalStateException();
+                             }
+                         }));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testNullPool() {
+        assertThrows(NullArgumentException.class, () -> new ParallelSettings(null, 0L));
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.Random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.linear.ArrayRealVector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link ReductionKernel}.
+ */
+class ReductionKernelTest {
+
+    @Test
+    void testScalarMatchesNaiveLoops() {
+        final Random random = new Random(0x38c5e1a7f20d946bl);
+        for (int n = 0; n < 20; ++n) {
+            final double[] a = random(random, n);
+            final double[] b = random(random, n);
+            double dot = 0;
+            double squares = 0;
+            double distance = 0;
+            for (int i = 0; i < n; ++i) {
+                dot      += a[i] * b[i];
+                squares  += a[i] * a[i];
+                distance += (a[i] - b[i]) * (a[i] - b[i]);
+            }
+            assertEquals(dot, ReductionKernel.SCALAR.dotProduct(a, b), 0.0);
+            assertEquals(FastMath.sqrt(squares), ReductionKernel.SCALAR.norm(a), 0.0);
+            assertEquals(FastMath.sqrt(distance), ReductionKernel.SCALAR.distance(a, b), 0.0);
+        }
+    }
+
+    @Test
+    void testUnrolledAccuracy() {
+        final Random random = new Random(0x7b20f94e6c1d35a8l);
+        for (final int n : new int[] { 0, 1, 2, 3, 4, 5, 7, 8, 9, 1000, 10001 }) {
+            final double[] a = random(random, n);
+            final double[] b = random(random, n);
+            assertEquals(ReductionKernel.SCALAR.dotProduct(a, b), ReductionKernel.UNROLLED.dotProduct(a, b), 1.0e-15 * n);
+            assertEquals(ReductionKernel.SCALAR.norm(a), ReductionKernel.UNROLLED.norm(a), 1.0e-15 * n);
+            assertEquals(ReductionKernel.SCALAR.distance(a, b), ReductionKernel.UNROLLED.distance(a, b), 1.0e-15 * n);
+        }
+    }
+
+    @Test
+    void testVector() {
+        // the multi-release profile runs this test from the jar with the Vector API module,
+        // otherwise (as when running from the classes directory) VECTOR falls back to UNROLLED
+        if (Boolean.getBoolean("hipparchus.vector.api.required")) {
+            assertTrue(ReductionKernel.isVectorApiAvailable());
+        }
+        final Random random = new Random(0x1d6e83b5f0a9427cl);
+        for (int n = 0; n < 80; ++n) {
+            checkVector(random, n);
+        }
+        for (final int n : new int[] { 1000, 1001, 1003, 1007, 10001 }) {
+            checkVector(random, n);
+        }
+    }
+
+    private void checkVector(final Random random, final int n) {
+        // lengths that are not multiples of the lanes count exercise the tail loops
+        final double[] a = random(random, n);
+        final double[] b = random(random, n);
+        final double tolerance = 1.0e-15 * n;
+        assertEquals(ReductionKernel.SCALAR.dotProduct(a, b), ReductionKernel.VECTOR.dotProduct(a, b), tolerance);
+        assertEquals(ReductionKernel.SCALAR.norm(a), ReductionKernel.VECTOR.norm(a), tolerance);
+        assertEquals(ReductionKernel.SCALAR.distance(a, b), ReductionKernel.VECTOR.distance(a, b), tolerance);
+        if (!ReductionKernel.isVectorApiAvailable()) {
+            assertEquals(ReductionKernel.UNROLLED.dotProduct(a, b), ReductionKernel.VECTOR.dotProduct(a, b), 0.0);
+            assertEquals(ReductionKernel.UNROLLED.norm(a), ReductionKernel.VECTOR.norm(a), 0.0);
+            assertEquals(ReductionKernel.UNROLLED.distance(a, b), ReductionKernel.VECTOR.distance(a, b), 0.0);
+        }
+    }
+
+    @Test
+    void testUnrolledExactOnIntegers() {
+        final double[] a = new double[103];
+        final double[] b = new double[103];
+        for (int i = 0; i < a.length; ++i) {
+            a[i] = i;
+            b[i] = 2 * i - 7;
+        }
+        for (final ReductionKernel kernel : ReductionKernel.values()) {
+            assertEquals(ReductionKernel.SCALAR.dotProduct(a, b), kernel.dotProduct(a, b), 0.0);
+            assertEquals(ReductionKernel.SCALAR.norm(b), kernel.norm(b), 0.0);
+            assertEquals(ReductionKernel.SCALAR.distance(a, b), kernel.distance(a, b), 0.0);
+        }
+    }
+
+    @Test
+    void testSpecialValues() {
+        for (final ReductionKernel kernel : ReductionKernel.values()) {
+            final double[] a = { 1, 2, 3, 4, 5, Double.NaN };
+            final double[] b = { 1, 2, 3, 4, 5, 6 };
+            assertEquals(Double.NaN, kernel.dotProduct(a, b), 0.0);
+            assertEquals(Double.POSITIVE_INFINITY, kernel.norm(new double[] { 1, Double.NEGATIVE_INFINITY }), 0.0);
+        }
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        for (final ReductionKernel kernel : ReductionKernel.values()) {
+            final MathIllegalArgumentException miae =
+                            assertThrows(MathIllegalArgumentException.class,
+                                         () -> kernel.dotProduct(new double[3], new double[4]));
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> kernel.distance(new double[3], new double[4]));
+        }
+    }
+
+    @Test
+    void testDefault() {
+        final Random random = new Random(0x4f96a2d81e3b07c5l);
+        final double[] a = random(random, 1001);
+        final double[] b = random(random, 1001);
+        final ArrayRealVector va = new ArrayRealVector(a, false);
+        final ArrayRealVector vb = new ArrayRealVector(b, false);
+        assertSame(ReductionKernel.SCALAR, ReductionKernel.getDefault());
+        assertThrows(NullArgumentException.class, () -> ReductionKernel.setDefault(null));
+        try {
+            for (final ReductionKernel kernel : ReductionKernel.values()) {
+                ReductionKernel.setDefault(kernel);
+                assertSame(kernel, ReductionKernel.getDefault());
+                assertEquals(kernel.dotProduct(a, b), va.dotProduct(vb), 0.0);
+                assertEquals(kernel.norm(a), va.getNorm(), 0.0);
+                assertEquals(kernel.distance(a, b), va.getDistance(vb), 0.0);
+                assertEquals(kernel.distance(a, b), MathArrays.distance(a, b), 0.0);
+            }
+        } finally {
+            ReductionKernel.setDefault(ReductionKernel.SCALAR);
+        }
+    }
+
+    private double[] random(final Random random, final int n) {
+        final double[] array = new double[n];
+        for (int i = 0; i < n; ++i) {
+            array[i] = 2 * random.nextDouble() - 1;
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.Arrays;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Bluestein (chirp z-transform) fast Fourier transform for arbitrary lengths.
+ * <p>
+ * The discrete Fourier transform of length n is rewritten as a circular
+ * convolution with the chirp exp(-i&pi;k&sup2;/n), which is evaluated
+ * using a {@link MixedRadixFFT} of length m &ge; 2n - 1. This allows lengths
+ * having large prime factors to be transformed in O(m log m) operations.
+ * All the data that depend only on the length (chirp and transformed
+ * convolution kernel) are computed once at construction, so instances
+ * are immutable and hence thread-safe.
+ * </p>
+ * <p>
+ * As for {@link MixedRadixFFT}, the transform is computed in place and
+ * is not normalized.
+ * </p>
+ * @since 4.0
+ */
+final class BluesteinFFT implements FFTAlgorithm {
+
+    /** Length of the transform. */
+    private final int n;
+
+    /** Underlying transform used for the convolution. */
+    private final MixedRadixFFT convolution;
+
+    /** Real part of the chirp exp(-i&pi;k&sup2;/n). */
+    private final double[] chirpRe;
+
+    /** Imaginary part of the chirp exp(-i&pi;k&sup2;/n). */
+    private final double[] chirpIm;
+
+    /** Real part of the transformed convolution kernel, including 1/m scaling. */
+    private final double[] kernelRe;
+
+    /** Imaginary part of the transformed convolution kernel, including 1/m scaling. */
+    private final double[] kernelIm;
+
+    /** Simple constructor.
+     * @param n length of the transform (must be strictly positive)
+     */
+    BluesteinFFT(final int n) {
+
+        this.n = n;
+
+        // smallest supported length allowing a non-cyclic convolution of length 2n - 1
+        int m = 2 * n - 1;
+        while (!MixedRadixFFT.isSupported(m)) {
+            ++m;
+        }
+        convolution = new MixedRadixFFT(m);
+
+        // chirp, with the exponent reduced exactly modulo 2n to preserve accuracy
+        chirpRe = new double[n];
+        chirpIm = new double[n];
+        final long twoN = 2L * n;
+        for (int k = 0; k < n; ++k) {
+            final double angle = FastMath.PI * (((long) k * k) % twoN) / n;
+            chirpRe[k] =  FastMath.cos(angle);
+            chirpIm[k] = -FastMath.sin(angle);
+        }
+
+        // convolution kernel is the conjugate chirp, wrapped around for negative indices
+        kernelRe = new double[m];
+        kernelIm = new double[m];
+        final double scale = 1.0 / m;
+        kernelRe[0] =  scale * chirpRe[0];
+        kernelIm[0] = -scale * chirpIm[0];
+        for (int k = 1; k < n; ++k) {
+            kernelRe[k]     =  scale * chirpRe[k];
+            kernelIm[k]     = -scale * chirpIm[k];
+            kernelRe[m - k] =  kernelRe[k];
+            kernelIm[m - k] =  kernelIm[k];
+        }
+        convolution.transform(kernelRe, kernelIm, false);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getLength() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getWorkLength() {
+        return convolution.getLength();
+    }
+
+    /** Compute the transform in place.
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param inverse if true, computes the (unnormalized) inverse transform
+     */
+    void transform(final double[] re, final double[] im, final boolean inverse) {
+        transform(re, im, 0, inverse, new double[getWorkLength()], new double[getWorkLength()]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void transform(final double[] re, final double[] im, final int offset, final boolean inverse,
+                          final double[] workRe, final double[] workIm) {
+
+        // the inverse transform is the conjugate of the forward transform of the conjugate
+        final double sign = inverse ? -1.0 : 1.0;
+
+        // pre-multiplication by the chirp
+        for (int k = 0; k < n; ++k) {
+            final double xr = re[offset + k];
+            final double xi = sign * im[offset + k];
+            workRe[k] = xr * chirpRe[k] - xi * chirpIm[k];
+            workIm[k] = xr * chirpIm[k] + xi * chirpRe[k];
+        }
+        final int m = convolution.getLength();
+        Arrays.fill(workRe, n, m, 0.0);
+        Arrays.fill(workIm, n, m, 0.0);
+
+        // convolution with the conjugate chirp
+        convolution.transform(workRe, workIm, false);
+        for (int k = 0; k < m; ++k) {
+            final double ar = workRe[k];
+            final double ai = workIm[k];
+            workRe[k] = ar * kernelRe[k] - ai * kernelIm[k];
+            workIm[k] = ar * kernelIm[k] + ai * kernelRe[k];
+        }
+        convolution.transform(workRe, workIm, true);
+
+        // post-multiplication by the chirp
+        for (int k = 0; k < n; ++k) {
+            final double cr = workRe[k];
+            final double ci = workIm[k];
+            re[offset + k] = cr * chirpRe[k] - ci * chirpIm[k];
+            im[offset + k] = sign * (cr * chirpIm[k] + ci * chirpRe[k]);
+        }
+
+    }
+
+}
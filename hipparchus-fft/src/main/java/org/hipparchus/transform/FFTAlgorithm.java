@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+/**
+ * Unnormalized in-place complex fast Fourier transform algorithm for a fixed length.
+ * <p>
+ * Implementations precompute everything that depends only on the length,
+ * they are immutable and hence thread-safe.
+ * </p>
+ * @since 4.0
+ */
+interface FFTAlgorithm {
+
+    /** Select the best algorithm for a length.
+     * @param n length of the transform (must be strictly positive)
+     * @return algorithm for the specified length
+     */
+    static FFTAlgorithm of(final int n) {
+        return MixedRadixFFT.isSupported(n) ? new MixedRadixFFT(n) : new BluesteinFFT(n);
+    }
+
+    /** Get the length of the transform.
+     * @return length of the transform
+     */
+    int getLength();
+
+    /** Get the length of the work arrays needed by {@link #transform(double[], double[], int, boolean, double[], double[])}.
+     * @return length of the work arrays (0 if no work arrays are needed)
+     */
+    int getWorkLength();
+
+    /** Compute the transform in place on a slice of arrays, using caller-provided work arrays.
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param offset index of the first element of the slice
+     * @param inverse if true, computes the (unnormalized) inverse transform
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * (may be the same array as {@code re} if the slice starts after the work area)
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * (may be the same array as {@code im} if the slice starts after the work area)
+     */
+    void transform(double[] re, double[] im, int offset, boolean inverse, double[] workRe, double[] workIm);
+
+}
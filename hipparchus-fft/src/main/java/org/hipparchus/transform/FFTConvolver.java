@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Convolution using fast Fourier transforms.
+ * <p>
+ * The static {@link #convolve(double[], double[])} method computes the linear
+ * convolution of two complete sequences in O((n + m) log(n + m)) operations,
+ * instead of the O(nm) operations of the direct sum used by
+ * {@link org.hipparchus.util.MathArrays#convolve(double[], double[])}.
+ * </p>
+ * <p>
+ * Instances of this class convolve a fixed kernel (typically the impulse
+ * response of a finite impulse response filter) with an input stream of
+ * unbounded length, which is consumed in chunks of arbitrary sizes. The
+ * stream is split into blocks that are convolved using either the
+ * {@link Method#OVERLAP_ADD overlap-add} or the {@link Method#OVERLAP_SAVE
+ * overlap-save} method, so memory is bounded by the block and kernel sizes.
+ * Each complete block of input produces one block of output, and {@link
+ * #flush(OutputHandler)} produces the remaining output at the end of the
+ * stream. The concatenation of all produced outputs is the linear convolution
+ * of the complete stream with the kernel.
+ * </p>
+ * <p>
+ * Instances of this class are stateful and are <em>not</em> thread-safe.
+ * </p>
+ * @since 4.0
+ */
+public class FFTConvolver {
+
+    /** Block convolution methods. */
+    public enum Method {
+
+        /** Overlap-add method: the tails of block convolutions are added to the next block. */
+        OVERLAP_ADD,
+
+        /** Overlap-save method: the last input samples are prepended to the next block. */
+        OVERLAP_SAVE
+
+    }
+
+    /** Handler for output blocks. */
+    @FunctionalInterface
+    public interface OutputHandler {
+
+        /** Handle a block of output samples.
+         * <p>
+         * The array is reused between calls, so the samples must be copied
+         * if they are needed after the handler returns.
+         * </p>
+         * @param output array containing the output samples
+         * @param offset index of the first output sample in the array
+         * @param length number of output samples
+         */
+        void handle(double[] output, int offset, int length);
+
+    }
+
+    /** Kernel length. */
+    private final int kernelLength;
+
+    /** Block size. */
+    private final int blockSize;
+
+    /** Block convolution method. */
+    private final Method method;
+
+    /** Real transform plan. */
+    private final RealFFTPlan plan;
+
+    /** Real parts of the kernel half spectrum. */
+    private final double[] kernelRe;
+
+    /** Imaginary parts of the kernel half spectrum. */
+    private final double[] kernelIm;
+
+    /** Input block being filled. */
+    private final double[] block;
+
+    /** Last input samples (overlap-save) or convolution tail (overlap-add). */
+    private final double[] overlap;
+
+    /** Frame used for transforms. */
+    private final double[] frame;
+
+    /** Real parts of the frame half spectrum. */
+    private final double[] spectrumRe;
+
+    /** Imaginary parts of the frame half spectrum. */
+    private final double[] spectrumIm;
+
+    /** Number of samples in the current input block. */
+    private int filled;
+
+    /** Simple constructor.
+     * @param kernel convolution kernel (typically a filter impulse response)
+     * @param blockSize number of input samples per block
+     * @param method block convolution method
+     * @exception NullArgumentException if kernel is null
+     * @exception MathIllegalArgumentException if kernel is empty or block size is not strictly positive
+     */
+    public FFTConvolver(final double[] kernel, final int blockSize, final Method method)
+        throws MathIllegalArgumentException, NullArgumentException {
+
+        MathUtils.checkNotNull(kernel);
+        if (kernel.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NO_DATA);
+        }
+        if (blockSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, blockSize, 1);
+        }
+
+        this.kernelLength = kernel.length;
+        this.blockSize    = blockSize;
+        this.method       = method;
+        this.plan         = new RealFFTPlan(fftLength(blockSize + kernelLength - 1), DftNormalization.STANDARD);
+
+        this.frame        = new double[plan.getLength()];
+        this.spectrumRe   = new double[plan.getSpectrumLength()];
+        this.spectrumIm   = new double[plan.getSpectrumLength()];
+        this.kernelRe     = new double[plan.getSpectrumLength()];
+        this.kernelIm     = new double[plan.getSpectrumLength()];
+        System.arraycopy(kernel, 0, frame, 0, kernelLength);
+        plan.forward(frame, kernelRe, kernelIm);
+
+        this.block   = new double[blockSize];
+        this.overlap = new double[kernelLength - 1];
+        this.filled  = 0;
+
+    }
+
+    /** Compute the linear convolution of two sequences.
+     * @param x first sequence (typically an input signal)
+     * @param h second sequence (typically a filter impulse response)
+     * @return convolution of x and h, with {@code x.length + h.length - 1} elements
+     * @exception NullArgumentException if either x or h is null
+     * @exception MathIllegalArgumentException if either x or h is empty
+     * @see org.hipparchus.util.MathArrays#convolve(double[], double[])
+     */
+    public static double[] convolve(final double[] x, final double[] h)
+        throws MathIllegalArgumentException, NullArgumentException {
+
+        MathUtils.checkNotNull(x);
+        MathUtils.checkNotNull(h);
+        if (x.length == 0 || h.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NO_DATA);
+        }
+
+        final int         totalLength = x.length + h.length - 1;
+        final RealFFTPlan plan        = new RealFFTPlan(fftLength(totalLength), DftNormalization.STANDARD);
+        final double[]    padded      = new double[plan.getLength()];
+        final double[]    xRe         = new double[plan.getSpectrumLength()];
+        final double[]    xIm         = new double[plan.getSpectrumLength()];
+        final double[]    hRe         = new double[plan.getSpectrumLength()];
+        final double[]    hIm         = new double[plan.getSpectrumLength()];
+
+        System.arraycopy(x, 0, padded, 0, x.length);
+        plan.forward(padded, xRe, xIm);
+        Arrays.fill(padded, 0.0);
+        System.arraycopy(h, 0, padded, 0, h.length);
+        plan.forward(padded, hRe, hIm);
+
+        multiply(xRe, xIm, hRe, hIm);
+        plan.inverse(xRe, xIm, padded);
+
+        return Arrays.copyOf(padded, totalLength);
+
+    }
+
+    /** Get the kernel length.
+     * @return kernel length
+     */
+    public int getKernelLength() {
+        return kernelLength;
+    }
+
+    /** Get the block size.
+     * @return number of input samples per block
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /** Get the block convolution method.
+     * @return block convolution method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /** Get the length of the underlying transforms.
+     * @return length of the underlying transforms
+     */
+    public int getFFTLength() {
+        return plan.getLength();
+    }
+
+    /** Process a chunk of input samples.
+     * <p>
+     * The handler is called once for each input block completed by this chunk,
+     * with {@link #getBlockSize()} output samples.
+     * </p>
+     * @param input array containing the input samples
+     * @param offset index of the first input sample in the array
+     * @param length number of input samples
+     * @param handler handler for output blocks
+     */
+    public void process(final double[] input, final int offset, final int length,
+                        final OutputHandler handler) {
+        int start     = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            final int n = FastMath.min(remaining, blockSize - filled);
+            System.arraycopy(input, start, block, filled, n);
+            filled    += n;
+            start     += n;
+            remaining -= n;
+            if (filled == blockSize) {
+                processBlock(blockSize, handler);
+                filled = 0;
+            }
+        }
+    }
+
+    /** Flush the stream.
+     * <p>
+     * The handler is called for the output samples corresponding to the
+     * pending incomplete input block and to the tail of the convolution,
+     * i.e. {@link #getKernelLength()} - 1 samples after the end of the input.
+     * The convolver is then {@link #reset() reset}, ready for a new stream.
+     * </p>
+     * @param handler handler for output blocks
+     */
+    public void flush(final OutputHandler handler) {
+        int remaining = filled + kernelLength - 1;
+        while (remaining > 0) {
+            Arrays.fill(block, filled, blockSize, 0.0);
+            final int n = FastMath.min(remaining, blockSize);
+            processBlock(n, handler);
+            filled     = 0;
+            remaining -= n;
+        }
+        reset();
+    }
+
+    /** Reset the convolver, discarding any pending input and convolution tail. */
+    public void reset() {
+        Arrays.fill(overlap, 0.0);
+        filled = 0;
+    }
+
+    /** Convolve one complete input block.
+     * @param outputLength number of output samples to provide to the handler
+     * @param handler handler for output blocks
+     */
+    private void processBlock(final int outputLength, final OutputHandler handler) {
+
+        final int tail = kernelLength - 1;
+        if (method == Method.OVERLAP_SAVE) {
+
+            // prepend the previous input samples to the block
+            System.arraycopy(overlap, 0, frame, 0, tail);
+            System.arraycopy(block, 0, frame, tail, blockSize);
+            Arrays.fill(frame, tail + blockSize, frame.length, 0.0);
+            plan.forward(frame, spectrumRe, spectrumIm);
+            System.arraycopy(frame, blockSize, overlap, 0, tail);
+
+            multiply(spectrumRe, spectrumIm, kernelRe, kernelIm);
+            plan.inverse(spectrumRe, spectrumIm, frame);
+
+            // the first samples are affected by the prepended input, they are discarded
+            handler.handle(frame, tail, outputLength);
+
+        } else {
+
+            System.arraycopy(block, 0, frame, 0, blockSize);
+            Arrays.fill(frame, blockSize, frame.length, 0.0);
+            plan.forward(frame, spectrumRe, spectrumIm);
+
+            multiply(spectrumRe, spectrumIm, kernelRe, kernelIm);
+            plan.inverse(spectrumRe, spectrumIm, frame);
+
+            // add the tail of the previous blocks, and save the new tail
+            for (int i = 0; i < tail; ++i) {
+                frame[i] += overlap[i];
+            }
+            System.arraycopy(frame, blockSize, overlap, 0, tail);
+
+            handler.handle(frame, 0, outputLength);
+
+        }
+
+    }
+
+    /** Multiply two half spectra in place.
+     * @param aRe real parts of the first spectrum (overwritten with the product)
+     * @param aIm imaginary parts of the first spectrum (overwritten with the product)
+     * @param bRe real parts of the second spectrum
+     * @param bIm imaginary parts of the second spectrum
+     */
+    private static void multiply(final double[] aRe, final double[] aIm,
+                                 final double[] bRe, final double[] bIm) {
+        for (int k = 0; k < aRe.length; ++k) {
+            final double re = aRe[k] * bRe[k] - aIm[k] * bIm[k];
+            final double im = aRe[k] * bIm[k] + aIm[k] * bRe[k];
+            aRe[k] = re;
+            aIm[k] = im;
+        }
+    }
+
+    /** Get a transform length suited for a linear convolution.
+     * @param minLength minimum length
+     * @return smallest even length at least equal to minLength, whose half has only 2, 3 and 5 as prime factors
+     */
+    private static int fftLength(final int minLength) {
+        int half = (minLength + 1) / 2;
+        while (!MixedRadixFFT.isSupported(half)) {
+            ++half;
+        }
+        return 2 * half;
+    }
+
+}
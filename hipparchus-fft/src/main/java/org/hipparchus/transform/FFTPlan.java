@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Precomputed plan for fast Fourier transforms of a fixed length and direction.
+ * <p>
+ * Building a plan computes once and for all the factorization of the length,
+ * the twiddle factors and the permutations needed by the transform. The plan
+ * can then be applied to any number of data sets, with the same results and
+ * {@link DftNormalization normalization} conventions as
+ * {@link FastFourierTransformer#transformInPlace(double[][], DftNormalization, TransformType)},
+ * but without recomputing anything. This is intended for applications that
+ * transform many frames of the same length.
+ * </p>
+ * <p>
+ * Lengths whose only prime factors are 2, 3 and 5 are transformed in place
+ * without any allocation. Other lengths are transformed using Bluestein's
+ * algorithm, which needs work arrays; they can be provided by the caller using
+ * {@link #transform(double[], double[], double[], double[])} to avoid allocation
+ * too.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads,
+ * as long as each thread transforms its own data (and uses its own work arrays).
+ * </p>
+ * @see FastFourierTransformer
+ * @since 4.0
+ */
+public class FFTPlan {
+
+    /** Empty work array, for transforms that do not need work arrays. */
+    private static final double[] NO_WORK = new double[0];
+
+    /** Length of the transform. */
+    private final int n;
+
+    /** Normalization. */
+    private final DftNormalization normalization;
+
+    /** Type of transform. */
+    private final TransformType type;
+
+    /** Scaling factor to apply to the unnormalized transform. */
+    private final double scale;
+
+    /** Underlying unnormalized algorithm. */
+    private final FFTAlgorithm algorithm;
+
+    /** Simple constructor.
+     * @param n length of the transform
+     * @param normalization normalization to be applied to the transformed data
+     * @param type type of transform (forward, inverse) to be performed
+     * @exception MathIllegalArgumentException if length is not strictly positive
+     */
+    public FFTPlan(final int n, final DftNormalization normalization, final TransformType type)
+        throws MathIllegalArgumentException {
+
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_NUMBER_OF_SAMPLES, n);
+        }
+
+        this.n             = n;
+        this.normalization = normalization;
+        this.type          = type;
+        if (normalization == DftNormalization.UNITARY) {
+            this.scale = 1.0 / FastMath.sqrt(n);
+        } else {
+            this.scale = type == TransformType.INVERSE ? 1.0 / n : 1.0;
+        }
+
+        this.algorithm = FFTAlgorithm.of(n);
+
+    }
+
+    /** Get the length of the transform.
+     * @return length of the transform
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /** Get the normalization.
+     * @return normalization applied to the transformed data
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Get the type of transform.
+     * @return type of transform (forward, inverse)
+     */
+    public TransformType getType() {
+        return type;
+    }
+
+    /** Get the length of the work arrays needed by {@link #transform(double[], double[], double[], double[])}.
+     * @return length of the work arrays (0 if the transform does not need work arrays)
+     */
+    public int getWorkLength() {
+        return algorithm.getWorkLength();
+    }
+
+    /** Compute the transform in place.
+     * <p>
+     * If {@link #getWorkLength()} is not 0, this method allocates the work
+     * arrays it needs at each call.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     */
+    public void transform(final double[] re, final double[] im)
+        throws MathIllegalArgumentException {
+        final int workLength = algorithm.getWorkLength();
+        if (workLength == 0) {
+            transform(re, im, NO_WORK, NO_WORK);
+        } else {
+            transform(re, im, new double[workLength], new double[workLength]);
+        }
+    }
+
+    /** Compute the transform in place, using caller-provided work arrays.
+     * <p>
+     * This method never allocates memory.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     * or work arrays are too short
+     */
+    public void transform(final double[] re, final double[] im,
+                          final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(re.length, n);
+        MathUtils.checkDimension(im.length, n);
+
+        checkWorkArrays(algorithm.getWorkLength(), workRe, workIm);
+
+        algorithm.transform(re, im, 0, type == TransformType.INVERSE, workRe, workIm);
+
+        if (scale != 1.0) {
+            for (int i = 0; i < n; ++i) {
+                re[i] *= scale;
+                im[i] *= scale;
+            }
+        }
+
+    }
+
+    /** Check work arrays are long enough.
+     * @param workLength required length
+     * @param workRe work array for real parts
+     * @param workIm work array for imaginary parts
+     * @exception MathIllegalArgumentException if work arrays are too short
+     */
+    static void checkWorkArrays(final int workLength, final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+        if (workRe.length < workLength) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   workRe.length, workLength);
+        }
+        if (workIm.length < workLength) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   workIm.length, workLength);
+        }
+    }
+
+}
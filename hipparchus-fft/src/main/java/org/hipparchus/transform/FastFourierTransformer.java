@@ -42,11 +42,13 @@ import org.hipparchus.util.MathUtils;
  * normalization conventions, which are specified by the parameter
  * {@link DftNormalization}.
  * <p>
- * The current implementation of the discrete Fourier transform as a fast
- * Fourier transform requires the length of the data set to be a power of 2.
- * This greatly simplifies and speeds up the code. Users can pad the data with
- * zeros to meet this requirement. There are other flavors of FFT, for
- * reference, see S. Winograd,
+ * Data sets whose length is a power of 2 are transformed using a dedicated
+ * radix-2 algorithm. Since 4.0, other lengths are supported too: lengths whose
+ * only prime factors are 2, 3 and 5 are transformed using a mixed-radix
+ * Cooley-Tukey algorithm, and all remaining lengths are transformed using
+ * Bluestein's chirp z-transform algorithm, so padding the data with zeros is
+ * not needed anymore. The complexity is O(n log n) in all cases. For other
+ * flavors of FFT, see S. Winograd,
  * <i>On computing the discrete Fourier transform</i>, Mathematics of
  * Computation, 32 (1978), 175 - 199.
  *
@@ -208,8 +210,6 @@ public class FastFourierTransformer implements Serializable {
      * @param type the type of transform (forward, inverse) to be performed
      * @throws MathIllegalArgumentException if the number of rows of the specified
      *   array is not two, or the array is not rectangular
-     * @throws MathIllegalArgumentException if the number of data points is not
-     *   a power of two
      */
     public static void transformInPlace(final double[][] dataRI,
         final DftNormalization normalization, final TransformType type) {
@@ -220,12 +220,10 @@ public class FastFourierTransformer implements Serializable {
         MathArrays.checkEqualLength(dataR, dataI);
 
         final int n = dataR.length;
-        if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                                                   Integer.valueOf(n));
-        }
-
-        if (n == 1) {
+        if (n <= 1) {
+            return;
+        } else if (!ArithmeticUtils.isPowerOfTwo(n)) {
+            new FFTPlan(n, normalization, type).transform(dataR, dataI);
             return;
         } else if (n == 2) {
             final double srcR0 = dataR[0];
@@ -359,12 +357,42 @@ public class FastFourierTransformer implements Serializable {
      * @param f the real data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
      */
     public Complex[] transform(final double[] f, final TransformType type) {
-        final double[][] dataRI = { f.clone(), new double[f.length] };
-        transformInPlace(dataRI, normalization, type);
-        return TransformUtils.createComplexArray(dataRI);
+
+        final int n = f.length;
+        if (n < 2 || n % 2 != 0) {
+            final double[][] dataRI = { f.clone(), new double[n] };
+            transformInPlace(dataRI, normalization, type);
+            return TransformUtils.createComplexArray(dataRI);
+        }
+
+        // compute only half of the spectrum, the other half being Hermitian-symmetric
+        final RealFFTPlan plan = new RealFFTPlan(n, normalization);
+        final double[]    re   = new double[plan.getSpectrumLength()];
+        final double[]    im   = new double[plan.getSpectrumLength()];
+        plan.forward(f, re, im);
+
+        // inverse transform of real data is the conjugate of forward transform, with a different scaling
+        final double scale;
+        final double sign;
+        if (type == TransformType.INVERSE) {
+            scale = normalization == DftNormalization.STANDARD ? 1.0 / n : 1.0;
+            sign  = -1.0;
+        } else {
+            scale = 1.0;
+            sign  = 1.0;
+        }
+
+        final Complex[] transformed = new Complex[n];
+        for (int k = 0; k < re.length; ++k) {
+            transformed[k] = new Complex(scale * re[k], sign * scale * im[k]);
+        }
+        for (int k = re.length; k < n; ++k) {
+            transformed[k] = transformed[n - k].conjugate();
+        }
+        return transformed;
+
     }
 
     /**
@@ -381,8 +409,6 @@ public class FastFourierTransformer implements Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.hipparchus.exception.MathIllegalArgumentException
      *   if the number of sample points {@code n} is negative
-     * @throws MathIllegalArgumentException if the number of sample points
-     *   {@code n} is not a power of two
      */
     public Complex[] transform(final UnivariateFunction f,
                                final double min, final double max, final int n,
@@ -398,7 +424,6 @@ public class FastFourierTransformer implements Serializable {
      * @param f the complex data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
      */
     public Complex[] transform(final Complex[] f, final TransformType type) {
         final double[][] dataRI = TransformUtils.createRealImaginaryArray(f);
@@ -44,6 +44,9 @@ public enum LocalizedFFTFormats implements Localizable {
     /** FIRST_ELEMENT_NOT_ZERO. */
     FIRST_ELEMENT_NOT_ZERO("first element is not 0: {0}"),
 
+    /** NOT_EVEN. */
+    NOT_EVEN("{0} is not even"),
+
     /** NOT_POWER_OF_TWO. */
     NOT_POWER_OF_TWO("{0} is not a power of 2"),
 
@@ -0,0 +1,496 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Mixed-radix Cooley-Tukey fast Fourier transform for lengths whose only
+ * prime factors are 2, 3 and 5.
+ * <p>
+ * The length is factored into radix-4, radix-2, radix-3 and radix-5 stages.
+ * All the data that depend only on the length (factorization, twiddle factors
+ * and digit-reversal permutation) are computed once at construction, so the
+ * same instance can be used to transform any number of data sets of the same
+ * length. Instances are immutable and hence thread-safe.
+ * </p>
+ * <p>
+ * The transform is computed in place on separate real and imaginary arrays
+ * and is not normalized, i.e. the forward transform computes
+ * y<sub>k</sub> = &sum;<sub>j</sub> x<sub>j</sub> exp(-2&pi;ijk/n)
+ * and the inverse transform uses the opposite exponent sign.
+ * </p>
+ * @since 4.0
+ */
+final class MixedRadixFFT implements FFTAlgorithm {
+
+    /** cos(2&pi;/5). */
+    private static final double C51 = FastMath.cos(2 * FastMath.PI / 5);
+
+    /** cos(4&pi;/5). */
+    private static final double C52 = FastMath.cos(4 * FastMath.PI / 5);
+
+    /** sin(2&pi;/5). */
+    private static final double S51 = FastMath.sin(2 * FastMath.PI / 5);
+
+    /** sin(4&pi;/5). */
+    private static final double S52 = FastMath.sin(4 * FastMath.PI / 5);
+
+    /** sin(2&pi;/3). */
+    private static final double S3 = FastMath.sqrt(3) / 2;
+
+    /** Length of the transform. */
+    private final int n;
+
+    /** Radices of the stages, from innermost to outermost. */
+    private final int[] radices;
+
+    /** Cosine of twiddle factors, for each stage. */
+    private final double[][] twiddleCos;
+
+    /** Sine of twiddle factors (for the forward transform), for each stage. */
+    private final double[][] twiddleSin;
+
+    /** Digit-reversal permutation: after shuffling, element i comes from element permutation[i]. */
+    private final int[] permutation;
+
+    /** Leading indices of the non-trivial cycles of the permutation. */
+    private final int[] cycleLeaders;
+
+    /** Simple constructor.
+     * @param n length of the transform (must be supported according to {@link #isSupported(int)})
+     */
+    MixedRadixFFT(final int n) {
+        this.n       = n;
+        this.radices = factor(n);
+
+        // twiddle factors W^(q k) for each stage, with W = exp(-2 i pi / (p L))
+        twiddleCos = new double[radices.length][];
+        twiddleSin = new double[radices.length][];
+        int l = 1;
+        for (int s = 0; s < radices.length; ++s) {
+            final int p      = radices[s];
+            final int span   = p * l;
+            final double[] c = new double[(p - 1) * l];
+            final double[] d = new double[(p - 1) * l];
+            for (int k = 0; k < l; ++k) {
+                for (int q = 1; q < p; ++q) {
+                    final int    index = (q * k) % span;
+                    final double angle = MathUtils.TWO_PI * index / span;
+                    c[k * (p - 1) + q - 1] = FastMath.cos(angle);
+                    d[k * (p - 1) + q - 1] = -FastMath.sin(angle);
+                }
+            }
+            twiddleCos[s] = c;
+            twiddleSin[s] = d;
+            l = span;
+        }
+
+        // digit-reversal permutation, outermost radix consuming the least significant digit
+        permutation = new int[n];
+        for (int i = 0; i < n; ++i) {
+            int remaining = i;
+            int target    = 0;
+            int size      = n;
+            for (int s = radices.length - 1; s >= 0; --s) {
+                final int p = radices[s];
+                size   /= p;
+                target += (remaining % p) * size;
+                remaining /= p;
+            }
+            permutation[target] = i;
+        }
+
+        // identify the cycles of the permutation so it can be applied in place
+        final boolean[] visited = new boolean[n];
+        final int[]     leaders = new int[n];
+        int nbCycles = 0;
+        for (int i = 0; i < n; ++i) {
+            if (!visited[i]) {
+                visited[i] = true;
+                if (permutation[i] != i) {
+                    leaders[nbCycles++] = i;
+                    for (int j = permutation[i]; j != i; j = permutation[j]) {
+                        visited[j] = true;
+                    }
+                }
+            }
+        }
+        cycleLeaders = new int[nbCycles];
+        System.arraycopy(leaders, 0, cycleLeaders, 0, nbCycles);
+
+    }
+
+    /** Check if a length can be handled by this algorithm.
+     * @param n length to check
+     * @return true if n is positive and its only prime factors are 2, 3 and 5
+     */
+    static boolean isSupported(final int n) {
+        if (n < 1) {
+            return false;
+        }
+        int m = n;
+        for (final int p : new int[] { 2, 3, 5 }) {
+            while (m % p == 0) {
+                m /= p;
+            }
+        }
+        return m == 1;
+    }
+
+    /** Factor a length into stage radices.
+     * @param n length to factor
+     * @return radices, from innermost to outermost stage
+     */
+    private static int[] factor(final int n) {
+        final int[] factors = new int[32];
+        int count = 0;
+        int m = n;
+        while (m % 4 == 0) {
+            factors[count++] = 4;
+            m /= 4;
+        }
+        if (m % 2 == 0) {
+            factors[count++] = 2;
+            m /= 2;
+        }
+        while (m % 3 == 0) {
+            factors[count++] = 3;
+            m /= 3;
+        }
+        while (m % 5 == 0) {
+            factors[count++] = 5;
+            m /= 5;
+        }
+        final int[] radices = new int[count];
+        System.arraycopy(factors, 0, radices, 0, count);
+        return radices;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getLength() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getWorkLength() {
+        return 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void transform(final double[] re, final double[] im, final int offset, final boolean inverse,
+                          final double[] workRe, final double[] workIm) {
+        transform(re, im, offset, inverse);
+    }
+
+    /** Compute the transform in place.
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param inverse if true, computes the (unnormalized) inverse transform
+     */
+    void transform(final double[] re, final double[] im, final boolean inverse) {
+        transform(re, im, 0, inverse);
+    }
+
+    /** Compute the transform in place on a slice of arrays.
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param offset index of the first element of the slice
+     * @param inverse if true, computes the (unnormalized) inverse transform
+     */
+    void transform(final double[] re, final double[] im, final int offset, final boolean inverse) {
+
+        shuffle(re, im, offset);
+
+        final double sign = inverse ? -1.0 : 1.0;
+        int l = 1;
+        for (int s = 0; s < radices.length; ++s) {
+            switch (radices[s]) {
+                case 2 :
+                    radix2(re, im, offset, l, twiddleCos[s], twiddleSin[s], sign);
+                    break;
+                case 3 :
+                    radix3(re, im, offset, l, twiddleCos[s], twiddleSin[s], sign);
+                    break;
+                case 4 :
+                    radix4(re, im, offset, l, twiddleCos[s], twiddleSin[s], sign);
+                    break;
+                default :
+                    radix5(re, im, offset, l, twiddleCos[s], twiddleSin[s], sign);
+                    break;
+            }
+            l *= radices[s];
+        }
+
+    }
+
+    /** Apply the digit-reversal permutation in place.
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param offset index of the first element of the slice
+     */
+    private void shuffle(final double[] re, final double[] im, final int offset) {
+        for (final int leader : cycleLeaders) {
+            final double tRe = re[offset + leader];
+            final double tIm = im[offset + leader];
+            int i = leader;
+            for (int j = permutation[i]; j != leader; j = permutation[j]) {
+                re[offset + i] = re[offset + j];
+                im[offset + i] = im[offset + j];
+                i = j;
+            }
+            re[offset + i] = tRe;
+            im[offset + i] = tIm;
+        }
+    }
+
+    /** Radix-2 stage.
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param offset index of the first element of the slice
+     * @param l length of the sub-transforms combined by this stage
+     * @param wc cosine of twiddle factors
+     * @param ws sine of forward twiddle factors
+     * @param sign +1 for forward transform, -1 for inverse transform
+     */
+    private void radix2(final double[] re, final double[] im, final int offset, final int l,
+                        final double[] wc, final double[] ws, final double sign) {
+        final int span = 2 * l;
+        for (int g = offset; g < offset + n; g += span) {
+            for (int k = 0; k < l; ++k) {
+                final int    i0  = g + k;
+                final int    i1  = i0 + l;
+                final double w1r = wc[k];
+                final double w1i = sign * ws[k];
+                final double b1r = re[i1] * w1r - im[i1] * w1i;
+                final double b1i = re[i1] * w1i + im[i1] * w1r;
+                final double b0r = re[i0];
+                final double b0i = im[i0];
+                re[i0] = b0r + b1r;
+                im[i0] = b0i + b1i;
+                re[i1] = b0r - b1r;
+                im[i1] = b0i - b1i;
+            }
+        }
+    }
+
+    /** Radix-3 stage.
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param offset index of the first element of the slice
+     * @param l length of the sub-transforms combined by this stage
+     * @param wc cosine of twiddle factors
+     * @param ws sine of forward twiddle factors
+     * @param sign +1 for forward transform, -1 for inverse transform
+     */
+    private void radix3(final double[] re, final double[] im, final int offset, final int l,
+                        final double[] wc, final double[] ws, final double sign) {
+        final int    span = 3 * l;
+        final double s3   = -sign * S3;
+        for (int g = offset; g < offset + n; g += span) {
+            for (int k = 0; k < l; ++k) {
+                final int    i0  = g + k;
+                final int    i1  = i0 + l;
+                final int    i2  = i1 + l;
+                final int    t   = 2 * k;
+                final double w1r = wc[t];
+                final double w1i = sign * ws[t];
+                final double w2r = wc[t + 1];
+                final double w2i = sign * ws[t + 1];
+                final double b0r = re[i0];
+                final double b0i = im[i0];
+                final double b1r = re[i1] * w1r - im[i1] * w1i;
+                final double b1i = re[i1] * w1i + im[i1] * w1r;
+                final double b2r = re[i2] * w2r - im[i2] * w2i;
+                final double b2i = re[i2] * w2i + im[i2] * w2r;
+                final double sr  = b1r + b2r;
+                final double si  = b1i + b2i;
+                final double dr  = s3 * (b1r - b2r);
+                final double di  = s3 * (b1i - b2i);
+                final double mr  = b0r - 0.5 * sr;
+                final double mi  = b0i - 0.5 * si;
+                re[i0] = b0r + sr;
+                im[i0] = b0i + si;
+                // X1 = m + i s3 d, X2 = m - i s3 d
+                re[i1] = mr - di;
+                im[i1] = mi + dr;
+                re[i2] = mr + di;
+                im[i2] = mi - dr;
+            }
+        }
+    }
+
+    /** Radix-4 stage.
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param offset index of the first element of the slice
+     * @param l length of the sub-transforms combined by this stage
+     * @param wc cosine of twiddle factors
+     * @param ws sine of forward twiddle factors
+     * @param sign +1 for forward transform, -1 for inverse transform
+     */
+    private void radix4(final double[] re, final double[] im, final int offset, final int l,
+                        final double[] wc, final double[] ws, final double sign) {
+        final int span = 4 * l;
+        if (l == 1) {
+            // first stage, all twiddle factors are equal to 1
+            for (int i0 = offset; i0 < offset + n; i0 += 4) {
+                final double b0r = re[i0];
+                final double b0i = im[i0];
+                final double b1r = re[i0 + 1];
+                final double b1i = im[i0 + 1];
+                final double b2r = re[i0 + 2];
+                final double b2i = im[i0 + 2];
+                final double b3r = re[i0 + 3];
+                final double b3i = im[i0 + 3];
+                final double t0r = b0r + b2r;
+                final double t0i = b0i + b2i;
+                final double t1r = b0r - b2r;
+                final double t1i = b0i - b2i;
+                final double t2r = b1r + b3r;
+                final double t2i = b1i + b3i;
+                final double t3r = sign * (b1i - b3i);
+                final double t3i = sign * (b3r - b1r);
+                re[i0]     = t0r + t2r;
+                im[i0]     = t0i + t2i;
+                re[i0 + 1] = t1r + t3r;
+                im[i0 + 1] = t1i + t3i;
+                re[i0 + 2] = t0r - t2r;
+                im[i0 + 2] = t0i - t2i;
+                re[i0 + 3] = t1r - t3r;
+                im[i0 + 3] = t1i - t3i;
+            }
+            return;
+        }
+        for (int g = offset; g < offset + n; g += span) {
+            for (int k = 0; k < l; ++k) {
+                final int    i0  = g + k;
+                final int    i1  = i0 + l;
+                final int    i2  = i1 + l;
+                final int    i3  = i2 + l;
+                final int    t   = 3 * k;
+                final double w1r = wc[t];
+                final double w1i = sign * ws[t];
+                final double w2r = wc[t + 1];
+                final double w2i = sign * ws[t + 1];
+                final double w3r = wc[t + 2];
+                final double w3i = sign * ws[t + 2];
+                final double b0r = re[i0];
+                final double b0i = im[i0];
+                final double b1r = re[i1] * w1r - im[i1] * w1i;
+                final double b1i = re[i1] * w1i + im[i1] * w1r;
+                final double b2r = re[i2] * w2r - im[i2] * w2i;
+                final double b2i = re[i2] * w2i + im[i2] * w2r;
+                final double b3r = re[i3] * w3r - im[i3] * w3i;
+                final double b3i = re[i3] * w3i + im[i3] * w3r;
+                final double t0r = b0r + b2r;
+                final double t0i = b0i + b2i;
+                final double t1r = b0r - b2r;
+                final double t1i = b0i - b2i;
+                final double t2r = b1r + b3r;
+                final double t2i = b1i + b3i;
+                // t3 is multiplied by -i for forward transform, +i for inverse transform
+                final double t3r = sign * (b1i - b3i);
+                final double t3i = sign * (b3r - b1r);
+                re[i0] = t0r + t2r;
+                im[i0] = t0i + t2i;
+                re[i1] = t1r + t3r;
+                im[i1] = t1i + t3i;
+                re[i2] = t0r - t2r;
+                im[i2] = t0i - t2i;
+                re[i3] = t1r - t3r;
+                im[i3] = t1i - t3i;
+            }
+        }
+    }
+
+    /** Radix-5 stage.
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param offset index of the first element of the slice
+     * @param l length of the sub-transforms combined by this stage
+     * @param wc cosine of twiddle factors
+     * @param ws sine of forward twiddle factors
+     * @param sign +1 for forward transform, -1 for inverse transform
+     */
+    private void radix5(final double[] re, final double[] im, final int offset, final int l,
+                        final double[] wc, final double[] ws, final double sign) {
+        final int    span = 5 * l;
+        final double s51  = -sign * S51;
+        final double s52  = -sign * S52;
+        for (int g = offset; g < offset + n; g += span) {
+            for (int k = 0; k < l; ++k) {
+                final int    i0  = g + k;
+                final int    i1  = i0 + l;
+                final int    i2  = i1 + l;
+                final int    i3  = i2 + l;
+                final int    i4  = i3 + l;
+                final int    t   = 4 * k;
+                final double w1r = wc[t];
+                final double w1i = sign * ws[t];
+                final double w2r = wc[t + 1];
+                final double w2i = sign * ws[t + 1];
+                final double w3r = wc[t + 2];
+                final double w3i = sign * ws[t + 2];
+                final double w4r = wc[t + 3];
+                final double w4i = sign * ws[t + 3];
+                final double b0r = re[i0];
+                final double b0i = im[i0];
+                final double b1r = re[i1] * w1r - im[i1] * w1i;
+                final double b1i = re[i1] * w1i + im[i1] * w1r;
+                final double b2r = re[i2] * w2r - im[i2] * w2i;
+                final double b2i = re[i2] * w2i + im[i2] * w2r;
+                final double b3r = re[i3] * w3r - im[i3] * w3i;
+                final double b3i = re[i3] * w3i + im[i3] * w3r;
+                final double b4r = re[i4] * w4r - im[i4] * w4i;
+                final double b4i = re[i4] * w4i + im[i4] * w4r;
+                final double s1r = b1r + b4r;
+                final double s1i = b1i + b4i;
+                final double s2r = b2r + b3r;
+                final double s2i = b2i + b3i;
+                final double d1r = b1r - b4r;
+                final double d1i = b1i - b4i;
+                final double d2r = b2r - b3r;
+                final double d2i = b2i - b3i;
+                final double m1r = b0r + C51 * s1r + C52 * s2r;
+                final double m1i = b0i + C51 * s1i + C52 * s2i;
+                final double m2r = b0r + C52 * s1r + C51 * s2r;
+                final double m2i = b0i + C52 * s1i + C51 * s2i;
+                final double e1r = s51 * d1r + s52 * d2r;
+                final double e1i = s51 * d1i + s52 * d2i;
+                final double e2r = s52 * d1r - s51 * d2r;
+                final double e2i = s52 * d1i - s51 * d2i;
+                re[i0] = b0r + s1r + s2r;
+                im[i0] = b0i + s1i + s2i;
+                // X1 = m1 + i e1, X4 = m1 - i e1, X2 = m2 + i e2, X3 = m2 - i e2
+                re[i1] = m1r - e1i;
+                im[i1] = m1i + e1r;
+                re[i4] = m1r + e1i;
+                im[i4] = m1i - e1r;
+                re[i2] = m2r - e2i;
+                im[i2] = m2i + e2r;
+                re[i3] = m2r + e2i;
+                im[i3] = m2i - e2r;
+            }
+        }
+    }
+
+}
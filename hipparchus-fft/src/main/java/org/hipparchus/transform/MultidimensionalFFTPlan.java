@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.ArithmeticUtils;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Precomputed plan for multidimensional fast Fourier transforms.
+ * <p>
+ * The data are stored in flat primitive arrays in row-major order, i.e.
+ * for a 3D transform with dimensions {n<sub>0</sub>, n<sub>1</sub>, n<sub>2</sub>},
+ * element (i<sub>0</sub>, i<sub>1</sub>, i<sub>2</sub>) is at index
+ * (i<sub>0</sub> n<sub>1</sub> + i<sub>1</sub>) n<sub>2</sub> + i<sub>2</sub>.
+ * The transform is computed as one-dimensional transforms along each axis in
+ * turn; the last axis is transformed in place, the other axes are gathered into
+ * a contiguous line buffer before being transformed. The normalization
+ * conventions are the same as {@link FFTPlan}, using the total number of
+ * elements as the length.
+ * </p>
+ * <p>
+ * The transforms need work arrays of length {@link #getWorkLength()}, which can
+ * be provided by the caller to avoid allocation. Instances of this class are
+ * immutable and can be shared between threads, as long as each thread transforms
+ * its own data (and uses its own work arrays).
+ * </p>
+ * @see FFTPlan
+ * @since 4.0
+ */
+public class MultidimensionalFFTPlan {
+
+    /** Dimensions. */
+    private final int[] dimensions;
+
+    /** Total number of elements. */
+    private final int size;
+
+    /** Normalization. */
+    private final DftNormalization normalization;
+
+    /** Type of transform. */
+    private final TransformType type;
+
+    /** Scaling factor to apply to the unnormalized transform. */
+    private final double scale;
+
+    /** Unnormalized algorithms for each axis. */
+    private final FFTAlgorithm[] algorithms;
+
+    /** Start of the line buffer in work arrays (line buffer follows algorithms work area). */
+    private final int lineStart;
+
+    /** Length of work arrays. */
+    private final int workLength;
+
+    /** Simple constructor.
+     * @param dimensions dimensions of the data (for example {rows, columns} for 2D data)
+     * @param normalization normalization to be applied to the transformed data
+     * @param type type of transform (forward, inverse) to be performed
+     * @exception MathIllegalArgumentException if there are no dimensions or
+     * some dimensions are not strictly positive
+     */
+    public MultidimensionalFFTPlan(final int[] dimensions,
+                                   final DftNormalization normalization, final TransformType type)
+        throws MathIllegalArgumentException {
+
+        if (dimensions.length < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION,
+                                                   dimensions.length, 1);
+        }
+
+        this.dimensions    = dimensions.clone();
+        this.normalization = normalization;
+        this.type          = type;
+
+        int s = 1;
+        int maxAlgorithmWork = 0;
+        int maxGathered      = 0;
+        algorithms = new FFTAlgorithm[dimensions.length];
+        for (int axis = 0; axis < dimensions.length; ++axis) {
+            final int d = dimensions[axis];
+            if (d < 1) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_NUMBER_OF_SAMPLES, d);
+            }
+            s = ArithmeticUtils.mulAndCheck(s, d);
+            algorithms[axis] = (axis > 0 && dimensions[axis - 1] == d) ? algorithms[axis - 1] : FFTAlgorithm.of(d);
+            maxAlgorithmWork = FastMath.max(maxAlgorithmWork, algorithms[axis].getWorkLength());
+            if (axis < dimensions.length - 1) {
+                maxGathered = FastMath.max(maxGathered, d);
+            }
+        }
+        size       = s;
+        lineStart  = maxAlgorithmWork;
+        workLength = maxAlgorithmWork + maxGathered;
+
+        if (normalization == DftNormalization.UNITARY) {
+            this.scale = 1.0 / FastMath.sqrt(size);
+        } else {
+            this.scale = type == TransformType.INVERSE ? 1.0 / size : 1.0;
+        }
+
+    }
+
+    /** Get the dimensions.
+     * @return dimensions of the data
+     */
+    public int[] getDimensions() {
+        return dimensions.clone();
+    }
+
+    /** Get the total number of elements.
+     * @return total number of elements
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Get the normalization.
+     * @return normalization applied to the transformed data
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Get the type of transform.
+     * @return type of transform (forward, inverse)
+     */
+    public TransformType getType() {
+        return type;
+    }
+
+    /** Get the length of the work arrays needed by {@link #transform(double[], double[], double[], double[])}.
+     * @return length of the work arrays
+     */
+    public int getWorkLength() {
+        return workLength;
+    }
+
+    /** Compute the transform in place.
+     * <p>
+     * This method allocates the work arrays it needs at each call.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @exception MathIllegalArgumentException if arrays length do not match plan size
+     */
+    public void transform(final double[] re, final double[] im)
+        throws MathIllegalArgumentException {
+        transform(re, im, new double[workLength], new double[workLength]);
+    }
+
+    /** Compute the transform in place, using caller-provided work arrays.
+     * <p>
+     * This method never allocates memory.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * @exception MathIllegalArgumentException if arrays length do not match plan size
+     * or work arrays are too short
+     */
+    public void transform(final double[] re, final double[] im,
+                          final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(re.length, size);
+        MathUtils.checkDimension(im.length, size);
+        FFTPlan.checkWorkArrays(workLength, workRe, workIm);
+
+        final boolean inverse = type == TransformType.INVERSE;
+        int stride = size;
+        for (int axis = 0; axis < dimensions.length; ++axis) {
+            final int          d         = dimensions[axis];
+            final FFTAlgorithm algorithm = algorithms[axis];
+            final int          span      = stride;
+            stride /= d;
+            if (d > 1 && stride == 1) {
+                // contiguous lines, transformed in place
+                for (int offset = 0; offset < size; offset += d) {
+                    algorithm.transform(re, im, offset, inverse, workRe, workIm);
+                }
+            } else if (d > 1) {
+                // strided lines, gathered in the line buffer
+                for (int outer = 0; outer < size; outer += span) {
+                    for (int inner = outer; inner < outer + stride; ++inner) {
+                        for (int j = 0, index = inner; j < d; ++j, index += stride) {
+                            workRe[lineStart + j] = re[index];
+                            workIm[lineStart + j] = im[index];
+                        }
+                        algorithm.transform(workRe, workIm, lineStart, inverse, workRe, workIm);
+                        for (int j = 0, index = inner; j < d; ++j, index += stride) {
+                            re[index] = workRe[lineStart + j];
+                            im[index] = workIm[lineStart + j];
+                        }
+                    }
+                }
+            }
+        }
+
+        if (scale != 1.0) {
+            for (int i = 0; i < size; ++i) {
+                re[i] *= scale;
+                im[i] *= scale;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelSettings;
+
+/**
+ * Precomputed plan for fast Fourier transforms of large data sets, distributed on several threads.
+ * <p>
+ * Large transforms use the six-step variant of the four-step algorithm: the length
+ * n is split as n<sub>1</sub> &times; n<sub>2</sub> with n<sub>1</sub> &asymp;
+ * n<sub>2</sub> &asymp; &radic;n, the data are seen as a matrix, and the transform
+ * is computed as independent transforms of the rows (which fit in cache), twiddle
+ * factors multiplication and blocked transpositions. Rows and transposition blocks
+ * are distributed among the threads of the {@link ParallelSettings#getPool() pool}.
+ * </p>
+ * <p>
+ * When the estimated work is below the {@link ParallelSettings#getThreshold()
+ * threshold}, when the pool has only one thread, or when the length has prime
+ * factors other than 2, 3 and 5, the transform is delegated to a serial {@link
+ * FFTPlan}. Results and normalization conventions are the same as {@link FFTPlan},
+ * up to rounding errors. The results of the parallel algorithm do not depend
+ * on the number of threads.
+ * </p>
+ * <p>
+ * The parallel algorithm is not in place, it needs work arrays of length
+ * {@link #getWorkLength()}, which can be provided by the caller to avoid
+ * allocation. Instances of this class are immutable and can be shared between
+ * threads, as long as each thread transforms its own data (and uses its own
+ * work arrays).
+ * </p>
+ * @see FFTPlan
+ * @since 4.0
+ */
+public class ParallelFFTPlan {
+
+    /** Number of tasks per pool thread, to balance load between threads. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Size of square blocks for transpositions. */
+    private static final int TRANSPOSE_BLOCK = 32;
+
+    /** Length of the transform. */
+    private final int n;
+
+    /** Normalization. */
+    private final DftNormalization normalization;
+
+    /** Type of transform. */
+    private final TransformType type;
+
+    /** Parallel settings. */
+    private final ParallelSettings settings;
+
+    /** Scaling factor to apply to the unnormalized transform. */
+    private final double scale;
+
+    /** Serial plan (null if parallel algorithm is used). */
+    private final FFTPlan serial;
+
+    /** Number of rows of the data seen as a matrix (n<sub>2</sub>). */
+    private final int rows;
+
+    /** Number of columns of the data seen as a matrix (n<sub>1</sub>). */
+    private final int columns;
+
+    /** Transform for rows of the transposed matrix (length n<sub>2</sub>). */
+    private final MixedRadixFFT rowsFFT;
+
+    /** Transform for rows of the matrix (length n<sub>1</sub>). */
+    private final MixedRadixFFT columnsFFT;
+
+    /** Cosine of coarse twiddle factors exp(-2i&pi;j n<sub>2</sub>/n), for 0 &le; j &lt; n<sub>1</sub>. */
+    private final double[] coarseCos;
+
+    /** Sine of coarse twiddle factors exp(-2i&pi;j n<sub>2</sub>/n), for 0 &le; j &lt; n<sub>1</sub>. */
+    private final double[] coarseSin;
+
+    /** Cosine of fine twiddle factors exp(-2i&pi;j/n), for 0 &le; j &lt; n<sub>2</sub>. */
+    private final double[] fineCos;
+
+    /** Sine of fine twiddle factors exp(-2i&pi;j/n), for 0 &le; j &lt; n<sub>2</sub>. */
+    private final double[] fineSin;
+
+    /** Build a plan using {@link ParallelSettings#ParallelSettings() default settings}.
+     * @param n length of the transform
+     * @param normalization normalization to be applied to the transformed data
+     * @param type type of transform (forward, inverse) to be performed
+     * @exception MathIllegalArgumentException if length is not strictly positive
+     */
+    public ParallelFFTPlan(final int n, final DftNormalization normalization, final TransformType type)
+        throws MathIllegalArgumentException {
+        this(n, normalization, type, new ParallelSettings());
+    }
+
+    /** Simple constructor.
+     * @param n length of the transform
+     * @param normalization normalization to be applied to the transformed data
+     * @param type type of transform (forward, inverse) to be performed
+     * @param settings parallel settings
+     * @exception MathIllegalArgumentException if length is not strictly positive
+     */
+    public ParallelFFTPlan(final int n, final DftNormalization normalization, final TransformType type,
+                           final ParallelSettings settings)
+        throws MathIllegalArgumentException {
+
+        final FFTPlan plan = new FFTPlan(n, normalization, type);
+        this.n             = n;
+        this.normalization = normalization;
+        this.type          = type;
+        this.settings      = settings;
+        if (normalization == DftNormalization.UNITARY) {
+            this.scale = 1.0 / FastMath.sqrt(n);
+        } else {
+            this.scale = type == TransformType.INVERSE ? 1.0 / n : 1.0;
+        }
+
+        // split the length as n = columns * rows, with columns <= rows
+        int c = (int) FastMath.floor(FastMath.sqrt(n));
+        while (n % c != 0) {
+            --c;
+        }
+
+        final double log2N = FastMath.log(n) / FastMath.log(2.0);
+        if (c < 2 || !MixedRadixFFT.isSupported(n) || !settings.isParallel((long) (5 * n * log2N))) {
+            // the serial algorithm is better suited
+            this.serial     = plan;
+            this.rows       = 0;
+            this.columns    = 0;
+            this.rowsFFT    = null;
+            this.columnsFFT = null;
+            this.coarseCos  = null;
+            this.coarseSin  = null;
+            this.fineCos    = null;
+            this.fineSin    = null;
+        } else {
+            this.serial     = null;
+            this.columns    = c;
+            this.rows       = n / c;
+            this.rowsFFT    = new MixedRadixFFT(rows);
+            this.columnsFFT = new MixedRadixFFT(columns);
+            this.coarseCos  = new double[columns];
+            this.coarseSin  = new double[columns];
+            for (int j = 0; j < columns; ++j) {
+                final double angle = MathUtils.TWO_PI * j / columns;
+                coarseCos[j] =  FastMath.cos(angle);
+                coarseSin[j] = -FastMath.sin(angle);
+            }
+            this.fineCos = new double[rows];
+            this.fineSin = new double[rows];
+            for (int j = 0; j < rows; ++j) {
+                final double angle = MathUtils.TWO_PI * j / n;
+                fineCos[j] =  FastMath.cos(angle);
+                fineSin[j] = -FastMath.sin(angle);
+            }
+        }
+
+    }
+
+    /** Get the length of the transform.
+     * @return length of the transform
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /** Get the normalization.
+     * @return normalization applied to the transformed data
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Get the type of transform.
+     * @return type of transform (forward, inverse)
+     */
+    public TransformType getType() {
+        return type;
+    }
+
+    /** Get the parallel settings.
+     * @return parallel settings
+     */
+    public ParallelSettings getSettings() {
+        return settings;
+    }
+
+    /** Check if the transform is distributed on several threads.
+     * @return true if the transform is distributed on several threads
+     */
+    public boolean isParallel() {
+        return serial == null;
+    }
+
+    /** Get the length of the work arrays needed by {@link #transform(double[], double[], double[], double[])}.
+     * @return length of the work arrays
+     */
+    public int getWorkLength() {
+        return serial == null ? n : serial.getWorkLength();
+    }
+
+    /** Compute the transform in place.
+     * <p>
+     * This method allocates the work arrays it needs at each call.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     */
+    public void transform(final double[] re, final double[] im)
+        throws MathIllegalArgumentException {
+        transform(re, im, new double[getWorkLength()], new double[getWorkLength()]);
+    }
+
+    /** Compute the transform in place, using caller-provided work arrays.
+     * <p>
+     * This method never allocates memory.
+     * </p>
+     * @param re real parts of the data (overwritten with the real parts of the transform)
+     * @param im imaginary parts of the data (overwritten with the imaginary parts of the transform)
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     * or work arrays are too short
+     */
+    public void transform(final double[] re, final double[] im,
+                          final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+
+        if (serial != null) {
+            serial.transform(re, im, workRe, workIm);
+            return;
+        }
+
+        MathUtils.checkDimension(re.length, n);
+        MathUtils.checkDimension(im.length, n);
+        FFTPlan.checkWorkArrays(n, workRe, workIm);
+        final boolean inverse = type == TransformType.INVERSE;
+
+        // transpose the rows x columns data into a columns x rows matrix,
+        // so the decimated sequences x[j1 + columns * j2] become contiguous rows
+        run(columns, (from, to) -> transpose(re, im, workRe, workIm, rows, columns, from, to));
+
+        // transform the rows and apply twiddle factors
+        run(columns, (from, to) -> {
+            for (int j1 = from; j1 < to; ++j1) {
+                rowsFFT.transform(workRe, workIm, j1 * rows, inverse);
+                twiddle(workRe, workIm, j1, inverse);
+            }
+        });
+
+        // transpose back and transform the rows
+        run(rows, (from, to) -> transpose(workRe, workIm, re, im, columns, rows, from, to));
+        run(rows, (from, to) -> {
+            for (int k2 = from; k2 < to; ++k2) {
+                columnsFFT.transform(re, im, k2 * columns, inverse);
+            }
+        });
+
+        // final transposition puts the coefficients in natural order
+        run(columns, (from, to) -> transpose(re, im, workRe, workIm, rows, columns, from, to));
+        run(columns, (from, to) -> {
+            for (int i = from * rows; i < to * rows; ++i) {
+                re[i] = scale * workRe[i];
+                im[i] = scale * workIm[i];
+            }
+        });
+
+    }
+
+    /** Multiply one row of the transposed matrix by the twiddle factors exp(&mp;2i&pi;j<sub>1</sub>k<sub>2</sub>/n).
+     * @param dataRe real parts of the transposed matrix
+     * @param dataIm imaginary parts of the transposed matrix
+     * @param j1 index of the row
+     * @param inverse if true, uses the conjugate twiddle factors
+     */
+    private void twiddle(final double[] dataRe, final double[] dataIm, final int j1, final boolean inverse) {
+        final double sign = inverse ? -1.0 : 1.0;
+        final int    base = j1 * rows;
+        // exponent j1 * k2 is split as coarse * rows + fine, updated incrementally
+        int coarse = 0;
+        int fine   = 0;
+        for (int k2 = 0; k2 < rows; ++k2) {
+            final double cr = coarseCos[coarse];
+            final double ci = sign * coarseSin[coarse];
+            final double fr = fineCos[fine];
+            final double fi = sign * fineSin[fine];
+            final double wr = cr * fr - ci * fi;
+            final double wi = cr * fi + ci * fr;
+            final double xr = dataRe[base + k2];
+            final double xi = dataIm[base + k2];
+            dataRe[base + k2] = xr * wr - xi * wi;
+            dataIm[base + k2] = xr * wi + xi * wr;
+            fine += j1;
+            if (fine >= rows) {
+                fine -= rows;
+                ++coarse;
+            }
+        }
+    }
+
+    /** Transpose a range of rows of the destination matrix, using square blocks.
+     * @param srcRe real parts of the source matrix
+     * @param srcIm imaginary parts of the source matrix
+     * @param dstRe real parts of the destination matrix
+     * @param dstIm imaginary parts of the destination matrix
+     * @param srcRows number of rows of the source matrix
+     * @param srcColumns number of columns of the source matrix
+     * @param from index of the first destination row (included)
+     * @param to index of the last destination row (excluded)
+     */
+    private static void transpose(final double[] srcRe, final double[] srcIm,
+                                  final double[] dstRe, final double[] dstIm,
+                                  final int srcRows, final int srcColumns,
+                                  final int from, final int to) {
+        for (int i0 = from; i0 < to; i0 += TRANSPOSE_BLOCK) {
+            final int i1 = FastMath.min(to, i0 + TRANSPOSE_BLOCK);
+            for (int j0 = 0; j0 < srcRows; j0 += TRANSPOSE_BLOCK) {
+                final int j1 = FastMath.min(srcRows, j0 + TRANSPOSE_BLOCK);
+                for (int i = i0; i < i1; ++i) {
+                    for (int j = j0; j < j1; ++j) {
+                        // destination (i, j) is source (j, i)
+                        dstRe[i * srcRows + j] = srcRe[j * srcColumns + i];
+                        dstIm[i * srcRows + j] = srcIm[j * srcColumns + i];
+                    }
+                }
+            }
+        }
+    }
+
+    /** Run a computation on a range of indices, distributed on the pool.
+     * @param size number of indices
+     * @param range computation on a range of indices
+     */
+    private void run(final int size, final ParallelSettings.RangeKernel range) {
+        final int tasks = TASKS_PER_THREAD * settings.getPool().getParallelism();
+        final int grain = FastMath.max(1, (size + tasks - 1) / tasks);
+        settings.forRange(0, size, grain, range);
+    }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Precomputed plan for fast Fourier transforms of real data.
+ * <p>
+ * The transform of n real samples is Hermitian-symmetric, so only its
+ * n/2 + 1 first terms are computed (forward transform) or needed (inverse
+ * transform). The n real samples are packed into n/2 complex numbers
+ * (even samples as real parts, odd samples as imaginary parts), which are
+ * transformed using a complex transform of length n/2 and then separated.
+ * This is roughly twice as fast as a complex transform of length n, and
+ * works directly on primitive arrays. The length n must therefore be even.
+ * </p>
+ * <p>
+ * The half spectrum is stored in two arrays of length n/2 + 1 holding the
+ * real and imaginary parts of terms 0 to n/2. The normalization conventions
+ * are the same as {@link FastFourierTransformer} and {@link FFTPlan}.
+ * </p>
+ * <p>
+ * If n/2 has prime factors other than 2, 3 and 5, the transforms need work
+ * arrays of length {@link #getWorkLength()}, which can be provided by the
+ * caller to avoid allocation. Instances of this class are immutable and
+ * can be shared between threads, as long as each thread transforms its own
+ * data (and uses its own work arrays).
+ * </p>
+ * @see FFTPlan
+ * @since 4.0
+ */
+public class RealFFTPlan {
+
+    /** Empty work array, for transforms that do not need work arrays. */
+    private static final double[] NO_WORK = new double[0];
+
+    /** Number of real samples. */
+    private final int n;
+
+    /** Normalization. */
+    private final DftNormalization normalization;
+
+    /** Scaling factor to apply to the forward transform. */
+    private final double forwardScale;
+
+    /** Scaling factor to apply to the inverse transform. */
+    private final double inverseScale;
+
+    /** Underlying half-length complex algorithm. */
+    private final FFTAlgorithm algorithm;
+
+    /** Cosine of twiddle factors exp(-2i&pi;k/n), for 0 &le; k &le; n/4. */
+    private final double[] twiddleCos;
+
+    /** Sine of twiddle factors exp(-2i&pi;k/n), for 0 &le; k &le; n/4. */
+    private final double[] twiddleSin;
+
+    /** Simple constructor.
+     * @param n number of real samples
+     * @param normalization normalization to be applied to the transformed data
+     * @exception MathIllegalArgumentException if n is not even and strictly positive
+     */
+    public RealFFTPlan(final int n, final DftNormalization normalization)
+        throws MathIllegalArgumentException {
+
+        if (n < 2 || n % 2 != 0) {
+            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_EVEN, n);
+        }
+
+        this.n             = n;
+        this.normalization = normalization;
+
+        final int m = n / 2;
+        if (normalization == DftNormalization.UNITARY) {
+            forwardScale = 1.0 / FastMath.sqrt(n);
+            inverseScale = 2.0 / FastMath.sqrt(n);
+        } else {
+            forwardScale = 1.0;
+            inverseScale = 1.0 / m;
+        }
+
+        algorithm  = FFTAlgorithm.of(m);
+        twiddleCos = new double[m / 2 + 1];
+        twiddleSin = new double[m / 2 + 1];
+        for (int k = 0; k < twiddleCos.length; ++k) {
+            final double angle = MathUtils.TWO_PI * k / n;
+            twiddleCos[k] =  FastMath.cos(angle);
+            twiddleSin[k] = -FastMath.sin(angle);
+        }
+
+    }
+
+    /** Get the number of real samples.
+     * @return number of real samples
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /** Get the length of the half spectrum.
+     * @return length of the half spectrum, i.e. n/2 + 1
+     */
+    public int getSpectrumLength() {
+        return n / 2 + 1;
+    }
+
+    /** Get the normalization.
+     * @return normalization applied to the transformed data
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Get the length of the work arrays needed by the methods with work arrays parameters.
+     * @return length of the work arrays (0 if the transforms do not need work arrays)
+     */
+    public int getWorkLength() {
+        return algorithm.getWorkLength();
+    }
+
+    /** Compute the forward transform.
+     * <p>
+     * If {@link #getWorkLength()} is not 0, this method allocates the work
+     * arrays it needs at each call.
+     * </p>
+     * @param x real samples (n elements, not modified)
+     * @param re placeholder for the real parts of the half spectrum (n/2 + 1 elements)
+     * @param im placeholder for the imaginary parts of the half spectrum (n/2 + 1 elements)
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     */
+    public void forward(final double[] x, final double[] re, final double[] im)
+        throws MathIllegalArgumentException {
+        final int workLength = getWorkLength();
+        if (workLength == 0) {
+            forward(x, re, im, NO_WORK, NO_WORK);
+        } else {
+            forward(x, re, im, new double[workLength], new double[workLength]);
+        }
+    }
+
+    /** Compute the forward transform, using caller-provided work arrays.
+     * <p>
+     * This method never allocates memory.
+     * </p>
+     * @param x real samples (n elements, not modified)
+     * @param re placeholder for the real parts of the half spectrum (n/2 + 1 elements)
+     * @param im placeholder for the imaginary parts of the half spectrum (n/2 + 1 elements)
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     * or work arrays are too short
+     */
+    public void forward(final double[] x, final double[] re, final double[] im,
+                        final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(x.length, n);
+        MathUtils.checkDimension(re.length, n / 2 + 1);
+        MathUtils.checkDimension(im.length, n / 2 + 1);
+        FFTPlan.checkWorkArrays(getWorkLength(), workRe, workIm);
+
+        // pack even samples as real parts and odd samples as imaginary parts
+        final int m = n / 2;
+        for (int k = 0; k < m; ++k) {
+            re[k] = x[2 * k];
+            im[k] = x[2 * k + 1];
+        }
+
+        algorithm.transform(re, im, 0, false, workRe, workIm);
+
+        // separate the transforms E of even samples and O of odd samples,
+        // then combine them as X[k] = E[k] + W^k O[k], X[m-k] = conj(E[k] - W^k O[k])
+        final double z0r = re[0];
+        final double z0i = im[0];
+        re[0] = forwardScale * (z0r + z0i);
+        im[0] = 0.0;
+        re[m] = forwardScale * (z0r - z0i);
+        im[m] = 0.0;
+        for (int k = 1; k <= m / 2; ++k) {
+            final int    j   = m - k;
+            final double zkr = re[k];
+            final double zki = im[k];
+            final double zjr = re[j];
+            final double zji = im[j];
+            final double er  = 0.5 * (zkr + zjr);
+            final double ei  = 0.5 * (zki - zji);
+            final double or  = 0.5 * (zki + zji);
+            final double oi  = 0.5 * (zjr - zkr);
+            final double wr  = twiddleCos[k];
+            final double wi  = twiddleSin[k];
+            final double tr  = wr * or - wi * oi;
+            final double ti  = wr * oi + wi * or;
+            re[k] = forwardScale * (er + tr);
+            im[k] = forwardScale * (ei + ti);
+            re[j] = forwardScale * (er - tr);
+            im[j] = forwardScale * (ti - ei);
+        }
+
+    }
+
+    /** Compute the inverse transform.
+     * <p>
+     * The imaginary parts of terms 0 and n/2 of the half spectrum are ignored,
+     * as they are always 0 for the transform of real data. The half spectrum
+     * arrays are used as work arrays, so their content is lost.
+     * </p>
+     * <p>
+     * If {@link #getWorkLength()} is not 0, this method allocates the work
+     * arrays it needs at each call.
+     * </p>
+     * @param re real parts of the half spectrum (n/2 + 1 elements, overwritten)
+     * @param im imaginary parts of the half spectrum (n/2 + 1 elements, overwritten)
+     * @param x placeholder for the real samples (n elements)
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     */
+    public void inverse(final double[] re, final double[] im, final double[] x)
+        throws MathIllegalArgumentException {
+        final int workLength = getWorkLength();
+        if (workLength == 0) {
+            inverse(re, im, x, NO_WORK, NO_WORK);
+        } else {
+            inverse(re, im, x, new double[workLength], new double[workLength]);
+        }
+    }
+
+    /** Compute the inverse transform, using caller-provided work arrays.
+     * <p>
+     * The imaginary parts of terms 0 and n/2 of the half spectrum are ignored,
+     * as they are always 0 for the transform of real data. The half spectrum
+     * arrays are used as work arrays, so their content is lost.
+     * </p>
+     * <p>
+     * This method never allocates memory.
+     * </p>
+     * @param re real parts of the half spectrum (n/2 + 1 elements, overwritten)
+     * @param im imaginary parts of the half spectrum (n/2 + 1 elements, overwritten)
+     * @param x placeholder for the real samples (n elements)
+     * @param workRe work array for real parts, at least {@link #getWorkLength()} long
+     * @param workIm work array for imaginary parts, at least {@link #getWorkLength()} long
+     * @exception MathIllegalArgumentException if arrays length do not match plan length
+     * or work arrays are too short
+     */
+    public void inverse(final double[] re, final double[] im, final double[] x,
+                        final double[] workRe, final double[] workIm)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(x.length, n);
+        MathUtils.checkDimension(re.length, n / 2 + 1);
+        MathUtils.checkDimension(im.length, n / 2 + 1);
+        FFTPlan.checkWorkArrays(getWorkLength(), workRe, workIm);
+
+        // rebuild the transform Z = E + i O of the packed samples,
+        // with E[k] = (X[k] + conj(X[m-k])) / 2 and O[k] = (X[k] - conj(X[m-k])) / (2 W^k)
+        final int m = n / 2;
+        final double x0 = re[0];
+        final double xm = re[m];
+        re[0] = 0.5 * (x0 + xm);
+        im[0] = 0.5 * (x0 - xm);
+        for (int k = 1; k <= m / 2; ++k) {
+            final int    j   = m - k;
+            final double xkr = re[k];
+            final double xki = im[k];
+            final double xjr = re[j];
+            final double xji = im[j];
+            final double er  = 0.5 * (xkr + xjr);
+            final double ei  = 0.5 * (xki - xji);
+            final double dr  = 0.5 * (xkr - xjr);
+            final double di  = 0.5 * (xki + xji);
+            final double wr  = twiddleCos[k];
+            final double wi  = twiddleSin[k];
+            final double or  = dr * wr + di * wi;
+            final double oi  = di * wr - dr * wi;
+            re[k] = er - oi;
+            im[k] = ei + or;
+            re[j] = er + oi;
+            im[j] = or - ei;
+        }
+
+        algorithm.transform(re, im, 0, true, workRe, workIm);
+
+        // unpack samples
+        for (int k = 0; k < m; ++k) {
+            x[2 * k]     = inverseScale * re[k];
+            x[2 * k + 1] = inverseScale * im[k];
+        }
+
+    }
+
+}
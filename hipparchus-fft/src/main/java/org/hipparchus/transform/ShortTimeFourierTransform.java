@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Streaming short-time Fourier transform of real signals.
+ * <p>
+ * The signal is split into overlapping frames of fixed length, each frame
+ * starting {@link #getHopSize() hop size} samples after the previous one.
+ * Each frame is multiplied by a window function and transformed using a
+ * {@link RealFFTPlan}, which provides its half spectrum (frequencies 0 to
+ * n/2). The signal is consumed in chunks of arbitrary sizes, so it can be
+ * of unbounded length while memory is bounded by the frame length.
+ * </p>
+ * <p>
+ * Instances of this class are stateful and are <em>not</em> thread-safe.
+ * </p>
+ * @see RealFFTPlan
+ * @since 4.0
+ */
+public class ShortTimeFourierTransform {
+
+    /** Handler for frame spectra. */
+    @FunctionalInterface
+    public interface SpectrumHandler {
+
+        /** Handle the spectrum of one frame.
+         * <p>
+         * The arrays are reused between calls, so the values must be copied
+         * if they are needed after the handler returns.
+         * </p>
+         * @param frameIndex index of the frame (frame k starts at sample k &times; hop size)
+         * @param re real parts of the half spectrum
+         * @param im imaginary parts of the half spectrum
+         */
+        void handle(long frameIndex, double[] re, double[] im);
+
+    }
+
+    /** Window function. */
+    private final double[] window;
+
+    /** Number of samples between the starts of consecutive frames. */
+    private final int hopSize;
+
+    /** Real transform plan. */
+    private final RealFFTPlan plan;
+
+    /** Samples of the current frame. */
+    private final double[] buffer;
+
+    /** Windowed frame. */
+    private final double[] windowed;
+
+    /** Real parts of the half spectrum. */
+    private final double[] spectrumRe;
+
+    /** Imaginary parts of the half spectrum. */
+    private final double[] spectrumIm;
+
+    /** Work array for real parts. */
+    private final double[] workRe;
+
+    /** Work array for imaginary parts. */
+    private final double[] workIm;
+
+    /** Number of samples in the current frame. */
+    private int filled;
+
+    /** Index of the current frame. */
+    private long frameIndex;
+
+    /** Simple constructor.
+     * @param window window function, its length is the frame length (must be even)
+     * @param hopSize number of samples between the starts of consecutive frames
+     * (between 1 and frame length)
+     * @param normalization normalization to be applied to the frames spectra
+     * @exception MathIllegalArgumentException if window length is not even
+     * or hop size is out of range
+     * @see #hannWindow(int)
+     */
+    public ShortTimeFourierTransform(final double[] window, final int hopSize,
+                                     final DftNormalization normalization)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkNotNull(window);
+        if (hopSize < 1 || hopSize > window.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   hopSize, 1, window.length);
+        }
+
+        this.window     = window.clone();
+        this.hopSize    = hopSize;
+        this.plan       = new RealFFTPlan(window.length, normalization);
+        this.buffer     = new double[window.length];
+        this.windowed   = new double[window.length];
+        this.spectrumRe = new double[plan.getSpectrumLength()];
+        this.spectrumIm = new double[plan.getSpectrumLength()];
+        this.workRe     = new double[plan.getWorkLength()];
+        this.workIm     = new double[plan.getWorkLength()];
+        reset();
+
+    }
+
+    /** Build a periodic Hann window.
+     * <p>
+     * The periodic Hann window w[k] = sin&sup2;(&pi;k/n) satisfies the
+     * constant overlap-add property for hop sizes n/2 and n/4.
+     * </p>
+     * @param length window length
+     * @return periodic Hann window
+     */
+    public static double[] hannWindow(final int length) {
+        final double[] w = new double[length];
+        for (int k = 0; k < length; ++k) {
+            final double s = FastMath.sin(FastMath.PI * k / length);
+            w[k] = s * s;
+        }
+        return w;
+    }
+
+    /** Get the frame length.
+     * @return frame length
+     */
+    public int getFrameLength() {
+        return window.length;
+    }
+
+    /** Get the hop size.
+     * @return number of samples between the starts of consecutive frames
+     */
+    public int getHopSize() {
+        return hopSize;
+    }
+
+    /** Get the length of the half spectrum of each frame.
+     * @return length of the half spectrum, i.e. frame length / 2 + 1
+     */
+    public int getSpectrumLength() {
+        return plan.getSpectrumLength();
+    }
+
+    /** Get the normalization.
+     * @return normalization applied to the frames spectra
+     */
+    public DftNormalization getNormalization() {
+        return plan.getNormalization();
+    }
+
+    /** Process a chunk of signal samples.
+     * <p>
+     * The handler is called once for each frame completed by this chunk.
+     * </p>
+     * @param samples array containing the signal samples
+     * @param offset index of the first sample in the array
+     * @param length number of samples
+     * @param handler handler for frames spectra
+     */
+    public void process(final double[] samples, final int offset, final int length,
+                        final SpectrumHandler handler) {
+        final int frameLength = window.length;
+        int start     = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            final int n = FastMath.min(remaining, frameLength - filled);
+            System.arraycopy(samples, start, buffer, filled, n);
+            filled    += n;
+            start     += n;
+            remaining -= n;
+            if (filled == frameLength) {
+
+                // transform the windowed frame
+                for (int i = 0; i < frameLength; ++i) {
+                    windowed[i] = buffer[i] * window[i];
+                }
+                plan.forward(windowed, spectrumRe, spectrumIm, workRe, workIm);
+                handler.handle(frameIndex++, spectrumRe, spectrumIm);
+
+                // slide to next frame
+                filled = frameLength - hopSize;
+                System.arraycopy(buffer, hopSize, buffer, 0, filled);
+
+            }
+        }
+    }
+
+    /** Reset the transform, discarding any pending samples and restarting frames numbering. */
+    public void reset() {
+        filled     = 0;
+        frameIndex = 0;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BluesteinFFTTest {
+
+    @Test
+    void testWorkLength() {
+        for (final int n : new int[] { 1, 7, 11, 97, 1009 }) {
+            final BluesteinFFT fft = new BluesteinFFT(n);
+            assertEquals(n, fft.getLength());
+            assertTrue(fft.getWorkLength() >= 2 * n - 1);
+            assertTrue(MixedRadixFFT.isSupported(fft.getWorkLength()));
+        }
+    }
+
+    @Test
+    void testAgainstDirectDft() {
+        final Random random = new Random(0x2b8e5f07a1c9d346l);
+        // prime lengths, lengths with large prime factors, and also smooth lengths
+        for (final int n : new int[] { 1, 2, 7, 11, 13, 14, 17, 49, 97, 127, 210, 1009, 1000 }) {
+            final BluesteinFFT fft = new BluesteinFFT(n);
+            for (final boolean inverse : new boolean[] { false, true }) {
+                final double[] re = new double[n];
+                final double[] im = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    re[i] = 2 * random.nextDouble() - 1;
+                    im[i] = 2 * random.nextDouble() - 1;
+                }
+                final double[][] expected = MixedRadixFFTTest.directDft(re, im, inverse);
+                fft.transform(re, im, inverse);
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(expected[0][i], re[i], 2.0e-14 * n);
+                    assertEquals(expected[1][i], im[i], 2.0e-14 * n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWorkArraysReuse() {
+        final Random random = new Random(0x6d31f98c2e7ab450l);
+        final int n = 101;
+        final BluesteinFFT fft = new BluesteinFFT(n);
+        final double[] workRe = new double[fft.getWorkLength() + 5];
+        final double[] workIm = new double[fft.getWorkLength() + 5];
+        for (int trial = 0; trial < 3; ++trial) {
+            final double[] re = new double[n];
+            final double[] im = new double[n];
+            for (int i = 0; i < n; ++i) {
+                re[i] = 2 * random.nextDouble() - 1;
+                im[i] = 2 * random.nextDouble() - 1;
+            }
+            final double[][] expected = MixedRadixFFTTest.directDft(re, im, false);
+            fft.transform(re, im, 0, false, workRe, workIm);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(expected[0][i], re[i], 1.0e-12);
+                assertEquals(expected[1][i], im[i], 1.0e-12);
+            }
+        }
+    }
+
+}
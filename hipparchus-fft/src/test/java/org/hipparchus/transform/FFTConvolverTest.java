@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.MathArrays;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FFTConvolverTest {
+
+    @Test
+    void testOneShot() {
+        final Random random = new Random(0x4ab9e21f73c05d86l);
+        for (final int[] sizes : new int[][] { { 1, 1 }, { 1, 7 }, { 10, 3 }, { 1000, 31 }, { 127, 128 } }) {
+            final double[] x = randomArray(random, sizes[0]);
+            final double[] h = randomArray(random, sizes[1]);
+            assertArrayEquals(MathArrays.convolve(x, h), FFTConvolver.convolve(x, h), 1.0e-13);
+        }
+    }
+
+    @Test
+    void testOneShotErrors() {
+        assertThrows(NullArgumentException.class, () -> FFTConvolver.convolve(null, new double[1]));
+        assertThrows(NullArgumentException.class, () -> FFTConvolver.convolve(new double[1], null));
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> FFTConvolver.convolve(new double[0], new double[1]));
+        assertEquals(LocalizedCoreFormats.NO_DATA, miae.getSpecifier());
+    }
+
+    @Test
+    void testGetters() {
+        final FFTConvolver convolver = new FFTConvolver(new double[33], 100, FFTConvolver.Method.OVERLAP_SAVE);
+        assertEquals(33, convolver.getKernelLength());
+        assertEquals(100, convolver.getBlockSize());
+        assertSame(FFTConvolver.Method.OVERLAP_SAVE, convolver.getMethod());
+        assertTrue(convolver.getFFTLength() >= 132);
+        assertEquals(0, convolver.getFFTLength() % 2);
+    }
+
+    @Test
+    void testStreaming() {
+        final Random random = new Random(0x7f3d19a0c6e28b54l);
+        for (final FFTConvolver.Method method : FFTConvolver.Method.values()) {
+            // block sizes larger and smaller than kernel, kernel reduced to one sample
+            doTestStreaming(random, method, 2000, 65, 256);
+            doTestStreaming(random, method, 2000, 65, 20);
+            doTestStreaming(random, method, 500, 1, 64);
+            doTestStreaming(random, method, 3, 40, 16);
+        }
+    }
+
+    @Test
+    void testBlockOutputs() {
+        final FFTConvolver convolver = new FFTConvolver(new double[] { 1.0, 0.5 }, 4, FFTConvolver.Method.OVERLAP_ADD);
+        final int[] count = new int[1];
+        convolver.process(new double[10], 0, 10, (output, offset, length) -> {
+            assertEquals(4, length);
+            ++count[0];
+        });
+        assertEquals(2, count[0]);
+        convolver.flush((output, offset, length) -> {
+            assertEquals(3, length);
+            ++count[0];
+        });
+        assertEquals(3, count[0]);
+    }
+
+    @Test
+    void testReset() {
+        final double[] kernel = { 1.0, 2.0, 3.0 };
+        final FFTConvolver convolver = new FFTConvolver(kernel, 4, FFTConvolver.Method.OVERLAP_SAVE);
+        final double[] x = { 1.0, -1.0, 2.0, 0.5, 4.0, 3.0 };
+        convolver.process(x, 0, x.length, (output, offset, length) -> { });
+        convolver.reset();
+        assertArrayEquals(MathArrays.convolve(x, kernel), convolve(convolver, x, new int[] { x.length }), 1.0e-14);
+    }
+
+    @Test
+    void testErrors() {
+        assertThrows(NullArgumentException.class,
+                     () -> new FFTConvolver(null, 4, FFTConvolver.Method.OVERLAP_ADD));
+        assertEquals(LocalizedCoreFormats.NO_DATA,
+                     assertThrows(MathIllegalArgumentException.class,
+                                  () -> new FFTConvolver(new double[0], 4, FFTConvolver.Method.OVERLAP_ADD)).getSpecifier());
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                     assertThrows(MathIllegalArgumentException.class,
+                                  () -> new FFTConvolver(new double[3], 0, FFTConvolver.Method.OVERLAP_ADD)).getSpecifier());
+    }
+
+    private void doTestStreaming(final Random random, final FFTConvolver.Method method,
+                                 final int signalLength, final int kernelLength, final int blockSize) {
+        final double[] x = randomArray(random, signalLength);
+        final double[] h = randomArray(random, kernelLength);
+        final FFTConvolver convolver = new FFTConvolver(h, blockSize, method);
+
+        // feed the signal in chunks of random sizes
+        final int[] chunks = new int[signalLength];
+        int nbChunks = 0;
+        for (int remaining = signalLength; remaining > 0; ++nbChunks) {
+            chunks[nbChunks] = Math.min(remaining, 1 + random.nextInt(3 * blockSize));
+            remaining -= chunks[nbChunks];
+        }
+
+        // the convolver can be reused for another stream after flush
+        for (int stream = 0; stream < 2; ++stream) {
+            assertArrayEquals(MathArrays.convolve(x, h),
+                              convolve(convolver, x, Arrays.copyOf(chunks, nbChunks)),
+                              1.0e-13);
+        }
+    }
+
+    private double[] convolve(final FFTConvolver convolver, final double[] x, final int[] chunks) {
+        final double[] y = new double[x.length + convolver.getKernelLength() - 1];
+        final int[] produced = new int[1];
+        final FFTConvolver.OutputHandler handler = (output, offset, length) -> {
+            System.arraycopy(output, offset, y, produced[0], length);
+            produced[0] += length;
+        };
+        int start = 0;
+        for (final int chunk : chunks) {
+            convolver.process(x, start, chunk, handler);
+            start += chunk;
+        }
+        convolver.flush(handler);
+        assertEquals(y.length, produced[0]);
+        return y;
+    }
+
+    private double[] randomArray(final Random random, final int n) {
+        final double[] a = new double[n];
+        for (int i = 0; i < n; ++i) {
+            a[i] = 2 * random.nextDouble() - 1;
+        }
+        return a;
+    }
+
+}
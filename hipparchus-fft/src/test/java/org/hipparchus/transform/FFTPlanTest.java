@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FFTPlanTest {
+
+    @Test
+    void testGetters() {
+        final FFTPlan plan = new FFTPlan(4096, DftNormalization.UNITARY, TransformType.INVERSE);
+        assertEquals(4096, plan.getLength());
+        assertSame(DftNormalization.UNITARY, plan.getNormalization());
+        assertSame(TransformType.INVERSE, plan.getType());
+        assertEquals(0, plan.getWorkLength());
+        assertEquals(0, new FFTPlan(3600, DftNormalization.STANDARD, TransformType.FORWARD).getWorkLength());
+        assertEquals(0, new FFTPlan(1, DftNormalization.STANDARD, TransformType.FORWARD).getWorkLength());
+        assertEquals(2025, new FFTPlan(1009, DftNormalization.STANDARD, TransformType.FORWARD).getWorkLength());
+    }
+
+    @Test
+    void testSameAsTransformer() {
+        final Random random = new Random(0x3e9a51c8d7046fb2l);
+        for (final int n : new int[] { 1, 2, 4, 7, 16, 100, 127, 1000, 1009, 4096 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                for (final TransformType type : TransformType.values()) {
+                    final FFTPlan  plan = new FFTPlan(n, normalization, type);
+                    final double[] re   = new double[n];
+                    final double[] im   = new double[n];
+                    for (int i = 0; i < n; ++i) {
+                        re[i] = 2 * random.nextDouble() - 1;
+                        im[i] = 2 * random.nextDouble() - 1;
+                    }
+                    final double[][] expected = { re.clone(), im.clone() };
+                    FastFourierTransformer.transformInPlace(expected, normalization, type);
+                    plan.transform(re, im);
+                    for (int i = 0; i < n; ++i) {
+                        assertEquals(expected[0][i], re[i], 1.0e-14 * n);
+                        assertEquals(expected[1][i], im[i], 1.0e-14 * n);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRoundTrip() {
+        final Random random = new Random(0x85b0e7a3f126c94dl);
+        for (final int n : new int[] { 1000, 1009, 4096 }) {
+            final FFTPlan forward = new FFTPlan(n, DftNormalization.STANDARD, TransformType.FORWARD);
+            final FFTPlan inverse = new FFTPlan(n, DftNormalization.STANDARD, TransformType.INVERSE);
+            final double[] workRe = new double[forward.getWorkLength()];
+            final double[] workIm = new double[forward.getWorkLength()];
+            final double[] re = new double[n];
+            final double[] im = new double[n];
+            for (int i = 0; i < n; ++i) {
+                re[i] = 2 * random.nextDouble() - 1;
+                im[i] = 2 * random.nextDouble() - 1;
+            }
+            final double[] re0 = re.clone();
+            final double[] im0 = im.clone();
+            forward.transform(re, im, workRe, workIm);
+            inverse.transform(re, im, workRe, workIm);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(re0[i], re[i], 1.0e-14);
+                assertEquals(im0[i], im[i], 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    void testSharedBetweenThreads() throws InterruptedException, ExecutionException {
+        final int n = 1009;
+        final FFTPlan plan = new FFTPlan(n, DftNormalization.UNITARY, TransformType.FORWARD);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        final Random random = new Random(0x1f7d3b59e0a6c284l);
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] expectedRe = re.clone();
+        final double[] expectedIm = im.clone();
+        plan.transform(expectedRe, expectedIm);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            @SuppressWarnings("unchecked")
+            final Future<double[][]>[] results = new Future[8];
+            for (int k = 0; k < results.length; ++k) {
+                results[k] = executor.submit(() -> {
+                    final double[][] data = { re.clone(), im.clone() };
+                    final double[] workRe = new double[plan.getWorkLength()];
+                    final double[] workIm = new double[plan.getWorkLength()];
+                    for (int iter = 0; iter < 20; ++iter) {
+                        System.arraycopy(re, 0, data[0], 0, n);
+                        System.arraycopy(im, 0, data[1], 0, n);
+                        plan.transform(data[0], data[1], workRe, workIm);
+                    }
+                    return data;
+                });
+            }
+            for (final Future<double[][]> result : results) {
+                final double[][] data = result.get();
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(expectedRe[i], data[0][i], 0.0);
+                    assertEquals(expectedIm[i], data[1][i], 0.0);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testWrongLength() {
+        final FFTPlan plan = new FFTPlan(12, DftNormalization.STANDARD, TransformType.FORWARD);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> plan.transform(new double[12], new double[11]));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        assertEquals(11, ((Integer) miae.getParts()[0]).intValue());
+        assertEquals(12, ((Integer) miae.getParts()[1]).intValue());
+    }
+
+    @Test
+    void testWorkArraysTooShort() {
+        final FFTPlan plan = new FFTPlan(7, DftNormalization.STANDARD, TransformType.FORWARD);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> plan.transform(new double[7], new double[7],
+                                                          new double[plan.getWorkLength()],
+                                                          new double[plan.getWorkLength() - 1]));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        assertEquals(plan.getWorkLength() - 1, ((Integer) miae.getParts()[0]).intValue());
+        assertEquals(plan.getWorkLength(),     ((Integer) miae.getParts()[1]).intValue());
+    }
+
+    @Test
+    void testNotPositiveLength() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new FFTPlan(0, DftNormalization.STANDARD, TransformType.FORWARD));
+        assertEquals(LocalizedCoreFormats.NOT_POSITIVE_NUMBER_OF_SAMPLES, miae.getSpecifier());
+        assertEquals(0, ((Integer) miae.getParts()[0]).intValue());
+    }
+
+}
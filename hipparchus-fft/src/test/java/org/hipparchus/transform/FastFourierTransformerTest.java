@@ -51,22 +51,13 @@ final class FastFourierTransformerTest {
 
     @Test
     void testTransformComplexSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final Complex[] x = createComplexData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
+        final int[] sizes = { 3, 5, 6, 7, 9, 10, 12, 14, 15, 25, 30, 97, 100, 127, 1000 };
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : sizes) {
+                    final Complex[] x = createComplexData(n);
+                    checkAgainstDft(x, new FastFourierTransformer(norm).transform(x, type),
+                                    1.0e-13, norm, type);
                 }
             }
         }
@@ -74,22 +65,17 @@ final class FastFourierTransformerTest {
 
     @Test
     void testTransformRealSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final double[] x = createRealData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
+        final int[] sizes = { 3, 12, 127, 1000 };
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : sizes) {
+                    final double[] x = createRealData(n);
+                    final Complex[] xc = new Complex[n];
+                    for (int i = 0; i < n; i++) {
+                        xc[i] = new Complex(x[i], 0.0);
+                    }
+                    checkAgainstDft(xc, new FastFourierTransformer(norm).transform(x, type),
+                                    1.0e-13, norm, type);
                 }
             }
         }
@@ -99,25 +85,56 @@ final class FastFourierTransformerTest {
     void testTransformFunctionSizeNotAPowerOfTwo() {
         final int n = 127;
         final UnivariateFunction f = new Sin();
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(f, 0.0, Math.PI, n, type[j]);
-                    fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
+        final Complex[] x = new Complex[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = new Complex(f.value(i * FastMath.PI / n));
+        }
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                checkAgainstDft(x, new FastFourierTransformer(norm).transform(f, 0.0, FastMath.PI, n, type),
+                                1.0e-13, norm, type);
+            }
+        }
+    }
+
+    @Test
+    void testRoundTripSizeNotAPowerOfTwo() {
+        // typical sensor frame lengths, and a prime length
+        for (final int n : new int[] { 1000, 3600, 1009 }) {
+            for (final DftNormalization norm : DftNormalization.values()) {
+                final FastFourierTransformer fft = new FastFourierTransformer(norm);
+                final Complex[] x = createComplexData(n);
+                final Complex[] y = fft.transform(fft.transform(x, TransformType.FORWARD), TransformType.INVERSE);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(x[i].getReal(),      y[i].getReal(),      1.0e-14, norm + ", " + n);
+                    assertEquals(x[i].getImaginary(), y[i].getImaginary(), 1.0e-14, norm + ", " + n);
                 }
             }
         }
     }
 
+    private static void checkAgainstDft(final Complex[] x, final Complex[] actual, final double tol,
+                                        final DftNormalization normalization, final TransformType type) {
+        final int n = x.length;
+        final Complex[] expected = dft(x, type == TransformType.FORWARD ? -1 : 1);
+        final double s;
+        if (normalization == DftNormalization.UNITARY) {
+            s = 1.0 / FastMath.sqrt(n);
+        } else {
+            s = type == TransformType.FORWARD ? 1.0 : 1.0 / n;
+        }
+        double max = 0;
+        for (final Complex e : expected) {
+            max = FastMath.max(max, e.norm());
+        }
+        assertEquals(n, actual.length);
+        for (int i = 0; i < n; i++) {
+            final String msg = String.format("%s, %s, %d, %d", normalization, type, n, i);
+            assertEquals(s * expected[i].getReal(),      actual[i].getReal(),      tol * s * max, msg);
+            assertEquals(s * expected[i].getImaginary(), actual[i].getImaginary(), tol * s * max, msg);
+        }
+    }
+
     @Test
     void testTransformFunctionNotStrictlyPositiveNumberOfSamples() {
         final int n = -128;
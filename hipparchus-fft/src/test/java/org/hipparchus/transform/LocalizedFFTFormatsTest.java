@@ -32,7 +32,7 @@ public class LocalizedFFTFormatsTest extends LocalizedFormatsAbstractTest {
 
     @Override
     protected int getExpectedNumber() {
-        return 4;
+        return 5;
     }
 
 }
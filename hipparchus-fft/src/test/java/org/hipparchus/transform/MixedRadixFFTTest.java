@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MixedRadixFFTTest {
+
+    @Test
+    void testSupported() {
+        assertFalse(MixedRadixFFT.isSupported(0));
+        assertFalse(MixedRadixFFT.isSupported(-4));
+        assertTrue(MixedRadixFFT.isSupported(1));
+        assertTrue(MixedRadixFFT.isSupported(1000));
+        assertTrue(MixedRadixFFT.isSupported(3600));
+        assertFalse(MixedRadixFFT.isSupported(14));
+        assertFalse(MixedRadixFFT.isSupported(1009));
+    }
+
+    @Test
+    void testAgainstDirectDft() {
+        final Random random = new Random(0x7c4b1e2f35a8d690l);
+        for (final int n : new int[] { 1, 2, 3, 4, 5, 6, 8, 9, 10, 12, 15, 16, 18, 20, 24, 25, 27, 30,
+                                       45, 60, 64, 75, 81, 96, 125, 128, 200, 243, 360, 1000 }) {
+            final MixedRadixFFT fft = new MixedRadixFFT(n);
+            assertEquals(n, fft.getLength());
+            for (final boolean inverse : new boolean[] { false, true }) {
+                final double[] re = new double[n];
+                final double[] im = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    re[i] = 2 * random.nextDouble() - 1;
+                    im[i] = 2 * random.nextDouble() - 1;
+                }
+                final double[][] expected = directDft(re, im, inverse);
+                fft.transform(re, im, inverse);
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(expected[0][i], re[i], 2.0e-14 * n);
+                    assertEquals(expected[1][i], im[i], 2.0e-14 * n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSlice() {
+        final Random random = new Random(0x19e3c86fa04d2b57l);
+        final int n      = 45;
+        final int offset = 7;
+        final double[] re = new double[offset + n + 3];
+        final double[] im = new double[offset + n + 3];
+        for (int i = 0; i < re.length; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] sliceRe = new double[n];
+        final double[] sliceIm = new double[n];
+        System.arraycopy(re, offset, sliceRe, 0, n);
+        System.arraycopy(im, offset, sliceIm, 0, n);
+        final double[] outsideRe = re.clone();
+        final double[] outsideIm = im.clone();
+        final double[][] expected = directDft(sliceRe, sliceIm, false);
+        new MixedRadixFFT(n).transform(re, im, offset, false);
+        for (int i = 0; i < re.length; ++i) {
+            if (i < offset || i >= offset + n) {
+                assertEquals(outsideRe[i], re[i], 0.0);
+                assertEquals(outsideIm[i], im[i], 0.0);
+            } else {
+                assertEquals(expected[0][i - offset], re[i], 1.0e-13);
+                assertEquals(expected[1][i - offset], im[i], 1.0e-13);
+            }
+        }
+    }
+
+    @Test
+    void testRoundTrip() {
+        final Random random = new Random(0x4f2a9d13c7e86b05l);
+        final int n = 3600;
+        final MixedRadixFFT fft = new MixedRadixFFT(n);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] re0 = re.clone();
+        final double[] im0 = im.clone();
+        fft.transform(re, im, false);
+        fft.transform(re, im, true);
+        for (int i = 0; i < n; ++i) {
+            assertEquals(re0[i], re[i] / n, 1.0e-14);
+            assertEquals(im0[i], im[i] / n, 1.0e-14);
+        }
+    }
+
+    static double[][] directDft(final double[] re, final double[] im, final boolean inverse) {
+        final int n = re.length;
+        final double sign = inverse ? 1.0 : -1.0;
+        final double[][] y = new double[2][n];
+        for (int k = 0; k < n; ++k) {
+            double sumRe = 0;
+            double sumIm = 0;
+            for (int j = 0; j < n; ++j) {
+                final double angle = sign * MathUtils.TWO_PI * (((long) j * k) % n) / n;
+                final double c = FastMath.cos(angle);
+                final double s = FastMath.sin(angle);
+                sumRe += re[j] * c - im[j] * s;
+                sumIm += re[j] * s + im[j] * c;
+            }
+            y[0][k] = sumRe;
+            y[1][k] = sumIm;
+        }
+        return y;
+    }
+
+}
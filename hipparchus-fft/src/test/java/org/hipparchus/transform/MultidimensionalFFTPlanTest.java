@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultidimensionalFFTPlanTest {
+
+    @Test
+    void testGetters() {
+        final MultidimensionalFFTPlan plan =
+                        new MultidimensionalFFTPlan(new int[] { 4, 7, 5 }, DftNormalization.UNITARY, TransformType.INVERSE);
+        assertArrayEquals(new int[] { 4, 7, 5 }, plan.getDimensions());
+        assertEquals(140, plan.getSize());
+        assertSame(DftNormalization.UNITARY, plan.getNormalization());
+        assertSame(TransformType.INVERSE, plan.getType());
+        // Bluestein work area for length 7, followed by line buffer for lengths 4 and 7
+        assertEquals(15 + 7, plan.getWorkLength());
+    }
+
+    @Test
+    void test2DAgainstDirectDft() {
+        doTestAgainstDirectDft(0x6f0b2d8e14a7c359l, 6, 5);
+        doTestAgainstDirectDft(0x0c5e7a93d2f1b846l, 7, 16);
+        doTestAgainstDirectDft(0xd4a8361fe07b92c5l, 1, 12);
+        doTestAgainstDirectDft(0x2e91c7b05a3f68d4l, 12, 1);
+    }
+
+    @Test
+    void test3DAgainstDirectDft() {
+        doTestAgainstDirectDft(0xb73e05c9a2d1f468l, 3, 4, 7);
+        doTestAgainstDirectDft(0x48f2a6d01c9e7b35l, 5, 1, 6);
+    }
+
+    @Test
+    void test1DSameAsPlan() {
+        final Random random = new Random(0x81cf4e2b37d0a695l);
+        final int n = 360;
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] expectedRe = re.clone();
+        final double[] expectedIm = im.clone();
+        new FFTPlan(n, DftNormalization.STANDARD, TransformType.FORWARD).transform(expectedRe, expectedIm);
+        new MultidimensionalFFTPlan(new int[] { n }, DftNormalization.STANDARD, TransformType.FORWARD).transform(re, im);
+        assertArrayEquals(expectedRe, re, 0.0);
+        assertArrayEquals(expectedIm, im, 0.0);
+    }
+
+    @Test
+    void testRoundTrip() {
+        final Random random = new Random(0x1d94b7e3a06c5f28l);
+        final int[] dimensions = { 64, 100, 3 };
+        final MultidimensionalFFTPlan forward =
+                        new MultidimensionalFFTPlan(dimensions, DftNormalization.STANDARD, TransformType.FORWARD);
+        final MultidimensionalFFTPlan inverse =
+                        new MultidimensionalFFTPlan(dimensions, DftNormalization.STANDARD, TransformType.INVERSE);
+        final double[] re = new double[forward.getSize()];
+        final double[] im = new double[forward.getSize()];
+        for (int i = 0; i < re.length; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] re0 = re.clone();
+        final double[] im0 = im.clone();
+        final double[] workRe = new double[forward.getWorkLength()];
+        final double[] workIm = new double[forward.getWorkLength()];
+        forward.transform(re, im, workRe, workIm);
+        inverse.transform(re, im, workRe, workIm);
+        assertArrayEquals(re0, re, 1.0e-14);
+        assertArrayEquals(im0, im, 1.0e-14);
+    }
+
+    @Test
+    void testNoDimensions() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new MultidimensionalFFTPlan(new int[0],
+                                                                       DftNormalization.STANDARD,
+                                                                       TransformType.FORWARD));
+        assertEquals(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, miae.getSpecifier());
+    }
+
+    @Test
+    void testNegativeDimension() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new MultidimensionalFFTPlan(new int[] { 4, -2 },
+                                                                       DftNormalization.STANDARD,
+                                                                       TransformType.FORWARD));
+        assertEquals(LocalizedCoreFormats.NOT_POSITIVE_NUMBER_OF_SAMPLES, miae.getSpecifier());
+        assertEquals(-2, ((Integer) miae.getParts()[0]).intValue());
+    }
+
+    @Test
+    void testWrongSize() {
+        final MultidimensionalFFTPlan plan =
+                        new MultidimensionalFFTPlan(new int[] { 4, 4 }, DftNormalization.STANDARD, TransformType.FORWARD);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> plan.transform(new double[16], new double[15]));
+    }
+
+    private void doTestAgainstDirectDft(final long seed, final int... dimensions) {
+        final Random random = new Random(seed);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                final MultidimensionalFFTPlan plan = new MultidimensionalFFTPlan(dimensions, normalization, type);
+                final double[] re = new double[plan.getSize()];
+                final double[] im = new double[plan.getSize()];
+                for (int i = 0; i < re.length; ++i) {
+                    re[i] = 2 * random.nextDouble() - 1;
+                    im[i] = 2 * random.nextDouble() - 1;
+                }
+                final double[][] expected = directDft(dimensions, re, im, normalization, type);
+                plan.transform(re, im);
+                assertArrayEquals(expected[0], re, 1.0e-13);
+                assertArrayEquals(expected[1], im, 1.0e-13);
+            }
+        }
+    }
+
+    private double[][] directDft(final int[] dimensions, final double[] re, final double[] im,
+                                 final DftNormalization normalization, final TransformType type) {
+        final int size = re.length;
+        final double sign = type == TransformType.FORWARD ? -1.0 : 1.0;
+        final double scale;
+        if (normalization == DftNormalization.UNITARY) {
+            scale = 1.0 / FastMath.sqrt(size);
+        } else {
+            scale = type == TransformType.INVERSE ? 1.0 / size : 1.0;
+        }
+        final double[][] y = new double[2][size];
+        final int[] k = new int[dimensions.length];
+        final int[] j = new int[dimensions.length];
+        for (int out = 0; out < size; ++out) {
+            unflatten(out, dimensions, k);
+            double sumRe = 0;
+            double sumIm = 0;
+            for (int in = 0; in < size; ++in) {
+                unflatten(in, dimensions, j);
+                double phase = 0;
+                for (int a = 0; a < dimensions.length; ++a) {
+                    phase += ((double) ((j[a] * k[a]) % dimensions[a])) / dimensions[a];
+                }
+                final double angle = sign * MathUtils.TWO_PI * phase;
+                final double c = FastMath.cos(angle);
+                final double s = FastMath.sin(angle);
+                sumRe += re[in] * c - im[in] * s;
+                sumIm += re[in] * s + im[in] * c;
+            }
+            y[0][out] = scale * sumRe;
+            y[1][out] = scale * sumIm;
+        }
+        return y;
+    }
+
+    private void unflatten(final int index, final int[] dimensions, final int[] indices) {
+        int remaining = index;
+        for (int a = dimensions.length - 1; a >= 0; --a) {
+            indices[a] = remaining % dimensions[a];
+            remaining /= dimensions[a];
+        }
+    }
+
+}
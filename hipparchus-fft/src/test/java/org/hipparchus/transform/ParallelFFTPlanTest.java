@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelFFTPlanTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testGetters() {
+        final ParallelSettings settings = new ParallelSettings(pool, 0L);
+        final ParallelFFTPlan  plan     = new ParallelFFTPlan(4096, DftNormalization.UNITARY,
+                                                              TransformType.INVERSE, settings);
+        assertEquals(4096, plan.getLength());
+        assertSame(DftNormalization.UNITARY, plan.getNormalization());
+        assertSame(TransformType.INVERSE, plan.getType());
+        assertSame(settings, plan.getSettings());
+        assertTrue(plan.isParallel());
+        assertEquals(4096, plan.getWorkLength());
+    }
+
+    @Test
+    void testSerialFallback() {
+        // below threshold
+        final ParallelFFTPlan small = new ParallelFFTPlan(4096, DftNormalization.STANDARD, TransformType.FORWARD,
+                                                          new ParallelSettings(pool, Long.MAX_VALUE));
+        assertFalse(small.isParallel());
+        assertEquals(0, small.getWorkLength());
+
+        // length with a large prime factor
+        final ParallelFFTPlan prime = new ParallelFFTPlan(1009, DftNormalization.STANDARD, TransformType.FORWARD,
+                                                          new ParallelSettings(pool, 0L));
+        assertFalse(prime.isParallel());
+        checkSameAsSerial(0x3f9a17d2c05e84b6l, prime);
+
+        // length that cannot be split
+        assertFalse(new ParallelFFTPlan(2, DftNormalization.STANDARD, TransformType.FORWARD,
+                                        new ParallelSettings(pool, 0L)).isParallel());
+
+        // single thread pool
+        final ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertFalse(new ParallelFFTPlan(4096, DftNormalization.STANDARD, TransformType.FORWARD,
+                                            new ParallelSettings(single, 0L)).isParallel());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testSameAsSerial() {
+        final ParallelSettings settings = new ParallelSettings(pool, 0L);
+        long seed = 0x1b6e93d4a7f205c8l;
+        for (final int n : new int[] { 6, 1000, 3600, 4096, 6000, 1 << 16 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                for (final TransformType type : TransformType.values()) {
+                    final ParallelFFTPlan plan = new ParallelFFTPlan(n, normalization, type, settings);
+                    assertTrue(plan.isParallel());
+                    checkSameAsSerial(seed++, plan);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIndependentOfThreadsNumber() {
+        final int n = 1 << 14;
+        final Random random = new Random(0xc4e8a02f19b7d356l);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] re2 = re.clone();
+        final double[] im2 = im.clone();
+        new ParallelFFTPlan(n, DftNormalization.STANDARD, TransformType.FORWARD,
+                            new ParallelSettings(pool, 0L)).transform(re, im);
+        final ForkJoinPool other = new ForkJoinPool(3);
+        try {
+            new ParallelFFTPlan(n, DftNormalization.STANDARD, TransformType.FORWARD,
+                                new ParallelSettings(other, 0L)).transform(re2, im2);
+        } finally {
+            other.shutdown();
+        }
+        assertArrayEquals(re, re2, 0.0);
+        assertArrayEquals(im, im2, 0.0);
+    }
+
+    @Test
+    void testRoundTrip() {
+        final int n = 1 << 16;
+        final ParallelSettings settings = new ParallelSettings(pool, 0L);
+        final ParallelFFTPlan forward = new ParallelFFTPlan(n, DftNormalization.STANDARD, TransformType.FORWARD, settings);
+        final ParallelFFTPlan inverse = new ParallelFFTPlan(n, DftNormalization.STANDARD, TransformType.INVERSE, settings);
+        final Random random = new Random(0x7d2f05b8e193ca46l);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] re0 = re.clone();
+        final double[] im0 = im.clone();
+        final double[] workRe = new double[forward.getWorkLength()];
+        final double[] workIm = new double[forward.getWorkLength()];
+        forward.transform(re, im, workRe, workIm);
+        inverse.transform(re, im, workRe, workIm);
+        assertArrayEquals(re0, re, 1.0e-14);
+        assertArrayEquals(im0, im, 1.0e-14);
+    }
+
+    private void checkSameAsSerial(final long seed, final ParallelFFTPlan plan) {
+        final int n = plan.getLength();
+        final Random random = new Random(seed);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] expectedRe = re.clone();
+        final double[] expectedIm = im.clone();
+        new FFTPlan(n, plan.getNormalization(), plan.getType()).transform(expectedRe, expectedIm);
+        plan.transform(re, im);
+        double max = 0;
+        for (int i = 0; i < n; ++i) {
+            max = FastMath.max(max, FastMath.hypot(expectedRe[i], expectedIm[i]));
+        }
+        final double tolerance = 1.0e-14 * max;
+        assertArrayEquals(expectedRe, re, tolerance);
+        assertArrayEquals(expectedIm, im, tolerance);
+    }
+
+}
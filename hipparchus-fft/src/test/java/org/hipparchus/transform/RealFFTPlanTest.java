@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RealFFTPlanTest {
+
+    @Test
+    void testGetters() {
+        final RealFFTPlan plan = new RealFFTPlan(1000, DftNormalization.UNITARY);
+        assertEquals(1000, plan.getLength());
+        assertEquals(501, plan.getSpectrumLength());
+        assertSame(DftNormalization.UNITARY, plan.getNormalization());
+        assertEquals(0, plan.getWorkLength());
+        assertEquals(2025, new RealFFTPlan(2018, DftNormalization.STANDARD).getWorkLength());
+    }
+
+    @Test
+    void testForwardSameAsComplex() {
+        final Random random = new Random(0x5a1c93e7b20d4f68l);
+        for (final int n : new int[] { 2, 4, 6, 8, 10, 14, 26, 100, 254, 1000, 2018, 4096 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final RealFFTPlan plan = new RealFFTPlan(n, normalization);
+                final double[] x = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    x[i] = 2 * random.nextDouble() - 1;
+                }
+                final double[] xRef = x.clone();
+                final double[][] expected = { x.clone(), new double[n] };
+                new FFTPlan(n, normalization, TransformType.FORWARD).transform(expected[0], expected[1]);
+                final double[] re = new double[plan.getSpectrumLength()];
+                final double[] im = new double[plan.getSpectrumLength()];
+                plan.forward(x, re, im);
+                for (int k = 0; k < re.length; ++k) {
+                    assertEquals(expected[0][k], re[k], 1.0e-14 * n);
+                    assertEquals(expected[1][k], im[k], 1.0e-14 * n);
+                }
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(xRef[i], x[i], 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRoundTrip() {
+        final Random random = new Random(0x9e2f07c4a853d1b6l);
+        for (final int n : new int[] { 2, 6, 1000, 2018, 4096 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final RealFFTPlan plan   = new RealFFTPlan(n, normalization);
+                final double[]    workRe = new double[plan.getWorkLength()];
+                final double[]    workIm = new double[plan.getWorkLength()];
+                final double[]    x      = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    x[i] = 2 * random.nextDouble() - 1;
+                }
+                final double[] re = new double[plan.getSpectrumLength()];
+                final double[] im = new double[plan.getSpectrumLength()];
+                final double[] y  = new double[n];
+                plan.forward(x, re, im, workRe, workIm);
+                plan.inverse(re, im, y, workRe, workIm);
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(x[i], y[i], 1.0e-14);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInverseSameAsComplex() {
+        final Random random = new Random(0x37d8a1f06ce4b925l);
+        for (final int n : new int[] { 4, 10, 1000 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final RealFFTPlan plan = new RealFFTPlan(n, normalization);
+
+                // build a Hermitian-symmetric spectrum
+                final double[] re = new double[plan.getSpectrumLength()];
+                final double[] im = new double[plan.getSpectrumLength()];
+                final double[][] full = new double[2][n];
+                for (int k = 0; k < re.length; ++k) {
+                    re[k] = 2 * random.nextDouble() - 1;
+                    im[k] = (k == 0 || k == n / 2) ? 0.0 : 2 * random.nextDouble() - 1;
+                    full[0][k] = re[k];
+                    full[1][k] = im[k];
+                    full[0][(n - k) % n] =  re[k];
+                    full[1][(n - k) % n] = -im[k];
+                }
+                new FFTPlan(n, normalization, TransformType.INVERSE).transform(full[0], full[1]);
+
+                final double[] x = new double[n];
+                plan.inverse(re, im, x);
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(full[0][i], x[i], 1.0e-14 * n);
+                    assertEquals(0.0, full[1][i], 1.0e-14 * n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOddLength() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new RealFFTPlan(127, DftNormalization.STANDARD));
+        assertEquals(LocalizedFFTFormats.NOT_EVEN, miae.getSpecifier());
+        assertEquals(127, ((Integer) miae.getParts()[0]).intValue());
+    }
+
+    @Test
+    void testWrongSpectrumLength() {
+        final RealFFTPlan plan = new RealFFTPlan(8, DftNormalization.STANDARD);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> plan.forward(new double[8], new double[4], new double[5]));
+    }
+
+}
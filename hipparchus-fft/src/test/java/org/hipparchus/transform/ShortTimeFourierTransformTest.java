@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShortTimeFourierTransformTest {
+
+    @Test
+    void testGetters() {
+        final ShortTimeFourierTransform stft =
+                        new ShortTimeFourierTransform(ShortTimeFourierTransform.hannWindow(256), 64,
+                                                      DftNormalization.UNITARY);
+        assertEquals(256, stft.getFrameLength());
+        assertEquals(64, stft.getHopSize());
+        assertEquals(129, stft.getSpectrumLength());
+        assertSame(DftNormalization.UNITARY, stft.getNormalization());
+    }
+
+    @Test
+    void testHannWindowOverlapAdd() {
+        // periodic Hann window sums to a constant with 50% and 75% overlap
+        final int n = 64;
+        final double[] w = ShortTimeFourierTransform.hannWindow(n);
+        assertEquals(0.0, w[0], 0.0);
+        assertEquals(1.0, w[n / 2], 1.0e-15);
+        for (final int hop : new int[] { n / 2, n / 4 }) {
+            for (int i = 0; i < hop; ++i) {
+                double sum = 0;
+                for (int j = i; j < n; j += hop) {
+                    sum += w[j];
+                }
+                assertEquals(0.5 * n / hop, sum, 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    void testFramesAgainstDirectTransform() {
+        final Random random = new Random(0x52c8e0f7a39d146bl);
+        final int      frameLength = 100;
+        final int      hop         = 30;
+        final double[] window      = ShortTimeFourierTransform.hannWindow(frameLength);
+        final double[] signal      = new double[1000];
+        for (int i = 0; i < signal.length; ++i) {
+            signal[i] = 2 * random.nextDouble() - 1;
+        }
+
+        final List<double[][]> frames = run(new ShortTimeFourierTransform(window, hop, DftNormalization.STANDARD),
+                                            signal, new int[] { signal.length });
+        assertEquals((signal.length - frameLength) / hop + 1, frames.size());
+
+        final RealFFTPlan plan = new RealFFTPlan(frameLength, DftNormalization.STANDARD);
+        for (int k = 0; k < frames.size(); ++k) {
+            final double[] windowed = new double[frameLength];
+            for (int i = 0; i < frameLength; ++i) {
+                windowed[i] = signal[k * hop + i] * window[i];
+            }
+            final double[] re = new double[plan.getSpectrumLength()];
+            final double[] im = new double[plan.getSpectrumLength()];
+            plan.forward(windowed, re, im);
+            assertArrayEquals(re, frames.get(k)[0], 0.0);
+            assertArrayEquals(im, frames.get(k)[1], 0.0);
+        }
+    }
+
+    @Test
+    void testChunkingInvariance() {
+        final Random random = new Random(0xa1d7f35c08e62b94l);
+        final double[] signal = new double[777];
+        for (int i = 0; i < signal.length; ++i) {
+            signal[i] = FastMath.sin(0.3 * i) + 0.1 * random.nextGaussian();
+        }
+        final ShortTimeFourierTransform stft =
+                        new ShortTimeFourierTransform(ShortTimeFourierTransform.hannWindow(64), 16,
+                                                      DftNormalization.STANDARD);
+        final List<double[][]> reference = run(stft, signal, new int[] { signal.length });
+        stft.reset();
+        final List<double[][]> chunked = run(stft, signal, new int[] { 1, 5, 63, 64, 100, 3, 300, 241 });
+        assertEquals(reference.size(), chunked.size());
+        for (int k = 0; k < reference.size(); ++k) {
+            assertArrayEquals(reference.get(k)[0], chunked.get(k)[0], 0.0);
+            assertArrayEquals(reference.get(k)[1], chunked.get(k)[1], 0.0);
+        }
+    }
+
+    @Test
+    void testSpectralPeak() {
+        // a pure tone at bin 8 of a 128 samples frame
+        final int n = 128;
+        final double[] signal = new double[4 * n];
+        for (int i = 0; i < signal.length; ++i) {
+            signal[i] = FastMath.cos(2 * FastMath.PI * 8 * i / n);
+        }
+        final List<double[][]> frames =
+                        run(new ShortTimeFourierTransform(ShortTimeFourierTransform.hannWindow(n), n,
+                                                          DftNormalization.STANDARD),
+                            signal, new int[] { signal.length });
+        assertEquals(4, frames.size());
+        for (final double[][] frame : frames) {
+            int best = 0;
+            for (int k = 1; k < frame[0].length; ++k) {
+                if (FastMath.hypot(frame[0][k], frame[1][k]) > FastMath.hypot(frame[0][best], frame[1][best])) {
+                    best = k;
+                }
+            }
+            assertEquals(8, best);
+            assertEquals(n / 4.0, FastMath.hypot(frame[0][8], frame[1][8]), 1.0e-12);
+        }
+    }
+
+    @Test
+    void testErrors() {
+        assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                     assertThrows(MathIllegalArgumentException.class,
+                                  () -> new ShortTimeFourierTransform(new double[8], 0,
+                                                                      DftNormalization.STANDARD)).getSpecifier());
+        assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                     assertThrows(MathIllegalArgumentException.class,
+                                  () -> new ShortTimeFourierTransform(new double[8], 9,
+                                                                      DftNormalization.STANDARD)).getSpecifier());
+        assertEquals(LocalizedFFTFormats.NOT_EVEN,
+                     assertThrows(MathIllegalArgumentException.class,
+                                  () -> new ShortTimeFourierTransform(new double[9], 3,
+                                                                      DftNormalization.STANDARD)).getSpecifier());
+    }
+
+    private List<double[][]> run(final ShortTimeFourierTransform stft, final double[] signal, final int[] chunks) {
+        final List<double[][]> frames = new ArrayList<>();
+        int start = 0;
+        for (final int chunk : chunks) {
+            stft.process(signal, start, chunk, (frameIndex, re, im) -> {
+                assertEquals(frames.size(), frameIndex);
+                frames.add(new double[][] { re.clone(), im.clone() });
+            });
+            start += chunk;
+        }
+        return frames;
+    }
+
+}
@@ -451,6 +451,34 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
 
     }
 
+    /** Check if step interpolators are needed.
+     * <p>
+     * Interpolators are needed only when some step handlers, event detectors or step
+     * end handlers are registered. When none are registered, integrators may avoid
+     * building interpolators and intermediate states, and call {@link
+     * #acceptStepWithoutInterpolator(double, double)} instead of {@link
+     * #acceptStep(AbstractODEStateInterpolator, double)}.
+     * </p>
+     * @return true if step interpolators are needed
+     * @since 4.0
+     */
+    protected boolean needsInterpolators() {
+        return !(stepHandlers.isEmpty() && detectorBasedEventsStates.isEmpty() && stepEndEventsStates.isEmpty());
+    }
+
+    /** Accept a step when no step handlers and no events are registered.
+     * <p>
+     * This method must be called only if {@link #needsInterpolators()} returns false.
+     * </p>
+     * @param stepEnd time at end of step
+     * @param tEnd final integration time
+     * @since 4.0
+     */
+    protected void acceptStepWithoutInterpolator(final double stepEnd, final double tEnd) {
+        resetOccurred = false;
+        isLastStep    = isLastStep || FastMath.abs(stepEnd - tEnd) < FastMath.ulp(tEnd);
+    }
+
     /** Check the integration span.
      * @param initialState initial state
      * @param t target time for the integration
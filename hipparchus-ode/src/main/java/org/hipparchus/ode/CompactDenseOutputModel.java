@@ -0,0 +1,649 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Compact continuous model of an ODE solution, stored in primitive arrays.
+ * <p>
+ * Like {@link DenseOutputModel}, this class acts as a step handler and builds
+ * a continuous model of the solution that can be queried at any time once the
+ * integration is over. Contrary to {@link DenseOutputModel}, which keeps the step
+ * interpolators themselves with all their internal states, each step is converted
+ * into a Chebyshev expansion of degree d of the complete state vector (primary and
+ * secondary states) and only the expansion coefficients and the step boundaries
+ * are kept, i.e. 2 + (d + 1) &times; n doubles per step for an n-dimensional state.
+ * The expansion is computed by sampling the step interpolator at the d + 1
+ * Chebyshev-Lobatto points of the step, so it reproduces exactly (up to rounding)
+ * interpolators that are polynomials of degree at most d, which is the case of
+ * all Runge-Kutta interpolators of the library with the {@link #DEFAULT_DEGREE
+ * default degree}, and it matches the interpolator at the step boundaries for
+ * any degree. Derivatives are computed by differentiating the expansion.
+ * </p>
+ * <p>
+ * Steps are stored one after the other in a few large primitive buffers, in
+ * integration order, so locating the step containing a time is a binary search
+ * in O(log n) and the model does not create any garbage beyond the returned
+ * states. As {@link #getInterpolatedState(double)} does not modify the model,
+ * it can be called concurrently by several threads once the integration is over.
+ * </p>
+ * <p>
+ * The model can be {@link #write(Path) written} to a file and later {@link
+ * #map(Path) mapped} back into memory, possibly by another process, without
+ * reading the whole file: the operating system pages the steps in as they are
+ * used. Mapped models are read-only.
+ * </p>
+ * <p>
+ * As for {@link DenseOutputModel}, the same model can be used for several
+ * contiguous integration phases performed in order and in the same direction,
+ * and models can be {@link #append(CompactDenseOutputModel) appended}.
+ * </p>
+ * @see DenseOutputModel
+ * @since 4.0
+ */
+public class CompactDenseOutputModel implements ODEStepHandler {
+
+    /** Default degree of the Chebyshev expansions. */
+    public static final int DEFAULT_DEGREE = 7;
+
+    /** Magic number identifying files. */
+    private static final long MAGIC = 0x48697070434f4d31L;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Size of the fixed part of the file header. */
+    private static final int HEADER_SIZE = 48;
+
+    /** Number of bytes per double. */
+    private static final int BYTES = 8;
+
+    /** Maximum number of doubles in one buffer. */
+    private static final int MAX_CHUNK_LENGTH = Integer.MAX_VALUE / BYTES;
+
+    /** Initial number of steps in a new buffer. */
+    private static final int INITIAL_STEPS = 16;
+
+    /** Number of doubles per I/O transfer. */
+    private static final int TRANSFER_LENGTH = 8192;
+
+    /** Degree of the Chebyshev expansions. */
+    private final int degree;
+
+    /** Maximum number of doubles in one buffer. */
+    private final int maxChunkLength;
+
+    /** Cosines cos(&pi; j k / d) used to compute the expansions. */
+    private final double[][] cosines;
+
+    /** Dimensions of primary and secondary states (null if not known yet). */
+    private int[] dimensions;
+
+    /** Dimension of the complete state. */
+    private int completeDimension;
+
+    /** Number of doubles per step. */
+    private int stride;
+
+    /** Number of steps per buffer. */
+    private int stepsPerChunk;
+
+    /** Buffers holding the steps. */
+    private final List<DoubleBuffer> chunks;
+
+    /** Array backing the last buffer (null for mapped models). */
+    private double[] tail;
+
+    /** Number of steps. */
+    private int steps;
+
+    /** Indicator for read-only models mapped from files. */
+    private boolean mapped;
+
+    /** Initial integration time. */
+    private double initialTime;
+
+    /** Final integration time. */
+    private double finalTime;
+
+    /** Integration direction indicator. */
+    private boolean forward;
+
+    /** Build an empty model with {@link #DEFAULT_DEGREE default degree}.
+     */
+    public CompactDenseOutputModel() {
+        this(DEFAULT_DEGREE);
+    }
+
+    /** Build an empty model.
+     * @param degree degree of the Chebyshev expansions (must be at least 1)
+     * @exception MathIllegalArgumentException if degree is less than 1
+     */
+    public CompactDenseOutputModel(final int degree) {
+        this(degree, MAX_CHUNK_LENGTH);
+    }
+
+    /** Build an empty model.
+     * <p>
+     * This constructor is intended for tests of the multi-buffers layout.
+     * </p>
+     * @param degree degree of the Chebyshev expansions (must be at least 1)
+     * @param maxChunkLength maximum number of doubles in one buffer
+     * @exception MathIllegalArgumentException if degree is less than 1
+     */
+    CompactDenseOutputModel(final int degree, final int maxChunkLength) {
+        if (degree < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+        }
+        this.degree         = degree;
+        this.maxChunkLength = maxChunkLength;
+        this.cosines        = new double[degree + 1][degree + 1];
+        for (int j = 0; j <= degree; ++j) {
+            for (int k = 0; k <= degree; ++k) {
+                cosines[j][k] = FastMath.cos(FastMath.PI * ((j * k) % (2 * degree)) / degree);
+            }
+        }
+        this.chunks      = new ArrayList<>();
+        this.initialTime = Double.NaN;
+        this.finalTime   = Double.NaN;
+        this.forward     = true;
+    }
+
+    /** Get the degree of the Chebyshev expansions.
+     * @return degree of the Chebyshev expansions
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the number of stored steps.
+     * @return number of stored steps
+     */
+    public int getNumberOfSteps() {
+        return steps;
+    }
+
+    /** Append another model at the end of the instance.
+     * @param model model to add at the end of the instance
+     * @exception MathIllegalArgumentException if the model to append is not
+     * compatible with the instance (degree, dimension of the state vector,
+     * propagation direction, hole between the dates)
+     * @exception MathIllegalStateException if the instance is a mapped model
+     */
+    public void append(final CompactDenseOutputModel model)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        checkWritable();
+        if (model.steps == 0) {
+            return;
+        }
+
+        if (model.degree != degree) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   model.degree, degree);
+        }
+
+        if (steps == 0) {
+            setDimensions(model.dimensions);
+            initialTime = model.initialTime;
+            forward     = model.forward;
+        } else {
+
+            if (!Arrays.equals(dimensions, model.dimensions)) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       model.completeDimension, completeDimension);
+            }
+
+            if (forward ^ model.forward) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH);
+            }
+
+            final double previous = getBoundary(steps - 1, 0);
+            final double current  = getBoundary(steps - 1, 1);
+            final double gap      = model.getBoundary(0, 0) - current;
+            if (FastMath.abs(gap) > 1.0e-3 * FastMath.abs(current - previous)) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES,
+                                                       FastMath.abs(gap));
+            }
+
+        }
+
+        for (int i = 0; i < model.steps; ++i) {
+            final DoubleBuffer source = model.chunks.get(i / model.stepsPerChunk).duplicate();
+            source.position((i % model.stepsPerChunk) * stride);
+            final int offset = reserve();
+            source.get(tail, offset, stride);
+        }
+        finalTime = model.finalTime;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final ODEStateAndDerivative initialState, final double targetTime) {
+        chunks.clear();
+        tail        = null;
+        steps       = 0;
+        mapped      = false;
+        initialTime = initialState.getTime();
+        finalTime   = targetTime;
+        forward     = true;
+        setDimensions(extractDimensions(initialState));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleStep(final ODEStateInterpolator interpolator) {
+
+        checkWritable();
+        final ODEStateAndDerivative previous = interpolator.getPreviousState();
+        final ODEStateAndDerivative current  = interpolator.getCurrentState();
+        if (steps == 0) {
+            initialTime = previous.getTime();
+            forward     = interpolator.isForward();
+            if (dimensions == null) {
+                setDimensions(extractDimensions(previous));
+            }
+        }
+        if (previous.getCompleteStateDimension() != completeDimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   previous.getCompleteStateDimension(), completeDimension);
+        }
+
+        // sample the step at Chebyshev-Lobatto points, from current state to previous state
+        final double t0   = previous.getTime();
+        final double t1   = current.getTime();
+        final double mid  = 0.5 * (t0 + t1);
+        final double half = 0.5 * (t1 - t0);
+        final double[][] samples = new double[degree + 1][];
+        samples[0]      = current.getCompleteState();
+        samples[degree] = previous.getCompleteState();
+        for (int j = 1; j < degree; ++j) {
+            samples[j] = interpolator.getInterpolatedState(mid + half * cosines[j][1]).getCompleteState();
+        }
+
+        // convert samples to Chebyshev coefficients
+        final int offset = reserve();
+        tail[offset]     = t0;
+        tail[offset + 1] = t1;
+        final double scale = 2.0 / degree;
+        for (int i = 0; i < completeDimension; ++i) {
+            final int base = offset + 2 + i * (degree + 1);
+            for (int k = 0; k <= degree; ++k) {
+                double sum = 0.5 * (samples[0][i] * cosines[0][k] + samples[degree][i] * cosines[degree][k]);
+                for (int j = 1; j < degree; ++j) {
+                    sum += samples[j][i] * cosines[j][k];
+                }
+                tail[base + k] = (k == 0 || k == degree) ? 0.5 * scale * sum : scale * sum;
+            }
+        }
+        finalTime = t1;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void finish(final ODEStateAndDerivative finalState) {
+        finalTime = finalState.getTime();
+    }
+
+    /**
+     * Get the initial integration time.
+     * @return initial integration time
+     */
+    public double getInitialTime() {
+        return initialTime;
+    }
+
+    /**
+     * Get the final integration time.
+     * @return final integration time
+     */
+    public double getFinalTime() {
+        return finalTime;
+    }
+
+    /**
+     * Get the state at interpolated time.
+     * <p>
+     * Times outside of the integration interval are extrapolated using the first
+     * or last step.
+     * </p>
+     * @param time time of the interpolated point
+     * @return state at interpolated time
+     * @exception MathIllegalStateException if the model is empty
+     */
+    public ODEStateAndDerivative getInterpolatedState(final double time)
+        throws MathIllegalStateException {
+
+        if (steps == 0) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.EMPTY_INTERPOLATION_SAMPLE);
+        }
+
+        // locate the step
+        final int          step   = locate(time);
+        final DoubleBuffer chunk  = chunks.get(step / stepsPerChunk);
+        final int          offset = (step % stepsPerChunk) * stride;
+        final double       t0     = chunk.get(offset);
+        final double       t1     = chunk.get(offset + 1);
+
+        // Chebyshev polynomials and their derivatives at the reduced time
+        final double x = (t1 == t0) ? 0.0 : (2 * time - t0 - t1) / (t1 - t0);
+        final double[] tk  = new double[degree + 1];
+        final double[] dtk = new double[degree + 1];
+        tk[0]  = 1.0;
+        tk[1]  = x;
+        dtk[1] = 1.0;
+        for (int k = 1; k < degree; ++k) {
+            tk[k + 1]  = 2 * x * tk[k] - tk[k - 1];
+            dtk[k + 1] = 2 * tk[k] + 2 * x * dtk[k] - dtk[k - 1];
+        }
+
+        // evaluate the expansions
+        final double   scale = (t1 == t0) ? 0.0 : 2.0 / (t1 - t0);
+        final double[] y     = new double[completeDimension];
+        final double[] yDot  = new double[completeDimension];
+        for (int i = 0; i < completeDimension; ++i) {
+            final int base = offset + 2 + i * (degree + 1);
+            double    yi    = 0;
+            double    yDotI = 0;
+            for (int k = 0; k <= degree; ++k) {
+                final double c = chunk.get(base + k);
+                yi    += c * tk[k];
+                yDotI += c * dtk[k];
+            }
+            y[i]    = yi;
+            yDot[i] = scale * yDotI;
+        }
+
+        // split the complete state
+        final double[] primary    = Arrays.copyOfRange(y, 0, dimensions[0]);
+        final double[] primaryDot = Arrays.copyOfRange(yDot, 0, dimensions[0]);
+        if (dimensions.length == 1) {
+            return new ODEStateAndDerivative(time, primary, primaryDot);
+        }
+        final double[][] secondary    = new double[dimensions.length - 1][];
+        final double[][] secondaryDot = new double[dimensions.length - 1][];
+        int start = dimensions[0];
+        for (int k = 1; k < dimensions.length; ++k) {
+            secondary[k - 1]    = Arrays.copyOfRange(y, start, start + dimensions[k]);
+            secondaryDot[k - 1] = Arrays.copyOfRange(yDot, start, start + dimensions[k]);
+            start += dimensions[k];
+        }
+        return new ODEStateAndDerivative(time, primary, primaryDot, secondary, secondaryDot);
+
+    }
+
+    /** Write the model to a file.
+     * <p>
+     * The file uses the native byte order of the platform.
+     * </p>
+     * @param path path of the file (overwritten if it already exists)
+     * @throws IOException if the file cannot be written
+     * @see #map(Path)
+     */
+    public void write(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            // header
+            final int nbDimensions = dimensions == null ? 0 : dimensions.length;
+            final ByteBuffer header = ByteBuffer.allocate(headerSize(nbDimensions)).order(ByteOrder.nativeOrder());
+            header.putLong(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(degree);
+            header.putInt(forward ? 1 : 0);
+            header.putInt(nbDimensions);
+            header.putLong(steps);
+            header.putDouble(initialTime);
+            header.putDouble(finalTime);
+            for (int i = 0; i < nbDimensions; ++i) {
+                header.putInt(dimensions[i]);
+            }
+            header.rewind();
+            writeFully(channel, header);
+
+            // steps
+            final ByteBuffer transfer = ByteBuffer.allocate(TRANSFER_LENGTH * BYTES).order(ByteOrder.nativeOrder());
+            final double[]   values   = new double[TRANSFER_LENGTH];
+            for (int c = 0; c < chunks.size(); ++c) {
+                final DoubleBuffer source = chunks.get(c).duplicate();
+                source.rewind();
+                source.limit(FastMath.min(stepsPerChunk, steps - c * stepsPerChunk) * stride);
+                while (source.hasRemaining()) {
+                    final int length = FastMath.min(TRANSFER_LENGTH, source.remaining());
+                    source.get(values, 0, length);
+                    transfer.clear();
+                    transfer.asDoubleBuffer().put(values, 0, length);
+                    transfer.limit(length * BYTES);
+                    writeFully(channel, transfer);
+                }
+            }
+
+        }
+    }
+
+    /** Map a model from a file.
+     * <p>
+     * The steps are not read when the model is mapped, they are paged in by the
+     * operating system when they are used. The mapping remains valid after this
+     * method returns. The returned model is read-only: it cannot handle steps or
+     * have models appended until it is {@link #init(ODEStateAndDerivative, double)
+     * reinitialized}.
+     * </p>
+     * @param path path of a file created by {@link #write(Path)}
+     * @return mapped model
+     * @throws IOException if the file cannot be read or has not been created by
+     * {@link #write(Path)} on a platform with the same byte order
+     */
+    public static CompactDenseOutputModel map(final Path path) throws IOException {
+        return map(path, MAX_CHUNK_LENGTH);
+    }
+
+    /** Map a model from a file.
+     * <p>
+     * This method is intended for tests of the multi-buffers layout.
+     * </p>
+     * @param path path of a file created by {@link #write(Path)}
+     * @param maxChunkLength maximum number of doubles in one buffer
+     * @return mapped model
+     * @throws IOException if the file cannot be read or has not been created by
+     * {@link #write(Path)} on a platform with the same byte order
+     */
+    static CompactDenseOutputModel map(final Path path, final int maxChunkLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // header
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            readFully(channel, header, path);
+            if (header.getLong() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("unsupported dense output file " + path);
+            }
+            final CompactDenseOutputModel model = new CompactDenseOutputModel(header.getInt(), maxChunkLength);
+            model.forward     = header.getInt() != 0;
+            final int nbDimensions = header.getInt();
+            final long nbSteps     = header.getLong();
+            model.initialTime = header.getDouble();
+            model.finalTime   = header.getDouble();
+            final ByteBuffer dims = ByteBuffer.allocate(headerSize(nbDimensions) - HEADER_SIZE).
+                                    order(ByteOrder.nativeOrder());
+            readFully(channel, dims, path);
+            if (nbDimensions > 0) {
+                final int[] dimensions = new int[nbDimensions];
+                for (int i = 0; i < nbDimensions; ++i) {
+                    dimensions[i] = dims.getInt();
+                }
+                model.setDimensions(dimensions);
+            }
+
+            // steps
+            long position = headerSize(nbDimensions);
+            if (channel.size() < position + nbSteps * model.stride * BYTES) {
+                throw new IOException("truncated dense output file " + path);
+            }
+            model.mapped = true;
+            model.steps  = (int) nbSteps;
+            for (int first = 0; first < model.steps; first += model.stepsPerChunk) {
+                final long size = (long) FastMath.min(model.stepsPerChunk, model.steps - first) * model.stride * BYTES;
+                model.chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, position, size).
+                                 order(ByteOrder.nativeOrder()).asDoubleBuffer());
+                position += size;
+            }
+
+            return model;
+
+        }
+    }
+
+    /** Compute the file header size.
+     * @param nbDimensions number of dimensions (primary and secondary states)
+     * @return file header size, rounded to a multiple of 8 bytes
+     */
+    private static int headerSize(final int nbDimensions) {
+        return BYTES * ((HEADER_SIZE + 4 * nbDimensions + BYTES - 1) / BYTES);
+    }
+
+    /** Write a buffer completely.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @throws IOException if the buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Read a buffer completely.
+     * @param channel channel to read from
+     * @param buffer buffer to fill up (flipped for reading on exit)
+     * @param path path of the file (for error messages)
+     * @throws IOException if the buffer cannot be filled up
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final Path path)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("truncated dense output file " + path);
+            }
+        }
+        buffer.flip();
+    }
+
+    /** Extract the dimensions of a state.
+     * @param state state
+     * @return dimensions of primary and secondary states
+     */
+    private static int[] extractDimensions(final ODEState state) {
+        final int[] extracted = new int[1 + state.getNumberOfSecondaryStates()];
+        extracted[0] = state.getPrimaryStateDimension();
+        for (int i = 1; i < extracted.length; ++i) {
+            extracted[i] = state.getSecondaryStateDimension(i);
+        }
+        return extracted;
+    }
+
+    /** Set the dimensions of the states.
+     * @param newDimensions dimensions of primary and secondary states
+     */
+    private void setDimensions(final int[] newDimensions) {
+        dimensions        = newDimensions.clone();
+        completeDimension = 0;
+        for (final int dimension : dimensions) {
+            completeDimension += dimension;
+        }
+        stride        = 2 + completeDimension * (degree + 1);
+        stepsPerChunk = FastMath.max(1, maxChunkLength / stride);
+    }
+
+    /** Check the model can be modified.
+     * @exception MathIllegalStateException if the model is mapped from a file
+     */
+    private void checkWritable() throws MathIllegalStateException {
+        if (mapped) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+    }
+
+    /** Reserve room for one more step.
+     * @return offset of the new step in {@link #tail}
+     */
+    private int reserve() {
+        final int inChunk = steps % stepsPerChunk;
+        if (inChunk == 0) {
+            // start a new buffer
+            tail = new double[FastMath.min(INITIAL_STEPS, stepsPerChunk) * stride];
+            chunks.add(DoubleBuffer.wrap(tail));
+        } else if ((inChunk + 1) * stride > tail.length) {
+            // grow the last buffer
+            tail = Arrays.copyOf(tail, FastMath.min(2 * (tail.length / stride), stepsPerChunk) * stride);
+            chunks.set(chunks.size() - 1, DoubleBuffer.wrap(tail));
+        }
+        ++steps;
+        return inChunk * stride;
+    }
+
+    /** Get one boundary of a step.
+     * @param step index of the step
+     * @param index 0 for the start of the step, 1 for its end
+     * @return step boundary
+     */
+    private double getBoundary(final int step, final int index) {
+        return chunks.get(step / stepsPerChunk).get((step % stepsPerChunk) * stride + index);
+    }
+
+    /** Locate the step containing a time.
+     * @param time time to locate
+     * @return index of the last step starting before time (in integration
+     * direction), or 0 if time is before the first step
+     */
+    private int locate(final double time) {
+        int low  = 0;
+        int high = steps - 1;
+        while (low < high) {
+            final int    middle = (low + high + 1) >>> 1;
+            final double start  = getBoundary(middle, 0);
+            if (forward ? time >= start : time <= start) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+}
@@ -151,4 +151,35 @@ public class ExpandableODE {
 
     }
 
+    /** Get the current time derivative of the complete state vector, storing it in a provided array.
+     * <p>
+     * This method avoids allocating the complete derivative array, which is useful for
+     * integrators that reuse their working arrays from one step to the next. When there
+     * are no secondary equations and {@code yCopy} is not null, the complete state is
+     * copied into this working array which is then passed to the primary equations, so
+     * equations that modify their state argument cannot corrupt {@code y}. As such a
+     * working array is reused by the caller, equations must not keep references to their
+     * state argument between calls. Callers that cannot guarantee this must pass a null
+     * {@code yCopy}, in which case the equations get a freshly allocated state array, just
+     * as with {@link #computeDerivatives(double, double[])}.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the complete state vector
+     * @param yDot placeholder array where to put the time derivative of the complete state vector
+     * @param yCopy working array, with the same dimension as {@code y}, that will be overwritten
+     * (may be null to allocate a new state array at each call)
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * @exception MathIllegalArgumentException if arrays dimensions do not match equations settings
+     * @since 4.0
+     */
+    public void computeDerivatives(final double t, final double[] y, final double[] yDot, final double[] yCopy)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        if (yCopy != null && mapper.getNumberOfEquations() < 2 && y.length == mapper.getTotalDimension()) {
+            System.arraycopy(y, 0, yCopy, 0, y.length);
+            mapper.insertEquationData(0, primary.computeDerivatives(t, yCopy), yDot);
+        } else {
+            System.arraycopy(computeDerivatives(t, y), 0, yDot, 0, mapper.getTotalDimension());
+        }
+    }
+
 }
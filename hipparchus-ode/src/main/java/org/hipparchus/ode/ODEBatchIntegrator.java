@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelSettings;
+
+/** Integrator for batches of initial states sharing the same differential equations.
+ * <p>
+ * This class is intended for Monte-Carlo dispersions or ensemble propagations,
+ * where the same {@link ExpandableODE equations} are integrated from many initial
+ * states. Members are distributed on the {@link ParallelSettings#getPool() pool} of
+ * the parallelism settings, each one being integrated independently with its own
+ * step size control, step handlers and events detectors, as configured by an
+ * {@link ODEBatchMemberHandler}.
+ * </p>
+ * <p>
+ * Integrators are not thread-safe, so they are built on demand by a factory, but
+ * they are reused for all the members processed by the same task: at most one
+ * integrator per concurrently running task is built, regardless of the number of
+ * members in the batch. As integrators do not keep any state from one integration
+ * to the next, results do not depend on the number of threads and are identical to
+ * those of a serial loop over the members.
+ * </p>
+ * <p>
+ * The equations are shared between all threads, so their {@link
+ * OrdinaryDifferentialEquation#computeDerivatives(double, double[]) computeDerivatives}
+ * and {@link OrdinaryDifferentialEquation#init(double, double[], double) init} methods
+ * (and the same methods of {@link SecondaryODE secondary equations}) must be thread-safe.
+ * </p>
+ * <p>
+ * If integration of one member fails, the exception is propagated to the caller of
+ * {@link #integrate(ExpandableODE, List, double, ODEBatchMemberHandler) integrate}
+ * and the remaining results are lost.
+ * </p>
+ * @since 4.0
+ */
+public class ODEBatchIntegrator {
+
+    /** Order of magnitude of the number of derivatives evaluations for one member,
+     * used to estimate the work to decide between serial and parallel computation. */
+    private static final long EVALUATIONS_PER_MEMBER = 1000L;
+
+    /** Number of tasks per thread, to balance load between members with different costs. */
+    private static final int TASKS_PER_THREAD = 8;
+
+    /** Factory for integrators. */
+    private final Supplier<? extends ODEIntegrator> factory;
+
+    /** Parallelism settings. */
+    private final ParallelSettings settings;
+
+    /** Integrators built so far and currently unused. */
+    private final ConcurrentLinkedQueue<ODEIntegrator> idle;
+
+    /** Simple constructor using {@link ParallelSettings#ParallelSettings() default parallelism settings}.
+     * @param factory factory for integrators (called at most once per concurrently running task)
+     */
+    public ODEBatchIntegrator(final Supplier<? extends ODEIntegrator> factory) {
+        this(factory, new ParallelSettings());
+    }
+
+    /** Simple constructor.
+     * @param factory factory for integrators (called at most once per concurrently running task)
+     * @param settings parallelism settings
+     */
+    public ODEBatchIntegrator(final Supplier<? extends ODEIntegrator> factory, final ParallelSettings settings) {
+        MathUtils.checkNotNull(factory);
+        MathUtils.checkNotNull(settings);
+        this.factory  = factory;
+        this.settings = settings;
+        this.idle     = new ConcurrentLinkedQueue<>();
+    }
+
+    /** Get the parallelism settings.
+     * @return parallelism settings
+     */
+    public ParallelSettings getSettings() {
+        return settings;
+    }
+
+    /** Integrate a batch of initial states up to the given time.
+     * @param equations differential equations to integrate
+     * @param initialStates initial states of all members
+     * @param finalTime target time for the integration of all members
+     * (can be set to a value smaller than the initial times for backward integration)
+     * @return final states, in the same order as the initial states
+     * @exception MathIllegalArgumentException if integration step is too small for some member
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded for some member
+     */
+    public List<ODEStateAndDerivative> integrate(final OrdinaryDifferentialEquation equations,
+                                                 final List<? extends ODEState> initialStates,
+                                                 final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        return integrate(new ExpandableODE(equations), initialStates, finalTime, (index, finalState) -> finalState);
+    }
+
+    /** Integrate a batch of initial states up to the given time.
+     * @param equations differential equations to integrate
+     * @param initialStates initial states of all members
+     * @param finalTime target time for the integration of all members
+     * (can be set to a value smaller than the initial times for backward integration)
+     * @param handler handler configuring the integrator and building the result for each member
+     * @param <T> type of the results
+     * @return results built by {@code handler}, in the same order as the initial states
+     * @exception MathIllegalArgumentException if integration step is too small for some member
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded for some member
+     */
+    public <T> List<T> integrate(final ExpandableODE equations,
+                                 final List<? extends ODEState> initialStates,
+                                 final double finalTime,
+                                 final ODEBatchMemberHandler<T> handler)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        MathUtils.checkNotNull(equations);
+        MathUtils.checkNotNull(handler);
+        final int n = initialStates.size();
+        for (final ODEState state : initialStates) {
+            if (state.getCompleteStateDimension() != equations.getMapper().getTotalDimension()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       state.getCompleteStateDimension(),
+                                                       equations.getMapper().getTotalDimension());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        final T[] results = (T[]) new Object[n];
+        final ParallelSettings.RangeKernel kernel = (start, end) -> {
+            final ODEIntegrator integrator = acquire();
+            try {
+                for (int i = start; i < end; ++i) {
+                    integrator.clearStepHandlers();
+                    integrator.clearStepEndHandlers();
+                    integrator.clearEventDetectors();
+                    handler.setUp(i, integrator);
+                    results[i] = handler.finish(i, integrator.integrate(equations, initialStates.get(i), finalTime));
+                }
+            } finally {
+                idle.add(integrator);
+            }
+        };
+
+        final long work = n * EVALUATIONS_PER_MEMBER * equations.getMapper().getTotalDimension();
+        if (n > 1 && settings.isParallel(work)) {
+            final int grain = FastMath.max(1, n / (TASKS_PER_THREAD * settings.getPool().getParallelism()));
+            settings.forRange(0, n, grain, kernel);
+        } else {
+            kernel.apply(0, n);
+        }
+
+        return new ArrayList<>(Arrays.asList(results));
+
+    }
+
+    /** Get an idle integrator, building a new one if needed.
+     * @return idle integrator
+     */
+    private ODEIntegrator acquire() {
+        final ODEIntegrator integrator = idle.poll();
+        return integrator == null ? factory.get() : integrator;
+    }
+
+}
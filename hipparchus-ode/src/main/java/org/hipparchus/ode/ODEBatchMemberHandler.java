@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+/** Interface configuring integration and gathering results for each member of a batch.
+ * <p>
+ * Integrators are reused from one member to the next by {@link ODEBatchIntegrator}.
+ * Before each member is integrated, all step handlers, step end handlers and events
+ * detectors are removed from the integrator and {@link #setUp(int, ODEIntegrator)}
+ * is called so that the member-specific ones can be registered. Once the member
+ * has been integrated, {@link #finish(int, ODEStateAndDerivative)} is called to
+ * build the result associated with this member.
+ * </p>
+ * <p>
+ * Members are processed concurrently in different threads, so implementations
+ * must either be thread-safe or create new handlers and detectors for each member,
+ * which is the recommended way.
+ * </p>
+ * @param <T> type of the results
+ * @see ODEBatchIntegrator
+ * @since 4.0
+ */
+public interface ODEBatchMemberHandler<T> {
+
+    /** Configure the integrator for one member of the batch.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param index index of the member in the batch
+     * @param integrator integrator that will be used for this member
+     * (it has no step handlers, step end handlers or events detectors registered)
+     */
+    default void setUp(int index, ODEIntegrator integrator) {
+        // nothing by default
+    }
+
+    /** Build the result for one member of the batch.
+     * @param index index of the member in the batch
+     * @param finalState final state of the integration of this member
+     * (its time may differ from the target time if an event stopped integration)
+     * @return result for this member
+     */
+    T finish(int index, ODEStateAndDerivative finalState);
+
+}
@@ -58,6 +58,15 @@ import org.hipparchus.util.FastMath;
  * evaluation is saved. For an <i>fsal</i> method, we have cs = 1 and
  * asi = bi for all i.</p>
  *
+ * <p>Step interpolators are costly to build for high order methods. They are
+ * therefore created only when some step handler, event detector or step end
+ * handler needs them. Without any of these, the stages and states arrays are
+ * allocated once at integration start and reused for all steps. The copy of the state
+ * handed to the differential equations is newly allocated at each call, unless the
+ * zero-allocation mode is selected with {@link #setStateArrayReused(boolean)}, in which
+ * case it is reused too and must therefore not be referenced by the equations after
+ * they return.</p>
+ *
  */
 
 public abstract class EmbeddedRungeKuttaIntegrator
@@ -88,6 +97,9 @@ public abstract class EmbeddedRungeKuttaIntegrator
     /** Maximal growth factor for stepsize control. */
     private double maxGrowth;
 
+    /** Indicator for reusing the state array handed to the differential equations. */
+    private boolean stateArrayReused;
+
     /** Build a Runge-Kutta integrator with the given Butcher array.
      * @param name name of the method
      * @param fsal index of the pre-computed derivative for <i>fsal</i> methods
@@ -185,6 +197,31 @@ public abstract class EmbeddedRungeKuttaIntegrator
         this.safety = safety;
     }
 
+    /** Check if the state array handed to the differential equations is reused between calls.
+     * @return true if the state array handed to the differential equations is reused between calls
+     * @see #setStateArrayReused(boolean)
+     * @since 4.0
+     */
+    public boolean isStateArrayReused() {
+        return stateArrayReused;
+    }
+
+    /** Set whether the state array handed to the differential equations is reused between calls.
+     * <p>
+     * By default, the differential equations get a newly allocated state array at each call,
+     * as with all other integrators. In zero-allocation mode, a single working array is
+     * allocated at integration start and overwritten at each call, which avoids allocations
+     * in the integration loop but requires the equations not to keep references to their
+     * state argument between calls.
+     * </p>
+     * @param stateArrayReused if true, the state array handed to the differential
+     * equations is reused between calls
+     * @since 4.0
+     */
+    public void setStateArrayReused(final boolean stateArrayReused) {
+        this.stateArrayReused = stateArrayReused;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ODEStateAndDerivative integrate(final ExpandableODE equations,
@@ -193,12 +230,21 @@ public abstract class EmbeddedRungeKuttaIntegrator
 
         sanityChecks(initialState, finalTime);
         setStepStart(initIntegration(equations, initialState, finalTime));
-        final boolean forward = finalTime > initialState.getTime();
+        final boolean         forward      = finalTime > initialState.getTime();
+        final EquationsMapper mapper       = equations.getMapper();
+        final boolean         interpolated = needsInterpolators();
 
-        // create some internal working arrays
+        // create some internal working arrays, reused throughout integration
+        final int        n       = mapper.getTotalDimension();
         final int        stages  = c.length + 1;
-        final double[][] yDotK   = new double[stages][];
-        double[]   yTmp    = new double[equations.getMapper().getTotalDimension()];
+        final double[][] yDotK   = new double[stages][n];
+        final double[]   y       = getStepStart().getCompleteState();
+        final double[]   yStage  = new double[n];
+        final double[]   yTmp    = new double[n];
+        final double[]   yCopy   = stateArrayReused ? new double[n] : null;
+        final double[]   yDotTmp = (fsal >= 0) ? null : new double[n];
+        double           t       = getStepStart().getTime();
+        System.arraycopy(getStepStart().getCompleteDerivative(), 0, yDotK[0], 0, n);
 
         // set up integration control objects
         double  hNew      = 0;
@@ -212,10 +258,6 @@ public abstract class EmbeddedRungeKuttaIntegrator
             double error = 10;
             while (error >= 1.0) {
 
-                // first stage
-                final double[] y = getStepStart().getCompleteState();
-                yDotK[0] = getStepStart().getCompleteDerivative();
-
                 if (firstTime) {
                     final StepsizeHelper helper = getStepSizeHelper();
                     final double[] scale = new double[helper.getMainSetDimension()];
@@ -228,19 +270,19 @@ public abstract class EmbeddedRungeKuttaIntegrator
 
                 setStepSize(hNew);
                 if (forward) {
-                    if (getStepStart().getTime() + getStepSize() >= finalTime) {
-                        setStepSize(finalTime - getStepStart().getTime());
+                    if (t + getStepSize() >= finalTime) {
+                        setStepSize(finalTime - t);
                     }
                 } else {
-                    if (getStepStart().getTime() + getStepSize() <= finalTime) {
-                        setStepSize(finalTime - getStepStart().getTime());
+                    if (t + getStepSize() <= finalTime) {
+                        setStepSize(finalTime - t);
                     }
                 }
 
                 // next stages
-                ExplicitRungeKuttaIntegrator.applyInternalButcherWeights(getEquations(), getStepStart().getTime(), y,
-                        getStepSize(), a, c, yDotK);
-                yTmp = ExplicitRungeKuttaIntegrator.applyExternalButcherWeights(y, yDotK, getStepSize(), b);
+                ExplicitRungeKuttaIntegrator.applyInternalButcherWeights(getEquations(), t, y,
+                        getStepSize(), a, c, yDotK, yStage, yCopy);
+                ExplicitRungeKuttaIntegrator.applyExternalButcherWeights(y, yDotK, getStepSize(), b, yTmp);
 
                 incrementEvaluations(stages - 1);
 
@@ -248,7 +290,7 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 error = estimateError(yDotK, y, yTmp, getStepSize());
                 if (Double.isNaN(error)) {
                     throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
-                                                        getStepStart().getTime() + getStepSize());
+                                                        t + getStepSize());
                 }
                 if (error >= 1.0) {
                     // reject the step and attempt to reduce error by stepsize control
@@ -259,12 +301,31 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 }
 
             }
-            final double   stepEnd = getStepStart().getTime() + getStepSize();
-            final double[] yDotTmp = (fsal >= 0) ? yDotK[fsal] : computeDerivatives(stepEnd, yTmp);
-            final ODEStateAndDerivative stateTmp = equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+            final double   stepEnd = t + getStepSize();
+            final double[] yDotEnd;
+            if (fsal >= 0) {
+                yDotEnd = yDotK[fsal];
+            } else {
+                incrementEvaluations(1);
+                getEquations().computeDerivatives(stepEnd, yTmp, yDotTmp, yCopy);
+                yDotEnd = yDotTmp;
+            }
 
             // local error is small enough: accept the step, trigger events and step handlers
-            setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp, equations.getMapper()), finalTime));
+            if (interpolated) {
+                final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, yTmp, yDotEnd);
+                setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp, mapper), finalTime));
+                // events may have stopped integration before step end or reset the state
+                t = getStepStart().getTime();
+                System.arraycopy(getStepStart().getCompleteState(), 0, y, 0, n);
+                System.arraycopy(getStepStart().getCompleteDerivative(), 0, yDotK[0], 0, n);
+            } else {
+                // nobody observes the step, just advance the working arrays
+                acceptStepWithoutInterpolator(stepEnd, finalTime);
+                t = stepEnd;
+                System.arraycopy(yTmp, 0, y, 0, n);
+                System.arraycopy(yDotEnd, 0, yDotK[0], 0, n);
+            }
 
             if (!isLastStep()) {
 
@@ -272,20 +333,25 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 final double factor =
                                 FastMath.min(maxGrowth, FastMath.max(minReduction, safety * FastMath.pow(error, exp)));
                 final double  scaledH    = getStepSize() * factor;
-                final double  nextT      = getStepStart().getTime() + scaledH;
+                final double  nextT      = t + scaledH;
                 final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
                 hNew = getStepSizeHelper().filterStep(scaledH, forward, nextIsLast);
 
-                final double  filteredNextT      = getStepStart().getTime() + hNew;
+                final double  filteredNextT      = t + hNew;
                 final boolean filteredNextIsLast = forward ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
                 if (filteredNextIsLast) {
-                    hNew = finalTime - getStepStart().getTime();
+                    hNew = finalTime - t;
                 }
 
             }
 
         } while (!isLastStep());
 
+        if (!interpolated) {
+            // only the final state needs to be built
+            setStepStart(mapper.mapStateAndDerivative(t, y, yDotK[0]));
+        }
+
         final ODEStateAndDerivative finalState = getStepStart();
         resetInternalState();
         return finalState;
@@ -114,9 +114,31 @@ public interface ExplicitRungeKuttaIntegrator extends ButcherArrayProvider, ODEI
     static void applyInternalButcherWeights(final ExpandableODE equations, final double t0, final double[] y0,
                                             final double h, final double[][] a, final double[] c,
                                             final double[][] yDotK) {
-        // create some internal working arrays
+        for (int k = 1; k < yDotK.length; ++k) {
+            yDotK[k] = new double[y0.length];
+        }
+        applyInternalButcherWeights(equations, t0, y0, h, a, c, yDotK, new double[y0.length], null);
+    }
+
+    /**
+     * Apply internal weights of Butcher array, with corresponding times, reusing working arrays.
+     * @param equations differential equations to integrate
+     * @param t0        initial time
+     * @param y0        initial value of the state vector at t0
+     * @param h         step size
+     * @param a         internal weights of Butcher array
+     * @param c         times of Butcher array
+     * @param yDotK     array where to store result (all rows must already be allocated,
+     *                  the first one must already contain the derivative at t0)
+     * @param yTmp      working array for intermediate states
+     * @param yCopy     working array for the copies of intermediate states handed to the equations
+     *                  (may be null to allocate a new copy at each call)
+     * @since 4.0
+     */
+    static void applyInternalButcherWeights(final ExpandableODE equations, final double t0, final double[] y0,
+                                            final double h, final double[][] a, final double[] c,
+                                            final double[][] yDotK, final double[] yTmp, final double[] yCopy) {
         final int stages = c.length + 1;
-        final double[] yTmp = y0.clone();
 
         for (int k = 1; k < stages; ++k) {
 
@@ -128,7 +150,7 @@ public interface ExplicitRungeKuttaIntegrator extends ButcherArrayProvider, ODEI
                 yTmp[j] = y0[j] + h * sum;
             }
 
-            yDotK[k] = equations.computeDerivatives(t0 + h * c[k - 1], yTmp);
+            equations.computeDerivatives(t0 + h * c[k - 1], yTmp, yDotK[k], yCopy);
         }
     }
 
@@ -141,15 +163,28 @@ public interface ExplicitRungeKuttaIntegrator extends ButcherArrayProvider, ODEI
      */
     static double[] applyExternalButcherWeights(final double[] y0, final double[][] yDotK, final double h,
                                                 final double[] b) {
-        final double[] y = y0.clone();
+        final double[] y = new double[y0.length];
+        applyExternalButcherWeights(y0, yDotK, h, b, y);
+        return y;
+    }
+
+    /** Apply external weights of Butcher array, assuming internal ones have been applied, reusing working arrays.
+     * @param y0 initial value of the state vector at t0
+     * @param yDotK output of stages
+     * @param h step size
+     * @param b external weights of Butcher array
+     * @param y1 placeholder where to put the state vector at step end (must be different from y0)
+     * @since 4.0
+     */
+    static void applyExternalButcherWeights(final double[] y0, final double[][] yDotK, final double h,
+                                            final double[] b, final double[] y1) {
         final int stages = b.length;
         for (int j = 0; j < y0.length; ++j) {
             double sum = yDotK[0][j] * b[0];
             for (int l = 1; l < stages; ++l) {
                 sum += yDotK[l][j] * b[l];
             }
-            y[j] += h * sum;
+            y1[j] = y0[j] + h * sum;
         }
-        return y;
     }
 }
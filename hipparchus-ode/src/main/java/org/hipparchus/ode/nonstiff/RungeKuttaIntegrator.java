@@ -44,6 +44,14 @@ import org.hipparchus.util.FastMath;
  *       |  b1   b2  ...   bs-1  bs
  * </pre>
  *
+ * <p>If no step handlers, event detectors or step end handlers are registered,
+ * the integration loop reuses its working arrays from one step to the next and
+ * does not build any interpolator or intermediate state, only the final state.
+ * The state arrays handed to the differential equations are copies that may be
+ * modified freely. They are newly allocated at each call unless the zero-allocation
+ * mode is selected with {@link #setStateArrayReused(boolean)}, in which case a single
+ * copy is reused and equations must not keep references to it between calls.</p>
+ *
  * @see EulerIntegrator
  * @see ClassicalRungeKuttaIntegrator
  * @see GillIntegrator
@@ -64,6 +72,9 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
     /** Integration step. */
     private final double step;
 
+    /** Indicator for reusing the state array handed to the differential equations. */
+    private boolean stateArrayReused;
+
     /** Simple constructor.
      * Build a Runge-Kutta integrator with the given
      * step. The default step handler does nothing.
@@ -85,6 +96,31 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
         return this.step;
     }
 
+    /** Check if the state array handed to the differential equations is reused between calls.
+     * @return true if the state array handed to the differential equations is reused between calls
+     * @see #setStateArrayReused(boolean)
+     * @since 4.0
+     */
+    public boolean isStateArrayReused() {
+        return stateArrayReused;
+    }
+
+    /** Set whether the state array handed to the differential equations is reused between calls.
+     * <p>
+     * By default, the differential equations get a newly allocated state array at each call,
+     * as with all other integrators. In zero-allocation mode, a single working array is
+     * allocated at integration start and overwritten at each call, which avoids allocations
+     * in the integration loop but requires the equations not to keep references to their
+     * state argument between calls.
+     * </p>
+     * @param stateArrayReused if true, the state array handed to the differential
+     * equations is reused between calls
+     * @since 4.0
+     */
+    public void setStateArrayReused(final boolean stateArrayReused) {
+        this.stateArrayReused = stateArrayReused;
+    }
+
     /** Create an interpolator.
      * @param forward integration direction indicator
      * @param yDotK slopes at the intermediate points
@@ -106,24 +142,32 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
 
         sanityChecks(initialState, finalTime);
         setStepStart(initIntegration(equations, initialState, finalTime));
-        final boolean forward = finalTime > initialState.getTime();
-
-        // create some internal working arrays
-        final int        stages = c.length + 1;
-        double[]         y      = getStepStart().getCompleteState();
-        final double[][] yDotK  = new double[stages][];
-        final double[]   yTmp   = new double[y.length];
+        final boolean         forward      = finalTime > initialState.getTime();
+        final EquationsMapper mapper       = equations.getMapper();
+        final boolean         interpolated = needsInterpolators();
+
+        // create some internal working arrays, reused throughout integration
+        final int        n       = mapper.getTotalDimension();
+        final int        stages  = c.length + 1;
+        final double[]   y       = getStepStart().getCompleteState();
+        final double[][] yDotK   = new double[stages][n];
+        final double[]   yStage  = new double[n];
+        final double[]   yTmp    = new double[n];
+        final double[]   yCopy   = stateArrayReused ? new double[n] : null;
+        final double[]   yDotTmp = new double[n];
+        double           t       = getStepStart().getTime();
+        System.arraycopy(getStepStart().getCompleteDerivative(), 0, yDotK[0], 0, n);
 
         // set up integration control objects
         if (forward) {
-            if (getStepStart().getTime() + step >= finalTime) {
-                setStepSize(finalTime - getStepStart().getTime());
+            if (t + step >= finalTime) {
+                setStepSize(finalTime - t);
             } else {
                 setStepSize(step);
             }
         } else {
-            if (getStepStart().getTime() - step <= finalTime) {
-                setStepSize(finalTime - getStepStart().getTime());
+            if (t - step <= finalTime) {
+                setStepSize(finalTime - t);
             } else {
                 setStepSize(-step);
             }
@@ -133,52 +177,57 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
         setIsLastStep(false);
         do {
 
-            // first stage
-            y        = getStepStart().getCompleteState();
-            yDotK[0] = getStepStart().getCompleteDerivative();
-
             // next stages
-            ExplicitRungeKuttaIntegrator.applyInternalButcherWeights(getEquations(), getStepStart().getTime(), y,
-                    getStepSize(), a, c, yDotK);
+            ExplicitRungeKuttaIntegrator.applyInternalButcherWeights(getEquations(), t, y,
+                    getStepSize(), a, c, yDotK, yStage, yCopy);
 
             incrementEvaluations(stages - 1);
 
             // estimate the state at the end of the step
-            for (int j = 0; j < y.length; ++j) {
-                double sum    = b[0] * yDotK[0][j];
-                for (int l = 1; l < stages; ++l) {
-                    sum    += b[l] * yDotK[l][j];
-                }
-                yTmp[j] = y[j] + getStepSize() * sum;
+            ExplicitRungeKuttaIntegrator.applyExternalButcherWeights(y, yDotK, getStepSize(), b, yTmp);
+            for (int j = 0; j < n; ++j) {
                 if (Double.isNaN(yTmp[j])) {
                     throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
-                                                        getStepStart().getTime() + getStepSize());
+                                                        t + getStepSize());
                 }
-
             }
-            final double stepEnd   = getStepStart().getTime() + getStepSize();
-            final double[] yDotTmp = computeDerivatives(stepEnd, yTmp);
-            final ODEStateAndDerivative stateTmp =
-                equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+            final double stepEnd = t + getStepSize();
+            incrementEvaluations(1);
+            getEquations().computeDerivatives(stepEnd, yTmp, yDotTmp, yCopy);
 
             // discrete events handling
-            System.arraycopy(yTmp, 0, y, 0, y.length);
-            setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp,
-                                                       equations.getMapper()),
-                                    finalTime));
+            if (interpolated) {
+                final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+                setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp, mapper),
+                                        finalTime));
+                // events may have stopped integration before step end or reset the state
+                t = getStepStart().getTime();
+                System.arraycopy(getStepStart().getCompleteState(), 0, y, 0, n);
+                System.arraycopy(getStepStart().getCompleteDerivative(), 0, yDotK[0], 0, n);
+            } else {
+                // no interpolator nor intermediate state is needed, just swap working arrays
+                acceptStepWithoutInterpolator(stepEnd, finalTime);
+                t = stepEnd;
+                System.arraycopy(yTmp, 0, y, 0, n);
+                System.arraycopy(yDotTmp, 0, yDotK[0], 0, n);
+            }
 
             if (!isLastStep()) {
 
                 // stepsize control for next step
-                final double  nextT      = getStepStart().getTime() + getStepSize();
+                final double  nextT      = t + getStepSize();
                 final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
                 if (nextIsLast) {
-                    setStepSize(finalTime - getStepStart().getTime());
+                    setStepSize(finalTime - t);
                 }
             }
 
         } while (!isLastStep());
 
+        if (!interpolated) {
+            setStepStart(mapper.mapStateAndDerivative(t, y, yDotK[0]));
+        }
+
         final ODEStateAndDerivative finalState = getStepStart();
         setStepStart(null);
         setStepSize(Double.NaN);
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.sampling;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+
+/**
+ * This class implements a cubic Hermite interpolator for methods without natural dense output.
+ *
+ * <p>The interpolating polynomial matches the states and derivatives at both ends of the step,
+ * so it is third order accurate and the interpolated trajectory is continuously differentiable
+ * from one step to the next.</p>
+ *
+ * <p>It only needs the states and derivatives at step boundaries, so it can also be used
+ * by custom integrators, as long as third order accuracy is sufficient for step handlers
+ * and events detection. Integrators with a natural dense output should provide their own
+ * interpolators instead.</p>
+ *
+ * @see org.hipparchus.ode.stiff.Ros2Integrator
+ * @see org.hipparchus.ode.symplectic.SymplecticIntegrator
+ * @since 4.0
+ */
+public class HermiteStateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    public HermiteStateInterpolator(final boolean forward,
+                                    final ODEStateAndDerivative globalPreviousState,
+                                    final ODEStateAndDerivative globalCurrentState,
+                                    final ODEStateAndDerivative softPreviousState,
+                                    final ODEStateAndDerivative softCurrentState,
+                                    final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected HermiteStateInterpolator create(final boolean newForward,
+                                              final ODEStateAndDerivative newGlobalPreviousState,
+                                              final ODEStateAndDerivative newGlobalCurrentState,
+                                              final ODEStateAndDerivative newSoftPreviousState,
+                                              final ODEStateAndDerivative newSoftCurrentState,
+                                              final EquationsMapper newMapper) {
+        return new HermiteStateInterpolator(newForward,
+                                            newGlobalPreviousState, newGlobalCurrentState,
+                                            newSoftPreviousState, newSoftCurrentState,
+                                            newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double[] y0    = getGlobalPreviousState().getCompleteState();
+        final double[] yDot0 = getGlobalPreviousState().getCompleteDerivative();
+        final double[] y1    = getGlobalCurrentState().getCompleteState();
+        final double[] yDot1 = getGlobalCurrentState().getCompleteDerivative();
+        final double   h     = thetaH + oneMinusThetaH;
+
+        // Hermite basis polynomials and their derivatives
+        final double theta2   = theta * theta;
+        final double c0       = theta2 * (2 * theta - 3) + 1;
+        final double c1       = 1 - c0;
+        final double cDot0    = h * theta * (theta2 - 2 * theta + 1);
+        final double cDot1    = h * theta2 * (theta - 1);
+        final double d0       = 6 * theta * (theta - 1) / h;
+        final double dDot0    = theta * (3 * theta - 4) + 1;
+        final double dDot1    = theta * (3 * theta - 2);
+
+        final double[] interpolatedState       = new double[y0.length];
+        final double[] interpolatedDerivatives = new double[y0.length];
+        for (int i = 0; i < y0.length; ++i) {
+            interpolatedState[i]       = c0 * y0[i] + c1 * y1[i] + cDot0 * yDot0[i] + cDot1 * yDot1[i];
+            interpolatedDerivatives[i] = d0 * (y0[i] - y1[i]) + dDot0 * yDot0[i] + dDot1 * yDot1[i];
+        }
+
+        return mapper.mapStateAndDerivative(time, interpolatedState, interpolatedDerivatives);
+
+    }
+
+}
@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+
+/**
+ * This class implements a variable order Backward Differentiation Formulas integrator
+ * for stiff Ordinary Differential Equations.
+ *
+ * <p>The order varies between 1 and 5. The method is implemented in backward differences
+ * form, following the quasi-constant step size approach described by Shampine and Reichelt
+ * (The MATLAB ODE Suite, SIAM Journal on Scientific Computing 18, 1997). At order k the
+ * state y<sub>n+1</sub> satisfies</p>
+ * <pre>
+ *   &sum;<sub>j=1..k</sub> 1/j &nabla;<sup>j</sup>y<sub>n+1</sub> = h f(t<sub>n+1</sub>, y<sub>n+1</sub>)
+ * </pre>
+ * <p>which is solved by a simplified Newton iteration started from the prediction
+ * y<sub>n</sub> + &sum;<sub>j=1..k</sub> &nabla;<sup>j</sup>y<sub>n</sub>. The local error is
+ * estimated from the difference between the corrected and predicted states.</p>
+ *
+ * <p>The backward differences are rescaled each time the step size changes, and the step size
+ * and order are reconsidered only after k+2 steps at constant step size and order. This
+ * allows both the Jacobian and the LU decomposition of the iteration matrix to be reused over
+ * many steps: the Jacobian is recomputed only when the Newton iteration fails to converge, and
+ * the LU decomposition only when the step size, the order or the Jacobian change.</p>
+ *
+ * <p>Dense output uses the backward differences interpolating polynomial of the current order,
+ * which is also used to compute the state derivative at step end, so no extra evaluation of
+ * the equations is needed once the Newton iteration has converged. As this derivative is
+ * only an approximation of f(t<sub>n+1</sub>, y<sub>n+1</sub>), the equations are evaluated
+ * again before each Jacobian computation.</p>
+ *
+ * @since 4.0
+ */
+public class BDFIntegrator extends StiffIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "BDF";
+
+    /** Maximal order. */
+    private static final int MAX_ORDER = 5;
+
+    /** Maximal number of Newton iterations. */
+    private static final int MAX_ITERATIONS = 4;
+
+    /** Newton convergence threshold, with respect to normalized error. */
+    private static final double NEWTON_THRESHOLD = 0.5;
+
+    /** Newton convergence threshold on first iteration, with respect to normalized error. */
+    private static final double NEWTON_FIRST_THRESHOLD = 0.05;
+
+    /** Maximal contraction ratio for Newton iterations. */
+    private static final double MAX_RATE = 0.9;
+
+    /** Step size reduction factor after Newton convergence failure. */
+    private static final double NEWTON_REDUCTION = 0.3;
+
+    /** Maximal growth factor for stepsize control. */
+    private static final double MAX_GROWTH = 10.0;
+
+    /** Minimal reduction factor for stepsize control. */
+    private static final double MIN_REDUCTION = 0.1;
+
+    /** Coefficients G(k) = &sum;<sub>j=1..k</sub> 1/j. */
+    private static final double[] G = new double[MAX_ORDER + 2];
+
+    static {
+        for (int k = 1; k < G.length; ++k) {
+            G[k] = G[k - 1] + 1.0 / k;
+        }
+    }
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public BDFIntegrator(final double minStep, final double maxStep,
+                         final double scalAbsoluteTolerance,
+                         final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public BDFIntegrator(final double minStep, final double maxStep,
+                         final double[] vecAbsoluteTolerance,
+                         final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** Get the maximal order of the method.
+     * <p>
+     * The integration starts at order 1 and the order is then adapted
+     * between 1 and the value returned by this method.
+     * </p>
+     * @return maximal order of the method
+     */
+    @Override
+    public int getOrder() {
+        return MAX_ORDER;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        // dif[j] holds backward difference of order j + 1
+        final double[][] dif    = new double[MAX_ORDER + 2][n];
+        final double[]   psi    = new double[n];
+        final double[]   difKp1 = new double[n];
+        final double[]   tmp    = new double[n];
+
+        double[][]          jacobian      = null;
+        boolean             freshJacobian = false;
+        DecompositionSolver solver        = null;
+        double              hSolver       = Double.NaN;
+        int                 kSolver       = 0;
+        double              rate          = 0;
+        boolean             haveRate      = false;
+        int                 k             = 1;
+        int                 constantSteps = 0;
+        boolean             restart       = true;
+        double              h             = initialStep(forward, 1, getStepStart(), finalTime);
+
+        // main integration loop
+        setIsLastStep(false);
+        do {
+
+            final double   t0    = getStepStart().getTime();
+            final double[] y0    = getStepStart().getCompleteState();
+            final double[] yDot0 = getStepStart().getCompleteDerivative();
+            if (restart) {
+                // start (or restart after a reset) at order 1
+                k             = 1;
+                constantSteps = 0;
+                for (final double[] d : dif) {
+                    Arrays.fill(d, 0.0);
+                }
+                for (int i = 0; i < n; ++i) {
+                    dif[0][i] = h * yDot0[i];
+                }
+                restart = false;
+            }
+            if (jacobian == null) {
+                jacobian      = computeJacobian(t0, y0, computeDerivatives(t0, y0));
+                freshJacobian = true;
+                solver        = null;
+            }
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            int      nbFailures = 0;
+            double   errorNorm;
+            double[] y1;
+            while (true) {
+
+                setStepSize(h);
+                if (solver == null || h != hSolver || k != kSolver) {
+                    // the solver handles M = (G(k) / h) I - J
+                    solver   = decompose(G[k] / h, jacobian);
+                    hSolver  = h;
+                    kSolver  = k;
+                    haveRate = false;
+                }
+
+                // prediction
+                y1 = y0.clone();
+                Arrays.fill(psi, 0.0);
+                Arrays.fill(difKp1, 0.0);
+                for (int j = 0; j < k; ++j) {
+                    final double   coeff = G[j + 1] / G[k];
+                    final double[] dj    = dif[j];
+                    for (int i = 0; i < n; ++i) {
+                        y1[i]  += dj[i];
+                        psi[i] += coeff * dj[i];
+                    }
+                }
+
+                // simplified Newton iteration
+                final double tNew      = t0 + h;
+                final double ratio     = G[k] / h;
+                boolean      converged = false;
+                double       oldNorm   = 0;
+                for (int iter = 1; iter <= MAX_ITERATIONS; ++iter) {
+                    final double[] rhs = computeDerivatives(tNew, y1);
+                    for (int i = 0; i < n; ++i) {
+                        rhs[i] -= ratio * (psi[i] + difKp1[i]);
+                    }
+                    final double[] delta   = solve(solver, rhs);
+                    final double   newNorm = scaledNorm(delta, y0, y1);
+                    for (int i = 0; i < n; ++i) {
+                        difKp1[i] += delta[i];
+                        y1[i]     += delta[i];
+                    }
+
+                    if (iter == 1) {
+                        if (newNorm == 0 ||
+                            (haveRate && newNorm * rate / (1 - rate) <= NEWTON_FIRST_THRESHOLD)) {
+                            converged = true;
+                            break;
+                        }
+                    } else if (newNorm > MAX_RATE * oldNorm) {
+                        // the iteration diverges or converges too slowly
+                        break;
+                    } else {
+                        rate     = FastMath.max(MAX_RATE * rate, newNorm / oldNorm);
+                        haveRate = true;
+                        final double predictedError = newNorm * rate / (1 - rate);
+                        if (predictedError <= NEWTON_THRESHOLD) {
+                            converged = true;
+                            break;
+                        } else if (predictedError * FastMath.pow(rate, MAX_ITERATIONS - iter) > NEWTON_THRESHOLD) {
+                            // convergence will not be reached within the allowed iterations
+                            break;
+                        }
+                    }
+                    oldNorm = newNorm;
+
+                }
+
+                if (!converged) {
+                    if (freshJacobian) {
+                        // the Jacobian is up to date, reduce step size
+                        final double hNew = filterStep(h * NEWTON_REDUCTION, forward, t0, finalTime);
+                        rescale(dif, k, hNew / h);
+                        h             = hNew;
+                        constantSteps = 0;
+                    } else {
+                        // retry with an up to date Jacobian
+                        jacobian      = computeJacobian(t0, y0, computeDerivatives(t0, y0));
+                        freshJacobian = true;
+                        solver        = null;
+                    }
+                    continue;
+                }
+
+                errorNorm = scaledNorm(difKp1, y0, y1) / (k + 1);
+                checkNaN(errorNorm, tNew);
+                if (errorNorm <= 1.0) {
+                    break;
+                }
+
+                // reject the step
+                double hOpt;
+                if (++nbFailures == 1) {
+                    hOpt = h * FastMath.max(MIN_REDUCTION, 0.833 * FastMath.pow(errorNorm, -1.0 / (k + 1)));
+                    if (k > 1) {
+                        for (int i = 0; i < n; ++i) {
+                            tmp[i] = dif[k - 1][i] + difKp1[i];
+                        }
+                        final double errorKm1 = scaledNorm(tmp, y0, y1) / k;
+                        final double hKm1     = h * FastMath.max(MIN_REDUCTION, 0.769 * FastMath.pow(errorKm1, -1.0 / k));
+                        if (FastMath.abs(hKm1) > FastMath.abs(hOpt)) {
+                            hOpt = FastMath.abs(hKm1) < FastMath.abs(h) ? hKm1 : h;
+                            --k;
+                        }
+                    }
+                } else {
+                    hOpt = 0.5 * h;
+                }
+                final double hNew = filterStep(hOpt, forward, t0, finalTime);
+                rescale(dif, k, hNew / h);
+                h             = hNew;
+                constantSteps = 0;
+
+            }
+
+            // local error is small enough: update backward differences
+            for (int i = 0; i < n; ++i) {
+                dif[k + 1][i] = difKp1[i] - dif[k][i];
+                dif[k][i]     = difKp1[i];
+            }
+            for (int j = k - 1; j >= 0; --j) {
+                final double[] dj   = dif[j];
+                final double[] djp1 = dif[j + 1];
+                for (int i = 0; i < n; ++i) {
+                    dj[i] += djp1[i];
+                }
+            }
+
+            // derivative of the interpolating polynomial at step end
+            final double[][] differences = new double[k][];
+            final double[]   yDot1       = new double[n];
+            for (int j = 0; j < k; ++j) {
+                differences[j] = dif[j].clone();
+                for (int i = 0; i < n; ++i) {
+                    yDot1[i] += dif[j][i] / (j + 1);
+                }
+            }
+            for (int i = 0; i < n; ++i) {
+                yDot1[i] /= h;
+            }
+
+            // trigger events and step handlers
+            final ODEStateAndDerivative stateEnd = mapper.mapStateAndDerivative(t0 + h, y1, yDot1);
+            final ODEStateAndDerivative previous = getStepStart();
+            setStepStart(acceptStep(new BDFStateInterpolator(forward, differences,
+                                                             previous, stateEnd, previous, stateEnd, mapper),
+                                    finalTime));
+
+            if (!isLastStep()) {
+
+                final double t1 = getStepStart().getTime();
+                if (resetOccurred()) {
+                    // state has changed, history and Jacobian are not reliable anymore
+                    jacobian = null;
+                    restart  = true;
+                    h        = filterStep(h, forward, t1, finalTime);
+                    continue;
+                }
+                freshJacobian = false;
+
+                // select step size and order
+                double hOpt = h;
+                int    kOpt = k;
+                if (++constantSteps >= k + 2) {
+                    hOpt = candidate(h, 1.2, errorNorm, k + 1);
+                    if (k > 1) {
+                        final double hKm1 = candidate(h, 1.3, scaledNorm(dif[k - 1], y0, y1) / k, k);
+                        if (FastMath.abs(hKm1) > FastMath.abs(hOpt)) {
+                            hOpt = hKm1;
+                            kOpt = k - 1;
+                        }
+                    }
+                    if (k < MAX_ORDER) {
+                        final double hKp1 = candidate(h, 1.4, scaledNorm(dif[k + 1], y0, y1) / (k + 2), k + 2);
+                        if (FastMath.abs(hKp1) > FastMath.abs(hOpt)) {
+                            hOpt = hKp1;
+                            kOpt = k + 1;
+                        }
+                    }
+                    if (FastMath.abs(hOpt) <= FastMath.abs(h)) {
+                        // only change step size and order if this allows larger steps
+                        hOpt = h;
+                        kOpt = k;
+                    }
+                }
+
+                final double hNew = filterStep(hOpt, forward, t1, finalTime);
+                if (kOpt != k) {
+                    k             = kOpt;
+                    constantSteps = 0;
+                }
+                if (hNew != h) {
+                    rescale(dif, k, hNew / h);
+                    h             = hNew;
+                    constantSteps = 0;
+                }
+
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute a candidate step size.
+     * @param h current step size
+     * @param safety safety factor
+     * @param errorNorm normalized error estimate
+     * @param exponent inverse of the exponent to apply to the error
+     * @return candidate step size
+     */
+    private static double candidate(final double h, final double safety, final double errorNorm, final int exponent) {
+        final double factor = safety * FastMath.pow(errorNorm, 1.0 / exponent);
+        return factor > 1.0 / MAX_GROWTH ? h / factor : MAX_GROWTH * h;
+    }
+
+    /** Rescale backward differences after a step size change.
+     * @param dif backward differences (modified in place)
+     * @param k current order
+     * @param rho ratio between new and old step sizes
+     */
+    private static void rescale(final double[][] dif, final int k, final double rho) {
+
+        // combined change matrix R(rho) U
+        final double[][] r  = changeMatrix(k, rho);
+        final double[][] u  = changeMatrix(k, 1.0);
+        final double[][] ru = new double[k][k];
+        for (int i = 0; i < k; ++i) {
+            for (int j = 0; j < k; ++j) {
+                double sum = 0;
+                for (int m = 0; m < k; ++m) {
+                    sum += r[i][m] * u[m][j];
+                }
+                ru[i][j] = sum;
+            }
+        }
+
+        // apply it to the differences
+        final double[] row = new double[k];
+        for (int c = 0; c < dif[0].length; ++c) {
+            for (int j = 0; j < k; ++j) {
+                double sum = 0;
+                for (int i = 0; i < k; ++i) {
+                    sum += dif[i][c] * ru[i][j];
+                }
+                row[j] = sum;
+            }
+            for (int j = 0; j < k; ++j) {
+                dif[j][c] = row[j];
+            }
+        }
+
+    }
+
+    /** Compute backward differences change matrix.
+     * @param k current order
+     * @param rho ratio between new and old step sizes
+     * @return matrix with elements R<sub>i,j</sub> = &prod;<sub>m=1..i</sub> (m - 1 - j &rho;) / m
+     */
+    private static double[][] changeMatrix(final int k, final double rho) {
+        final double[][] r = new double[k][k];
+        for (int j = 0; j < k; ++j) {
+            double product = 1;
+            for (int i = 0; i < k; ++i) {
+                product *= (i - (j + 1) * rho) / (i + 1);
+                r[i][j] = product;
+            }
+        }
+        return r;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+
+/**
+ * This class implements an interpolator for the BDF integrator.
+ *
+ * <p>The interpolating polynomial is the backward differences polynomial of the current
+ * order, built from the state at the end of the step and its backward differences:</p>
+ * <pre>
+ *   y(t<sub>n+1</sub> + s h) = y<sub>n+1</sub> + &sum;<sub>j=1..k</sub> s (s + 1) ... (s + j - 1) / j! &nabla;<sup>j</sup>y<sub>n+1</sub>
+ * </pre>
+ *
+ * @see BDFIntegrator
+ * @since 4.0
+ */
+class BDFStateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Backward differences of the state at step end, from first to k<sup>th</sup> order. */
+    private final double[][] differences;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param differences backward differences of the state at step end,
+     * from first to k<sup>th</sup> order (will be stored as is, without copy)
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    BDFStateInterpolator(final boolean forward, final double[][] differences,
+                         final ODEStateAndDerivative globalPreviousState,
+                         final ODEStateAndDerivative globalCurrentState,
+                         final ODEStateAndDerivative softPreviousState,
+                         final ODEStateAndDerivative softCurrentState,
+                         final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+        this.differences = differences;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected BDFStateInterpolator create(final boolean newForward,
+                                          final ODEStateAndDerivative newGlobalPreviousState,
+                                          final ODEStateAndDerivative newGlobalCurrentState,
+                                          final ODEStateAndDerivative newSoftPreviousState,
+                                          final ODEStateAndDerivative newSoftCurrentState,
+                                          final EquationsMapper newMapper) {
+        return new BDFStateInterpolator(newForward, differences,
+                                        newGlobalPreviousState, newGlobalCurrentState,
+                                        newSoftPreviousState, newSoftCurrentState,
+                                        newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double[] y1 = getGlobalCurrentState().getCompleteState();
+        final double   h  = thetaH + oneMinusThetaH;
+        final double   s  = theta - 1;
+
+        final double[] interpolatedState       = y1.clone();
+        final double[] interpolatedDerivatives = new double[y1.length];
+        double term    = 1;
+        double termDot = 0;
+        for (int j = 1; j <= differences.length; ++j) {
+            // term = s (s + 1) ... (s + j - 1) / j!, termDot is its derivative with respect to s
+            final double factor = (s + j - 1) / j;
+            termDot = termDot * factor + term / j;
+            term    = term * factor;
+            final double[] dj = differences[j - 1];
+            for (int i = 0; i < y1.length; ++i) {
+                interpolatedState[i]       += term * dj[i];
+                interpolatedDerivatives[i] += termDot * dj[i];
+            }
+        }
+        for (int i = 0; i < y1.length; ++i) {
+            interpolatedDerivatives[i] /= h;
+        }
+
+        return mapper.mapStateAndDerivative(time, interpolatedState, interpolatedDerivatives);
+
+    }
+
+}
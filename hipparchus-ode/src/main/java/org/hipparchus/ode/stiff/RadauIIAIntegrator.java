@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements the 3 stages Radau IIA integrator for stiff Ordinary Differential Equations.
+ *
+ * <p>Radau IIA with three stages is a fifth order, L-stable, stiffly accurate implicit
+ * Runge-Kutta method. Its Butcher array is:</p>
+ * <pre>
+ *   (4-&radic;6)/10 | (88-7&radic;6)/360     (296-169&radic;6)/1800 (-2+3&radic;6)/225
+ *   (4+&radic;6)/10 | (296+169&radic;6)/1800 (88+7&radic;6)/360     (-2-3&radic;6)/225
+ *         1     | (16-&radic;6)/36        (16+&radic;6)/36        1/9
+ *               |-------------------------------------------------------
+ *               | (16-&radic;6)/36        (16+&radic;6)/36        1/9
+ * </pre>
+ *
+ * <p>This implementation follows the RADAU5 code from E. Hairer and G. Wanner (Solving
+ * Ordinary Differential Equations II, Springer, 1996): the nonlinear system for the stages
+ * is solved by a simplified Newton iteration, transformed using the eigen decomposition of
+ * the Butcher matrix so that it decouples into one real system of size n and one complex
+ * system of size n (solved here as a real system of size 2n), the error is estimated using
+ * an embedded third order formula filtered through the real iteration matrix, and dense
+ * output is provided by the collocation polynomial, which is also used to compute the
+ * starting values of the Newton iteration for the next step.</p>
+ *
+ * <p>The Jacobian is computed again after each accepted step, unless the Newton iteration
+ * converged very fast, in which case it is kept. If in addition step size control suggests
+ * a change smaller than 20% in step size, the step size is kept unchanged and the LU
+ * decompositions of the iteration matrices are also reused.</p>
+ *
+ * @since 4.0
+ */
+public class RadauIIAIntegrator extends StiffIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Radau IIA";
+
+    /** First collocation point. */
+    static final double C1 = (4 - FastMath.sqrt(6.0)) / 10;
+
+    /** Second collocation point. */
+    static final double C2 = (4 + FastMath.sqrt(6.0)) / 10;
+
+    /** Collocation points. */
+    private static final double[] C = { C1, C2, 1.0 };
+
+    /** Real eigenvalue of the inverse of the Butcher matrix. */
+    private static final double GAMMA;
+
+    /** Real part of the complex eigenvalues of the inverse of the Butcher matrix. */
+    private static final double ALPHA;
+
+    /** Imaginary part of the complex eigenvalues of the inverse of the Butcher matrix. */
+    private static final double BETA;
+
+    /** Transformation matrix T such that T<sup>-1</sup>A<sup>-1</sup>T = [[&gamma;, 0, 0], [0, &alpha;, -&beta;], [0, &beta;, &alpha;]]. */
+    private static final double[][] T;
+
+    /** Inverse of the transformation matrix. */
+    private static final double[][] TI;
+
+    /** Coefficients of the error estimate. */
+    private static final double[] DD = {
+        -(13 + 7 * FastMath.sqrt(6.0)) / 3, (-13 + 7 * FastMath.sqrt(6.0)) / 3, -1.0 / 3
+    };
+
+    /** Maximum number of Newton iterations. */
+    private static final int MAX_NEWTON_ITERATIONS = 7;
+
+    /** Convergence threshold for Newton iterations (relative to tolerances). */
+    private static final double NEWTON_THRESHOLD = 0.03;
+
+    /** Convergence rate below which the Jacobian is not recomputed. */
+    private static final double THETA_JACOBIAN = 0.001;
+
+    /** Safety factor for stepsize control. */
+    private static final double SAFETY = 0.9;
+
+    /** Minimal reduction factor for stepsize control. */
+    private static final double MIN_REDUCTION = 0.2;
+
+    /** Maximal growth factor for stepsize control. */
+    private static final double MAX_GROWTH = 8.0;
+
+    /** Maximal growth factor for which step size is kept unchanged. */
+    private static final double HYSTERESIS = 1.2;
+
+    static {
+
+        // eigenvalues of the Butcher matrix: one real and a pair of complex conjugates
+        final double c81    = FastMath.cbrt(81.0);
+        final double c9     = FastMath.cbrt(9.0);
+        final double u      = (6 + c81 - c9) / 30;
+        final double alphaA = (12 - c81 + c9) / 60;
+        final double betaA  = (c81 + c9) * FastMath.sqrt(3.0) / 60;
+        final double cno    = alphaA * alphaA + betaA * betaA;
+        GAMMA = 1 / u;
+        ALPHA = alphaA / cno;
+        BETA  = betaA  / cno;
+
+        // eigenvectors of the Butcher matrix, computed as cross products of rows of A - mu I
+        final double s6 = FastMath.sqrt(6.0);
+        final double[][] a = {
+            { (88 - 7 * s6) / 360,     (296 - 169 * s6) / 1800, (-2 + 3 * s6) / 225 },
+            { (296 + 169 * s6) / 1800, (88 + 7 * s6) / 360,     (-2 - 3 * s6) / 225 },
+            { (16 - s6) / 36,          (16 + s6) / 36,          1.0 / 9 }
+        };
+        final Complex[] realVector    = nullVector(a, new Complex(u));
+        final Complex[] complexVector = nullVector(a, new Complex(alphaA, -betaA));
+        final double[][] t = new double[3][3];
+        for (int i = 0; i < 3; ++i) {
+            t[i][0] = realVector[i].getReal();
+            t[i][1] = complexVector[i].getReal();
+            t[i][2] = -complexVector[i].getImaginary();
+        }
+        T  = t;
+        TI = MatrixUtils.inverse(new Array2DRowRealMatrix(t, false)).getData();
+
+    }
+
+    /** Simple constructor.
+     * Build a Radau IIA integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public RadauIIAIntegrator(final double minStep, final double maxStep,
+                              final double scalAbsoluteTolerance,
+                              final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a Radau IIA integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public RadauIIAIntegrator(final double minStep, final double maxStep,
+                              final double[] vecAbsoluteTolerance,
+                              final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 5;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        double[][]          jacobian  = null;
+        DecompositionSolver realLU    = null;
+        DecompositionSolver complexLU = null;
+        double              hSolver   = Double.NaN;
+        double              eta       = 1.0;
+        double[][]          previousZ = null;
+        double              previousH = Double.NaN;
+        boolean             first     = true;
+        double              hNew      = initialStep(forward, getStepStart(), finalTime);
+
+        // main integration loop
+        setIsLastStep(false);
+        do {
+
+            final double   t0    = getStepStart().getTime();
+            final double[] y0    = getStepStart().getCompleteState();
+            final double[] yDot0 = getStepStart().getCompleteDerivative();
+            boolean freshJacobian = false;
+            if (jacobian == null) {
+                jacobian      = computeJacobian(t0, y0, yDot0);
+                freshJacobian = true;
+                realLU        = null;
+            }
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            double     errorNorm = 10;
+            double     theta     = THETA_JACOBIAN;
+            boolean    rejected  = false;
+            double[][] z         = null;
+            while (errorNorm >= 1.0) {
+
+                setStepSize(hNew);
+                final double h = getStepSize();
+                if (realLU == null || h != hSolver) {
+                    realLU    = decompose(GAMMA / h, jacobian);
+                    complexLU = decomposeComplex(ALPHA / h, BETA / h, jacobian);
+                    hSolver   = h;
+                }
+
+                // starting values for Newton iteration
+                z = startingValues(previousZ, previousH, h, n);
+                final double[][] w = transform(TI, z);
+
+                // simplified Newton iteration
+                eta   = FastMath.pow(FastMath.max(eta, Precision.EPSILON), 0.8);
+                theta = THETA_JACOBIAN;
+                boolean converged  = false;
+                boolean diverging  = false;
+                double  deltaOld   = Double.NaN;
+                int     iterations = 0;
+                while (!(converged || diverging)) {
+
+                    ++iterations;
+                    final double[][] f = new double[3][];
+                    final double[]   yStage = new double[n];
+                    for (int m = 0; m < 3; ++m) {
+                        for (int i = 0; i < n; ++i) {
+                            yStage[i] = y0[i] + z[m][i];
+                        }
+                        f[m] = computeDerivatives(t0 + C[m] * h, yStage);
+                    }
+                    final double[][] g = transform(TI, f);
+
+                    final double[] r1 = new double[n];
+                    final double[] r23 = new double[2 * n];
+                    for (int i = 0; i < n; ++i) {
+                        r1[i]      = g[0][i] - GAMMA * w[0][i] / h;
+                        r23[i]     = g[1][i] - (ALPHA * w[1][i] - BETA  * w[2][i]) / h;
+                        r23[i + n] = g[2][i] - (BETA  * w[1][i] + ALPHA * w[2][i]) / h;
+                    }
+                    final double[] dw0  = solve(realLU, r1);
+                    final double[] dw12 = solve(complexLU, r23);
+
+                    double sum = 0;
+                    final int mainSetDimension = getStepSizeHelper().getMainSetDimension();
+                    for (int i = 0; i < mainSetDimension; ++i) {
+                        final double scale = getStepSizeHelper().getTolerance(i, FastMath.abs(y0[i]));
+                        final double r0 = dw0[i] / scale;
+                        final double r1i = dw12[i] / scale;
+                        final double r2i = dw12[i + n] / scale;
+                        sum += r0 * r0 + r1i * r1i + r2i * r2i;
+                    }
+                    final double delta = FastMath.sqrt(sum / (3 * mainSetDimension));
+                    checkNaN(delta, t0 + h);
+
+                    if (iterations > 1) {
+                        theta = delta / deltaOld;
+                        if (theta >= 0.99 ||
+                            FastMath.pow(theta, MAX_NEWTON_ITERATIONS - iterations) / (1 - theta) * delta >
+                            NEWTON_THRESHOLD) {
+                            diverging = true;
+                        } else {
+                            eta = theta / (1 - theta);
+                        }
+                    }
+                    deltaOld = FastMath.max(delta, Precision.EPSILON);
+
+                    if (!diverging) {
+                        for (int i = 0; i < n; ++i) {
+                            w[0][i] += dw0[i];
+                            w[1][i] += dw12[i];
+                            w[2][i] += dw12[i + n];
+                        }
+                        z = transform(T, w);
+                        converged = eta * delta <= NEWTON_THRESHOLD;
+                        diverging = !converged && iterations >= MAX_NEWTON_ITERATIONS;
+                    }
+
+                }
+
+                if (diverging) {
+                    // Newton iteration failed, retry with a smaller step and an up to date Jacobian
+                    if (!freshJacobian) {
+                        jacobian      = computeJacobian(t0, y0, yDot0);
+                        freshJacobian = true;
+                        realLU        = null;
+                    }
+                    rejected = true;
+                    hNew     = filterStep(0.5 * h, forward, t0, finalTime);
+                    continue;
+                }
+
+                // error estimate
+                final double[] y1 = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    y1[i] = y0[i] + z[2][i];
+                }
+                final double[] zDD = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    zDD[i] = (DD[0] * z[0][i] + DD[1] * z[1][i] + DD[2] * z[2][i]) / h;
+                }
+                final double[] rhs = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = yDot0[i] + zDD[i];
+                }
+                double[] error = solve(realLU, rhs);
+                errorNorm = FastMath.max(scaledNorm(error, y0, y1), 1.0e-10);
+                if (errorNorm >= 1.0 && (first || rejected)) {
+                    // refine error estimate, to filter out stiff components
+                    final double[] yTmp = new double[n];
+                    for (int i = 0; i < n; ++i) {
+                        yTmp[i] = y0[i] + error[i];
+                    }
+                    final double[] yDotTmp = computeDerivatives(t0, yTmp);
+                    for (int i = 0; i < n; ++i) {
+                        rhs[i] = yDotTmp[i] + zDD[i];
+                    }
+                    error     = solve(realLU, rhs);
+                    errorNorm = FastMath.max(scaledNorm(error, y0, y1), 1.0e-10);
+                }
+                checkNaN(errorNorm, t0 + h);
+
+                if (errorNorm >= 1.0) {
+                    // reject the step, using an up to date Jacobian for the next attempt
+                    if (!freshJacobian) {
+                        jacobian      = computeJacobian(t0, y0, yDot0);
+                        freshJacobian = true;
+                        realLU        = null;
+                    }
+                    rejected = true;
+                    hNew     = filterStep(h * growth(errorNorm, iterations), forward, t0, finalTime);
+                } else {
+                    hNew     = h * growth(errorNorm, iterations);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            final double   stepEnd = t0 + getStepSize();
+            final double[] y1      = new double[n];
+            for (int i = 0; i < n; ++i) {
+                y1[i] = y0[i] + z[2][i];
+            }
+            final ODEStateAndDerivative stateEnd = mapper.mapStateAndDerivative(stepEnd, y1,
+                                                                                computeDerivatives(stepEnd, y1));
+            final ODEStateAndDerivative previous = getStepStart();
+            setStepStart(acceptStep(new RadauIIAStateInterpolator(forward, z, previous, stateEnd, previous, stateEnd, mapper),
+                                    finalTime));
+            first = false;
+
+            if (!isLastStep()) {
+                final double ratio = hNew / getStepSize();
+                if (resetOccurred()) {
+                    // state has changed, neither the Jacobian nor the collocation polynomial are reliable anymore
+                    jacobian  = null;
+                    previousZ = null;
+                } else {
+                    previousZ = z;
+                    previousH = getStepSize();
+                    if (theta > THETA_JACOBIAN) {
+                        jacobian = null;
+                    } else if (ratio >= 1.0 && ratio <= HYSTERESIS) {
+                        hNew = getStepSize();
+                    }
+                }
+                hNew = filterStep(hNew, forward, getStepStart().getTime(), finalTime);
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute starting values for the Newton iteration.
+     * @param previousZ state increments at collocation points of previous step (null if not available)
+     * @param previousH previous step size
+     * @param h current step size
+     * @param n dimension of the complete state
+     * @return starting values for state increments at collocation points
+     */
+    private static double[][] startingValues(final double[][] previousZ, final double previousH,
+                                             final double h, final int n) {
+        final double[][] z = new double[3][n];
+        if (previousZ != null) {
+            // extrapolate previous collocation polynomial
+            final double[] w    = new double[3];
+            final double[] wDot = new double[3];
+            for (int m = 0; m < 3; ++m) {
+                RadauIIAStateInterpolator.weights(1 + C[m] * h / previousH, w, wDot);
+                for (int i = 0; i < n; ++i) {
+                    z[m][i] = w[0] * previousZ[0][i] + w[1] * previousZ[1][i] + w[2] * previousZ[2][i] - previousZ[2][i];
+                }
+            }
+        }
+        return z;
+    }
+
+    /** Apply a 3x3 transform to stage vectors.
+     * @param m transform matrix
+     * @param v stage vectors
+     * @return transformed stage vectors
+     */
+    private static double[][] transform(final double[][] m, final double[][] v) {
+        final int n = v[0].length;
+        final double[][] r = new double[3][n];
+        for (int k = 0; k < 3; ++k) {
+            for (int i = 0; i < n; ++i) {
+                r[k][i] = m[k][0] * v[0][i] + m[k][1] * v[1][i] + m[k][2] * v[2][i];
+            }
+        }
+        return r;
+    }
+
+    /** Build and decompose the real form of the complex iteration matrix ((&alpha; + i &beta;) I - J).
+     * @param alpha real part of the diagonal term
+     * @param beta imaginary part of the diagonal term
+     * @param jacobian Jacobian matrix J
+     * @return solver for the real 2n &times; 2n matrix [[&alpha; I - J, -&beta; I], [&beta; I, &alpha; I - J]]
+     */
+    private DecompositionSolver decomposeComplex(final double alpha, final double beta, final double[][] jacobian) {
+        final int n = jacobian.length;
+        final double[][] m = new double[2 * n][2 * n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                m[i][j]         = -jacobian[i][j];
+                m[i + n][j + n] = -jacobian[i][j];
+            }
+            m[i][i]         += alpha;
+            m[i + n][i + n] += alpha;
+            m[i][i + n]      = -beta;
+            m[i + n][i]      =  beta;
+        }
+        return decompose(new Array2DRowRealMatrix(m, false));
+    }
+
+    /** Compute step growth factor.
+     * @param errorNorm normalized error
+     * @param iterations number of Newton iterations performed
+     * @return step growth factor
+     */
+    private static double growth(final double errorNorm, final int iterations) {
+        // safety factor is reduced when Newton iteration needs many iterations
+        final double safety = FastMath.min(SAFETY,
+                                           SAFETY * (1 + 2 * MAX_NEWTON_ITERATIONS) / (iterations + 2 * MAX_NEWTON_ITERATIONS));
+        return FastMath.min(MAX_GROWTH, FastMath.max(MIN_REDUCTION, safety / FastMath.pow(errorNorm, 0.25)));
+    }
+
+    /** Compute a null vector of A - &mu; I for an eigenvalue &mu; of a 3x3 real matrix A.
+     * @param a real matrix
+     * @param mu eigenvalue
+     * @return null vector
+     */
+    private static Complex[] nullVector(final double[][] a, final Complex mu) {
+        final Complex[][] rows = new Complex[2][3];
+        for (int i = 0; i < 2; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                rows[i][j] = i == j ? mu.negate().add(a[i][j]) : new Complex(a[i][j]);
+            }
+        }
+        return new Complex[] {
+            rows[0][1].multiply(rows[1][2]).subtract(rows[0][2].multiply(rows[1][1])),
+            rows[0][2].multiply(rows[1][0]).subtract(rows[0][0].multiply(rows[1][2])),
+            rows[0][0].multiply(rows[1][1]).subtract(rows[0][1].multiply(rows[1][0]))
+        };
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+
+/**
+ * This class implements an interpolator for the Radau IIA integrator.
+ *
+ * <p>The interpolating polynomial is the collocation polynomial of the step, which
+ * matches the state at the start of the step and at the three collocation points.</p>
+ *
+ * @see RadauIIAIntegrator
+ * @since 4.0
+ */
+class RadauIIAStateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Interpolation nodes (normalized time within the step). */
+    private static final double[] NODES = { 0.0, RadauIIAIntegrator.C1, RadauIIAIntegrator.C2, 1.0 };
+
+    /** State increments at collocation points. */
+    private final double[][] z;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param z state increments at collocation points (will be stored as is, without copy)
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    RadauIIAStateInterpolator(final boolean forward, final double[][] z,
+                              final ODEStateAndDerivative globalPreviousState,
+                              final ODEStateAndDerivative globalCurrentState,
+                              final ODEStateAndDerivative softPreviousState,
+                              final ODEStateAndDerivative softCurrentState,
+                              final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+        this.z = z;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RadauIIAStateInterpolator create(final boolean newForward,
+                                               final ODEStateAndDerivative newGlobalPreviousState,
+                                               final ODEStateAndDerivative newGlobalCurrentState,
+                                               final ODEStateAndDerivative newSoftPreviousState,
+                                               final ODEStateAndDerivative newSoftCurrentState,
+                                               final EquationsMapper newMapper) {
+        return new RadauIIAStateInterpolator(newForward, z,
+                                             newGlobalPreviousState, newGlobalCurrentState,
+                                             newSoftPreviousState, newSoftCurrentState,
+                                             newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double[] y0   = getGlobalPreviousState().getCompleteState();
+        final double   h    = thetaH + oneMinusThetaH;
+        final double[] w    = new double[3];
+        final double[] wDot = new double[3];
+        weights(theta, w, wDot);
+
+        final double[] interpolatedState       = new double[y0.length];
+        final double[] interpolatedDerivatives = new double[y0.length];
+        for (int i = 0; i < y0.length; ++i) {
+            interpolatedState[i]       = y0[i] + w[0] * z[0][i] + w[1] * z[1][i] + w[2] * z[2][i];
+            interpolatedDerivatives[i] = (wDot[0] * z[0][i] + wDot[1] * z[1][i] + wDot[2] * z[2][i]) / h;
+        }
+
+        return mapper.mapStateAndDerivative(time, interpolatedState, interpolatedDerivatives);
+
+    }
+
+    /** Compute the weights of the collocation points in the collocation polynomial.
+     * <p>
+     * The weight of the start point is not computed as the polynomial is expressed
+     * in terms of state increments, which are zero at start point.
+     * </p>
+     * @param theta normalized time (may be outside of [0, 1] for extrapolation)
+     * @param w placeholder for the weights of the three collocation points
+     * @param wDot placeholder for the derivatives of the weights with respect to theta
+     */
+    static void weights(final double theta, final double[] w, final double[] wDot) {
+        for (int m = 1; m < NODES.length; ++m) {
+            // Lagrange basis polynomial for node m, as a product of three linear factors
+            double den = 1;
+            final double[] factors = new double[3];
+            int k = 0;
+            for (int j = 0; j < NODES.length; ++j) {
+                if (j != m) {
+                    den *= NODES[m] - NODES[j];
+                    factors[k++] = theta - NODES[j];
+                }
+            }
+            w[m - 1]    = factors[0] * factors[1] * factors[2] / den;
+            wDot[m - 1] = (factors[1] * factors[2] + factors[0] * factors[2] + factors[0] * factors[1]) / den;
+        }
+    }
+
+}
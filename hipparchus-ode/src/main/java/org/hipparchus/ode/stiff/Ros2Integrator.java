@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.HermiteStateInterpolator;
+import org.hipparchus.util.FastMath;
+
+/**
+ * This class implements the ROS2 Rosenbrock-W integrator for stiff Ordinary Differential Equations.
+ *
+ * <p>ROS2 is a two stages, second order, L-stable linearly implicit method from
+ * Verwer, Spee, Blom and Hundsdorfer (A second order Rosenbrock method applied to
+ * photochemical dispersion problems, SIAM Journal on Scientific Computing 20, 1999):</p>
+ * <pre>
+ *   (I - &gamma; h J) k<sub>1</sub> = f(t<sub>n</sub>, y<sub>n</sub>) + &gamma; h f<sub>t</sub>
+ *   (I - &gamma; h J) k<sub>2</sub> = f(t<sub>n</sub> + h, y<sub>n</sub> + h k<sub>1</sub>) - 2 k<sub>1</sub> - &gamma; h f<sub>t</sub>
+ *   y<sub>n+1</sub> = y<sub>n</sub> + 3/2 h k<sub>1</sub> + 1/2 h k<sub>2</sub>
+ * </pre>
+ * <p>with &gamma; = 1 + 1/&radic;2, J &asymp; &part;f/&part;y and f<sub>t</sub> &asymp; &part;f/&part;t.
+ * The f<sub>t</sub> terms correspond to the Jacobian of the equivalent autonomous system
+ * with time as an additional state component, they are needed to track the smooth solution
+ * of non-autonomous stiff problems. The error is estimated by comparison with the first
+ * order solution y<sub>n</sub> + h k<sub>1</sub>.</p>
+ *
+ * <p>As a W-method, ROS2 keeps its order whatever the matrix J, which needs not be the exact
+ * Jacobian. The integrator takes advantage of this by keeping the same Jacobian as long as
+ * steps are accepted, computing a new one only when a step is rejected or a reset occurs.
+ * The time derivative f<sub>t</sub> on the other hand is cheap (one evaluation by finite
+ * differences) and strongly affects accuracy in the stiff regime, so it is computed at
+ * each step.
+ * The LU decomposition of the iteration matrix is also kept as long as the step size does
+ * not change, and step size control avoids small changes to preserve it: if the step size
+ * control suggests increasing the step by a factor smaller than 1.2, the step is kept unchanged.</p>
+ *
+ * <p>Dense output is provided by cubic Hermite interpolation between step ends.</p>
+ *
+ * @since 4.0
+ */
+public class Ros2Integrator extends StiffIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "ROS2";
+
+    /** Diagonal coefficient of the method. */
+    private static final double GAMMA = 1 + 1 / FastMath.sqrt(2.0);
+
+    /** Safety factor for stepsize control. */
+    private static final double SAFETY = 0.9;
+
+    /** Minimal reduction factor for stepsize control. */
+    private static final double MIN_REDUCTION = 0.2;
+
+    /** Maximal growth factor for stepsize control. */
+    private static final double MAX_GROWTH = 5.0;
+
+    /** Maximal growth factor for which step size is kept unchanged. */
+    private static final double HYSTERESIS = 1.2;
+
+    /** Simple constructor.
+     * Build a ROS2 integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public Ros2Integrator(final double minStep, final double maxStep,
+                          final double scalAbsoluteTolerance,
+                          final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a ROS2 integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public Ros2Integrator(final double minStep, final double maxStep,
+                          final double[] vecAbsoluteTolerance,
+                          final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        final double[] k1    = new double[n];
+        final double[] k2    = new double[n];
+        final double[] yTmp  = new double[n];
+        final double[] error = new double[n];
+
+        double[][]          jacobian = null;
+        DecompositionSolver solver   = null;
+        double              hSolver  = Double.NaN;
+        double              hNew     = initialStep(forward, getStepStart(), finalTime);
+
+        // main integration loop
+        setIsLastStep(false);
+        do {
+
+            final double   t0    = getStepStart().getTime();
+            final double[] y0    = getStepStart().getCompleteState();
+            final double[] yDot0 = getStepStart().getCompleteDerivative();
+            boolean freshJacobian = false;
+            final double[] dfdt  = computeTimeDerivative(t0, y0, yDot0, hNew);
+            if (jacobian == null) {
+                jacobian      = computeJacobian(t0, y0, yDot0);
+                freshJacobian = true;
+                solver        = null;
+            }
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            double   errorNorm = 10;
+            double[] y1        = null;
+            while (errorNorm >= 1.0) {
+
+                setStepSize(hNew);
+                final double h = getStepSize();
+                if (solver == null || h != hSolver) {
+                    // the solver handles M = (I - gamma h J) / (gamma h)
+                    solver  = decompose(1.0 / (GAMMA * h), jacobian);
+                    hSolver = h;
+                }
+                final double scale = 1.0 / (GAMMA * h);
+
+                // first stage
+                final double   gh  = GAMMA * h;
+                final double[] rhs = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = yDot0[i] + gh * dfdt[i];
+                }
+                final double[] s1 = solve(solver, rhs);
+                for (int i = 0; i < n; ++i) {
+                    k1[i]   = scale * s1[i];
+                    yTmp[i] = y0[i] + h * k1[i];
+                }
+
+                // second stage
+                final double[] yDot1 = computeDerivatives(t0 + h, yTmp);
+                for (int i = 0; i < n; ++i) {
+                    yDot1[i] -= 2 * k1[i] + gh * dfdt[i];
+                }
+                final double[] s2 = solve(solver, yDot1);
+                y1 = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    k2[i]    = scale * s2[i];
+                    y1[i]    = y0[i] + h * (1.5 * k1[i] + 0.5 * k2[i]);
+                    error[i] = 0.5 * h * (k1[i] + k2[i]);
+                }
+
+                errorNorm = scaledNorm(error, y0, y1);
+                checkNaN(errorNorm, t0 + h);
+                if (errorNorm >= 1.0) {
+                    // reject the step, using an up to date Jacobian for the next attempt
+                    if (!freshJacobian) {
+                        jacobian      = computeJacobian(t0, y0, yDot0);
+                        freshJacobian = true;
+                        solver        = null;
+                    }
+                    hNew = filterStep(h * growth(errorNorm), forward, t0, finalTime);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            final double                stepEnd  = t0 + getStepSize();
+            final ODEStateAndDerivative stateEnd = mapper.mapStateAndDerivative(stepEnd, y1,
+                                                                                computeDerivatives(stepEnd, y1));
+            final ODEStateAndDerivative previous = getStepStart();
+            setStepStart(acceptStep(new HermiteStateInterpolator(forward, previous, stateEnd, previous, stateEnd, mapper),
+                                    finalTime));
+
+            if (!isLastStep()) {
+                if (resetOccurred()) {
+                    // state has changed, the Jacobian is not reliable anymore
+                    jacobian = null;
+                }
+                final double factor = growth(errorNorm);
+                hNew = filterStep((factor >= 1.0 && factor <= HYSTERESIS) ? getStepSize() : getStepSize() * factor,
+                                  forward, getStepStart().getTime(), finalTime);
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute step growth factor.
+     * @param errorNorm normalized error
+     * @return step growth factor
+     */
+    private static double growth(final double errorNorm) {
+        return FastMath.min(MAX_GROWTH, FastMath.max(MIN_REDUCTION, SAFETY / FastMath.sqrt(errorNorm)));
+    }
+
+}
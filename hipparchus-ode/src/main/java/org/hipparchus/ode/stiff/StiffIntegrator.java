@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.StepsizeHelper;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This abstract class holds the common part of all stiff integrators.
+ *
+ * <p>Stiff integrators need the Jacobian J = &part;f/&part;y of the differential
+ * equations with respect to the complete state and solve linear systems involving
+ * iteration matrices like I - h &gamma; J. When the primary equations implement
+ * {@link ODEJacobiansProvider} and there are no secondary equations, the Jacobian
+ * is computed analytically, otherwise it is computed by forward finite differences,
+ * one column at a time, each column costing one evaluation of the derivatives.</p>
+ *
+ * <p>Computing the Jacobian and decomposing the iteration matrices dominate the cost
+ * of stiff integrators on medium to large systems, so implementations reuse them from
+ * one step to the next as long as convergence is not compromised. The number of
+ * Jacobian evaluations and of LU decompositions performed during the last integration
+ * are available for monitoring this reuse.</p>
+ *
+ * @since 4.0
+ */
+public abstract class StiffIntegrator extends AdaptiveStepsizeIntegrator {
+
+    /** Minimal scale for finite differences steps. */
+    private static final double FINITE_DIFFERENCES_THRESHOLD = 1.0e-5;
+
+    /** Relative size of finite differences steps. */
+    private static final double FINITE_DIFFERENCES_FACTOR = FastMath.sqrt(Precision.EPSILON);
+
+    /** Number of Jacobian evaluations performed during last integration. */
+    private int jacobianEvaluations;
+
+    /** Number of LU decompositions performed during last integration. */
+    private int decompositions;
+
+    /** Build a stiff integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    protected StiffIntegrator(final String name,
+                              final double minStep, final double maxStep,
+                              final double scalAbsoluteTolerance,
+                              final double scalRelativeTolerance) {
+        super(name, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Build a stiff integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    protected StiffIntegrator(final String name,
+                              final double minStep, final double maxStep,
+                              final double[] vecAbsoluteTolerance,
+                              final double[] vecRelativeTolerance) {
+        super(name, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** Get the order of the method.
+     * @return order of the method
+     */
+    public abstract int getOrder();
+
+    /** Get the number of Jacobian evaluations performed during last integration.
+     * <p>
+     * Jacobians computed by finite differences are counted here and their
+     * derivatives evaluations are also counted in {@link #getEvaluations()}.
+     * </p>
+     * @return number of Jacobian evaluations performed during last integration
+     */
+    public int getJacobianEvaluations() {
+        return jacobianEvaluations;
+    }
+
+    /** Get the number of LU decompositions performed during last integration.
+     * @return number of LU decompositions performed during last integration
+     */
+    public int getDecompositions() {
+        return decompositions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative initIntegration(final ExpandableODE eqn,
+                                                    final ODEState s0, final double t) {
+        jacobianEvaluations = 0;
+        decompositions      = 0;
+        return super.initIntegration(eqn, s0, t);
+    }
+
+    /** Compute the Jacobian of the complete state derivative with respect to the complete state.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y complete state
+     * @param yDot complete state derivative
+     * @return Jacobian matrix
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    protected double[][] computeJacobian(final double t, final double[] y, final double[] yDot)
+        throws MathIllegalStateException {
+
+        ++jacobianEvaluations;
+        final ExpandableODE equations = getEquations();
+
+        if (equations.getMapper().getNumberOfEquations() == 1 &&
+            equations.getPrimary() instanceof ODEJacobiansProvider) {
+            // analytical Jacobian
+            return ((ODEJacobiansProvider) equations.getPrimary()).computeMainStateJacobian(t, y, yDot);
+        }
+
+        // forward finite differences
+        final int n = y.length;
+        final double[][] jacobian = new double[n][n];
+        final double[]   yShift   = y.clone();
+        for (int j = 0; j < n; ++j) {
+            final double saved = y[j];
+            final double scale = FastMath.max(FINITE_DIFFERENCES_THRESHOLD, FastMath.abs(saved));
+            yShift[j] = saved + FINITE_DIFFERENCES_FACTOR * scale;
+            final double delta = yShift[j] - saved;
+            final double[] yDotShift = computeDerivatives(t, yShift);
+            for (int i = 0; i < n; ++i) {
+                jacobian[i][j] = (yDotShift[i] - yDot[i]) / delta;
+            }
+            yShift[j] = saved;
+        }
+        return jacobian;
+
+    }
+
+    /** Compute the partial derivative of the complete state derivative with respect to time.
+     * <p>
+     * The partial derivative is computed by forward finite differences, at the
+     * cost of one evaluation of the derivatives.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y complete state
+     * @param yDot complete state derivative
+     * @param h current step size, used to scale the finite differences step
+     * @return partial derivative of the complete state derivative with respect to time
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    protected double[] computeTimeDerivative(final double t, final double[] y, final double[] yDot, final double h)
+        throws MathIllegalStateException {
+        final double tShift = t + FINITE_DIFFERENCES_FACTOR * FastMath.max(FastMath.abs(t), FastMath.abs(h));
+        final double delta  = tShift - t;
+        final double[] yDotShift = computeDerivatives(tShift, y);
+        final double[] dfdt = new double[y.length];
+        for (int i = 0; i < dfdt.length; ++i) {
+            dfdt[i] = (yDotShift[i] - yDot[i]) / delta;
+        }
+        return dfdt;
+    }
+
+    /** Build and decompose an iteration matrix {@code diagonal I - J}.
+     * @param diagonal diagonal term (typically 1 / (h &gamma;))
+     * @param jacobian Jacobian matrix J
+     * @return solver for the iteration matrix
+     */
+    protected DecompositionSolver decompose(final double diagonal, final double[][] jacobian) {
+        final int n = jacobian.length;
+        final double[][] m = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                m[i][j] = -jacobian[i][j];
+            }
+            m[i][i] += diagonal;
+        }
+        return decompose(new Array2DRowRealMatrix(m, false));
+    }
+
+    /** Decompose an iteration matrix.
+     * @param matrix iteration matrix
+     * @return solver for the iteration matrix
+     */
+    protected DecompositionSolver decompose(final RealMatrix matrix) {
+        ++decompositions;
+        return new LUDecomposition(matrix, 0.0).getSolver();
+    }
+
+    /** Solve a linear system.
+     * @param solver solver for the iteration matrix
+     * @param rhs right hand side
+     * @return solution of the system
+     */
+    protected static double[] solve(final DecompositionSolver solver, final double[] rhs) {
+        return solver.solve(new ArrayRealVector(rhs, false)).toArray();
+    }
+
+    /** Compute a scaled norm of a state correction or error.
+     * <p>
+     * The norm is a root mean square over the main set components, each one
+     * being divided by its tolerance.
+     * </p>
+     * @param delta state correction or error (only the main set components are used)
+     * @param y0 state at the start of the step
+     * @param y1 state at the end of the step
+     * @return scaled norm, smaller than 1 if {@code delta} is within tolerances
+     */
+    protected double scaledNorm(final double[] delta, final double[] y0, final double[] y1) {
+        final StepsizeHelper helper = getStepSizeHelper();
+        double sum = 0;
+        for (int j = 0; j < helper.getMainSetDimension(); ++j) {
+            final double tol   = helper.getTolerance(j, FastMath.max(FastMath.abs(y0[j]), FastMath.abs(y1[j])));
+            final double ratio = delta[j] / tol;
+            sum += ratio * ratio;
+        }
+        return FastMath.sqrt(sum / helper.getMainSetDimension());
+    }
+
+    /** Check an error is not NaN.
+     * @param error error to check
+     * @param t time at which the error was computed
+     * @exception MathIllegalStateException if the error is NaN
+     */
+    protected static void checkNaN(final double error, final double t)
+        throws MathIllegalStateException {
+        if (Double.isNaN(error)) {
+            throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION, t);
+        }
+    }
+
+    /** Compute the first step size.
+     * @param forward forward integration indicator
+     * @param state0 initial state
+     * @param finalTime target time for the integration
+     * @return first step size
+     * @exception MathIllegalArgumentException if the step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    protected double initialStep(final boolean forward, final ODEStateAndDerivative state0, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        return initialStep(forward, getOrder(), state0, finalTime);
+    }
+
+    /** Compute the first step size for a specified starting order.
+     * @param forward forward integration indicator
+     * @param order order of the method used for the first step
+     * @param state0 initial state
+     * @param finalTime target time for the integration
+     * @return first step size
+     * @exception MathIllegalArgumentException if the step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    protected double initialStep(final boolean forward, final int order,
+                                 final ODEStateAndDerivative state0, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        final StepsizeHelper helper = getStepSizeHelper();
+        final double[] y     = state0.getCompleteState();
+        final double[] scale = new double[helper.getMainSetDimension()];
+        for (int i = 0; i < scale.length; ++i) {
+            scale[i] = helper.getTolerance(i, FastMath.abs(y[i]));
+        }
+        return clip(initializeStep(forward, order, scale, state0), forward, state0.getTime(), finalTime);
+    }
+
+    /** Filter a step size proposed by step size control.
+     * @param h proposed signed step size
+     * @param forward forward integration indicator
+     * @param t time at step start
+     * @param finalTime target time for the integration
+     * @return filtered step size, shortened if needed to end exactly at {@code finalTime}
+     * @exception MathIllegalArgumentException if the step is too small
+     */
+    protected double filterStep(final double h, final boolean forward, final double t, final double finalTime)
+        throws MathIllegalArgumentException {
+        final double  nextT      = t + h;
+        final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+        return clip(getStepSizeHelper().filterStep(h, forward, nextIsLast), forward, t, finalTime);
+    }
+
+    /** Shorten a step size if needed to end exactly at the target time.
+     * @param h signed step size
+     * @param forward forward integration indicator
+     * @param t time at step start
+     * @param finalTime target time for the integration
+     * @return shortened step size
+     */
+    private static double clip(final double h, final boolean forward, final double t, final double finalTime) {
+        final double nextT = t + h;
+        return (forward ? (nextT >= finalTime) : (nextT <= finalTime)) ? finalTime - t : h;
+    }
+
+}
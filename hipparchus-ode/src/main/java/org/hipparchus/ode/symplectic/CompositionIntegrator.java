@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.FirstOrderConverter;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.SecondOrderODE;
+
+/**
+ * Base class for symplectic integrators built as compositions of Störmer-Verlet steps.
+ *
+ * <p>These integrators apply to second order differential equations q'' = a(t, q) where
+ * <strong>the acceleration does not depend on velocity</strong>. They can be integrated
+ * directly using {@link #integrate(SecondOrderODE, ODEState, double)}, or after conversion
+ * to first order using {@link FirstOrderConverter}. In the latter case, the primary state
+ * must be y = (q, v) with q' = v, the first half of the derivatives returned by the equations
+ * is ignored, and secondary equations are not supported.</p>
+ *
+ * <p>The accelerations are evaluated with intermediate (half kicked) velocities, which are
+ * not the velocities of the trajectory at that time. Velocity dependent accelerations, like
+ * drag or Coriolis forces, therefore give wrong results <em>without any error being
+ * detected</em>. Such problems must be solved with {@link GaussLegendreIntegrator} or with
+ * a general purpose integrator.</p>
+ *
+ * <p>A step of size h is the composition of Störmer-Verlet steps (in kick-drift-kick form)
+ * of sizes w<sub>1</sub> h, w<sub>2</sub> h ... w<sub>m</sub> h. As the acceleration at the
+ * end of each Störmer-Verlet step is reused at the start of the next one (including across
+ * integration steps), the cost is m evaluations per step.</p>
+ *
+ * @since 4.0
+ */
+public abstract class CompositionIntegrator extends SymplecticIntegrator {
+
+    /** Weights of the composition. */
+    private final double[] weights;
+
+    /** Simple constructor.
+     * <p>
+     * The integrator only supports accelerations that do not depend on velocity,
+     * see the class documentation.
+     * </p>
+     * @param name name of the method
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     * @param weights weights of the composition (will be stored as is, without copy)
+     */
+    protected CompositionIntegrator(final String name, final double step, final double[] weights) {
+        super(name, step);
+        this.weights = weights;
+    }
+
+    /** Get the number of Störmer-Verlet steps per integration step.
+     * @return number of Störmer-Verlet steps per integration step
+     */
+    public int getNumberOfStages() {
+        return weights.length;
+    }
+
+    /** Build symmetric composition weights.
+     * @param w weights w<sub>1</sub> to w<sub>m</sub>
+     * @return composition weights w<sub>m</sub> ... w<sub>1</sub>, w<sub>0</sub>, w<sub>1</sub> ... w<sub>m</sub>
+     * with w<sub>0</sub> = 1 - 2 (w<sub>1</sub> + ... + w<sub>m</sub>)
+     */
+    protected static double[] symmetric(final double[] w) {
+        final double[] weights = new double[2 * w.length + 1];
+        double sum = 0;
+        for (int i = 0; i < w.length; ++i) {
+            weights[w.length - 1 - i] = w[i];
+            weights[w.length + 1 + i] = w[i];
+            sum += w[i];
+        }
+        weights[w.length] = 1 - 2 * sum;
+        return weights;
+    }
+
+    /** Integrate second order equations up to the given time.
+     * <p>
+     * This is equivalent to integrating {@code new FirstOrderConverter(equations)}.
+     * The accelerations returned by {@link SecondOrderODE#computeSecondDerivatives(double,
+     * double[], double[]) computeSecondDerivatives(t, q, qDot)} <strong>must not depend
+     * on {@code qDot}</strong>, which is only an intermediate velocity.
+     * </p>
+     * @param equations second order differential equations with velocity
+     * independent accelerations
+     * @param initialState initial state (time, primary state (q, q'))
+     * @param finalTime target time for the integration
+     * (can be set to a value smaller than {@code t0} for backward integration)
+     * @return final state, its time will be same as {@code finalTime} if
+     * integration reached its target, but may be different if some {@link
+     * org.hipparchus.ode.events.ODEEventHandler} stops it at some point.
+     * @exception MathIllegalArgumentException if integration step is too small
+     * or the state dimension is not twice the equations dimension
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    public ODEStateAndDerivative integrate(final SecondOrderODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        return integrate(new ExpandableODE(new FirstOrderConverter(equations)), initialState, finalTime);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void sanityChecks(final ODEState initialState, final double t)
+        throws MathIllegalArgumentException {
+        super.sanityChecks(initialState, t);
+        if (initialState.getNumberOfSecondaryStates() > 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+        final int dimension = initialState.getPrimaryStateDimension();
+        if (dimension % 2 != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   dimension, dimension + 1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeStep(final EquationsMapper mapper,
+                                                final ODEStateAndDerivative start, final double h)
+        throws MathIllegalStateException {
+
+        final int      n    = start.getPrimaryStateDimension() / 2;
+        final double[] y    = start.getCompleteState();
+        final double[] a    = new double[n];
+        double         t    = start.getTime();
+        System.arraycopy(start.getCompleteDerivative(), n, a, 0, n);
+
+        for (final double weight : weights) {
+            final double wh = weight * h;
+
+            // half kick
+            for (int i = 0; i < n; ++i) {
+                y[n + i] += 0.5 * wh * a[i];
+            }
+
+            // drift
+            for (int i = 0; i < n; ++i) {
+                y[i] += wh * y[n + i];
+            }
+            t += wh;
+
+            // half kick with acceleration at new position
+            System.arraycopy(computeDerivatives(t, y), n, a, 0, n);
+            for (int i = 0; i < n; ++i) {
+                y[n + i] += 0.5 * wh * a[i];
+            }
+
+        }
+
+        // ensure the step ends exactly at the expected time, regardless of rounding errors
+        final double   stepEnd = start.getTime() + h;
+        final double[] yDot    = new double[2 * n];
+        System.arraycopy(y, n, yDot, 0, n);
+        System.arraycopy(a, 0, yDot, n, n);
+        return mapper.mapStateAndDerivative(stepEnd, y, yDot);
+
+    }
+
+}
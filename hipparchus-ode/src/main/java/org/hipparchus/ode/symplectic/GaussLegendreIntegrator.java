@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements Gauss-Legendre implicit Runge-Kutta symplectic integrators.
+ *
+ * <p>Gauss-Legendre methods are collocation methods at the roots of Legendre polynomials.
+ * With s stages, they reach order 2s, which is the highest possible order for s stages
+ * Runge-Kutta methods. They are symplectic for all Hamiltonian systems, not only separable
+ * ones, and they preserve exactly all quadratic invariants (like angular momentum). They
+ * are also symmetric, so they can be used backward. This implementation supports 1 stage
+ * (implicit midpoint rule, order 2), 2 stages (order 4) and 3 stages (order 6).</p>
+ *
+ * <p>The implicit stage equations are solved by fixed point iteration down to machine
+ * accuracy, as any residual error would break the symplectic property. This is efficient
+ * for non-stiff problems, which is the case for Hamiltonian systems at step sizes suitable
+ * for accuracy. As all state components are handled the same way, secondary equations
+ * are supported.</p>
+ *
+ * @since 4.0
+ */
+public class GaussLegendreIntegrator extends SymplecticIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Gauss-Legendre";
+
+    /** Maximal number of fixed point iterations. */
+    private static final int MAX_ITERATIONS = 100;
+
+    /** Relative convergence threshold for fixed point iterations. */
+    private static final double CONVERGENCE = 4 * Precision.EPSILON;
+
+    /** Relative threshold below which fixed point iterations are considered stagnating at rounding errors level. */
+    private static final double STAGNATION = 1.0e-10;
+
+    /** Time steps Butcher array. */
+    private final double[] c;
+
+    /** Internal weights Butcher array. */
+    private final double[][] a;
+
+    /** External weights Butcher array. */
+    private final double[] b;
+
+    /** Simple constructor.
+     * Build a Gauss-Legendre integrator with the given step.
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     * @param stages number of stages (must be between 1 and 3)
+     * @exception MathIllegalArgumentException if number of stages is not between 1 and 3
+     */
+    public GaussLegendreIntegrator(final double step, final int stages)
+        throws MathIllegalArgumentException {
+        super(METHOD_NAME, step);
+        switch (stages) {
+            case 1 :
+                c = new double[] { 0.5 };
+                a = new double[][] { { 0.5 } };
+                b = new double[] { 1.0 };
+                break;
+            case 2 : {
+                final double r3 = FastMath.sqrt(3.0) / 6;
+                c = new double[] { 0.5 - r3, 0.5 + r3 };
+                a = new double[][] {
+                    { 0.25,      0.25 - r3 },
+                    { 0.25 + r3, 0.25      }
+                };
+                b = new double[] { 0.5, 0.5 };
+                break;
+            }
+            case 3 : {
+                final double r15 = FastMath.sqrt(15.0);
+                c = new double[] { 0.5 - r15 / 10, 0.5, 0.5 + r15 / 10 };
+                a = new double[][] {
+                    { 5.0 / 36,            2.0 / 9 - r15 / 15, 5.0 / 36 - r15 / 30 },
+                    { 5.0 / 36 + r15 / 24, 2.0 / 9,            5.0 / 36 - r15 / 24 },
+                    { 5.0 / 36 + r15 / 30, 2.0 / 9 + r15 / 15, 5.0 / 36            }
+                };
+                b = new double[] { 5.0 / 18, 4.0 / 9, 5.0 / 18 };
+                break;
+            }
+            default :
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                       stages, 1, 3);
+        }
+    }
+
+    /** Get the number of stages.
+     * @return number of stages
+     */
+    public int getNumberOfStages() {
+        return c.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 2 * c.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeStep(final EquationsMapper mapper,
+                                                final ODEStateAndDerivative start, final double h)
+        throws MathIllegalStateException {
+
+        final double   t0     = start.getTime();
+        final double[] y0     = start.getCompleteState();
+        final int      n      = y0.length;
+        final int      stages = c.length;
+
+        // initial guess for stages derivatives
+        final double[][] k = new double[stages][];
+        for (int i = 0; i < stages; ++i) {
+            k[i] = start.getCompleteDerivative();
+        }
+
+        // fixed point iteration
+        final double[] yStage   = new double[n];
+        double         previous = Double.POSITIVE_INFINITY;
+        for (int iteration = 0; ; ++iteration) {
+
+            if (iteration >= MAX_ITERATIONS) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+            }
+
+            double delta = 0;
+            double scale = 0;
+            for (int i = 0; i < stages; ++i) {
+                for (int l = 0; l < n; ++l) {
+                    double sum = 0;
+                    for (int j = 0; j < stages; ++j) {
+                        sum += a[i][j] * k[j][l];
+                    }
+                    yStage[l] = y0[l] + h * sum;
+                }
+                final double[] kNew = computeDerivatives(t0 + c[i] * h, yStage);
+                for (int l = 0; l < n; ++l) {
+                    delta = FastMath.max(delta, FastMath.abs(h * (kNew[l] - k[i][l])));
+                    scale = FastMath.max(scale, FastMath.abs(yStage[l]));
+                }
+                k[i] = kNew;
+            }
+
+            if (delta <= CONVERGENCE * scale ||
+                (delta >= previous && delta <= STAGNATION * scale)) {
+                break;
+            }
+            previous = delta;
+
+        }
+
+        // state at step end
+        final double   t1 = t0 + h;
+        final double[] y1 = y0.clone();
+        for (int l = 0; l < n; ++l) {
+            double sum = 0;
+            for (int i = 0; i < stages; ++i) {
+                sum += b[i] * k[i][l];
+            }
+            y1[l] += h * sum;
+        }
+
+        return mapper.mapStateAndDerivative(t1, y1, computeDerivatives(t1, y1));
+
+    }
+
+}
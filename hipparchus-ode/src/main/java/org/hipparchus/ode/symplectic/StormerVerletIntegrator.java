@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+/**
+ * This class implements the Störmer-Verlet symplectic integrator.
+ *
+ * <p>This second order method, also known as velocity Verlet or leapfrog, is the
+ * basic building block of all composition integrators. Each step uses one evaluation
+ * of the equations:</p>
+ * <pre>
+ *   v<sub>n+1/2</sub> = v<sub>n</sub> + h/2 a(t<sub>n</sub>, q<sub>n</sub>)
+ *   q<sub>n+1</sub>   = q<sub>n</sub> + h v<sub>n+1/2</sub>
+ *   v<sub>n+1</sub>   = v<sub>n+1/2</sub> + h/2 a(t<sub>n+1</sub>, q<sub>n+1</sub>)
+ * </pre>
+ *
+ * @see CompositionIntegrator
+ * @since 4.0
+ */
+public class StormerVerletIntegrator extends CompositionIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Störmer-Verlet";
+
+    /** Simple constructor.
+     * Build a Störmer-Verlet integrator with the given step.
+     * <p>
+     * The accelerations must not depend on velocity, as they are evaluated
+     * with intermediate velocities, see {@link CompositionIntegrator}.
+     * </p>
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     */
+    public StormerVerletIntegrator(final double step) {
+        super(METHOD_NAME, step, new double[] { 1.0 });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 2;
+    }
+
+}
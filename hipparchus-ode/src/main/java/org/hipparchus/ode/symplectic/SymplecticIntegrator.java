@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.AbstractIntegrator;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.HermiteStateInterpolator;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Base class for fixed step symplectic integrators.
+ *
+ * <p>The step size is fixed, except for the last step which is shortened if needed
+ * to end exactly at the target time. Changing the step size during integration would
+ * destroy the long term energy behavior that motivates the use of symplectic integrators.</p>
+ *
+ * <p>Dense output is provided by cubic Hermite interpolation between step ends.</p>
+ *
+ * @since 4.0
+ */
+public abstract class SymplecticIntegrator extends AbstractIntegrator {
+
+    /** Integration step. */
+    private final double step;
+
+    /** Simple constructor.
+     * @param name name of the method
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     */
+    protected SymplecticIntegrator(final String name, final double step) {
+        super(name);
+        this.step = FastMath.abs(step);
+    }
+
+    /** Getter for the default, positive step-size assigned at constructor level.
+     * @return step
+     */
+    public double getDefaultStep() {
+        return step;
+    }
+
+    /** Get the order of the method.
+     * @return order of the method
+     */
+    public abstract int getOrder();
+
+    /** Compute one step.
+     * @param mapper equations mapper for the all equations
+     * @param start state at step start
+     * @param h signed step size
+     * @return state at step end
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    protected abstract ODEStateAndDerivative computeStep(EquationsMapper mapper, ODEStateAndDerivative start, double h)
+        throws MathIllegalStateException;
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+
+        // set up integration control objects
+        setStepSize(lastStep(forward ? step : -step, forward, getStepStart().getTime(), finalTime));
+
+        // main integration loop
+        setIsLastStep(false);
+        do {
+
+            final ODEStateAndDerivative previous = getStepStart();
+            final ODEStateAndDerivative stateEnd = computeStep(mapper, previous, getStepSize());
+            for (final double yi : stateEnd.getCompleteState()) {
+                if (Double.isNaN(yi)) {
+                    throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                        stateEnd.getTime());
+                }
+            }
+
+            // discrete events handling
+            setStepStart(acceptStep(new HermiteStateInterpolator(forward, previous, stateEnd, previous, stateEnd, mapper),
+                                    finalTime));
+
+            if (!isLastStep()) {
+                // shorten last step if needed
+                setStepSize(lastStep(getStepSize(), forward, getStepStart().getTime(), finalTime));
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        setStepStart(null);
+        setStepSize(Double.NaN);
+        return finalState;
+
+    }
+
+    /** Adjust a step size if needed to end exactly at the target time.
+     * <p>
+     * The step is shortened if it would go past the target time, and it is
+     * slightly extended if it would end too close to the target time, as
+     * accumulated rounding errors would otherwise create a last step of only
+     * a few ulps, where dense output derivatives are meaningless.
+     * </p>
+     * @param h signed step size
+     * @param forward forward integration indicator
+     * @param t time at step start
+     * @param finalTime target time for the integration
+     * @return adjusted step size
+     */
+    private static double lastStep(final double h, final boolean forward, final double t, final double finalTime) {
+        final double threshold = 1000 * FastMath.ulp(FastMath.max(FastMath.abs(t), FastMath.abs(finalTime)));
+        final double nextT     = t + h;
+        return (forward ? (nextT >= finalTime - threshold) : (nextT <= finalTime + threshold)) ? finalTime - t : h;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * This class implements the fourth order Yoshida symplectic integrator.
+ *
+ * <p>This method is the triple jump composition of three Störmer-Verlet steps of sizes
+ * w<sub>1</sub> h, w<sub>0</sub> h and w<sub>1</sub> h with w<sub>1</sub> = 1 / (2 - 2<sup>1/3</sup>)
+ * and w<sub>0</sub> = 1 - 2 w<sub>1</sub> (H. Yoshida, Construction of higher order symplectic
+ * integrators, Physics Letters A 150, 1990). Each step uses three evaluations of the equations.</p>
+ *
+ * @see CompositionIntegrator
+ * @since 4.0
+ */
+public class Yoshida4Integrator extends CompositionIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Yoshida 4";
+
+    /** Compute the composition weights.
+     * @return composition weights
+     */
+    private static double[] weights() {
+        final double w1 = 1.0 / (2.0 - FastMath.cbrt(2.0));
+        return new double[] { w1, 1.0 - 2.0 * w1, w1 };
+    }
+
+    /** Simple constructor.
+     * Build a fourth order Yoshida integrator with the given step.
+     * <p>
+     * The accelerations must not depend on velocity, as they are evaluated
+     * with intermediate velocities, see {@link CompositionIntegrator}.
+     * </p>
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     */
+    public Yoshida4Integrator(final double step) {
+        super(METHOD_NAME, step, weights());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 4;
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+/**
+ * This class implements the eighth order Yoshida symplectic integrator.
+ *
+ * <p>This method is the symmetric composition of fifteen Störmer-Verlet steps, using
+ * solution A from H. Yoshida (Construction of higher order symplectic integrators,
+ * Physics Letters A 150, 1990). Each step uses fifteen evaluations of the equations.</p>
+ *
+ * @see CompositionIntegrator
+ * @since 4.0
+ */
+public class Yoshida8Integrator extends CompositionIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Yoshida 8";
+
+    /** Weights w<sub>1</sub> to w<sub>7</sub> (solution A). */
+    private static final double[] W = {
+        -1.61582374150097, -2.44699182370524, -0.716989419708120e-2, 2.44002732616735,
+         0.157739928123617, 1.82020630970714,  1.04242620869991
+    };
+
+    /** Simple constructor.
+     * Build an eighth order Yoshida integrator with the given step.
+     * <p>
+     * The accelerations must not depend on velocity, as they are evaluated
+     * with intermediate velocities, see {@link CompositionIntegrator}.
+     * </p>
+     * @param step integration step (sign is irrelevant, regardless of
+     * integration direction, forward or backward)
+     */
+    public Yoshida8Integrator(final double step) {
+        super(METHOD_NAME, step, symmetric(W));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 8;
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * <p>
+ * This package provides fixed step symplectic integrators for long term propagation
+ * of Hamiltonian systems.
+ * </p>
+ * <p>
+ * Symplectic integrators preserve the geometric structure of Hamiltonian flows. The
+ * energy error of such integrators remains bounded over very long time spans instead
+ * of drifting, which allows large steps for long orbital or molecular dynamics runs.
+ * This property is lost if the step size changes during integration, so all integrators
+ * of this package use a fixed step size.
+ * </p>
+ * <p>
+ * Composition integrators ({@link org.hipparchus.ode.symplectic.StormerVerletIntegrator},
+ * {@link org.hipparchus.ode.symplectic.Yoshida4Integrator}, {@link org.hipparchus.ode.symplectic.Yoshida6Integrator}
+ * and {@link org.hipparchus.ode.symplectic.Yoshida8Integrator}) are explicit and apply to
+ * second order equations with accelerations independent of velocities, provided either as
+ * {@link org.hipparchus.ode.SecondOrderODE} or converted to first order using {@link
+ * org.hipparchus.ode.FirstOrderConverter}. Velocity dependent accelerations are not detected
+ * and give wrong results. This covers separable Hamiltonians
+ * with quadratic kinetic energy. The {@link org.hipparchus.ode.symplectic.GaussLegendreIntegrator}
+ * is implicit and applies to any Hamiltonian system.
+ * </p>
+ *
+ */
+package org.hipparchus.ode.symplectic;
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince54Integrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactDenseOutputModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameAsDenseOutputDP853() {
+        checkSameAsDenseOutput(new DormandPrince853Integrator(0.0, 1.0, 1.0e-10, 1.0e-10), 1.0e-12, 1.0e-9);
+    }
+
+    @Test
+    void testSameAsDenseOutputDP54() {
+        checkSameAsDenseOutput(new DormandPrince54Integrator(0.0, 1.0, 1.0e-10, 1.0e-10), 1.0e-12, 2.0e-9);
+    }
+
+    @Test
+    void testSameAsDenseOutputClassicalRungeKutta() {
+        checkSameAsDenseOutput(new ClassicalRungeKuttaIntegrator(0.01), 1.0e-12, 1.0e-9);
+    }
+
+    @Test
+    void testLowDegree() {
+        // a cubic expansion cannot reproduce the degree 7 interpolator, but still matches the step boundaries
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final ODEIntegrator integrator = new DormandPrince853Integrator(0.0, 1.0, 1.0e-10, 1.0e-10);
+        final DenseOutputModel        reference = new DenseOutputModel();
+        final CompactDenseOutputModel compact   = new CompactDenseOutputModel(3);
+        integrator.addStepHandler(reference);
+        integrator.addStepHandler(compact);
+        integrator.addStepHandler(interpolator -> {
+            final double t = interpolator.getCurrentState().getTime();
+            assertArrayEquals(interpolator.getCurrentState().getPrimaryState(),
+                              compact.getInterpolatedState(t).getPrimaryState(), 1.0e-14);
+        });
+        integrator.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        assertEquals(3, compact.getDegree());
+        double maxError = 0;
+        for (double t = pb.getInitialTime(); t < pb.getFinalTime(); t += 0.01) {
+            final double[] y    = compact.getInterpolatedState(t).getPrimaryState();
+            final double[] yRef = reference.getInterpolatedState(t).getPrimaryState();
+            maxError = FastMath.max(maxError, FastMath.hypot(y[0] - yRef[0], y[1] - yRef[1]));
+        }
+        assertTrue(maxError > 1.0e-10);
+        assertTrue(maxError < 1.0e-3);
+    }
+
+    @Test
+    void testBoundariesAndExtrapolation() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final CompactDenseOutputModel compact = integrate(pb, new CompactDenseOutputModel());
+        assertEquals(pb.getInitialTime(), compact.getInitialTime(), 1.0e-15);
+        assertEquals(pb.getFinalTime(), compact.getFinalTime(), 1.0e-15);
+        assertArrayEquals(pb.getInitialState().getPrimaryState(),
+                          compact.getInterpolatedState(pb.getInitialTime()).getPrimaryState(), 1.0e-15);
+        final double tBefore = 2.0 * pb.getInitialTime() - pb.getFinalTime();
+        assertEquals(tBefore, compact.getInterpolatedState(tBefore).getTime(), 1.0e-10);
+        final double tAfter = 2.0 * pb.getFinalTime() - pb.getInitialTime();
+        assertEquals(tAfter, compact.getInterpolatedState(tAfter).getTime(), 1.0e-10);
+    }
+
+    @Test
+    void testBackwardWithSecondaryEquations() {
+
+        // primary: y = (cos t, sin t), secondary: z' = y0 so z = sin t
+        final ExpandableODE expandable = new ExpandableODE(new OrdinaryDifferentialEquation() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { -y[1], y[0] };
+            }
+        });
+        expandable.addSecondaryEquations(new SecondaryODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] primary,
+                                               final double[] primaryDot, final double[] secondary) {
+                return new double[] { primary[0] };
+            }
+        });
+
+        final DenseOutputModel        reference = new DenseOutputModel();
+        final CompactDenseOutputModel compact   = new CompactDenseOutputModel();
+        final ODEIntegrator integrator = new DormandPrince853Integrator(0.0, 1.0, 1.0e-12, 1.0e-12);
+        integrator.addStepHandler(reference);
+        integrator.addStepHandler(compact);
+        final double t0 = 2 * FastMath.PI;
+        integrator.integrate(expandable,
+                             new ODEState(t0, new double[] { 1.0, 0.0 }, new double[][] { { 0.0 } }),
+                             0.0);
+
+        for (double t = 0; t < t0; t += 0.05) {
+            final ODEStateAndDerivative state = compact.getInterpolatedState(t);
+            final ODEStateAndDerivative ref   = reference.getInterpolatedState(t);
+            assertEquals(1, state.getNumberOfSecondaryStates());
+            assertArrayEquals(ref.getPrimaryState(), state.getPrimaryState(), 1.0e-12);
+            assertArrayEquals(ref.getPrimaryDerivative(), state.getPrimaryDerivative(), 1.0e-11);
+            assertArrayEquals(ref.getSecondaryState(1), state.getSecondaryState(1), 1.0e-12);
+            assertArrayEquals(ref.getSecondaryDerivative(1), state.getSecondaryDerivative(1), 1.0e-11);
+            assertEquals(FastMath.sin(t), state.getSecondaryState(1)[0], 1.0e-10);
+        }
+
+    }
+
+    @Test
+    void testModelsMerging() {
+
+        final OrdinaryDifferentialEquation problem = new OrdinaryDifferentialEquation() {
+            @Override
+            public double[] computeDerivatives(double t, double[] y) {
+                return new double[] { -y[1], y[0] };
+            }
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+        };
+
+        // integrate backward from pi to 0 and from 2pi to pi
+        final CompactDenseOutputModel model1 = new CompactDenseOutputModel();
+        final ODEIntegrator integ1 = new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        integ1.addStepHandler(model1);
+        integ1.integrate(problem, new ODEState(FastMath.PI, new double[] { -1.0, 0.0 }), 0);
+        final CompactDenseOutputModel model2 = new CompactDenseOutputModel();
+        final ODEIntegrator integ2 = new DormandPrince853Integrator(0, 0.1, 1.0e-12, 1.0e-12);
+        integ2.addStepHandler(model2);
+        integ2.integrate(problem, new ODEState(2.0 * FastMath.PI, new double[] { 1.0, 0.0 }), FastMath.PI);
+
+        // merge the two half circles
+        final CompactDenseOutputModel model = new CompactDenseOutputModel();
+        model.append(model2);
+        model.append(new CompactDenseOutputModel());
+        model.append(model1);
+        assertEquals(model1.getNumberOfSteps() + model2.getNumberOfSteps(), model.getNumberOfSteps());
+        assertEquals(2.0 * FastMath.PI, model.getInitialTime(), 1.0e-12);
+        assertEquals(0, model.getFinalTime(), 1.0e-12);
+        for (double t = 0; t < 2.0 * FastMath.PI; t += 0.1) {
+            final double[] y = model.getInterpolatedState(t).getPrimaryState();
+            assertEquals(FastMath.cos(t), y[0], 1.0e-7);
+            assertEquals(FastMath.sin(t), y[1], 1.0e-7);
+        }
+
+        // incompatible models
+        final CompactDenseOutputModel forward = new CompactDenseOutputModel();
+        integ1.clearStepHandlers();
+        integ1.addStepHandler(forward);
+        integ1.integrate(problem, new ODEState(0.0, new double[] { 1.0, 0.0 }), 1.0);
+        final CompactDenseOutputModel later = new CompactDenseOutputModel();
+        integ1.clearStepHandlers();
+        integ1.addStepHandler(later);
+        integ1.integrate(problem, new ODEState(2.0, new double[] { 1.0, 0.0 }), 3.0);
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class, () -> model1.append(forward));
+        assertEquals(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class, () -> forward.append(later));
+        assertEquals(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new CompactDenseOutputModel(5).append(later));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+
+    }
+
+    @Test
+    void testMultipleChunks() {
+        // tiny buffers force steps to be spread over many buffers
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final CompactDenseOutputModel reference = new CompactDenseOutputModel();
+        final CompactDenseOutputModel chunked   = new CompactDenseOutputModel(CompactDenseOutputModel.DEFAULT_DEGREE,
+                                                                              100);
+        final ODEIntegrator integrator = new DormandPrince853Integrator(0.0, 1.0, 1.0e-10, 1.0e-10);
+        integrator.addStepHandler(reference);
+        integrator.addStepHandler(chunked);
+        integrator.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        final CompactDenseOutputModel appended = new CompactDenseOutputModel(CompactDenseOutputModel.DEFAULT_DEGREE,
+                                                                             150);
+        appended.append(chunked);
+        final Random random = new Random(0x5c8e21a7f3d049b6l);
+        for (int i = 0; i < 1000; ++i) {
+            final double t = pb.getInitialTime() + random.nextDouble() * (pb.getFinalTime() - pb.getInitialTime());
+            assertArrayEquals(reference.getInterpolatedState(t).getCompleteState(),
+                              chunked.getInterpolatedState(t).getCompleteState(), 0.0);
+            assertArrayEquals(reference.getInterpolatedState(t).getCompleteDerivative(),
+                              appended.getInterpolatedState(t).getCompleteDerivative(), 0.0);
+        }
+    }
+
+    @Test
+    void testWriteAndMap() throws IOException {
+
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final CompactDenseOutputModel compact = integrate(pb, new CompactDenseOutputModel());
+        final Path path = tempDir.resolve("orbit.bin");
+        compact.write(path);
+
+        for (final CompactDenseOutputModel mapped :
+            new CompactDenseOutputModel[] { CompactDenseOutputModel.map(path), CompactDenseOutputModel.map(path, 250) }) {
+            assertEquals(compact.getNumberOfSteps(), mapped.getNumberOfSteps());
+            assertEquals(compact.getDegree(), mapped.getDegree());
+            assertEquals(compact.getInitialTime(), mapped.getInitialTime(), 0.0);
+            assertEquals(compact.getFinalTime(), mapped.getFinalTime(), 0.0);
+            final Random random = new Random(0x2b7d4e90c1a5f836l);
+            for (int i = 0; i < 1000; ++i) {
+                final double t = pb.getInitialTime() + random.nextDouble() * (pb.getFinalTime() - pb.getInitialTime());
+                assertArrayEquals(compact.getInterpolatedState(t).getCompleteState(),
+                                  mapped.getInterpolatedState(t).getCompleteState(), 0.0);
+                assertArrayEquals(compact.getInterpolatedState(t).getCompleteDerivative(),
+                                  mapped.getInterpolatedState(t).getCompleteDerivative(), 0.0);
+            }
+
+            // mapped models are read-only until reinitialized
+            final MathIllegalStateException mise =
+                            assertThrows(MathIllegalStateException.class, () -> mapped.append(compact));
+            assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, mise.getSpecifier());
+            integrate(pb, mapped);
+            assertEquals(compact.getNumberOfSteps(), mapped.getNumberOfSteps());
+        }
+
+        // empty model
+        final Path emptyPath = tempDir.resolve("empty.bin");
+        new CompactDenseOutputModel().write(emptyPath);
+        final CompactDenseOutputModel empty = CompactDenseOutputModel.map(emptyPath);
+        assertEquals(0, empty.getNumberOfSteps());
+        assertThrows(MathIllegalStateException.class, () -> empty.getInterpolatedState(0.0));
+
+    }
+
+    @Test
+    void testCorruptedFiles() throws IOException {
+
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final Path path = tempDir.resolve("corrupted.bin");
+        integrate(pb, new CompactDenseOutputModel()).write(path);
+
+        // truncated file
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+        assertThrows(IOException.class, () -> CompactDenseOutputModel.map(path));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(20);
+        }
+        assertThrows(IOException.class, () -> CompactDenseOutputModel.map(path));
+
+        // wrong magic number
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }), 0);
+        }
+        assertThrows(IOException.class, () -> CompactDenseOutputModel.map(path));
+
+    }
+
+    @Test
+    void testErrors() {
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class, () -> new CompactDenseOutputModel(0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> new CompactDenseOutputModel().getInterpolatedState(0.0));
+        assertEquals(LocalizedCoreFormats.EMPTY_INTERPOLATION_SAMPLE, mise.getSpecifier());
+    }
+
+    private void checkSameAsDenseOutput(final ODEIntegrator integrator,
+                                        final double tolerance, final double toleranceDot) {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final DenseOutputModel        reference = new DenseOutputModel();
+        final CompactDenseOutputModel compact   = new CompactDenseOutputModel();
+        integrator.addStepHandler(reference);
+        integrator.addStepHandler(compact);
+        integrator.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+
+        final Random random = new Random(0x7a13e6c5b2f9048dl);
+        double maxError    = 0;
+        double maxErrorDot = 0;
+        for (int i = 0; i < 1000; ++i) {
+            final double t = pb.getInitialTime() + random.nextDouble() * (pb.getFinalTime() - pb.getInitialTime());
+            final ODEStateAndDerivative state = compact.getInterpolatedState(t);
+            final ODEStateAndDerivative ref   = reference.getInterpolatedState(t);
+            assertEquals(t, state.getTime(), 0.0);
+            for (int j = 0; j < ref.getPrimaryStateDimension(); ++j) {
+                maxError    = FastMath.max(maxError, FastMath.abs(state.getPrimaryState()[j] - ref.getPrimaryState()[j]));
+                maxErrorDot = FastMath.max(maxErrorDot,
+                                           FastMath.abs(state.getPrimaryDerivative()[j] - ref.getPrimaryDerivative()[j]));
+            }
+        }
+        assertEquals(0.0, maxError,    tolerance);
+        assertEquals(0.0, maxErrorDot, toleranceDot);
+    }
+
+    private CompactDenseOutputModel integrate(final TestProblem3 pb, final CompactDenseOutputModel model) {
+        final ODEIntegrator integrator = new DormandPrince853Integrator(0.0, 1.0, 1.0e-10, 1.0e-10);
+        integrator.addStepHandler(model);
+        integrator.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        return model;
+    }
+
+}
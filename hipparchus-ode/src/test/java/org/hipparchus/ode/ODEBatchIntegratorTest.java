@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.AdaptableInterval;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ODEBatchIntegratorTest {
+
+    /** Harmonic oscillator y'' = -omega² y. */
+    private static final double OMEGA = 1.3;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testSameAsSerialLoop() {
+
+        final List<ODEState> states = dispersedStates(0xa41c7e93d2b5f608l, 500);
+        final ODEBatchIntegrator batch =
+                        new ODEBatchIntegrator(ODEBatchIntegratorTest::buildIntegrator, new ParallelSettings(pool, 0L));
+        final List<ODEStateAndDerivative> results = batch.integrate(oscillator(), states, 10.0);
+        assertEquals(states.size(), results.size());
+
+        final ODEIntegrator serial = buildIntegrator();
+        for (int i = 0; i < states.size(); ++i) {
+            final ODEStateAndDerivative reference = serial.integrate(oscillator(), states.get(i), 10.0);
+            assertEquals(reference.getTime(), results.get(i).getTime(), 0.0);
+            assertArrayEquals(reference.getCompleteState(), results.get(i).getCompleteState(), 0.0);
+            assertArrayEquals(reference.getCompleteDerivative(), results.get(i).getCompleteDerivative(), 0.0);
+            final double[] theoretical = theoretical(states.get(i), 10.0);
+            assertArrayEquals(theoretical, results.get(i).getPrimaryState(), 1.0e-8);
+        }
+
+    }
+
+    @Test
+    void testIntegratorsReuse() {
+        final AtomicInteger built = new AtomicInteger();
+        final ODEBatchIntegrator batch = new ODEBatchIntegrator(() -> {
+            built.incrementAndGet();
+            return buildIntegrator();
+        }, new ParallelSettings(pool, 0L));
+        final List<ODEState> states = dispersedStates(0x3e9b27c5a0f1d864l, 1000);
+        batch.integrate(oscillator(), states, 1.0);
+        assertTrue(built.get() >= 1);
+        assertTrue(built.get() <= pool.getParallelism());
+
+        // a second batch reuses the same integrators
+        final int afterFirstBatch = built.get();
+        batch.integrate(oscillator(), states, 1.0);
+        assertTrue(built.get() <= FastMath.max(afterFirstBatch, pool.getParallelism()));
+    }
+
+    @Test
+    void testSerialFallback() {
+        final AtomicInteger built = new AtomicInteger();
+        final ODEBatchIntegrator batch = new ODEBatchIntegrator(() -> {
+            built.incrementAndGet();
+            return buildIntegrator();
+        }, new ParallelSettings(pool, Long.MAX_VALUE));
+        final List<ODEState> states = dispersedStates(0x8d16f4a2c97b3e05l, 50);
+        final List<ODEStateAndDerivative> results = batch.integrate(oscillator(), states, 2.0);
+        assertEquals(1, built.get());
+        for (int i = 0; i < states.size(); ++i) {
+            assertArrayEquals(theoretical(states.get(i), 2.0), results.get(i).getPrimaryState(), 1.0e-8);
+        }
+    }
+
+    @Test
+    void testPerMemberEventsAndHandlers() {
+
+        // each member stops at its own first zero crossing of position, at a member-dependent direction
+        final List<ODEState> states = dispersedStates(0x51f7e0b3c82a946dl, 300);
+        final ODEBatchIntegrator batch =
+                        new ODEBatchIntegrator(ODEBatchIntegratorTest::buildIntegrator, new ParallelSettings(pool, 0L));
+        final List<double[]> results = batch.integrate(new ExpandableODE(oscillator()), states, 100.0,
+                                                       new ODEBatchMemberHandler<double[]>() {
+            @Override
+            public void setUp(final int index, final ODEIntegrator integrator) {
+                assertTrue(integrator.getEventDetectors().isEmpty());
+                assertTrue(integrator.getStepHandlers().isEmpty());
+                assertTrue(integrator.getStepEndHandlers().isEmpty());
+                integrator.addEventDetector(new ZeroCrossing());
+                integrator.addStepHandler(new CompactDenseOutputModel());
+            }
+            @Override
+            public double[] finish(final int index, final ODEStateAndDerivative finalState) {
+                return new double[] { index, finalState.getTime(), finalState.getPrimaryState()[0] };
+            }
+        });
+
+        for (int i = 0; i < states.size(); ++i) {
+            final double[] y0   = states.get(i).getPrimaryState();
+            final double phase = FastMath.atan2(-y0[1] / OMEGA, y0[0]);
+            double tZero = (0.5 * FastMath.PI - phase) / OMEGA;
+            while (tZero > FastMath.PI / OMEGA) {
+                tZero -= FastMath.PI / OMEGA;
+            }
+            while (tZero <= 0) {
+                tZero += FastMath.PI / OMEGA;
+            }
+            assertEquals(i, results.get(i)[0], 0.0);
+            assertEquals(tZero, results.get(i)[1], 1.0e-9);
+            assertEquals(0.0, results.get(i)[2], 1.0e-9);
+        }
+
+    }
+
+    @Test
+    void testEmptyBatch() {
+        final ODEBatchIntegrator batch = new ODEBatchIntegrator(ODEBatchIntegratorTest::buildIntegrator);
+        assertTrue(batch.integrate(oscillator(), Collections.emptyList(), 1.0).isEmpty());
+        assertSame(ForkJoinPool.commonPool(), batch.getSettings().getPool());
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        final ODEBatchIntegrator batch = new ODEBatchIntegrator(ODEBatchIntegratorTest::buildIntegrator);
+        final List<ODEState> states = dispersedStates(0x0c2e6b19f4d87a53l, 3);
+        states.add(new ODEState(0.0, new double[] { 1.0, 2.0, 3.0 }));
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> batch.integrate(oscillator(), states, 1.0));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+    }
+
+    @Test
+    void testFailurePropagation() {
+        final ODEBatchIntegrator batch = new ODEBatchIntegrator(() -> {
+            final ODEIntegrator integrator = buildIntegrator();
+            integrator.setMaxEvaluations(100);
+            return integrator;
+        }, new ParallelSettings(pool, 0L));
+        final List<ODEState> states = dispersedStates(0x7fa3d5c1e8b02469l, 40);
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> batch.integrate(oscillator(), states, 1000.0));
+        assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+    }
+
+    private static ODEIntegrator buildIntegrator() {
+        return new DormandPrince853Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10);
+    }
+
+    private static OrdinaryDifferentialEquation oscillator() {
+        return new OrdinaryDifferentialEquation() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { y[1], -OMEGA * OMEGA * y[0] };
+            }
+        };
+    }
+
+    private static List<ODEState> dispersedStates(final long seed, final int n) {
+        final Random random = new Random(seed);
+        final List<ODEState> states = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            states.add(new ODEState(0.0, new double[] { 2 * random.nextDouble() - 1, 2 * random.nextDouble() - 1 }));
+        }
+        return states;
+    }
+
+    private static double[] theoretical(final ODEState state, final double t) {
+        final double[] y0  = state.getPrimaryState();
+        final double   cos = FastMath.cos(OMEGA * t);
+        final double   sin = FastMath.sin(OMEGA * t);
+        return new double[] {
+            y0[0] * cos + y0[1] * sin / OMEGA,
+            y0[1] * cos - y0[0] * OMEGA * sin
+        };
+    }
+
+    private static class ZeroCrossing implements ODEEventDetector {
+
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 0.1;
+        }
+
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-12, 0, 5);
+        }
+
+        public ODEEventHandler getHandler() {
+            return (state, detector, increasing) -> Action.STOP;
+        }
+
+        public double g(final ODEStateAndDerivative state) {
+            return state.getPrimaryState()[0];
+        }
+
+    }
+
+}
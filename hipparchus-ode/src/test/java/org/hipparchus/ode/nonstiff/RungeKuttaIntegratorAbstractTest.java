@@ -55,10 +55,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Random;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -530,6 +534,90 @@ public abstract class RungeKuttaIntegratorAbstractTest {
 
     }
 
+    @Test
+    public void testSameResultWithoutStepHandlers() {
+        // without any step handler, the integrator works in place in its working arrays
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final double h = 0.0003 * (pb.getFinalTime() - pb.getInitialState().getTime());
+        final RungeKuttaIntegrator bare     = createIntegrator(h);
+        final RungeKuttaIntegrator observed = createIntegrator(h);
+        observed.addStepHandler(interpolator -> {});
+        final ODEStateAndDerivative s1 = bare.integrate(new ExpandableODE(pb), pb.getInitialState(), pb.getFinalTime());
+        final ODEStateAndDerivative s2 = observed.integrate(new ExpandableODE(pb), pb.getInitialState(), pb.getFinalTime());
+        assertEquals(s2.getTime(), s1.getTime(), 0.0);
+        for (int i = 0; i < s1.getPrimaryStateDimension(); ++i) {
+            assertEquals(s2.getPrimaryState()[i],      s1.getPrimaryState()[i],      0.0);
+            assertEquals(s2.getPrimaryDerivative()[i], s1.getPrimaryDerivative()[i], 0.0);
+        }
+        assertEquals(observed.getEvaluations(), bare.getEvaluations());
+    }
+
+    @Test
+    public void testEquationsModifyingTheirState() {
+        doTestEquationsModifyingTheirState(false);
+        doTestEquationsModifyingTheirState(true);
+    }
+
+    private void doTestEquationsModifyingTheirState(final boolean reuse) {
+        // equations are allowed to scramble the state array they are given,
+        // this must not corrupt the state integrated without step handlers
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final OrdinaryDifferentialEquation scrambling = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return pb.getDimension();
+            }
+            public double[] computeDerivatives(double t, double[] y) {
+                final double[] yDot = pb.computeDerivatives(t, y);
+                for (int i = 0; i < y.length; ++i) {
+                    y[i] = Double.NaN;
+                }
+                return yDot;
+            }
+        };
+        final double h = 0.0003 * (pb.getFinalTime() - pb.getInitialState().getTime());
+        final RungeKuttaIntegrator reference = createIntegrator(h);
+        final RungeKuttaIntegrator scrambled = createIntegrator(h);
+        scrambled.setStateArrayReused(reuse);
+        final ODEStateAndDerivative s1 = reference.integrate(new ExpandableODE(pb), pb.getInitialState(), pb.getFinalTime());
+        final ODEStateAndDerivative s2 = scrambled.integrate(new ExpandableODE(scrambling), pb.getInitialState(), pb.getFinalTime());
+        assertEquals(s1.getTime(), s2.getTime(), 0.0);
+        for (int i = 0; i < s1.getPrimaryStateDimension(); ++i) {
+            assertEquals(s1.getPrimaryState()[i],      s2.getPrimaryState()[i],      0.0);
+            assertEquals(s1.getPrimaryDerivative()[i], s2.getPrimaryDerivative()[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testStateArrayReused() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final Set<double[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        final OrdinaryDifferentialEquation recording = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return pb.getDimension();
+            }
+            public double[] computeDerivatives(double t, double[] y) {
+                arrays.add(y);
+                return pb.computeDerivatives(t, y);
+            }
+        };
+        final double h = 0.0003 * (pb.getFinalTime() - pb.getInitialState().getTime());
+        final RungeKuttaIntegrator integrator = createIntegrator(h);
+
+        // by default, equations get a new state array at each call
+        assertFalse(integrator.isStateArrayReused());
+        integrator.integrate(new ExpandableODE(recording), pb.getInitialState(), pb.getFinalTime());
+        assertEquals(integrator.getEvaluations(), arrays.size());
+
+        // in zero-allocation mode, only the initialization calls get other arrays than the reused one
+        arrays.clear();
+        integrator.setStateArrayReused(true);
+        assertTrue(integrator.isStateArrayReused());
+        integrator.integrate(new ExpandableODE(recording), pb.getInitialState(), pb.getFinalTime());
+        assertTrue(integrator.getEvaluations() > 10);
+        assertTrue(arrays.size() <= 3);
+
+    }
+
     @Test
     public void testNaNAppearing() {
         try {
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.sampling;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HermiteStateInterpolatorTest {
+
+    @Test
+    void testCubicReproducedExactly() {
+        final HermiteStateInterpolator interpolator = createInterpolator(true, 1.0, 3.0);
+        for (double t = 1.0; t <= 3.0; t += 0.125) {
+            checkState(interpolator.getInterpolatedState(t), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testBackward() {
+        final HermiteStateInterpolator interpolator = createInterpolator(false, 3.0, 1.0);
+        assertFalse(interpolator.isForward());
+        for (double t = 3.0; t >= 1.0; t -= 0.125) {
+            checkState(interpolator.getInterpolatedState(t), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testRestrictedStep() {
+        final HermiteStateInterpolator interpolator = createInterpolator(true, 1.0, 3.0);
+        final AbstractODEStateInterpolator restricted =
+                        interpolator.restrictStep(interpolator.getInterpolatedState(1.5),
+                                                  interpolator.getInterpolatedState(2.25));
+        assertTrue(restricted instanceof HermiteStateInterpolator);
+        assertTrue(restricted.isPreviousStateInterpolated());
+        assertTrue(restricted.isCurrentStateInterpolated());
+        assertEquals(1.5,  restricted.getPreviousState().getTime(), 0.0);
+        assertEquals(2.25, restricted.getCurrentState().getTime(), 0.0);
+        for (double t = 1.5; t <= 2.25; t += 0.125) {
+            checkState(restricted.getInterpolatedState(t), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testStepBoundaries() {
+        final HermiteStateInterpolator interpolator = createInterpolator(true, 1.0, 3.0);
+        checkState(interpolator.getInterpolatedState(1.0), 0.0);
+        checkState(interpolator.getInterpolatedState(3.0), 0.0);
+    }
+
+    private HermiteStateInterpolator createInterpolator(final boolean forward, final double t0, final double t1) {
+        final EquationsMapper mapper = new ExpandableODE(new OrdinaryDifferentialEquation() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return derivative(t);
+            }
+        }).getMapper();
+        final ODEStateAndDerivative s0 = mapper.mapStateAndDerivative(t0, state(t0), derivative(t0));
+        final ODEStateAndDerivative s1 = mapper.mapStateAndDerivative(t1, state(t1), derivative(t1));
+        return new HermiteStateInterpolator(forward, s0, s1, s0, s1, mapper);
+    }
+
+    private void checkState(final ODEStateAndDerivative interpolated, final double tolerance) {
+        final double   t        = interpolated.getTime();
+        final double[] expected = state(t);
+        final double[] expDot   = derivative(t);
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(expected[i], interpolated.getPrimaryState()[i],      tolerance);
+            assertEquals(expDot[i],   interpolated.getPrimaryDerivative()[i], tolerance);
+        }
+    }
+
+    private double[] state(final double t) {
+        return new double[] { ((t - 2) * t + 1) * t + 1, (-0.5 * t + 3) * t - 4 };
+    }
+
+    private double[] derivative(final double t) {
+        return new double[] { (3 * t - 4) * t + 1, 3 - t };
+    }
+
+}
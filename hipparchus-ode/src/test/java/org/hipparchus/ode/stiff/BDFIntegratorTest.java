@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BDFIntegratorTest extends StiffIntegratorAbstractTest {
+
+    @Override
+    protected StiffIntegrator createIntegrator(final double minStep, final double maxStep,
+                                               final double scalAbsoluteTolerance,
+                                               final double scalRelativeTolerance) {
+        return new BDFIntegrator(minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    @Override
+    protected StiffIntegrator createIntegrator(final double minStep, final double maxStep,
+                                               final double[] vecAbsoluteTolerance,
+                                               final double[] vecRelativeTolerance) {
+        return new BDFIntegrator(minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    @Override
+    protected double linearStiffTolerance() {
+        return 1.0e-4;
+    }
+
+    @Override
+    protected double denseOutputTolerance() {
+        // global error of multistep methods is larger than that of one-step methods at same tolerance
+        return 2.0e-6;
+    }
+
+    @Test
+    void testNameAndOrder() {
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        assertEquals(BDFIntegrator.METHOD_NAME, integrator.getName());
+        assertEquals(5, integrator.getOrder());
+    }
+
+    @Test
+    void testDecompositionsReuse() {
+        final LinearStiff pb = new LinearStiff(1.0e4);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        final int[] steps = new int[1];
+        integrator.addStepHandler(interpolator -> ++steps[0]);
+        integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 10.0);
+        assertTrue(integrator.getDecompositions() < steps[0] / 2,
+                   integrator.getDecompositions() + " " + integrator.getJacobianEvaluations() + " / " + steps[0]);
+        assertTrue(integrator.getJacobianEvaluations() < steps[0] / 4);
+    }
+
+    @Test
+    void testTighterToleranceUsesHigherOrder() {
+        // with a tight tolerance, the order increases and the number of steps remains small
+        final LinearStiff pb = new LinearStiff(1.0);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-10, 1.0e-10);
+        final int[] steps = new int[1];
+        integrator.addStepHandler(interpolator -> ++steps[0]);
+        final double y = integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 4.0).getPrimaryState()[0];
+        assertEquals(pb.exact(4.0), y, 1.0e-8);
+        assertTrue(steps[0] < 400, "steps: " + steps[0]);
+    }
+
+    @Test
+    void testVanDerPol() {
+        // very stiff Van der Pol oscillator, in Hairer and Wanner scaled form
+        final double epsilon = 1.0e-6;
+        final OrdinaryDifferentialEquation vdp = new OrdinaryDifferentialEquation() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { y[1], ((1 - y[0] * y[0]) * y[1] - y[0]) / epsilon };
+            }
+        };
+        final StiffIntegrator integrator = createIntegrator(1.0e-14, 1.0, 1.0e-6, 1.0e-6);
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(vdp, new ODEState(0.0, new double[] { 2.0, -0.66 }), 2.0);
+
+        // reference values from E. Hairer and G. Wanner, Solving Ordinary Differential Equations II
+        assertEquals( 0.1706167732170483e+01, finalState.getPrimaryState()[0], 1.0e-4);
+        assertEquals(-0.8928097010247975e+00, finalState.getPrimaryState()[1], 1.0e-3);
+        assertTrue(integrator.getEvaluations() < 10000, "evaluations: " + integrator.getEvaluations());
+
+    }
+
+}
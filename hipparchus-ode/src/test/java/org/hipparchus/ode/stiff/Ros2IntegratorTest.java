@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ros2IntegratorTest extends StiffIntegratorAbstractTest {
+
+    @Override
+    protected StiffIntegrator createIntegrator(final double minStep, final double maxStep,
+                                               final double scalAbsoluteTolerance,
+                                               final double scalRelativeTolerance) {
+        return new Ros2Integrator(minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    @Override
+    protected StiffIntegrator createIntegrator(final double minStep, final double maxStep,
+                                               final double[] vecAbsoluteTolerance,
+                                               final double[] vecRelativeTolerance) {
+        return new Ros2Integrator(minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    @Override
+    protected double linearStiffTolerance() {
+        return 1.0e-4;
+    }
+
+    @Test
+    void testNameAndOrder() {
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        assertEquals(Ros2Integrator.METHOD_NAME, integrator.getName());
+        assertEquals(2, integrator.getOrder());
+    }
+
+    @Test
+    void testSecondOrderWithInexactJacobian() {
+        // W-method: order is preserved with a wrong Jacobian (here the Jacobian of a less stiff problem)
+        final LinearStiff  exact   = new LinearStiff(1.0);
+        final LinearStiff  inexact = new LinearStiff(1.0) {
+            @Override
+            public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+                return new double[][] { { -0.3 } };
+            }
+        };
+        for (final LinearStiff pb : new LinearStiff[] { exact, inexact }) {
+            double previous = Double.NaN;
+            for (final double h : new double[] { 0.02, 0.01, 0.005 }) {
+                final StiffIntegrator integrator = createIntegrator(h, h, 1.0e3, 1.0e3);
+                final double error = FastMath.abs(integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 2.0).
+                                                  getPrimaryState()[0] - pb.exact(2.0));
+                if (!Double.isNaN(previous)) {
+                    final double order = FastMath.log(previous / error) / FastMath.log(2.0);
+                    assertEquals(2.0, order, 0.1);
+                }
+                previous = error;
+            }
+        }
+    }
+
+    @Test
+    void testDecompositionsReuse() {
+        final LinearStiff pb = new LinearStiff(1.0e4);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        final int[] steps = new int[1];
+        integrator.addStepHandler(interpolator -> ++steps[0]);
+        integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 10.0);
+        assertTrue(integrator.getDecompositions() < steps[0],
+                   integrator.getDecompositions() + " " + integrator.getJacobianEvaluations() + " / " + steps[0]);
+        assertTrue(integrator.getJacobianEvaluations() < steps[0] / 4);
+    }
+
+}
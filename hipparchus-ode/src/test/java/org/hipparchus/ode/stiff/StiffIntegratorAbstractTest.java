@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.SecondaryODE;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.AdaptableInterval;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.ode.nonstiff.DormandPrince54Integrator;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public abstract class StiffIntegratorAbstractTest {
+
+    protected abstract StiffIntegrator createIntegrator(double minStep, double maxStep,
+                                                        double scalAbsoluteTolerance,
+                                                        double scalRelativeTolerance);
+
+    protected abstract StiffIntegrator createIntegrator(double minStep, double maxStep,
+                                                        double[] vecAbsoluteTolerance,
+                                                        double[] vecRelativeTolerance);
+
+    /** Get the maximum error expected on the linear stiff problem at 1.0e-6 tolerance.
+     * @return maximum error expected on the linear stiff problem
+     */
+    protected abstract double linearStiffTolerance();
+
+    @Test
+    public void testLinearStiff() {
+        final LinearStiff pb = new LinearStiff(1.0e4);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        final double[] maxError = new double[1];
+        integrator.addStepHandler(interpolator -> {
+            for (int i = 0; i <= 10; ++i) {
+                final double t = interpolator.getPreviousState().getTime() +
+                                 0.1 * i * (interpolator.getCurrentState().getTime() -
+                                            interpolator.getPreviousState().getTime());
+                if (t > 0.01) {
+                    // skip initial transient
+                    final double error = interpolator.getInterpolatedState(t).getPrimaryState()[0] - pb.exact(t);
+                    maxError[0] = FastMath.max(maxError[0], FastMath.abs(error));
+                }
+            }
+        });
+        final ODEStateAndDerivative finalState = integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 10.0);
+        assertEquals(10.0, finalState.getTime(), 1.0e-15);
+        assertEquals(pb.exact(10.0), finalState.getPrimaryState()[0], linearStiffTolerance());
+        assertTrue(maxError[0] < linearStiffTolerance(), "error = " + maxError[0]);
+
+        // an explicit integrator would need tens of thousands of steps
+        final DormandPrince54Integrator explicit = new DormandPrince54Integrator(1.0e-12, 1.0, 1.0e-6, 1.0e-6);
+        explicit.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 10.0);
+        assertTrue(integrator.getEvaluations() * 5 < explicit.getEvaluations(),
+                   integrator.getEvaluations() + " / " + explicit.getEvaluations());
+
+    }
+
+    @Test
+    public void testRobertsonAnalyticalJacobian() {
+        checkRobertson(true);
+    }
+
+    @Test
+    public void testRobertsonFiniteDifferencesJacobian() {
+        checkRobertson(false);
+    }
+
+    private void checkRobertson(final boolean analytical) {
+
+        final Robertson pb = new Robertson(analytical);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 10.0,
+                                                            new double[] { 1.0e-10, 1.0e-12, 1.0e-10 },
+                                                            new double[] { 1.0e-7, 1.0e-7, 1.0e-7 });
+        final int[] steps = new int[1];
+        integrator.addStepHandler(interpolator -> {
+            ++steps[0];
+            final double[] y = interpolator.getCurrentState().getPrimaryState();
+            assertEquals(1.0, y[0] + y[1] + y[2], 1.0e-10);
+        });
+        final double[] y = integrator.integrate(pb.asODE(), new ODEState(0.0, new double[] { 1.0, 0.0, 0.0 }), 40.0).
+                           getPrimaryState();
+
+        // reference values from E. Hairer and G. Wanner, Solving Ordinary Differential Equations II
+        assertEquals(0.7158270687,    y[0], 1.0e-6);
+        assertEquals(0.9185534764e-5, y[1], 1.0e-10);
+        assertEquals(0.2841637457,    y[2], 1.0e-6);
+
+        // Jacobian and decompositions are reused across steps
+        assertTrue(integrator.getJacobianEvaluations() > 0);
+        assertTrue(integrator.getJacobianEvaluations() < steps[0],
+                   integrator.getJacobianEvaluations() + " / " + steps[0]);
+        assertTrue(integrator.getDecompositions() < steps[0] * decompositionsPerStep(),
+                   integrator.getDecompositions() + " / " + steps[0]);
+        assertEquals(analytical ? integrator.getJacobianEvaluations() : 0, pb.jacobianCalls);
+
+    }
+
+    /** Get the tolerance on dense output error in {@link #testDenseOutputContinuity()}.
+     * @return tolerance on dense output error
+     */
+    protected double denseOutputTolerance() {
+        return 5.0e-7;
+    }
+
+    /** Get the number of decompositions performed when a step is computed from scratch.
+     * @return number of decompositions performed when a step is computed from scratch
+     */
+    protected int decompositionsPerStep() {
+        return 1;
+    }
+
+    @Test
+    public void testStopEvent() {
+        final LinearStiff pb = new LinearStiff(1.0e3);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        integrator.addEventDetector(new TimeDetector(3.7, Action.STOP));
+        final ODEStateAndDerivative finalState = integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 10.0);
+        assertEquals(3.7, finalState.getTime(), 1.0e-10);
+        assertEquals(pb.exact(3.7), finalState.getPrimaryState()[0], 1.0e-6);
+    }
+
+    @Test
+    public void testResetState() {
+        // y jumps by 1.0 at t = 5.0, then relaxes back towards cos(t)
+        final LinearStiff pb = new LinearStiff(1.0e3);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        integrator.addEventDetector(new TimeDetector(5.0, Action.RESET_STATE) {
+            @Override
+            public ODEEventHandler getHandler() {
+                return new ODEEventHandler() {
+                    @Override
+                    public Action eventOccurred(final ODEStateAndDerivative s, final ODEEventDetector d,
+                                                final boolean increasing) {
+                        return Action.RESET_STATE;
+                    }
+                    @Override
+                    public ODEState resetState(final ODEEventDetector d, final ODEStateAndDerivative s) {
+                        return new ODEState(s.getTime(), new double[] { s.getPrimaryState()[0] + 1.0 });
+                    }
+                };
+            }
+        });
+        final double[] atReset = new double[1];
+        integrator.addStepHandler(interpolator -> {
+            if (FastMath.abs(interpolator.getPreviousState().getTime() - 5.0) < 1.0e-10) {
+                atReset[0] = interpolator.getPreviousState().getPrimaryState()[0];
+            }
+        });
+        final ODEStateAndDerivative finalState = integrator.integrate(pb, new ODEState(0.0, new double[] { 1.0 }), 5.002);
+        assertEquals(pb.exact(5.0) + 1.0, atReset[0], 1.0e-6);
+        final double expected = FastMath.cos(5.002) + FastMath.exp(-1.0e3 * 0.002);
+        assertEquals(expected, finalState.getPrimaryState()[0], 1.0e-5);
+    }
+
+    @Test
+    public void testBackward() {
+        // non-stiff decaying problem integrated backward (solution grows)
+        final LinearStiff pb = new LinearStiff(1.0);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-10, 1.0e-10);
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(pb, new ODEState(0.0, new double[] { pb.exact(0.0) }), -3.0);
+        assertEquals(-3.0, finalState.getTime(), 1.0e-15);
+        assertEquals(pb.exact(-3.0), finalState.getPrimaryState()[0], 2.0e-7);
+    }
+
+    @Test
+    public void testDenseOutputContinuity() {
+        final LinearStiff pb = new LinearStiff(10.0);
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-9, 1.0e-9);
+        final double[] maxError = new double[1];
+        integrator.addStepHandler((ODEStateInterpolator interpolator) -> {
+            for (int i = 0; i <= 20; ++i) {
+                final double t = interpolator.getPreviousState().getTime() +
+                                 0.05 * i * (interpolator.getCurrentState().getTime() -
+                                             interpolator.getPreviousState().getTime());
+                final ODEStateAndDerivative s = interpolator.getInterpolatedState(t);
+                maxError[0] = FastMath.max(maxError[0], FastMath.abs(s.getPrimaryState()[0] - pb.exact(t)));
+                maxError[0] = FastMath.max(maxError[0], 1.0e-2 * FastMath.abs(s.getPrimaryDerivative()[0] - pb.exactDot(t)));
+            }
+            assertEquals(interpolator.getCurrentState().getPrimaryState()[0],
+                         interpolator.getInterpolatedState(interpolator.getCurrentState().getTime()).getPrimaryState()[0],
+                         1.0e-12);
+        });
+        integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 4.0);
+        assertTrue(maxError[0] < denseOutputTolerance(), "error = " + maxError[0]);
+    }
+
+    @Test
+    public void testSecondaryEquations() {
+        // secondary equation z' = y, so z(t) = sin(t) + (y0 - 1) (1 - exp(-lambda t)) / lambda
+        final double lambda = 1.0e3;
+        final ExpandableODE expandable = new ExpandableODE(new LinearStiff(lambda));
+        expandable.addSecondaryEquations(new SecondaryODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] primary,
+                                               final double[] primaryDot, final double[] secondary) {
+                return new double[] { primary[0] };
+            }
+        });
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-9, 1.0e-9);
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(expandable,
+                                             new ODEState(0.0, new double[] { 2.0 }, new double[][] { { 0.0 } }),
+                                             2.0);
+        final double expected = FastMath.sin(2.0) + (1 - FastMath.exp(-2 * lambda)) / lambda;
+        assertEquals(expected, finalState.getSecondaryState(1)[0], 1.0e-5);
+    }
+
+    @Test
+    public void testTighterToleranceIsMoreAccurate() {
+        final LinearStiff pb = new LinearStiff(1.0);
+        double previous = Double.POSITIVE_INFINITY;
+        for (final double tol : new double[] { 1.0e-4, 1.0e-6, 1.0e-8 }) {
+            final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, tol, tol);
+            final double error = FastMath.abs(integrator.integrate(pb, new ODEState(0.0, new double[] { 2.0 }), 5.0).
+                                              getPrimaryState()[0] - pb.exact(5.0));
+            assertTrue(error < previous);
+            previous = error;
+        }
+    }
+
+    @Test
+    public void testMaxEvaluations() {
+        final StiffIntegrator integrator = createIntegrator(1.0e-12, 1.0, 1.0e-10, 1.0e-10);
+        integrator.setMaxEvaluations(50);
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> integrator.integrate(new Robertson(false),
+                                                                new ODEState(0.0, new double[] { 1.0, 0.0, 0.0 }),
+                                                                1.0e5));
+        assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+    }
+
+    /** Linear stiff problem y' = -lambda (y - cos t) - sin t, with solution cos t + (y0 - 1) exp(-lambda t). */
+    protected static class LinearStiff implements ODEJacobiansProvider {
+
+        private final double lambda;
+
+        LinearStiff(final double lambda) {
+            this.lambda = lambda;
+        }
+
+        @Override
+        public int getDimension() {
+            return 1;
+        }
+
+        @Override
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { -lambda * (y[0] - FastMath.cos(t)) - FastMath.sin(t) };
+        }
+
+        @Override
+        public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+            return new double[][] { { -lambda } };
+        }
+
+        double exact(final double t) {
+            return FastMath.cos(t) + FastMath.exp(-lambda * t);
+        }
+
+        double exactDot(final double t) {
+            return -FastMath.sin(t) - lambda * FastMath.exp(-lambda * t);
+        }
+
+    }
+
+    /** Robertson chemical kinetics problem. */
+    protected static class Robertson implements ODEJacobiansProvider {
+
+        private final boolean analytical;
+
+        int jacobianCalls;
+
+        Robertson(final boolean analytical) {
+            this.analytical = analytical;
+        }
+
+        @Override
+        public int getDimension() {
+            return 3;
+        }
+
+        @Override
+        public double[] computeDerivatives(final double t, final double[] y) {
+            final double r1 = 0.04 * y[0];
+            final double r2 = 3.0e7 * y[1] * y[1];
+            final double r3 = 1.0e4 * y[1] * y[2];
+            return new double[] { r3 - r1, r1 - r2 - r3, r2 };
+        }
+
+        @Override
+        public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+            ++jacobianCalls;
+            return new double[][] {
+                { -0.04,  1.0e4 * y[2],                 1.0e4 * y[1] },
+                {  0.04, -1.0e4 * y[2] - 6.0e7 * y[1], -1.0e4 * y[1] },
+                {  0.0,   6.0e7 * y[1],                 0.0 }
+            };
+        }
+
+        /** Hide analytical Jacobian if needed.
+         * @return problem to integrate
+         */
+        OrdinaryDifferentialEquation asODE() {
+            if (analytical) {
+                return this;
+            }
+            return new OrdinaryDifferentialEquation() {
+                @Override
+                public int getDimension() {
+                    return Robertson.this.getDimension();
+                }
+                @Override
+                public double[] computeDerivatives(final double t, final double[] y) {
+                    return Robertson.this.computeDerivatives(t, y);
+                }
+            };
+        }
+
+    }
+
+    /** Detector for a fixed time. */
+    protected static class TimeDetector implements ODEEventDetector {
+
+        private final double time;
+        private final Action action;
+
+        TimeDetector(final double time, final Action action) {
+            this.time   = time;
+            this.action = action;
+        }
+
+        @Override
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 0.5;
+        }
+
+        @Override
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        @Override
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-12, 0, 5);
+        }
+
+        @Override
+        public ODEEventHandler getHandler() {
+            return (state, detector, increasing) -> action;
+        }
+
+        @Override
+        public double g(final ODEStateAndDerivative state) {
+            return state.getTime() - time;
+        }
+
+    }
+
+}
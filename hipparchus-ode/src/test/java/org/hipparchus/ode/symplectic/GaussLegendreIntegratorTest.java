@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.FirstOrderConverter;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.SecondaryODE;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GaussLegendreIntegratorTest extends SymplecticIntegratorAbstractTest {
+
+    @Override
+    protected SymplecticIntegrator createIntegrator(final double step) {
+        return new GaussLegendreIntegrator(step, 3);
+    }
+
+    @Override
+    protected int expectedOrder() {
+        return 6;
+    }
+
+    @Test
+    void testName() {
+        assertEquals(GaussLegendreIntegrator.METHOD_NAME, createIntegrator(0.1).getName());
+    }
+
+    @Test
+    void testStagesAndOrders() {
+        for (int stages = 1; stages <= 3; ++stages) {
+            final GaussLegendreIntegrator integrator = new GaussLegendreIntegrator(0.1, stages);
+            assertEquals(stages, integrator.getNumberOfStages());
+            assertEquals(2 * stages, integrator.getOrder());
+        }
+    }
+
+    @Test
+    void testLowerOrders() {
+        final Kepler kepler = new Kepler(0.5);
+        for (int stages = 1; stages <= 2; ++stages) {
+            double previous = Double.NaN;
+            for (final int steps : new int[] { 200, 400 }) {
+                final GaussLegendreIntegrator integrator = new GaussLegendreIntegrator(MathUtils.TWO_PI / steps, stages);
+                final double[] y = integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(),
+                                                        MathUtils.TWO_PI).getPrimaryState();
+                final double error = FastMath.hypot(y[0] - kepler.initialState().getPrimaryState()[0],
+                                                    y[1] - kepler.initialState().getPrimaryState()[1]);
+                if (!Double.isNaN(previous)) {
+                    assertEquals(2 * stages, FastMath.log(previous / error) / FastMath.log(2.0), 0.1);
+                }
+                previous = error;
+            }
+        }
+    }
+
+    @Test
+    void testWrongNumberOfStages() {
+        for (final int stages : new int[] { 0, 4 }) {
+            final MathIllegalArgumentException miae =
+                            assertThrows(MathIllegalArgumentException.class,
+                                         () -> new GaussLegendreIntegrator(0.1, stages));
+            assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testAngularMomentumPreserved() {
+        // Gauss-Legendre methods preserve quadratic invariants exactly
+        final Kepler kepler = new Kepler(0.5);
+        final double h0 = kepler.angularMomentum(kepler.initialState().getPrimaryState());
+        final double[] maxError = new double[1];
+        final SymplecticIntegrator integrator = createIntegrator(MathUtils.TWO_PI / 50);
+        integrator.addStepHandler((ODEStateInterpolator interpolator) -> {
+            final double[] y = interpolator.getCurrentState().getPrimaryState();
+            maxError[0] = FastMath.max(maxError[0], FastMath.abs(kepler.angularMomentum(y) - h0));
+        });
+        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 100 * MathUtils.TWO_PI);
+        assertEquals(0.0, maxError[0], 1.0e-12);
+    }
+
+    @Test
+    void testSecondaryEquations() {
+        // secondary equation z' = |q|, integrated along a circular orbit so z(t) = t
+        final Kepler kepler = new Kepler(0.0);
+        final ExpandableODE expandable = new ExpandableODE(new FirstOrderConverter(kepler));
+        expandable.addSecondaryEquations(new SecondaryODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] primary,
+                                               final double[] primaryDot, final double[] secondary) {
+                return new double[] { FastMath.hypot(primary[0], primary[1]) };
+            }
+        });
+        final ODEStateAndDerivative finalState =
+                        createIntegrator(0.1).integrate(expandable,
+                                                        new ODEState(0.0, kepler.initialState().getPrimaryState(),
+                                                                     new double[][] { { 0.0 } }),
+                                                        3.0);
+        assertEquals(3.0, finalState.getSecondaryState(1)[0], 1.0e-9);
+    }
+
+}
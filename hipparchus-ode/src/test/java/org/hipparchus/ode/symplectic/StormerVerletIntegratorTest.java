@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.FirstOrderConverter;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.SecondaryODE;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StormerVerletIntegratorTest extends SymplecticIntegratorAbstractTest {
+
+    @Override
+    protected SymplecticIntegrator createIntegrator(final double step) {
+        return new StormerVerletIntegrator(step);
+    }
+
+    @Override
+    protected int expectedOrder() {
+        return 2;
+    }
+
+    @Override
+    protected double denseOutputTolerance() {
+        // accuracy is limited by the second order phase error
+        return 5.0e-4;
+    }
+
+    @Test
+    void testName() {
+        assertEquals(StormerVerletIntegrator.METHOD_NAME, createIntegrator(0.1).getName());
+        assertEquals(1, ((CompositionIntegrator) createIntegrator(0.1)).getNumberOfStages());
+    }
+
+    @Test
+    void testSecondOrderEquations() {
+        final Kepler kepler = new Kepler(0.5);
+        final double[] expected = createIntegrator(MathUtils.TWO_PI / 100).
+                                  integrate(new FirstOrderConverter(kepler), kepler.initialState(), MathUtils.TWO_PI).
+                                  getPrimaryState();
+        final double[] y = ((CompositionIntegrator) createIntegrator(MathUtils.TWO_PI / 100)).
+                           integrate(kepler, kepler.initialState(), MathUtils.TWO_PI).
+                           getPrimaryState();
+        for (int i = 0; i < y.length; ++i) {
+            assertEquals(expected[i], y[i], 0.0);
+        }
+    }
+
+    @Test
+    void testOneEvaluationPerStep() {
+        final Kepler kepler = new Kepler(0.5);
+        final SymplecticIntegrator integrator = createIntegrator(MathUtils.TWO_PI / 100);
+        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), MathUtils.TWO_PI);
+        // one evaluation for initial state, then one per step
+        assertEquals(101, integrator.getEvaluations());
+    }
+
+    @Test
+    void testOddDimension() {
+        final OrdinaryDifferentialEquation ode = new OrdinaryDifferentialEquation() {
+            @Override
+            public int getDimension() {
+                return 3;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[3];
+            }
+        };
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> createIntegrator(0.1).integrate(ode, new ODEState(0.0, new double[3]), 1.0));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+    }
+
+    @Test
+    void testSecondaryEquationsNotSupported() {
+        final Kepler kepler = new Kepler(0.5);
+        final ExpandableODE expandable = new ExpandableODE(new FirstOrderConverter(kepler));
+        expandable.addSecondaryEquations(new SecondaryODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public double[] computeDerivatives(final double t, final double[] primary,
+                                               final double[] primaryDot, final double[] secondary) {
+                return new double[] { 1.0 };
+            }
+        });
+        final ODEState state = new ODEState(0.0, kepler.initialState().getPrimaryState(), new double[][] { { 0.0 } });
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> createIntegrator(0.1).integrate(expandable, state, 1.0));
+        assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, miae.getSpecifier());
+    }
+
+}
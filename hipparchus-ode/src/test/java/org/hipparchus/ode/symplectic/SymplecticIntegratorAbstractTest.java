@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.ode.FirstOrderConverter;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.SecondOrderODE;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.AdaptableInterval;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public abstract class SymplecticIntegratorAbstractTest {
+
+    protected abstract SymplecticIntegrator createIntegrator(double step);
+
+    /** Get the expected order of the integrator.
+     * @return expected order of the integrator
+     */
+    protected abstract int expectedOrder();
+
+    /** Get the numbers of steps per orbit used in {@link #testOrder()}.
+     * @return numbers of steps per orbit, in increasing order
+     */
+    protected int[] orderTestSteps() {
+        return new int[] { 100, 200, 400 };
+    }
+
+    /** Get the tolerance on dense output error in {@link #testDenseOutput()}.
+     * @return tolerance on dense output error
+     */
+    protected double denseOutputTolerance() {
+        return 1.0e-4;
+    }
+
+    @Test
+    public void testOrder() {
+        assertEquals(expectedOrder(), createIntegrator(1.0).getOrder());
+        final Kepler kepler = new Kepler(0.5);
+        double previous      = Double.NaN;
+        int    previousSteps = 0;
+        for (final int steps : orderTestSteps()) {
+            final SymplecticIntegrator integrator = createIntegrator(MathUtils.TWO_PI / steps);
+            final double[] y = integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(),
+                                                    MathUtils.TWO_PI).getPrimaryState();
+            final double error = FastMath.hypot(y[0] - kepler.initialState().getPrimaryState()[0],
+                                                y[1] - kepler.initialState().getPrimaryState()[1]);
+            if (!Double.isNaN(previous)) {
+                assertEquals(expectedOrder(),
+                             FastMath.log(previous / error) / FastMath.log(((double) steps) / previousSteps),
+                             0.3);
+            }
+            previous      = error;
+            previousSteps = steps;
+        }
+    }
+
+    @Test
+    public void testEnergyBounded() {
+        // over 1000 orbits, the energy error does not drift
+        final Kepler kepler = new Kepler(0.5);
+        final double e0 = kepler.energy(kepler.initialState().getPrimaryState());
+        final double[] maxErrors = new double[2];
+        final SymplecticIntegrator integrator = createIntegrator(MathUtils.TWO_PI / 100);
+        integrator.addStepHandler((ODEStateInterpolator interpolator) -> {
+            final ODEStateAndDerivative s = interpolator.getCurrentState();
+            final double error = FastMath.abs(kepler.energy(s.getPrimaryState()) - e0);
+            final int    index = s.getTime() <= 10 * MathUtils.TWO_PI ? 0 : 1;
+            maxErrors[index] = FastMath.max(maxErrors[index], error);
+        });
+        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 1000 * MathUtils.TWO_PI);
+        assertTrue(maxErrors[0] > 0);
+        assertTrue(maxErrors[1] < 1.5 * maxErrors[0], maxErrors[0] + " " + maxErrors[1]);
+    }
+
+    @Test
+    public void testReversibility() {
+        final Kepler kepler = new Kepler(0.5);
+        final SymplecticIntegrator integrator = createIntegrator(MathUtils.TWO_PI / 100);
+        final ODEStateAndDerivative forward =
+                        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 3 * MathUtils.TWO_PI);
+        final ODEStateAndDerivative backward =
+                        integrator.integrate(new FirstOrderConverter(kepler),
+                                             new ODEState(forward.getTime(), forward.getPrimaryState()),
+                                             0.0);
+        assertEquals(0.0, backward.getTime(), 1.0e-15);
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(kepler.initialState().getPrimaryState()[i], backward.getPrimaryState()[i], 1.0e-11);
+        }
+    }
+
+    @Test
+    public void testLastStepShortened() {
+        final Kepler kepler = new Kepler(0.0);
+        final SymplecticIntegrator integrator = createIntegrator(0.3);
+        final int[] steps = new int[1];
+        integrator.addStepHandler(interpolator -> ++steps[0]);
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 1.0);
+        assertEquals(1.0, finalState.getTime(), 1.0e-15);
+        assertEquals(4, steps[0]);
+        assertEquals(0.3, integrator.getDefaultStep(), 1.0e-15);
+    }
+
+    @Test
+    public void testStopEvent() {
+        final Kepler kepler = new Kepler(0.0);
+        final SymplecticIntegrator integrator = createIntegrator(0.1);
+        integrator.addEventDetector(new TimeDetector(2.55, Action.STOP));
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 10.0);
+        assertEquals(2.55, finalState.getTime(), 1.0e-12);
+    }
+
+    @Test
+    public void testDenseOutput() {
+        // circular orbit, exact solution is known
+        final Kepler kepler = new Kepler(0.0);
+        final SymplecticIntegrator integrator = createIntegrator(0.01);
+        final double[] maxError = new double[1];
+        integrator.addStepHandler((ODEStateInterpolator interpolator) -> {
+            for (int i = 0; i <= 10; ++i) {
+                final double t = interpolator.getPreviousState().getTime() +
+                                 0.1 * i * (interpolator.getCurrentState().getTime() -
+                                            interpolator.getPreviousState().getTime());
+                final ODEStateAndDerivative s = interpolator.getInterpolatedState(t);
+                maxError[0] = FastMath.max(maxError[0], FastMath.abs(s.getPrimaryState()[0] - FastMath.cos(t)));
+                maxError[0] = FastMath.max(maxError[0], FastMath.abs(s.getPrimaryState()[1] - FastMath.sin(t)));
+                maxError[0] = FastMath.max(maxError[0], FastMath.abs(s.getPrimaryDerivative()[0] + FastMath.sin(t)));
+            }
+        });
+        integrator.integrate(new FirstOrderConverter(kepler), kepler.initialState(), 5.0);
+        assertTrue(maxError[0] < denseOutputTolerance(), "error = " + maxError[0]);
+    }
+
+    /** Kepler problem in canonical units, starting at periapsis. */
+    protected static class Kepler implements SecondOrderODE {
+
+        private final double eccentricity;
+
+        protected Kepler(final double eccentricity) {
+            this.eccentricity = eccentricity;
+        }
+
+        @Override
+        public int getDimension() {
+            return 2;
+        }
+
+        @Override
+        public double[] computeSecondDerivatives(final double t, final double[] q, final double[] qDot) {
+            final double r2 = q[0] * q[0] + q[1] * q[1];
+            final double r3 = r2 * FastMath.sqrt(r2);
+            return new double[] { -q[0] / r3, -q[1] / r3 };
+        }
+
+        public ODEState initialState() {
+            return new ODEState(0.0, new double[] {
+                1 - eccentricity, 0.0, 0.0, FastMath.sqrt((1 + eccentricity) / (1 - eccentricity))
+            });
+        }
+
+        public double energy(final double[] y) {
+            return 0.5 * (y[2] * y[2] + y[3] * y[3]) - 1 / FastMath.hypot(y[0], y[1]);
+        }
+
+        public double angularMomentum(final double[] y) {
+            return y[0] * y[3] - y[1] * y[2];
+        }
+
+    }
+
+    /** Detector for a fixed time. */
+    protected static class TimeDetector implements ODEEventDetector {
+
+        private final double time;
+        private final Action action;
+
+        TimeDetector(final double time, final Action action) {
+            this.time   = time;
+            this.action = action;
+        }
+
+        @Override
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 0.5;
+        }
+
+        @Override
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        @Override
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-12, 0, 5);
+        }
+
+        @Override
+        public ODEEventHandler getHandler() {
+            return (state, detector, increasing) -> action;
+        }
+
+        @Override
+        public double g(final ODEStateAndDerivative state) {
+            return state.getTime() - time;
+        }
+
+    }
+
+}
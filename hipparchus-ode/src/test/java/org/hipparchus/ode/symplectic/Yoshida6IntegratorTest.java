@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.symplectic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Yoshida6IntegratorTest extends SymplecticIntegratorAbstractTest {
+
+    @Override
+    protected SymplecticIntegrator createIntegrator(final double step) {
+        return new Yoshida6Integrator(step);
+    }
+
+    @Override
+    protected int expectedOrder() {
+        return 6;
+    }
+
+    @Test
+    void testName() {
+        assertEquals(Yoshida6Integrator.METHOD_NAME, createIntegrator(0.1).getName());
+        assertEquals(7, ((CompositionIntegrator) createIntegrator(0.1)).getNumberOfStages());
+    }
+
+}
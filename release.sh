@@ -70,7 +70,7 @@ fi
 
 # Stage the release artifacts
 mvn clean
-mvn deploy -DskipStagingRepositoryClose=true -Prelease
+mvn deploy -DskipStagingRepositoryClose=true -Prelease,multi-release
 
 # Add hashes and remove pom files in target
 cd target